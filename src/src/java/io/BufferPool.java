@@ -0,0 +1,143 @@
+/*
+ * @(#)BufferPool.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+package java.io;
+
+/**
+ * A shared pool of byte arrays for stream buffers. Streams that only
+ * live for one request or one file can take their buffer from the pool
+ * and give it back when they are closed, instead of allocating (and
+ * clearing) a fresh array every time.<p>
+ *
+ * Only arrays whose length is a power of two between 512 and 65536
+ * bytes are pooled; requests for other sizes are simply allocated, and
+ * releasing such an array does nothing. Pooled arrays are cleared before
+ * they are handed out again, so no data passes from one owner to the
+ * next. An array must not be used after it has been released, which is
+ * why the pool is only used by the buffered streams of this package
+ * themselves and never by their subclasses, which can reach the
+ * buffer through the protected buf field.
+ *
+ * @see BufferedInputStream
+ * @see BufferedOutputStream
+ * @version 	1.1, 01/22/96
+ */
+final
+class BufferPool {
+    /** log2 of the smallest pooled size. */
+    private static final int MIN_SHIFT = 9;
+
+    /** log2 of the largest pooled size. */
+    private static final int MAX_SHIFT = 16;
+
+    /** The most arrays kept for each size. */
+    private static final int MAX_PER_SIZE = 16;
+
+    /** Free arrays, indexed by size class. */
+    private static byte free[][][] = new byte[MAX_SHIFT - MIN_SHIFT + 1][MAX_PER_SIZE][];
+
+    /** The number of free arrays of each size class. */
+    private static int freeCount[] = new int[MAX_SHIFT - MIN_SHIFT + 1];
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private BufferPool() {
+    }
+
+    /**
+     * Returns the size class of an array length, or -1 if arrays of
+     * that length are not pooled.
+     */
+    private static int sizeClass(int size) {
+	for (int shift = MIN_SHIFT ; shift <= MAX_SHIFT ; shift++) {
+	    if (size == (1 << shift)) {
+		return shift - MIN_SHIFT;
+	    }
+	}
+	return -1;
+    }
+
+    /**
+     * Returns true if a stream may take its buffer from the pool, that
+     * is if it is exactly one of the buffered streams of this package.
+     * Any subclass could keep a reference to its buffer after closing
+     * the stream, so it gets a private array instead.
+     * @param stream the stream that wants a buffer
+     */
+    static boolean mayPool(Object stream) {
+	String name = stream.getClass().getName();
+	return name.equals("java.io.BufferedInputStream") ||
+	    name.equals("java.io.BufferedOutputStream") ||
+	    name.equals("java.io.UnsyncBufferedInputStream") ||
+	    name.equals("java.io.UnsyncBufferedOutputStream");
+    }
+
+    /**
+     * Returns a cleared byte array of exactly the specified length,
+     * taken from the pool if one is available.
+     * @param size the length of the array
+     */
+    static byte[] getBuffer(int size) {
+	int c = sizeClass(size);
+	if (c >= 0) {
+	    byte buf[] = null;
+	    synchronized (free) {
+		int n = freeCount[c];
+		if (n > 0) {
+		    buf = free[c][--n];
+		    free[c][n] = null;
+		    freeCount[c] = n;
+		}
+	    }
+	    if (buf != null) {
+		for (int i = buf.length ; --i >= 0 ;) {
+		    buf[i] = 0;
+		}
+		return buf;
+	    }
+	}
+	return new byte[size];
+    }
+
+    /**
+     * Gives an array back to the pool. The caller must not use the
+     * array afterwards. An array that is already in the pool is not
+     * added twice.
+     * @param buf the array, as returned by getBuffer()
+     */
+    static void releaseBuffer(byte buf[]) {
+	int c = sizeClass(buf.length);
+	if (c >= 0) {
+	    synchronized (free) {
+		int n = freeCount[c];
+		byte f[][] = free[c];
+		for (int i = 0 ; i < n ; i++) {
+		    if (f[i] == buf) {
+			return;
+		    }
+		}
+		if (n < MAX_PER_SIZE) {
+		    f[n] = buf;
+		    freeCount[c] = n + 1;
+		}
+	    }
+	}
+    }
+}
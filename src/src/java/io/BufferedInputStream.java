@@ -23,8 +23,13 @@ package java.io;
  * A buffered input stream. This stream lets you read in characters
  * from a stream without causing a read every time. The data
  * is read into a buffer, subsequent reads result in a fast
- * buffer access.
+ * buffer access. Reads that ask for at least a buffer's worth of
+ * data bypass the buffer and go straight to the underlying stream.<p>
  *
+ * The buffer is taken from a shared pool and given back when the
+ * stream is closed.
+ *
+ * @see UnsyncBufferedInputStream
  * @version 	1.21, 12/18/95
  * @author	Arthur van Hoff
  */
@@ -40,6 +45,11 @@ class BufferedInputStream extends FilterInputStream {
      */
     protected int count;
 
+    /**
+     * The array taken from the pool, the only one given back to it.
+     */
+    private byte pooled[];
+
     /**
      * The current position in the buffer.
      */
@@ -74,7 +84,11 @@ class BufferedInputStream extends FilterInputStream {
      */
     public BufferedInputStream(InputStream in, int size) {
 	super(in);
-	buf = new byte[size];
+	if (BufferPool.mayPool(this)) {
+	    buf = pooled = BufferPool.getBuffer(size);
+	} else {
+	    buf = new byte[size];
+	}
     }
 
     /**
@@ -85,6 +99,8 @@ class BufferedInputStream extends FilterInputStream {
      * hence pos > count.
      */
     private void fill() throws IOException {
+	if (buf == null)
+	    throw new IOException("Stream closed");
 	if (markpos < 0)
 	    pos = 0;		/* no mark: throw away the buffer */
 	else if (pos >= buf.length)	/* no room left in buffer */
@@ -117,6 +133,13 @@ class BufferedInputStream extends FilterInputStream {
      * @exception IOException If an I/O error has occurred.
      */
     public synchronized int read() throws IOException {
+	return readByte();
+    }
+
+    /**
+     * Reads a byte of data. The caller must own the stream.
+     */
+    final int readByte() throws IOException {
 	if (pos >= count) {
 	    fill();
 	    if (count == 0)
@@ -127,7 +150,9 @@ class BufferedInputStream extends FilterInputStream {
 
     /**
      * Reads into an array of bytes.
-     * Blocks until some input is available.
+     * Blocks until some input is available. If the buffer is empty
+     * and len is at least the size of the buffer, the data is read
+     * directly into b without being copied through the buffer.
      * @param b	the buffer into which the data is read
      * @param off the start offset of the data
      * @param len the maximum number of bytes read
@@ -136,8 +161,20 @@ class BufferedInputStream extends FilterInputStream {
      * @exception IOException If an I/O error has occurred.
      */
     public synchronized int read(byte b[], int off, int len) throws IOException {
+	return readBytes(b, off, len);
+    }
+
+    /**
+     * Reads into an array of bytes. The caller must own the stream.
+     */
+    final int readBytes(byte b[], int off, int len) throws IOException {
 	int avail = count - pos;
 	if (avail <= 0) {
+	    /* Nothing to keep for a mark, and the caller wants at least
+	       a buffer full: read straight into the caller's array. */
+	    if ((markpos < 0) && (buf != null) && (len >= buf.length)) {
+		return in.read(b, off, len);
+	    }
 	    fill();
 	    avail = count - pos;
 	    if (avail <= 0)
@@ -156,6 +193,13 @@ class BufferedInputStream extends FilterInputStream {
      * @exception IOException If an I/O error has occurred.
      */
     public synchronized long skip(long n) throws IOException {
+	return skipBytes(n);
+    }
+
+    /**
+     * Skips n bytes of input. The caller must own the stream.
+     */
+    final long skipBytes(long n) throws IOException {
 	long avail = count - pos;
 
 	if (avail >= n) {
@@ -219,4 +263,38 @@ class BufferedInputStream extends FilterInputStream {
     public boolean markSupported() {
 	return true;
     }
+
+    /**
+     * Closes the input stream and gives the buffer back to the
+     * buffer pool. Reading from the stream after it has been closed
+     * throws an IOException. The underlying stream is closed without
+     * holding the lock, so that closing it can wake up a thread that
+     * is blocked reading; the buffer is given back once that thread
+     * has let go of the stream.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public void close() throws IOException {
+	try {
+	    in.close();
+	} finally {
+	    synchronized (this) {
+		release();
+	    }
+	}
+    }
+
+    /**
+     * Gives the buffer back to the pool. The caller must own the stream.
+     */
+    final void release() {
+	if (buf != null) {
+	    if (buf == pooled) {
+		BufferPool.releaseBuffer(buf);
+	    }
+	    pooled = null;
+	    buf = null;
+	    pos = count = 0;
+	    markpos = -1;
+	}
+    }
 }
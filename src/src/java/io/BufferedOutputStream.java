@@ -24,8 +24,13 @@ package java.io;
  * to a stream without causing a write every time. The data
  * is first written into a buffer. Data is written to the
  * actual stream only when the buffer is full, or when the stream is
- * flushed.
+ * flushed. Writes of at least a buffer's worth of data go straight
+ * to the underlying stream.<p>
  *
+ * The buffer is taken from a shared pool and given back when the
+ * stream is closed.
+ *
+ * @see UnsyncBufferedOutputStream
  * @version 	1.17, 12/18/95
  * @author	Arthur van Hoff
  */
@@ -40,6 +45,11 @@ class BufferedOutputStream extends FilterOutputStream {
      * The number of bytes in the buffer.
      */
     protected int count;
+
+    /**
+     * The array taken from the pool, the only one given back to it.
+     */
+    private byte pooled[];
     
     /**
      * Creates a new buffered stream with a default
@@ -58,7 +68,25 @@ class BufferedOutputStream extends FilterOutputStream {
      */
     public BufferedOutputStream(OutputStream out, int size) {
 	super(out);
-	buf = new byte[size];
+	if (BufferPool.mayPool(this)) {
+	    buf = pooled = BufferPool.getBuffer(size);
+	} else {
+	    buf = new byte[size];
+	}
+    }
+
+    /**
+     * Writes the buffered bytes to the underlying stream without
+     * flushing it. The caller must own the stream.
+     */
+    final void flushBuffer() throws IOException {
+	if (buf == null) {
+	    throw new IOException("Stream closed");
+	}
+	if (count > 0) {
+	    out.write(buf, 0, count);
+	    count = 0;
+	}
     }
 
     /**
@@ -68,30 +96,46 @@ class BufferedOutputStream extends FilterOutputStream {
      * @exception IOException If an I/O error has occurred.
      */
     public synchronized void write(int b) throws IOException {
-	if (count == buf.length) {
-	    flush();
+	writeByte(b);
+    }
+
+    /**
+     * Writes a byte. The caller must own the stream.
+     */
+    final void writeByte(int b) throws IOException {
+	if ((buf == null) || (count == buf.length)) {
+	    flushBuffer();
 	}
 	buf[count++] = (byte)b;
     }
 
     /**
-     * Writes a subarray of bytes.
+     * Writes a subarray of bytes. If len is at least the size of the
+     * buffer, the data is written directly to the underlying stream
+     * after the buffered bytes.
      * @param b	the data to be written
      * @param off	the start offset in the data
      * @param len	the number of bytes that are written
      * @exception IOException If an I/O error has occurred.
      */
     public synchronized void write(byte b[], int off, int len) throws IOException {
-	int avail = buf.length - count;
+	writeBytes(b, off, len);
+    }
 
-	if (len <= avail) {
-	    System.arraycopy(b, off, buf, count, len);
-	    count += len;
+    /**
+     * Writes a subarray of bytes. The caller must own the stream.
+     */
+    final void writeBytes(byte b[], int off, int len) throws IOException {
+	if ((buf == null) || (len >= buf.length)) {
+	    flushBuffer();
+	    out.write(b, off, len);
 	    return;
 	}
-
-	flush();
-	out.write(b, off, len);
+	if (len > buf.length - count) {
+	    flushBuffer();
+	}
+	System.arraycopy(b, off, buf, count, len);
+	count += len;
     }
 
     /**
@@ -100,8 +144,37 @@ class BufferedOutputStream extends FilterOutputStream {
      * @exception IOException If an I/O error has occurred.
      */
     public synchronized void flush() throws IOException {
-	out.write(buf, 0, count);
+	flushBuffer();
 	out.flush();
-	count = 0;
+    }
+
+    /**
+     * Flushes and closes the stream and gives the buffer back to the
+     * buffer pool. Writing to the stream after it has been closed
+     * throws an IOException.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public synchronized void close() throws IOException {
+	closeStream();
+    }
+
+    /**
+     * Flushes and closes the stream. The caller must own the stream.
+     */
+    final void closeStream() throws IOException {
+	if (buf != null) {
+	    try {
+		flushBuffer();
+		out.flush();
+	    } finally {
+		if (buf == pooled) {
+		    BufferPool.releaseBuffer(buf);
+		}
+		pooled = null;
+		buf = null;
+		count = 0;
+	    }
+	}
+	out.close();
     }
 }
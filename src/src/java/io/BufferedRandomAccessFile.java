@@ -0,0 +1,354 @@
+/*
+ * @(#)BufferedRandomAccessFile.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+package java.io;
+
+/**
+ * A random access file with a one page read/write cache. The page
+ * holding the file pointer is kept in memory; reads and writes that
+ * fall inside it are array accesses instead of native calls, so
+ * readInt() or writeLong() cost no system calls at all until the file
+ * pointer moves to another page.<p>
+ *
+ * Changes are collected in the page and written back as a single
+ * range when the file pointer leaves the page, on flush(), and on
+ * close(). Reads and writes of at least a page go directly to the
+ * file.<p>
+ *
+ * All of the DataInput and DataOutput methods inherited from
+ * RandomAccessFile work through the cache. A BufferedRandomAccessFile
+ * must be closed (or flushed) for its last changes to reach the file.
+ *
+ * @see RandomAccessFile
+ * @version 	1.1, 01/22/96
+ */
+public
+class BufferedRandomAccessFile extends RandomAccessFile {
+    /**
+     * The cached page.
+     */
+    private byte buf[];
+
+    /**
+     * The position in the file of buf[0]. Always a multiple of the
+     * page size.
+     */
+    private long bufStart;
+
+    /**
+     * The number of valid bytes in the page, or -1 if the page has
+     * not been read yet.
+     */
+    private int bufLen = -1;
+
+    /**
+     * The file pointer, relative to bufStart. May be equal to the page
+     * size, in which case the next access moves to the next page.
+     */
+    private int bufPos;
+
+    /**
+     * The range of the page changed since it was last written back.
+     * dirtyLow is greater than dirtyHigh if nothing has changed.
+     */
+    private int dirtyLow = Integer.MAX_VALUE;
+    private int dirtyHigh = 0;
+
+    /**
+     * Creates a buffered random access file with the specified system
+     * dependent file name, mode and page size.
+     * Mode "r" is for read-only and mode "rw" is for read+write.
+     * @param name the system dependent file name
+     * @param mode the access mode
+     * @param pageSize the size of the cache, a power of two
+     * @exception IllegalArgumentException If the page size is not
+     * a power of two.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public BufferedRandomAccessFile(String name, String mode, int pageSize)
+	throws IOException {
+	super(name, mode);
+	if ((pageSize <= 0) || ((pageSize & (pageSize - 1)) != 0)) {
+	    throw new IllegalArgumentException("page size must be a power of two");
+	}
+	buf = new byte[pageSize];
+    }
+
+    /**
+     * Creates a buffered random access file with the specified system
+     * dependent file name and mode, and a 4K page.
+     * @param name the system dependent file name
+     * @param mode the access mode
+     * @exception IOException If an I/O error has occurred.
+     */
+    public BufferedRandomAccessFile(String name, String mode) throws IOException {
+	this(name, mode, 4096);
+    }
+
+    /**
+     * Creates a buffered random access file from a specified File
+     * object and mode ("r" or "rw").
+     * @param file the file object
+     * @param mode the access mode
+     * @exception IOException If an I/O error has occurred.
+     */
+    public BufferedRandomAccessFile(File file, String mode) throws IOException {
+	this(file.getPath(), mode, 4096);
+    }
+
+    /**
+     * Writes the changed range of the page back to the file.
+     */
+    private void writeBack() throws IOException {
+	if (dirtyLow < dirtyHigh) {
+	    super.seek(bufStart + dirtyLow);
+	    super.write(buf, dirtyLow, dirtyHigh - dirtyLow);
+	}
+	dirtyLow = Integer.MAX_VALUE;
+	dirtyHigh = 0;
+    }
+
+    /**
+     * Moves the cache to the page holding the specified position,
+     * writing back the old page first. The new page is read lazily.
+     */
+    private void moveTo(long pos) throws IOException {
+	long start = pos & ~((long)buf.length - 1);
+	if (start != bufStart) {
+	    writeBack();
+	    bufStart = start;
+	    bufLen = -1;
+	}
+	bufPos = (int)(pos - start);
+    }
+
+    /**
+     * Makes sure the page holding the file pointer is in memory.
+     */
+    private void load() throws IOException {
+	if (bufPos >= buf.length) {
+	    moveTo(bufStart + bufPos);
+	}
+	if (bufLen < 0) {
+	    super.seek(bufStart);
+	    int n = 0;
+	    while (n < buf.length) {
+		int count = super.read(buf, n, buf.length - n);
+		if (count <= 0) {
+		    break;
+		}
+		n += count;
+	    }
+	    bufLen = n;
+	}
+    }
+
+    /**
+     * Reads a byte of data.
+     * @return the byte read, or -1 if the end of the
+     *          file is reached.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public int read() throws IOException {
+	if (bufPos >= bufLen) {
+	    load();
+	    if (bufPos >= bufLen) {
+		return -1;
+	    }
+	}
+	return buf[bufPos++] & 0xff;
+    }
+
+    /**
+     * Reads a sub array as a sequence of bytes.
+     * @param b the buffer into which the data is read
+     * @param off the start offset in the data
+     * @param len the maximum number of bytes read
+     * @return the actual number of bytes read, -1 is
+     *          returned when the end of the file is reached.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public int read(byte b[], int off, int len) throws IOException {
+	if (len >= buf.length) {
+	    // Large read: go straight to the file
+	    long pos = getFilePointer();
+	    writeBack();
+	    super.seek(pos);
+	    int n = super.read(b, off, len);
+	    moveTo(pos + ((n > 0) ? n : 0));
+	    bufLen = -1;
+	    return n;
+	}
+	int total = 0;
+	while (total < len) {
+	    if (bufPos >= bufLen) {
+		load();
+		if (bufPos >= bufLen) {
+		    break;
+		}
+	    }
+	    int n = bufLen - bufPos;
+	    if (n > len - total) {
+		n = len - total;
+	    }
+	    System.arraycopy(buf, bufPos, b, off + total, n);
+	    bufPos += n;
+	    total += n;
+	}
+	return ((total == 0) && (len > 0)) ? -1 : total;
+    }
+
+    /**
+     * Reads data into an array of bytes.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public int read(byte b[]) throws IOException {
+	return read(b, 0, b.length);
+    }
+
+    /**
+     * Writes a byte of data into the page.
+     * @param b the byte to be written
+     * @exception IOException If an I/O error has occurred.
+     */
+    public void write(int b) throws IOException {
+	if ((bufPos >= bufLen) || (bufPos >= buf.length)) {
+	    load();
+	    extendTo(bufPos + 1);
+	}
+	buf[bufPos] = (byte)b;
+	if (bufPos < dirtyLow) {
+	    dirtyLow = bufPos;
+	}
+	if (++bufPos > dirtyHigh) {
+	    dirtyHigh = bufPos;
+	}
+    }
+
+    /**
+     * Grows the valid part of the page to cover the first end bytes.
+     * Any gap between the old end of the file and the file pointer is
+     * filled with zeros, so that it is never written back with stale
+     * data.
+     */
+    private void extendTo(int end) {
+	if (end > bufLen) {
+	    for (int i = bufLen ; i < bufPos ; i++) {
+		buf[i] = 0;
+	    }
+	    bufLen = end;
+	}
+    }
+
+    /**
+     * Writes a sub array of bytes.
+     * @param b the data to be written
+     * @param off the start offset in the data
+     * @param len the number of bytes that are written
+     * @exception IOException If an I/O error has occurred.
+     */
+    public void write(byte b[], int off, int len) throws IOException {
+	if (len >= buf.length) {
+	    // Large write: go straight to the file
+	    long pos = getFilePointer();
+	    writeBack();
+	    super.seek(pos);
+	    super.write(b, off, len);
+	    moveTo(pos + len);
+	    bufLen = -1;
+	    return;
+	}
+	while (len > 0) {
+	    load();
+	    int n = buf.length - bufPos;
+	    if (n > len) {
+		n = len;
+	    }
+	    extendTo(bufPos + n);
+	    System.arraycopy(b, off, buf, bufPos, n);
+	    if (bufPos < dirtyLow) {
+		dirtyLow = bufPos;
+	    }
+	    bufPos += n;
+	    if (bufPos > dirtyHigh) {
+		dirtyHigh = bufPos;
+	    }
+	    off += n;
+	    len -= n;
+	}
+    }
+
+    /**
+     * Writes an array of bytes.
+     * @param b the data to be written
+     * @exception IOException If an I/O error has occurred.
+     */
+    public void write(byte b[]) throws IOException {
+	write(b, 0, b.length);
+    }
+
+    /**
+     * Returns the current location of the file pointer.
+     */
+    public long getFilePointer() throws IOException {
+	return bufStart + bufPos;
+    }
+
+    /**
+     * Sets the file pointer to the specified absolute position. If the
+     * position is in another page, changes to the current page are
+     * written back first.
+     * @param pos the absolute position
+     */
+    public void seek(long pos) throws IOException {
+	moveTo(pos);
+    }
+
+    /**
+     * Returns the length of the file, including data that has been
+     * written to the page but not yet to the file.
+     */
+    public long length() throws IOException {
+	long len = super.length();
+	if ((bufLen > 0) && (bufStart + bufLen > len)) {
+	    len = bufStart + bufLen;
+	}
+	return len;
+    }
+
+    /**
+     * Writes any changes in the page back to the file.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public void flush() throws IOException {
+	writeBack();
+    }
+
+    /**
+     * Writes back any changes and closes the file.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public void close() throws IOException {
+	try {
+	    writeBack();
+	} finally {
+	    super.close();
+	}
+    }
+}
@@ -202,7 +202,7 @@ class DataInputStream extends FilterInputStream implements DataInput {
      */
     public final long readLong() throws IOException {
 	InputStream in = this.in;
-	return (readInt() << 32L) + (readInt() & 0xFFFFFFFFL);
+	return ((long)(readInt()) << 32) + (readInt() & 0xFFFFFFFFL);
     }
 
     /**
@@ -225,8 +225,10 @@ class DataInputStream extends FilterInputStream implements DataInput {
 
     /**
      * Reads in a line that has been terminated by a \n, \r, 
-     * \r\n or EOF.
+     * \r\n or EOF. The stream is read a byte at a time; use a
+     * LineReader to read many lines quickly.
      * @return a String copy of the line.
+     * @see LineReader
      */
     public final String readLine() throws IOException {
 	InputStream in = this.in;
@@ -273,60 +275,29 @@ loop:	while (true) {
 	return String.copyValueOf(buf, 0, offset);
     }
 
+    private UTFCodec utf;
+
     /**
      * Reads a UTF format String.
      * @return the String.
      */
     public final String readUTF() throws IOException {
-        return readUTF(this);
+	if (utf == null) {
+	    utf = new UTFCodec();
+	}
+	return utf.readUTF(this);
     }
 
     /**
      * Reads a UTF format String from the given input stream.
      * @return the String.
+     * @see UTFCodec
      */
     public final static String readUTF(DataInput in) throws IOException {
-        int utflen = in.readUnsignedShort();
-        char str[] = new char[utflen];
-	int count = 0;
-	int strlen = 0;
-	while (count < utflen) {
-	    int c = in.readUnsignedByte();
-	    int char2, char3;
-	    switch (c >> 4) { 
-	        case 0: case 1: case 2: case 3: case 4: case 5: case 6: case 7:
-		    // 0xxxxxxx
-		    count++;
-		    str[strlen++] = (char)c;
-		    break;
-	        case 12: case 13:
-		    // 110x xxxx   10xx xxxx
-		    count += 2;
-		    if (count > utflen) 
-			throw new UTFDataFormatException();		  
-		    char2 = in.readUnsignedByte();
-		    if ((char2 & 0xC0) != 0x80)
-			throw new UTFDataFormatException();		  
-		    str[strlen++] = (char)(((c & 0x1F) << 6) | (char2 & 0x3F));
-		    break;
-	        case 14:
-		    // 1110 xxxx  10xx xxxx  10xx xxxx
-		    count += 3;
-		    if (count > utflen) 
-			throw new UTFDataFormatException();		  
-		    char2 = in.readUnsignedByte();
-		    char3 = in.readUnsignedByte();
-		    if (((char2 & 0xC0) != 0x80) || ((char3 & 0xC0) != 0x80))
-			throw new UTFDataFormatException();		  
-		    str[strlen++] = (char)(((c & 0x0F) << 12) |
-					   ((char2 & 0x3F) << 6) |
-					   ((char3 & 0x3F) << 0));
-	        default:
-		    // 10xx xxxx,  1111 xxxx
-		    throw new UTFDataFormatException();		  
-		}
+	if (in instanceof DataInputStream) {
+	    return ((DataInputStream)in).readUTF();
 	}
-        return new String(str, 0, strlen);
+	return new UTFCodec().readUTF(in);
     }
 }
 
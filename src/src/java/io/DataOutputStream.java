@@ -191,44 +191,19 @@ class DataOutputStream extends FilterOutputStream implements DataOutput {
 	written += len * 2;
     }
 
+    private UTFCodec utf;
+
     /**
      * Writes a String in UTF format.
      * @param str the String in UTF format
+     * @exception UTFDataFormatException If the encoded String is
+     * longer than 65535 bytes.
      */
     public final void writeUTF(String str) throws IOException {
-	OutputStream out = this.out;
-	int strlen = str.length();
-	int utflen = 0;
-
-	for (int i = 0 ; i < strlen ; i++) {
-	    int c = str.charAt(i);
-	    if ((c >= 0x0001) && (c <= 0x007F)) {
-		utflen++;
-	    } else if (c > 0x07FF) {
-		utflen += 3;
-	    } else {
-		utflen += 2;
-	    }
-	}
-
-	out.write((utflen >>> 8) & 0xFF);
-	out.write((utflen >>> 0) & 0xFF);
-	for (int i = 0 ; i < strlen ; i++) {
-	    int c = str.charAt(i);
-	    if ((c >= 0x0001) && (c <= 0x007F)) {
-		out.write(c);
-	    } else if (c > 0x07FF) {
-		out.write(0xE0 | ((c >> 12) & 0x0F));
-		out.write(0x80 | ((c >>  6) & 0x3F));
-		out.write(0x80 | ((c >>  0) & 0x3F));
-		written += 2;
-	    } else {
-		out.write(0xC0 | ((c >>  6) & 0x1F));
-		out.write(0x80 | ((c >>  0) & 0x3F));
-		written += 1;
-	    }
+	if (utf == null) {
+	    utf = new UTFCodec();
 	}
-	written += strlen + 2;
+	written += utf.writeUTF(str, out);
     }
 
     /**
@@ -0,0 +1,129 @@
+/*
+ * @(#)DirectoryEntry.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+package java.io;
+
+/**
+ * An entry found by a DirectoryWalker: a file or directory together
+ * with its type, length and modification time. Whether the entry is
+ * a directory is known when the walker returns it; the length and
+ * the modification time are read from the file system the first time
+ * they are asked for and then kept, so a walk that only needs names
+ * and types does not pay for them.
+ *
+ * @see DirectoryWalker
+ * @version 	1.1, 01/22/96
+ */
+public
+class DirectoryEntry {
+    private File file;
+    private String name;
+    private int depth;
+    private boolean directory;
+
+    private boolean haveLength;
+    private long length;
+    private boolean haveLastModified;
+    private long lastModified;
+    private int isFile = -1;
+
+    DirectoryEntry(File file, String name, int depth, boolean directory) {
+	this.file = file;
+	this.name = name;
+	this.depth = depth;
+	this.directory = directory;
+    }
+
+    /**
+     * Returns the File for this entry.
+     */
+    public File getFile() {
+	return file;
+    }
+
+    /**
+     * Returns the name of the entry within its directory.
+     */
+    public String getName() {
+	return name;
+    }
+
+    /**
+     * Returns the path of the entry.
+     */
+    public String getPath() {
+	return file.getPath();
+    }
+
+    /**
+     * Returns how deep the entry is below the directory the walk
+     * started from. Entries in that directory are at depth 1.
+     */
+    public int getDepth() {
+	return depth;
+    }
+
+    /**
+     * Returns true if the entry is a directory.
+     */
+    public boolean isDirectory() {
+	return directory;
+    }
+
+    /**
+     * Returns true if the entry is a normal file.
+     */
+    public boolean isFile() {
+	if (isFile < 0) {
+	    isFile = (!directory && file.isFile()) ? 1 : 0;
+	}
+	return isFile == 1;
+    }
+
+    /**
+     * Returns the length of the file.
+     */
+    public long length() {
+	if (!haveLength) {
+	    length = file.length();
+	    haveLength = true;
+	}
+	return length;
+    }
+
+    /**
+     * Returns the last modification time of the file, as returned
+     * by File.lastModified().
+     * @see File#lastModified
+     */
+    public long lastModified() {
+	if (!haveLastModified) {
+	    lastModified = file.lastModified();
+	    haveLastModified = true;
+	}
+	return lastModified;
+    }
+
+    /**
+     * Returns the path of the entry.
+     */
+    public String toString() {
+	return file.getPath();
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * @(#)DirectoryWalker.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+package java.io;
+
+import java.util.Enumeration;
+import java.util.NoSuchElementException;
+
+/**
+ * One directory on the path a DirectoryWalker is working through.
+ */
+class DirectoryWalkerLevel {
+    File dir;
+    String names[];
+    int index;
+    int depth;
+    DirectoryWalkerLevel parent;
+
+    DirectoryWalkerLevel(File dir, String names[], int depth,
+			 DirectoryWalkerLevel parent) {
+	this.dir = dir;
+	this.names = names;
+	this.depth = depth;
+	this.parent = parent;
+    }
+}
+
+/**
+ * An enumeration of all the files and directories below a directory.
+ * The tree is walked depth first, one directory listing at a time, so
+ * a walk over a large tree starts returning entries at once and never
+ * holds more than the listings of the directories on the current path.
+ * Each directory is returned before its contents.<p>
+ *
+ * The elements are DirectoryEntry objects, which know whether they
+ * are directories and read their length and modification time only if
+ * asked. A FilenameFilter, if given, is applied to names before the
+ * file system is asked anything about them; a rejected directory is
+ * neither returned nor walked. prune() skips the contents of the
+ * directory that was returned last:
+ * <pre>
+ *	DirectoryWalker w = new DirectoryWalker(new File("src"));
+ *	while (w.hasMoreElements()) {
+ *	    DirectoryEntry e = w.nextEntry();
+ *	    if (e.isDirectory() && e.getName().equals("SCCS")) {
+ *		w.prune();
+ *	    } else if (e.getName().endsWith(".java")) {
+ *		total += e.length();
+ *	    }
+ *	}
+ * </pre>
+ * Directories that cannot be listed are returned but walked as if
+ * they were empty.
+ *
+ * @see DirectoryEntry
+ * @see File#list
+ * @version 	1.1, 01/22/96
+ */
+public
+class DirectoryWalker implements Enumeration {
+    private DirectoryWalkerLevel level;
+    private FilenameFilter filter;
+    private int maxDepth = Integer.MAX_VALUE;
+
+    /** The entry hasMoreElements() has found, if any. */
+    private DirectoryEntry next;
+
+    /** The directory returned last, to be walked unless pruned. */
+    private DirectoryEntry pending;
+
+    /**
+     * Creates a walker for everything below a directory.
+     * @param root	the directory to walk
+     */
+    public DirectoryWalker(File root) {
+	this(root, null);
+    }
+
+    /**
+     * Creates a walker for the entries below a directory whose names
+     * are accepted by a filter.
+     * @param root	the directory to walk
+     * @param filter	the filter, or null to accept every name
+     */
+    public DirectoryWalker(File root, FilenameFilter filter) {
+	this.filter = filter;
+	String names[] = root.list();
+	if (names != null) {
+	    level = new DirectoryWalkerLevel(root, names, 1, null);
+	}
+    }
+
+    /**
+     * Limits how deep the walk goes. With a maximum depth of 1 only
+     * the entries of the root directory are returned.
+     * @param maxDepth	the largest depth to return entries from
+     */
+    public void setMaxDepth(int maxDepth) {
+	this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Skips the contents of the directory returned last. It must be
+     * called before the next call to hasMoreElements(), nextElement()
+     * or nextEntry().
+     */
+    public void prune() {
+	pending = null;
+    }
+
+    /**
+     * Returns true if there are more entries.
+     */
+    public boolean hasMoreElements() {
+	if (next == null) {
+	    next = advance();
+	}
+	return next != null;
+    }
+
+    /**
+     * Returns the next entry, as a DirectoryEntry.
+     * @exception NoSuchElementException If there are no more entries.
+     */
+    public Object nextElement() {
+	return nextEntry();
+    }
+
+    /**
+     * Returns the next entry.
+     * @exception NoSuchElementException If there are no more entries.
+     */
+    public DirectoryEntry nextEntry() {
+	if (!hasMoreElements()) {
+	    throw new NoSuchElementException("DirectoryWalker");
+	}
+	DirectoryEntry e = next;
+	next = null;
+	if (e.isDirectory() && (e.getDepth() < maxDepth)) {
+	    pending = e;
+	}
+	return e;
+    }
+
+    /**
+     * Finds the next entry, first descending into the directory
+     * returned last if it has not been pruned.
+     */
+    private DirectoryEntry advance() {
+	if (pending != null) {
+	    String names[] = pending.getFile().list();
+	    if ((names != null) && (names.length > 0)) {
+		level = new DirectoryWalkerLevel(pending.getFile(), names,
+						 pending.getDepth() + 1, level);
+	    }
+	    pending = null;
+	}
+	while (level != null) {
+	    DirectoryWalkerLevel l = level;
+	    if (l.index == l.names.length) {
+		level = l.parent;
+		continue;
+	    }
+	    String name = l.names[l.index];
+	    l.names[l.index++] = null;
+	    if ((filter == null) || filter.accept(l.dir, name)) {
+		File f = new File(l.dir, name);
+		return new DirectoryEntry(f, name, l.depth, f.isDirectory());
+	    }
+	}
+	return null;
+    }
+}
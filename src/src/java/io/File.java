@@ -19,8 +19,6 @@
 
 package java.io;
 
-import java.util.Vector;
-
 /**
  * This class represents a file name of the host file system.
  * The file name can be relative or absolute. It must use
@@ -34,6 +32,7 @@ import java.util.Vector;
  * Note that whenever a file name or path is  used it is
  * assumed that the host's file name conventions are used.
  *
+ * @see DirectoryWalker
  * @version 	1.37, 12/19/95
  * @author	Jonathan Payne
  * @author	Arthur van Hoff
@@ -293,17 +292,20 @@ class File {
     public String[] list(FilenameFilter filter) {
 	String names[] = list();
 
-	// Fill in the Vector
-	Vector v = new Vector();
+	// Move the accepted names to the front
+	int n = 0;
 	for (int i = 0 ; i < names.length ; i++) {
 	    if ((filter == null) || filter.accept(this, names[i])) {
-		v.addElement(names[i]);
+		names[n++] = names[i];
 	    }
 	}
+	if (n == names.length) {
+	    return names;
+	}
 
 	// Create the array
-	String files[] = new String[v.size()];
-	v.copyInto(files);
+	String files[] = new String[n];
+	System.arraycopy(names, 0, files, 0, n);
 
 	return files;
     }
@@ -0,0 +1,316 @@
+/*
+ * @(#)LineReader.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+package java.io;
+
+/**
+ * An input stream filter for reading text a line at a time. It reads
+ * the underlying stream a block at a time and looks for the ends of
+ * lines in the block, instead of calling read() for every byte as
+ * DataInputStream.readLine() does. A line ends with \n, \r or \r\n, or
+ * at the end of the stream; each byte becomes one character, with the
+ * top byte set to zero.<p>
+ *
+ * readLine() returns each line as a new String. nextLine() reads the
+ * next line into a character buffer that is reused from line to line,
+ * so nothing is allocated per line; the line is then available from
+ * getLineBuffer() and getLineLength(), or as a StringView from
+ * getLine(). Either one is only valid until the next line is read.
+ * <pre>
+ *	LineReader in = new LineReader(new FileInputStream("access.log"));
+ *	while (in.nextLine()) {
+ *	    if (in.getLine().startsWith("GET ")) {
+ *		...
+ *	    }
+ *	}
+ * </pre>
+ * The reader keeps count of the lines it has returned. Bytes can also
+ * be read with read(), for example to read a message body after its
+ * header lines; they come from the same buffer, but lines read that
+ * way are not counted.
+ *
+ * @see DataInputStream#readLine
+ * @see LineNumberInputStream
+ * @version 	1.1, 01/22/96
+ */
+public
+class LineReader extends FilterInputStream {
+    private byte buf[];
+    private int pos;
+    private int limit;
+
+    /** The current line. */
+    private char line[];
+
+    /**
+     * A line buffer that has grown past this size is replaced before
+     * the next line is read, so one long line does not pin its memory.
+     */
+    private static final int MAX_LINE_BUFFER = 8192;
+    private int lineLength;
+
+    /** True if the last line ended with \r, so a \n next is skipped. */
+    private boolean skipLF;
+
+    private int lineNumber;
+
+    /**
+     * Creates a LineReader with an 8192 byte buffer.
+     * @param in the input stream
+     */
+    public LineReader(InputStream in) {
+	this(in, 8192);
+    }
+
+    /**
+     * Creates a LineReader with the specified buffer size.
+     * @param in the input stream
+     * @param size the buffer size
+     * @exception IllegalArgumentException If size is not positive.
+     */
+    public LineReader(InputStream in, int size) {
+	super(in);
+	if (size <= 0) {
+	    throw new IllegalArgumentException();
+	}
+	buf = new byte[size];
+	line = new char[128];
+    }
+
+    /**
+     * Refills the buffer if it is empty.
+     * @return false at the end of the stream.
+     */
+    private boolean fill() throws IOException {
+	if (pos < limit) {
+	    return true;
+	}
+	pos = limit = 0;
+	int n = in.read(buf, 0, buf.length);
+	if (n <= 0) {
+	    return false;
+	}
+	limit = n;
+	return true;
+    }
+
+    /**
+     * Skips the \n of a \r\n whose \r ended the last line.
+     */
+    private void skipLineFeed() throws IOException {
+	skipLF = false;
+	if (fill() && (buf[pos] == '\n')) {
+	    pos++;
+	}
+    }
+
+    /**
+     * Reads the next line into the line buffer.
+     * @return true if a line was read, false at the end of the stream.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public boolean nextLine() throws IOException {
+	if (skipLF) {
+	    skipLineFeed();
+	}
+	if (line.length > MAX_LINE_BUFFER) {
+	    line = new char[128];
+	}
+	char l[] = line;
+	int n = 0;
+	boolean any = false;
+	while (fill()) {
+	    any = true;
+	    byte b[] = buf;
+	    int start = pos;
+	    int end = limit;
+	    int i = start;
+	    int c = 0;
+	    while (i < end) {
+		c = b[i];
+		if ((c == '\n') || (c == '\r')) {
+		    break;
+		}
+		i++;
+	    }
+
+	    int len = i - start;
+	    if (n + len > l.length) {
+		char newLine[] = new char[Math.max(l.length * 2, n + len)];
+		System.arraycopy(l, 0, newLine, 0, n);
+		line = l = newLine;
+	    }
+	    for (int j = start ; j < i ; j++) {
+		l[n++] = (char)(b[j] & 0xff);
+	    }
+
+	    if (i < end) {
+		pos = i + 1;
+		if (c == '\r') {
+		    if (pos < end) {
+			if (b[pos] == '\n') {
+			    pos++;
+			}
+		    } else {
+			skipLF = true;
+		    }
+		}
+		lineLength = n;
+		lineNumber++;
+		return true;
+	    }
+	    pos = end;
+	}
+	lineLength = n;
+	if (!any) {
+	    return false;
+	}
+	lineNumber++;
+	return true;
+    }
+
+    /**
+     * Reads a line.
+     * @return a String holding the line, without its terminator, or
+     * null at the end of the stream.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public String readLine() throws IOException {
+	return nextLine() ? new String(line, 0, lineLength) : null;
+    }
+
+    /**
+     * Returns the buffer holding the line read by nextLine(). The
+     * line starts at index 0. The buffer is reused for the next line.
+     */
+    public char[] getLineBuffer() {
+	return line;
+    }
+
+    /**
+     * Returns the length of the line read by nextLine().
+     */
+    public int getLineLength() {
+	return lineLength;
+    }
+
+    /**
+     * Returns a view of the line read by nextLine(). The characters are
+     * not copied, so the view changes when the next line is read; use
+     * toString() on it to keep the line.
+     */
+    public StringView getLine() {
+	return new StringView(line, 0, lineLength);
+    }
+
+    /**
+     * Returns the number of lines read so far, which is also the
+     * number of the line read last.
+     */
+    public int getLineNumber() {
+	return lineNumber;
+    }
+
+    /**
+     * Sets the current line number.
+     * @param lineNumber the line number to be set
+     */
+    public void setLineNumber(int lineNumber) {
+	this.lineNumber = lineNumber;
+    }
+
+    /**
+     * Reads a byte of data. The method will block if no input is
+     * available.
+     * @return 	the byte read, or -1 if the end of the
+     *		stream is reached.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public int read() throws IOException {
+	if (skipLF) {
+	    skipLineFeed();
+	}
+	if (!fill()) {
+	    return -1;
+	}
+	return buf[pos++] & 0xff;
+    }
+
+    /**
+     * Reads into an array of bytes. Bytes left in the buffer are
+     * returned first.
+     * @param b	the buffer into which the data is read
+     * @param off the start offset of the data
+     * @param len the maximum number of bytes read
+     * @return  the actual number of bytes read, -1 is
+     * 		returned when the end of the stream is reached.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public int read(byte b[], int off, int len) throws IOException {
+	if (len <= 0) {
+	    return 0;
+	}
+	if (skipLF) {
+	    skipLineFeed();
+	}
+	if (pos < limit) {
+	    int n = Math.min(limit - pos, len);
+	    System.arraycopy(buf, pos, b, off, n);
+	    pos += n;
+	    return n;
+	}
+	return in.read(b, off, len);
+    }
+
+    /**
+     * Skips n bytes of input.
+     * @param n the number of bytes to be skipped
+     * @return	the actual number of bytes skipped.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public long skip(long n) throws IOException {
+	if (n <= 0) {
+	    return 0;
+	}
+	if (skipLF) {
+	    skipLineFeed();
+	}
+	if (pos < limit) {
+	    int k = (int)Math.min(limit - pos, n);
+	    pos += k;
+	    return k;
+	}
+	return in.skip(n);
+    }
+
+    /**
+     * Returns the number of bytes that can be read without blocking.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public int available() throws IOException {
+	return (limit - pos) + in.available();
+    }
+
+    /**
+     * Returns false; marks are not supported.
+     */
+    public boolean markSupported() {
+	return false;
+    }
+}
@@ -0,0 +1,564 @@
+/*
+ * @(#)MappedFile.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+package java.io;
+
+/**
+ * A region of a file held in memory for fast random access. The whole
+ * region is read with a single bulk read when the MappedFile is
+ * created; after that every get and put is a plain array access, with
+ * no native call and no seek. This makes MappedFile a good fit for
+ * index files that are probed many times, such as a sorted table that
+ * is binary searched.<p>
+ *
+ * Values can be read and written at explicit positions with the get
+ * and put methods, or sequentially through the DataInput and DataOutput
+ * interfaces, starting at position(). All positions are relative to the
+ * start of the region. The region has a fixed size; reading or writing
+ * past its end fails.<p>
+ *
+ * In "rw" mode changes are kept in memory and written back to the file
+ * by force() and close(). Only the range of bytes that has actually
+ * been changed is written, with one seek and one write. The region is
+ * a private copy: changes made to the file by others after the region
+ * was read are not seen.
+ *
+ * @see RandomAccessFile
+ * @see DataInput
+ * @see DataOutput
+ * @version 	1.1, 01/22/96
+ */
+public
+class MappedFile implements DataInput, DataOutput {
+    /**
+     * The file the region was read from.
+     */
+    private RandomAccessFile file;
+
+    /**
+     * True if the file was opened by this MappedFile and should be
+     * closed with it.
+     */
+    private boolean ownFile;
+
+    /**
+     * True if the region may be changed.
+     */
+    private boolean writable;
+
+    /**
+     * The position in the file of the first byte of the region.
+     */
+    private long base;
+
+    /**
+     * The contents of the region.
+     */
+    private byte data[];
+
+    /**
+     * The current position for sequential reads and writes.
+     */
+    private int pos;
+
+    /**
+     * The range of bytes changed since the last force(). dirtyLow is
+     * greater than dirtyHigh if nothing has changed.
+     */
+    private int dirtyLow = Integer.MAX_VALUE;
+    private int dirtyHigh = 0;
+
+    /**
+     * Scratch buffer for readUTF and writeUTF.
+     */
+    private char chars[];
+
+    /**
+     * Maps a whole file.
+     * Mode "r" is for read-only and mode "rw" is for read+write.
+     * @param name the system dependent file name
+     * @param mode the access mode
+     * @exception IOException If an I/O error has occurred.
+     */
+    public MappedFile(String name, String mode) throws IOException {
+	this(new RandomAccessFile(name, mode), mode.equals("rw"));
+    }
+
+    /**
+     * Maps a whole file.
+     * Mode "r" is for read-only and mode "rw" is for read+write.
+     * @param file the file object
+     * @param mode the access mode
+     * @exception IOException If an I/O error has occurred.
+     */
+    public MappedFile(File file, String mode) throws IOException {
+	this(file.getPath(), mode);
+    }
+
+    private MappedFile(RandomAccessFile file, boolean writable) throws IOException {
+	this(file, writable, 0, file.length());
+	ownFile = true;
+    }
+
+    /**
+     * Maps size bytes of an open file, starting at position. The
+     * file is not closed when the MappedFile is closed.
+     * @param file the file, which must be open for writing if
+     *		writable is true
+     * @param writable true if the region may be changed
+     * @param position the position in the file of the region
+     * @param size the number of bytes in the region
+     * @exception IllegalArgumentException If the region is too large
+     * to be held in memory or lies outside the file.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public MappedFile(RandomAccessFile file, boolean writable,
+		      long position, long size) throws IOException {
+	if ((position < 0) || (size < 0) || (size > Integer.MAX_VALUE) ||
+	    (position + size > file.length())) {
+	    throw new IllegalArgumentException("invalid region");
+	}
+	this.file = file;
+	this.writable = writable;
+	this.base = position;
+	this.data = new byte[(int)size];
+	file.seek(position);
+	file.readFully(data, 0, data.length);
+    }
+
+    /**
+     * Returns the number of bytes in the region.
+     */
+    public final int size() {
+	return data.length;
+    }
+
+    /**
+     * Returns the current position for sequential reads and writes.
+     */
+    public final int position() {
+	return pos;
+    }
+
+    /**
+     * Sets the position for sequential reads and writes.
+     * @param pos the position relative to the start of the region
+     * @exception IOException If the position lies outside the region.
+     */
+    public final void seek(int pos) throws IOException {
+	if ((pos < 0) || (pos > data.length)) {
+	    throw new IOException("seek outside of mapped region");
+	}
+	this.pos = pos;
+    }
+
+    //
+    // Positional reads
+    //
+
+    /**
+     * Returns the byte at the specified position.
+     * @exception ArrayIndexOutOfBoundsException If the position
+     * lies outside the region.
+     */
+    public final byte getByte(int index) {
+	return data[index];
+    }
+
+    /**
+     * Returns the unsigned byte at the specified position.
+     */
+    public final int getUnsignedByte(int index) {
+	return data[index] & 0xFF;
+    }
+
+    /**
+     * Returns the 16 bit short at the specified position.
+     */
+    public final short getShort(int index) {
+	byte d[] = data;
+	return (short)((d[index] << 8) | (d[index + 1] & 0xFF));
+    }
+
+    /**
+     * Returns the unsigned 16 bit short at the specified position.
+     */
+    public final int getUnsignedShort(int index) {
+	byte d[] = data;
+	return ((d[index] & 0xFF) << 8) | (d[index + 1] & 0xFF);
+    }
+
+    /**
+     * Returns the 16 bit char at the specified position.
+     */
+    public final char getChar(int index) {
+	return (char)getUnsignedShort(index);
+    }
+
+    /**
+     * Returns the 32 bit int at the specified position.
+     */
+    public final int getInt(int index) {
+	byte d[] = data;
+	return (d[index] << 24) | ((d[index + 1] & 0xFF) << 16) |
+	       ((d[index + 2] & 0xFF) << 8) | (d[index + 3] & 0xFF);
+    }
+
+    /**
+     * Returns the 64 bit long at the specified position.
+     */
+    public final long getLong(int index) {
+	return ((long)getInt(index) << 32) + (getInt(index + 4) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the 32 bit float at the specified position.
+     */
+    public final float getFloat(int index) {
+	return Float.intBitsToFloat(getInt(index));
+    }
+
+    /**
+     * Returns the 64 bit double at the specified position.
+     */
+    public final double getDouble(int index) {
+	return Double.longBitsToDouble(getLong(index));
+    }
+
+    /**
+     * Copies len bytes starting at the specified position into b.
+     */
+    public final void get(int index, byte b[], int off, int len) {
+	System.arraycopy(data, index, b, off, len);
+    }
+
+    //
+    // Positional writes
+    //
+
+    /**
+     * Marks a range as changed, after checking that changes are allowed
+     * and that the range lies inside the region.
+     */
+    private void touch(int index, int len) throws IOException {
+	if (!writable) {
+	    throw new IOException("mapped region is read-only");
+	}
+	if ((index < 0) || (index + len > data.length)) {
+	    throw new IOException("write outside of mapped region");
+	}
+	if (index < dirtyLow) {
+	    dirtyLow = index;
+	}
+	if (index + len > dirtyHigh) {
+	    dirtyHigh = index + len;
+	}
+    }
+
+    /**
+     * Stores a byte at the specified position.
+     * @exception IOException If the region is read-only or the position
+     * lies outside the region.
+     */
+    public final void putByte(int index, int v) throws IOException {
+	touch(index, 1);
+	data[index] = (byte)v;
+    }
+
+    /**
+     * Stores a 16 bit short at the specified position.
+     */
+    public final void putShort(int index, int v) throws IOException {
+	touch(index, 2);
+	data[index] = (byte)(v >>> 8);
+	data[index + 1] = (byte)v;
+    }
+
+    /**
+     * Stores a 16 bit char at the specified position.
+     */
+    public final void putChar(int index, int v) throws IOException {
+	putShort(index, v);
+    }
+
+    /**
+     * Stores a 32 bit int at the specified position.
+     */
+    public final void putInt(int index, int v) throws IOException {
+	touch(index, 4);
+	byte d[] = data;
+	d[index] = (byte)(v >>> 24);
+	d[index + 1] = (byte)(v >>> 16);
+	d[index + 2] = (byte)(v >>> 8);
+	d[index + 3] = (byte)v;
+    }
+
+    /**
+     * Stores a 64 bit long at the specified position.
+     */
+    public final void putLong(int index, long v) throws IOException {
+	touch(index, 8);
+	putInt(index, (int)(v >>> 32));
+	putInt(index + 4, (int)v);
+    }
+
+    /**
+     * Stores a 32 bit float at the specified position.
+     */
+    public final void putFloat(int index, float v) throws IOException {
+	putInt(index, Float.floatToIntBits(v));
+    }
+
+    /**
+     * Stores a 64 bit double at the specified position.
+     */
+    public final void putDouble(int index, double v) throws IOException {
+	putLong(index, Double.doubleToLongBits(v));
+    }
+
+    /**
+     * Copies len bytes of b into the region at the specified position.
+     */
+    public final void put(int index, byte b[], int off, int len) throws IOException {
+	touch(index, len);
+	System.arraycopy(b, off, data, index, len);
+    }
+
+    /**
+     * Writes the changed part of the region back to the file.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public void force() throws IOException {
+	if (dirtyLow < dirtyHigh) {
+	    file.seek(base + dirtyLow);
+	    file.write(data, dirtyLow, dirtyHigh - dirtyLow);
+	}
+	dirtyLow = Integer.MAX_VALUE;
+	dirtyHigh = 0;
+    }
+
+    /**
+     * Writes back any changes and releases the region. The file is
+     * closed if it was opened by this MappedFile.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public void close() throws IOException {
+	if (data != null) {
+	    force();
+	    data = null;
+	    if (ownFile) {
+		file.close();
+	    }
+	}
+    }
+
+    //
+    // DataInput, reading sequentially from position()
+    //
+
+    /**
+     * Advances the position by n bytes and returns the old position.
+     * @exception IllegalArgumentException If n is negative.
+     * @exception EOFException If fewer than n bytes are left.
+     */
+    private int advance(int n) throws IOException {
+	int p = pos;
+	if (n < 0) {
+	    throw new IllegalArgumentException("negative length: " + n);
+	}
+	if (n > data.length - p) {
+	    throw new EOFException();
+	}
+	pos = p + n;
+	return p;
+    }
+
+    public final void readFully(byte b[]) throws IOException {
+	readFully(b, 0, b.length);
+    }
+
+    public final void readFully(byte b[], int off, int len) throws IOException {
+	System.arraycopy(data, advance(len), b, off, len);
+    }
+
+    public int skipBytes(int n) throws IOException {
+	advance(n);
+	return n;
+    }
+
+    public final boolean readBoolean() throws IOException {
+	return data[advance(1)] != 0;
+    }
+
+    public final byte readByte() throws IOException {
+	return data[advance(1)];
+    }
+
+    public final int readUnsignedByte() throws IOException {
+	return data[advance(1)] & 0xFF;
+    }
+
+    public final short readShort() throws IOException {
+	return getShort(advance(2));
+    }
+
+    public final int readUnsignedShort() throws IOException {
+	return getUnsignedShort(advance(2));
+    }
+
+    public final char readChar() throws IOException {
+	return getChar(advance(2));
+    }
+
+    public final int readInt() throws IOException {
+	return getInt(advance(4));
+    }
+
+    public final long readLong() throws IOException {
+	return getLong(advance(8));
+    }
+
+    public final float readFloat() throws IOException {
+	return getFloat(advance(4));
+    }
+
+    public final double readDouble() throws IOException {
+	return getDouble(advance(8));
+    }
+
+    /**
+     * Reads a line terminated by a '\n' or the end of the region.
+     */
+    public final String readLine() throws IOException {
+	byte d[] = data;
+	int start = pos;
+	int end = start;
+	int max = d.length;
+	if (start >= max) {
+	    return null;
+	}
+	while ((end < max) && (d[end] != '\n')) {
+	    end++;
+	}
+	pos = (end < max) ? end + 1 : end;
+	return new String(d, 0, start, end - start);
+    }
+
+    public final String readUTF() throws IOException {
+	int utflen = readUnsignedShort();
+	int start = advance(utflen);
+	char str[] = chars;
+	if ((str == null) || (str.length < utflen)) {
+	    chars = str = new char[Math.max(utflen, 128)];
+	}
+	int n = UTFCodec.decode(data, start, utflen, str, 0);
+	return new String(str, 0, n);
+    }
+
+    //
+    // DataOutput, writing sequentially at position()
+    //
+
+    public void write(int b) throws IOException {
+	putByte(pos, b);
+	pos++;
+    }
+
+    public void write(byte b[]) throws IOException {
+	write(b, 0, b.length);
+    }
+
+    public void write(byte b[], int off, int len) throws IOException {
+	put(pos, b, off, len);
+	pos += len;
+    }
+
+    public final void writeBoolean(boolean v) throws IOException {
+	write(v ? 1 : 0);
+    }
+
+    public final void writeByte(int v) throws IOException {
+	write(v);
+    }
+
+    public final void writeShort(int v) throws IOException {
+	putShort(pos, v);
+	pos += 2;
+    }
+
+    public final void writeChar(int v) throws IOException {
+	putShort(pos, v);
+	pos += 2;
+    }
+
+    public final void writeInt(int v) throws IOException {
+	putInt(pos, v);
+	pos += 4;
+    }
+
+    public final void writeLong(long v) throws IOException {
+	putLong(pos, v);
+	pos += 8;
+    }
+
+    public final void writeFloat(float v) throws IOException {
+	writeInt(Float.floatToIntBits(v));
+    }
+
+    public final void writeDouble(double v) throws IOException {
+	writeLong(Double.doubleToLongBits(v));
+    }
+
+    public final void writeBytes(String s) throws IOException {
+	int len = s.length();
+	touch(pos, len);
+	s.getBytes(0, len, data, pos);
+	pos += len;
+    }
+
+    public final void writeChars(String s) throws IOException {
+	int len = s.length();
+	touch(pos, len * 2);
+	byte d[] = data;
+	int p = pos;
+	for (int i = 0 ; i < len ; i++) {
+	    int v = s.charAt(i);
+	    d[p++] = (byte)(v >>> 8);
+	    d[p++] = (byte)v;
+	}
+	pos = p;
+    }
+
+    public final void writeUTF(String str) throws IOException {
+	int strlen = str.length();
+	char c[] = chars;
+	if ((c == null) || (c.length < strlen)) {
+	    chars = c = new char[Math.max(strlen, 128)];
+	}
+	str.getChars(0, strlen, c, 0);
+	int utflen = UTFCodec.utfLength(c, 0, strlen);
+	if (utflen > UTFCodec.MAX_LENGTH) {
+	    throw new UTFDataFormatException("encoded string too long: " + utflen);
+	}
+	touch(pos, utflen + 2);
+	putShort(pos, utflen);
+	UTFCodec.encode(c, 0, strlen, data, pos + 2);
+	pos += utflen + 2;
+    }
+}
@@ -42,8 +42,13 @@ class PipedInputStream extends InputStream {
     Thread readSide;
     Thread writeSide;
 
+    /**
+     * The default size of the pipe's buffer.
+     */
+    static final int PIPE_SIZE = 1024;
+
     /* The circular buffer into which incoming data is placed */
-    private byte buffer[] = new byte[1024];
+    private byte buffer[];
 
     /*
      * fill and empty pointers.  in<0 implies the buffer is empty, in==out
@@ -57,6 +62,19 @@ class PipedInputStream extends InputStream {
      * @param src the stream to connect to.
      */
     public PipedInputStream (PipedOutputStream src) throws IOException {
+	this(src, PIPE_SIZE);
+    }
+
+    /**
+     * Creates an input file from the specified PipedOutputStream, with
+     * a buffer of the specified size. A larger buffer lets the writer
+     * run further ahead of the reader before it blocks.
+     * @param src the stream to connect to.
+     * @param pipeSize the size of the pipe's buffer.
+     * @exception IllegalArgumentException If pipeSize <= 0.
+     */
+    public PipedInputStream (PipedOutputStream src, int pipeSize) throws IOException {
+	this(pipeSize);
 	connect(src);
     }
 
@@ -65,6 +83,21 @@ class PipedInputStream extends InputStream {
      * It must be connected to a PipedOutputStream before being used.
      */
     public PipedInputStream () {
+	this(PIPE_SIZE);
+    }
+
+    /**
+     * Creates an input file that isn't connected to anything (yet),
+     * with a buffer of the specified size.
+     * It must be connected to a PipedOutputStream before being used.
+     * @param pipeSize the size of the pipe's buffer.
+     * @exception IllegalArgumentException If pipeSize <= 0.
+     */
+    public PipedInputStream (int pipeSize) {
+	if (pipeSize <= 0) {
+	    throw new IllegalArgumentException("pipe size <= 0");
+	}
+	buffer = new byte[pipeSize];
     }
 
     /**
@@ -74,15 +107,12 @@ class PipedInputStream extends InputStream {
     public void connect(PipedOutputStream src) throws IOException {
 	src.connect(this);
     }
-    
+
     /**
-     * Receives a byte of data.  This method will block if no input is
-     * available.
-     * @param b the byte being received
+     * Waits while the buffer is full.
      * @exception IOException If the pipe is broken.
      */
-    synchronized void receive(int b) throws IOException {
-	writeSide = Thread.currentThread();
+    private void awaitSpace() throws IOException {
 	while (in == out) {
 	    if ((readSide != null) && !readSide.isAlive()) {
 		throw new IOException("Pipe broken");
@@ -95,7 +125,19 @@ class PipedInputStream extends InputStream {
 		throw new java.io.InterruptedIOException();
 	    }
 	}
-	if (in < 0) {
+    }
+
+    /**
+     * Receives a byte of data.  This method will block if no input is
+     * available.
+     * @param b the byte being received
+     * @exception IOException If the pipe is broken.
+     */
+    synchronized void receive(int b) throws IOException {
+	writeSide = Thread.currentThread();
+	awaitSpace();
+	boolean wasEmpty = (in < 0);
+	if (wasEmpty) {
 	    in = 0;
 	    out = 0;
 	}
@@ -103,21 +145,45 @@ class PipedInputStream extends InputStream {
 	if (in >= buffer.length) {
 	    in = 0;
 	}
+	if (wasEmpty) {
+	    /* a reader may be waiting for this byte */
+	    notifyAll();
+	}
     }
 
     /**
      * Receives data into an array of bytes.  This method will
-     * block until some input is available. 
+     * block while the buffer is full. Each free span of the buffer
+     * is filled with a single copy.
      * @param b the buffer into which the data is received
      * @param off the start offset of the data
      * @param len the maximum number of bytes received
-     * @return the actual number of bytes received, -1 is
-     *          returned when the end of the stream is reached. 
      * @exception IOException If an I/O error has occurred. 
      */
     synchronized void receive(byte b[], int off, int len)  throws IOException {
-	while (--len >= 0) {
-	    receive(b[off++]);
+	writeSide = Thread.currentThread();
+	while (len > 0) {
+	    awaitSpace();
+	    boolean wasEmpty = (in < 0);
+	    if (wasEmpty) {
+		in = 0;
+		out = 0;
+	    }
+	    int n = ((in < out) ? out : buffer.length) - in;
+	    if (n > len) {
+		n = len;
+	    }
+	    System.arraycopy(b, off, buffer, in, n);
+	    in += n;
+	    if (in >= buffer.length) {
+		in = 0;
+	    }
+	    off += n;
+	    len -= n;
+	    if (wasEmpty) {
+		/* a reader may be waiting for this data */
+		notifyAll();
+	    }
 	}
     }
 
@@ -131,11 +197,11 @@ class PipedInputStream extends InputStream {
     }
 
     /**
-     * Reads a byte of data. This method will block if no input is available.
-     * @return 	the byte read, or -1 if the end of the stream is reached.
+     * Waits while the buffer is empty.
+     * @return false if the end of the stream is reached.
      * @exception IOException If the pipe is broken.
      */
-    public synchronized int read()  throws IOException {
+    private boolean awaitData() throws IOException {
 	int trials = 2;
 	while (in < 0) {
 	    readSide = Thread.currentThread();
@@ -143,7 +209,7 @@ class PipedInputStream extends InputStream {
 		throw new IOException("Pipe broken");
 	    }
 	    if (closed) {
-		return -1;
+		return false;
 	    }
 
             /* might be a writer waiting */
@@ -154,6 +220,19 @@ class PipedInputStream extends InputStream {
 		throw new java.io.InterruptedIOException();
 	    }
  	}
+	return true;
+    }
+
+    /**
+     * Reads a byte of data. This method will block if no input is available.
+     * @return 	the byte read, or -1 if the end of the stream is reached.
+     * @exception IOException If the pipe is broken.
+     */
+    public synchronized int read()  throws IOException {
+	if (!awaitData()) {
+	    return -1;
+	}
+	boolean wasFull = (in == out);
 	int ret = buffer[out++] & 0xFF;
 	if (out >= buffer.length) {
 	    out = 0;
@@ -162,12 +241,17 @@ class PipedInputStream extends InputStream {
             /* now empty */
 	    in = -1;		
 	}
+	if (wasFull) {
+	    /* a writer may be waiting for room */
+	    notifyAll();
+	}
 	return ret;
     }
 
     /**
      * Reads into an array of bytes.
-     * Blocks until some input is available.
+     * Blocks until some input is available. Each filled span of the
+     * buffer is taken with a single copy.
      * @param b	the buffer into which the data is read
      * @param off the start offset of the data
      * @param len the maximum number of bytes read
@@ -181,15 +265,19 @@ class PipedInputStream extends InputStream {
 	}
 
         /* possibly wait on the first character */
-	int c = read();		
-	if (c < 0) {
+	if (!awaitData()) {
 	    return -1;
 	}
-	b[off] = (byte) c;
-	int rlen = 1;
-	while ((in >= 0) && (--len > 0)) {
-	    b[off + rlen] = buffer[out++];
-	    rlen++;
+	boolean wasFull = (in == out);
+	int rlen = 0;
+	while ((in >= 0) && (rlen < len)) {
+	    int n = ((out < in) ? in : buffer.length) - out;
+	    if (n > len - rlen) {
+		n = len - rlen;
+	    }
+	    System.arraycopy(buffer, out, b, off + rlen, n);
+	    out += n;
+	    rlen += n;
 	    if (out >= buffer.length) {
 		out = 0;
 	    }
@@ -198,9 +286,26 @@ class PipedInputStream extends InputStream {
 		in = -1;	
 	    }
 	}
+	if (wasFull) {
+	    /* a writer may be waiting for room */
+	    notifyAll();
+	}
 	return rlen;
     }
 
+    /**
+     * Returns the number of bytes that can be read without blocking.
+     */
+    public synchronized int available() throws IOException {
+	if (in < 0) {
+	    return 0;
+	} else if (in > out) {
+	    return in - out;
+	} else {
+	    return in + buffer.length - out;
+	}
+    }
+
     /**
      * Closes the input stream. Must be called
      * to release any resources associated with
@@ -26,6 +26,11 @@ package java.io;
  * newline character is written.<p>
  *
  * <em>The top byte of 16 bit characters is discarded.</em><p>
+ *
+ * Each print or println call encodes its characters into an internal
+ * buffer and hands them to the underlying stream in one write, so
+ * numbers are printed without making temporary Strings and a println
+ * reaches the stream as a single line.<p>
  * Example:
  * <pre>
  *	System.out.println("Hello world!");
@@ -42,6 +47,20 @@ class PrintStream extends FilterOutputStream {
     private boolean autoflush;
     private boolean trouble;
 
+    /**
+     * The buffer that printed characters are encoded into. It is
+     * always empty between calls.
+     */
+    private byte buf[] = new byte[256];
+    private int count;
+
+    /**
+     * True for a plain PrintStream. Subclasses may capture output by
+     * overriding write(int), so for them each printed byte is passed
+     * to write(int), as it always has been.
+     */
+    private boolean direct;
+
     /**
      * Creates a new PrintStream.
      * @param out	the output stream
@@ -61,6 +80,7 @@ class PrintStream extends FilterOutputStream {
 	super(out);
 	this.autoflush = autoflush;
 	trouble = false;
+	direct = getClass().getName().equals("java.io.PrintStream");
     }
 
     /**
@@ -104,6 +124,116 @@ class PrintStream extends FilterOutputStream {
 	}
     }
 
+    /**
+     * Writes the encode buffer. A plain PrintStream writes it straight
+     * to the underlying stream and leaves flushing to finish(); a
+     * subclass gets each byte through write(int), so overriding
+     * write(int) is enough to capture everything printed.
+     */
+    private void drain() {
+	if (count > 0) {
+	    int n = count;
+	    count = 0;
+	    if (!direct) {
+		byte b[] = buf;
+		for (int i = 0 ; i < n ; i++) {
+		    write(b[i] & 0xff);
+		}
+		return;
+	    }
+	    try {
+		out.write(buf, 0, n);
+	    } catch (InterruptedIOException ex) {
+		// We've been interrupted.  Make sure we're still interrupted.
+		Thread.currentThread().interrupt();
+	    } catch (IOException ex) {
+		trouble = true;
+	    }
+	}
+    }
+
+    /**
+     * Ends a print call: writes the encode buffer and, if a newline
+     * was printed on an auto flushing stream, flushes. Subclasses
+     * flush from write(int) instead.
+     */
+    private void finish(boolean newline) {
+	drain();
+	if (direct && autoflush && newline) {
+	    try {
+		out.flush();
+	    } catch (InterruptedIOException ex) {
+		// We've been interrupted.  Make sure we're still interrupted.
+		Thread.currentThread().interrupt();
+	    } catch (IOException ex) {
+		trouble = true;
+	    }
+	}
+    }
+
+    /**
+     * Encodes a character.
+     */
+    private void put(char c) {
+	if (count == buf.length) {
+	    drain();
+	}
+	buf[count++] = (byte)c;
+    }
+
+    /**
+     * Encodes a String, a buffer full at a time.
+     */
+    private void put(String s) {
+	int len = s.length();
+	for (int i = 0 ; i < len ;) {
+	    if (count == buf.length) {
+		drain();
+	    }
+	    int n = Math.min(len - i, buf.length - count);
+	    s.getBytes(i, i + n, buf, count);
+	    count += n;
+	    i += n;
+	}
+    }
+
+    /**
+     * Encodes a sub array of characters.
+     */
+    private void put(char s[], int off, int len) {
+	byte b[] = buf;
+	for (int end = off + len ; off < end ;) {
+	    if (count == b.length) {
+		drain();
+	    }
+	    int n = Math.min(end - off, b.length - count);
+	    for (int j = count, k = off + n ; off < k ; ) {
+		b[j++] = (byte)s[off++];
+	    }
+	    count += n;
+	}
+    }
+
+    /**
+     * Encodes the decimal digits of a long.
+     */
+    private void put(long l) {
+	if (buf.length - count < 20) {
+	    drain();
+	}
+	count = Long.getBytes(l, buf, count);
+    }
+
+    /**
+     * Encodes the decimal digits of an integer.
+     */
+    private void put(int i) {
+	if (buf.length - count < 11) {
+	    drain();
+	}
+	count = Integer.getBytes(i, buf, count);
+    }
+
     /**
      * Flushes the stream. This will write any buffered
      * output bytes.
@@ -156,11 +286,8 @@ class PrintStream extends FilterOutputStream {
 	if (s == null) {
 	    s = "null";
 	}
-
-	int len = s.length();
-	for (int i = 0 ; i < len ; i++) {
-	    write(s.charAt(i));
-	}
+	put(s);
+	finish(autoflush && (s.indexOf('\n') >= 0));
     }
 
     /**
@@ -168,33 +295,44 @@ class PrintStream extends FilterOutputStream {
      * @param s the array of chars to be printed
      */
     synchronized public void print(char s[]) {
-	for (int i = 0 ; i < s.length ; i++) {
-	    write(s[i]);
+	put(s, 0, s.length);
+	boolean newline = false;
+	if (autoflush) {
+	    for (int i = s.length ; --i >= 0 ;) {
+		if (s[i] == '\n') {
+		    newline = true;
+		    break;
+		}
+	    }
 	}
+	finish(newline);
     }
 
     /**
      * Prints an character.
      * @param c the character to be printed
      */
-    public void print(char c) {
-	print(String.valueOf(c));
+    synchronized public void print(char c) {
+	put(c);
+	finish(c == '\n');
     }
 
     /**
      * Prints an integer.
      * @param i the integer to be printed
      */
-    public void print(int i) {
-	print(String.valueOf(i));
+    synchronized public void print(int i) {
+	put(i);
+	finish(false);
     }
 
     /**
      * Prints a long.
      * @param l the long to be printed.
      */
-    public void print(long l) {
-	print(String.valueOf(l));
+    synchronized public void print(long l) {
+	put(l);
+	finish(false);
     }
 
     /**
@@ -217,8 +355,9 @@ class PrintStream extends FilterOutputStream {
      * Prints a boolean.
      * @param b the boolean to be printed
      */
-    public void print(boolean b) {
-	print(b ? "true" : "false");
+    synchronized public void print(boolean b) {
+	put(b ? "true" : "false");
+	finish(false);
     }
     
     /**
@@ -232,9 +371,8 @@ class PrintStream extends FilterOutputStream {
      * Prints an object followed by a newline.
      * @param obj the object to be printed
      */
-    synchronized public void println(Object obj) {
-	print(obj);
-	write('\n');
+    public void println(Object obj) {
+	println(String.valueOf(obj));
     }
 
     /**
@@ -242,8 +380,9 @@ class PrintStream extends FilterOutputStream {
      * @param s the String to be printed
      */
     synchronized public void println(String s) {
-	print(s);
-	write('\n');
+	put((s == null) ? "null" : s);
+	put('\n');
+	finish(true);
     }
     
     /**
@@ -251,8 +390,9 @@ class PrintStream extends FilterOutputStream {
      * @param s the array of characters to be printed
      */
     synchronized public void println(char s[]) {
-	print(s);
-	write('\n');
+	put(s, 0, s.length);
+	put('\n');
+	finish(true);
     }
     
     /**
@@ -260,8 +400,9 @@ class PrintStream extends FilterOutputStream {
      * @param c the character to be printed
      */
     synchronized public void println(char c) {
-	print(c);
-	write('\n');
+	put(c);
+	put('\n');
+	finish(true);
     }
 
     /**
@@ -269,8 +410,9 @@ class PrintStream extends FilterOutputStream {
      * @param i the integer to be printed
      */
     synchronized public void println(int i) {
-	print(i);
-	write('\n');
+	put(i);
+	put('\n');
+	finish(true);
     }
 
     /**
@@ -278,8 +420,9 @@ class PrintStream extends FilterOutputStream {
      * @param l the long to be printed
      */
     synchronized public void println(long l) {
-	print(l);
-	write('\n');
+	put(l);
+	put('\n');
+	finish(true);
     }
 
     /**
@@ -287,8 +430,9 @@ class PrintStream extends FilterOutputStream {
      * @param f the float to be printed
      */
     synchronized public void println(float f) {
-	print(f);
-	write('\n');
+	put(String.valueOf(f));
+	put('\n');
+	finish(true);
     }
 
     /**
@@ -296,8 +440,9 @@ class PrintStream extends FilterOutputStream {
      * @param d the double to be printed
      */
     synchronized public void println(double d) {
-	print(d);
-	write('\n');
+	put(String.valueOf(d));
+	put('\n');
+	finish(true);
     }
 
     /**
@@ -305,7 +450,8 @@ class PrintStream extends FilterOutputStream {
      * @param b the boolean to be printed
      */
     synchronized public void println(boolean b) {
-	print(b);
-	write('\n');
+	put(b ? "true" : "false");
+	put('\n');
+	finish(true);
     }
 }
@@ -25,11 +25,17 @@ import java.io.File;
  * Random access files can be constructed from file descriptors, file 
  * names, or file objects.  This class provides a sense of security
  * by offering methods that allow specified mode accesses of 
- * read-only or read-write to files.
+ * read-only or read-write to files.<p>
+ *
+ * Every read() and write() is a native call. Use
+ * BufferedRandomAccessFile to read or write many small values.
+ *
+ * @see BufferedRandomAccessFile
  */
 public
 class RandomAccessFile implements DataOutput, DataInput {
     private FileDescriptor fd;
+    private UTFCodec utf;
 
     /**
      * Creates a RandomAccessFile with the specified system dependent 
@@ -321,7 +327,7 @@ class RandomAccessFile implements DataOutput, DataInput {
      * @return the read 64 bit long.
      */
     public final long readLong() throws IOException {
-	return (this.readInt() << 32L) + (this.readInt() & 0xFFFFFFFFL);
+	return ((long)(this.readInt()) << 32) + (this.readInt() & 0xFFFFFFFFL);
     }
 
     /**
@@ -340,27 +346,68 @@ class RandomAccessFile implements DataOutput, DataInput {
 	return Double.longBitsToDouble(readLong());
     }
 
+    private byte lineBuffer[];
+
     /**
-     * Reads a line terminated by a '\n' or EOF.
+     * A line buffer that has grown past this size is dropped after
+     * the line has been read, and the next line starts again with 128
+     * bytes, so one long line does not pin its memory for the life of
+     * the file.
      */
-    public final String readLine() throws IOException {
-	StringBuffer input = new StringBuffer();
-	int c;
+    private static final int MAX_LINE_BUFFER = 8192;
 
-	while (((c = read()) != -1) && (c != '\n')) {
-	    input.append((char)c);
+    /**
+     * Reads a line terminated by a '\n' or EOF. The file is read a
+     * block at a time and the file pointer is then moved back to just
+     * after the '\n'. To read a whole file a line at a time, a
+     * LineReader on a FileInputStream is faster still.
+     * @see LineReader
+     */
+    public final String readLine() throws IOException {
+	byte buf[] = lineBuffer;
+	if (buf == null) {
+	    buf = lineBuffer = new byte[128];
+	}
+	int count = 0;
+	int end = -1;
+
+	while (end < 0) {
+	    if (buf.length - count < 128) {
+		byte newBuf[] = new byte[buf.length * 2];
+		System.arraycopy(buf, 0, newBuf, 0, count);
+		buf = lineBuffer = newBuf;
+	    }
+	    int n = read(buf, count, 128);
+	    if (n <= 0) {
+		if (count == 0) {
+		    return null;
+		}
+		end = count;
+		break;
+	    }
+	    for (int i = count ; i < count + n ; i++) {
+		if (buf[i] == '\n') {
+		    seek(getFilePointer() - (count + n - i - 1));
+		    end = i;
+		    break;
+		}
+	    }
+	    count += n;
 	}
-	if ((c == -1) && (input.length() == 0)) {
-	    return null;
+	if (buf.length > MAX_LINE_BUFFER) {
+	    lineBuffer = null;
 	}
-	return input.toString();
+	return new String(buf, 0, 0, end);
     }
 
     /**
      * Reads a UTF formatted String.
      */
     public final String readUTF() throws IOException {
-	return DataInputStream.readUTF(this);
+	if (utf == null) {
+	    utf = new UTFCodec();
+	}
+	return utf.readUTF(this);
     }
 
     /**
@@ -476,40 +523,14 @@ class RandomAccessFile implements DataOutput, DataInput {
     /**
      * Writes a String in UTF format.
      * @param str the String
+     * @exception UTFDataFormatException If the encoded String is
+     * longer than 65535 bytes.
      */
     public final void writeUTF(String str) throws IOException {
-	int strlen = str.length();
-	int utflen = 0;
-
-	for (int i = 0 ; i < strlen ; i++) {
-	    int c = str.charAt(i);
-	    if ((c >= 0x0001) && (c <= 0x007F)) {
-		utflen++;
-	    } else if (c > 0x07FF) {
-		utflen += 3;
-	    } else {
-		utflen += 2;
-	    }
-	}
-
-	write((utflen >>> 8) & 0xFF);
-	write((utflen >>> 0) & 0xFF);
-	for (int i = 0 ; i < strlen ; i++) {
-	    int c = str.charAt(i);
-	    if ((c >= 0x0001) && (c <= 0x007F)) {
-		write(c);
-	    } else if (c > 0x07FF) {
-		write(0xE0 | ((c >> 12) & 0x0F));
-		write(0x80 | ((c >>  6) & 0x3F));
-		write(0x80 | ((c >>  0) & 0x3F));
-		//written += 2;
-	    } else {
-		write(0xC0 | ((c >>  6) & 0x1F));
-		write(0x80 | ((c >>  0) & 0x3F));
-		//written += 1;
-	    }
+	if (utf == null) {
+	    utf = new UTFCodec();
 	}
-	//written += strlen + 2;
+	utf.writeUTF(str, this);
     }
 
 }
@@ -0,0 +1,161 @@
+/*
+ * @(#)SegmentedInputStream.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+package java.io;
+
+/**
+ * This class implements an InputStream that reads the data in a
+ * SegmentedOutputStream without copying it into one array first.
+ * It supports mark() and reset().
+ *
+ * @see SegmentedOutputStream#getInputStream
+ * @version 	1.1, 01/22/96
+ */
+public
+class SegmentedInputStream extends InputStream {
+    private byte segments[][];
+
+    /** The segment being read and the position in it. */
+    private int current;
+    private int pos;
+
+    /** The number of bytes read so far, and the number there are. */
+    private int offset;
+    private int count;
+
+    /** The position saved by mark(). */
+    private int markCurrent;
+    private int markPos;
+    private int markOffset;
+
+    SegmentedInputStream(byte segments[][], int count) {
+	this.segments = segments;
+	this.count = count;
+    }
+
+    /**
+     * Moves on to the next segment if the current one is used up.
+     */
+    private void nextSegment() {
+	if (pos == segments[current].length) {
+	    current++;
+	    pos = 0;
+	}
+    }
+
+    /**
+     * Reads a byte of data.
+     * @return 	the byte read, or -1 if the end of the
+     *		stream is reached.
+     */
+    public synchronized int read() {
+	if (offset >= count) {
+	    return -1;
+	}
+	nextSegment();
+	offset++;
+	return segments[current][pos++] & 0xff;
+    }
+
+    /**
+     * Reads into an array of bytes.
+     * @param b	the buffer into which the data is read
+     * @param off the start offset of the data
+     * @param len the maximum number of bytes read
+     * @return  the actual number of bytes read; -1 is
+     * 		returned when the end of the stream is reached.
+     */
+    public synchronized int read(byte b[], int off, int len) {
+	if (offset >= count) {
+	    return -1;
+	}
+	if (len > count - offset) {
+	    len = count - offset;
+	}
+	if (len <= 0) {
+	    return 0;
+	}
+	for (int left = len ; left > 0 ;) {
+	    nextSegment();
+	    int n = Math.min(segments[current].length - pos, left);
+	    System.arraycopy(segments[current], pos, b, off, n);
+	    pos += n;
+	    off += n;
+	    left -= n;
+	}
+	offset += len;
+	return len;
+    }
+
+    /**
+     * Skips n bytes of input.
+     * @param n the number of bytes to be skipped
+     * @return	the actual number of bytes skipped.
+     */
+    public synchronized long skip(long n) {
+	if (n > count - offset) {
+	    n = count - offset;
+	}
+	if (n <= 0) {
+	    return 0;
+	}
+	for (long left = n ; left > 0 ;) {
+	    nextSegment();
+	    int k = (int)Math.min(segments[current].length - pos, left);
+	    pos += k;
+	    left -= k;
+	}
+	offset += (int)n;
+	return n;
+    }
+
+    /**
+     * Returns the number of available bytes in the buffer.
+     */
+    public synchronized int available() {
+	return count - offset;
+    }
+
+    /**
+     * Marks the current position. reset() returns to it.
+     * @param readlimit ignored; the whole buffer stays available
+     */
+    public synchronized void mark(int readlimit) {
+	markCurrent = current;
+	markPos = pos;
+	markOffset = offset;
+    }
+
+    /**
+     * Returns to the position saved by mark(), or to the beginning
+     * if mark() has not been called.
+     */
+    public synchronized void reset() {
+	current = markCurrent;
+	pos = markPos;
+	offset = markOffset;
+    }
+
+    /**
+     * Returns true; this stream supports mark() and reset().
+     */
+    public boolean markSupported() {
+	return true;
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * @(#)SegmentedOutputStream.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+package java.io;
+
+/**
+ * This class implements a buffer that can be used as an OutputStream,
+ * like ByteArrayOutputStream, but that keeps its data in a list of
+ * byte arrays instead of one. When the buffer is full a new segment is
+ * added, as large as all the existing ones together, and nothing that
+ * has been written is ever copied. The data can be written to another
+ * stream a segment at a time, read back with getInputStream(), or
+ * copied out once with toByteArray(). reset() empties the buffer but
+ * keeps its segments, so a buffer that is reused for one record or
+ * request after another stops allocating once it has reached the size
+ * of the largest.
+ *
+ * @see ByteArrayOutputStream
+ * @see SegmentedInputStream
+ * @version 	1.1, 01/22/96
+ */
+public
+class SegmentedOutputStream extends OutputStream {
+    /**
+     * Segments are never made larger than this.
+     */
+    static final int MAX_SEGMENT = 65536;
+
+    /**
+     * The segments. Those after the current one are left over from
+     * before the last reset() and are reused as the buffer fills up.
+     */
+    private byte segments[][];
+    private int nsegments;
+
+    /** The index of the segment being written. */
+    private int current;
+
+    /** The position in the segment being written. */
+    private int pos;
+
+    /** The number of bytes in the buffer. */
+    private int count;
+
+    /** The total size of the segments before the current one. */
+    private int capacity;
+
+    /**
+     * Creates a new SegmentedOutputStream.
+     */
+    public SegmentedOutputStream() {
+	this(256);
+    }
+
+    /**
+     * Creates a new SegmentedOutputStream with the specified size
+     * for the first segment.
+     * @param size the size of the first segment
+     * @exception IllegalArgumentException If size is not positive.
+     */
+    public SegmentedOutputStream(int size) {
+	if (size <= 0) {
+	    throw new IllegalArgumentException();
+	}
+	segments = new byte[8][];
+	segments[0] = new byte[size];
+	nsegments = 1;
+    }
+
+    /**
+     * Moves on to the next segment, adding one if there are no more.
+     */
+    private void nextSegment() {
+	capacity += segments[current].length;
+	if (++current == nsegments) {
+	    if (nsegments == segments.length) {
+		byte newSegments[][] = new byte[nsegments * 2][];
+		System.arraycopy(segments, 0, newSegments, 0, nsegments);
+		segments = newSegments;
+	    }
+	    segments[nsegments++] = new byte[Math.min(capacity, MAX_SEGMENT)];
+	}
+	pos = 0;
+    }
+
+    /**
+     * Writes a byte to the buffer.
+     * @param b	the byte
+     */
+    public synchronized void write(int b) {
+	if (pos == segments[current].length) {
+	    nextSegment();
+	}
+	segments[current][pos++] = (byte)b;
+	count++;
+    }
+
+    /**
+     * Writes bytes to the buffer.
+     * @param b	the data to be written
+     * @param off	the start offset in the data
+     * @param len	the number of bytes that are written
+     */
+    public synchronized void write(byte b[], int off, int len) {
+	if ((off < 0) || (len < 0) || (off + len > b.length)) {
+	    throw new ArrayIndexOutOfBoundsException(off + len);
+	}
+	count += len;
+	while (len > 0) {
+	    byte seg[] = segments[current];
+	    if (pos == seg.length) {
+		nextSegment();
+		seg = segments[current];
+	    }
+	    int n = Math.min(seg.length - pos, len);
+	    System.arraycopy(b, off, seg, pos, n);
+	    pos += n;
+	    off += n;
+	    len -= n;
+	}
+    }
+
+    /**
+     * Reads an input stream to its end, straight into the buffer.
+     * @param in	the input stream to read
+     * @return 		the number of bytes read.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public synchronized int readFrom(InputStream in) throws IOException {
+	int total = 0;
+	while (true) {
+	    byte seg[] = segments[current];
+	    if (pos == seg.length) {
+		nextSegment();
+		seg = segments[current];
+	    }
+	    int n = in.read(seg, pos, seg.length - pos);
+	    if (n < 0) {
+		return total;
+	    }
+	    pos += n;
+	    count += n;
+	    total += n;
+	}
+    }
+
+    /**
+     * Writes the contents of the buffer to another stream, one write
+     * per segment.
+     * @param out	the output stream to write to
+     * @exception IOException If an I/O error has occurred.
+     */
+    public synchronized void writeTo(OutputStream out) throws IOException {
+	for (int i = 0 ; i < current ; i++) {
+	    out.write(segments[i], 0, segments[i].length);
+	}
+	if (pos > 0) {
+	    out.write(segments[current], 0, pos);
+	}
+    }
+
+    /**
+     * Resets the buffer so that you can use it again without
+     * throwing away the segments already allocated.
+     */
+    public synchronized void reset() {
+	count = 0;
+	current = 0;
+	pos = 0;
+	capacity = 0;
+    }
+
+    /**
+     * Returns the current size of the buffer.
+     */
+    public int size() {
+	return count;
+    }
+
+    /**
+     * Copies the contents of the buffer into an array.
+     * @param b		the array to copy into
+     * @param off	the offset in b of the first byte
+     * @return 		the number of bytes copied, which is size().
+     */
+    public synchronized int getBytes(byte b[], int off) {
+	for (int i = 0 ; i < current ; i++) {
+	    int n = segments[i].length;
+	    System.arraycopy(segments[i], 0, b, off, n);
+	    off += n;
+	}
+	System.arraycopy(segments[current], 0, b, off, pos);
+	return count;
+    }
+
+    /**
+     * Returns a copy of the data.
+     */
+    public synchronized byte toByteArray()[] {
+	byte newbuf[] = new byte[count];
+	getBytes(newbuf, 0);
+	return newbuf;
+    }
+
+    /**
+     * Returns an input stream that reads the data in the buffer without
+     * copying it. The stream reads what is in the buffer now; it must
+     * not be used after the buffer has been reset.
+     */
+    public synchronized SegmentedInputStream getInputStream() {
+	return new SegmentedInputStream(segments, count);
+    }
+
+    /**
+     * Converts the data to a string.
+     * @return the string.
+     */
+    public String toString() {
+	return toString(0);
+    }
+
+    /**
+     * Converts the data to a string. The top 8 bits of
+     * each 16 bit Unicode character are set to hibyte.
+     * Data that fits in one segment is converted straight into the
+     * String; otherwise it is converted into a StringBuffer of exactly
+     * the right size, whose array the String then shares, so the
+     * characters are never copied a second time.
+     * @param hibyte the bits set
+     */
+    public synchronized String toString(int hibyte) {
+	if (current == 0) {
+	    return new String(segments[0], hibyte, 0, pos);
+	}
+	StringBuffer sb = new StringBuffer(count);
+	char chunk[] = new char[Math.min(count, 512)];
+	int hi = (hibyte & 0xff) << 8;
+	for (int i = 0 ; i <= current ; i++) {
+	    byte seg[] = segments[i];
+	    int n = (i < current) ? seg.length : pos;
+	    for (int k = 0 ; k < n ;) {
+		int m = Math.min(n - k, chunk.length);
+		for (int j = 0 ; j < m ; j++) {
+		    chunk[j] = (char)(hi | (seg[k++] & 0xff));
+		}
+		sb.append(chunk, 0, m);
+	    }
+	}
+	return sb.toString();
+    }
+}
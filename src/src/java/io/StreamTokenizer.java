@@ -39,6 +39,29 @@ class StreamTokenizer {
     private boolean slashSlashCommentsP = false;
     private boolean slashStarCommentsP = false;
 
+    /* Input block for bufferedInput mode; bytes[pos..limit) are unread */
+    private boolean bufferedInputP = false;
+    private byte bytes[];
+    private int pos;
+    private int limit;
+    private static final int BLOCK_SIZE = 8192;
+
+    /* Recently seen words, indexed by hash, so that repeated words
+       share one String */
+    private String symbols[] = new String[SYMBOLS];
+    private static final int SYMBOLS = 512;
+    private static final int MAX_SYMBOL = 32;
+
+    /* Powers of ten that are exact as doubles */
+    private static final double pow10[] = new double[23];
+    static {
+	double p = 1;
+	for (int i = 0 ; i < pow10.length ; i++) {
+	    pow10[i] = p;
+	    p *= 10;
+	}
+    }
+
 
     private byte ctype[] = new byte[256];
     private static final byte CT_WHITESPACE = 1;
@@ -227,6 +250,17 @@ class StreamTokenizer {
 	slashSlashCommentsP = flag;
     }
 
+    /**
+     * If the flag is true, the input stream is read in blocks of
+     * several thousand bytes instead of one byte at a time, and words
+     * are scanned directly in the block. The tokenizer will then
+     * usually have read past the last token it returned, so the input
+     * stream should not be used by anyone else.
+     */
+    public void bufferedInput(boolean flag) {
+	bufferedInputP = flag;
+    }
+
     /**
      * Examines a boolean to decide whether TT_WORD tokens are
      * forced to be lower case.
@@ -236,6 +270,56 @@ class StreamTokenizer {
 	forceLower = fl;
     }
 
+    /**
+     * Reads the next byte, from the current block if there is one.
+     */
+    private int read() throws IOException {
+	if (pos < limit) {
+	    return bytes[pos++] & 0xFF;
+	}
+	if (!bufferedInputP) {
+	    return input.read();
+	}
+	if (bytes == null) {
+	    bytes = new byte[BLOCK_SIZE];
+	}
+	int n = input.read(bytes, 0, bytes.length);
+	if (n <= 0) {
+	    pos = limit = 0;
+	    return -1;
+	}
+	pos = 1;
+	limit = n;
+	return bytes[0] & 0xFF;
+    }
+
+    /**
+     * Returns a String holding the first len characters of buf, shared
+     * with earlier words where possible.
+     */
+    private String symbol(char buf[], int len) {
+	int h = 0;
+	for (int i = 0 ; i < len ; i++) {
+	    h = 31 * h + buf[i];
+	}
+	int index = (h ^ (h >>> 9)) & (SYMBOLS - 1);
+	String sym = symbols[index];
+	if ((sym != null) && (sym.length() == len)) {
+	    int i = 0;
+	    while ((i < len) && (sym.charAt(i) == buf[i])) {
+		i++;
+	    }
+	    if (i == len) {
+		return sym;
+	    }
+	}
+	sym = String.copyValueOf(buf, 0, len);
+	if (len <= MAX_SYMBOL) {
+	    symbols[index] = sym;
+	}
+	return sym;
+    }
+
     /** 
      * Parses a token from the input stream.  The return value is
      * the same as the value of ttype.  Typical clients of this
@@ -248,7 +332,6 @@ class StreamTokenizer {
 	    pushedBack = false;
 	    return ttype;
 	}
-	InputStream is = input;
 	byte ct[] = ctype;
 	int c = peekc;
 	sval = null;
@@ -259,9 +342,9 @@ class StreamTokenizer {
 	while ((ctype & CT_WHITESPACE) != 0) {
 	    if (c == '\r') {
 		LINENO++;
-		c = is.read();
+		c = read();
 		if (c == '\n')
-		    c = is.read();
+		    c = read();
 		if (eolIsSignificantP) {
 		    peekc = c;
 		    return ttype = TT_EOL;
@@ -274,7 +357,7 @@ class StreamTokenizer {
 			return ttype = TT_EOL;
 		    }
 		}
-		c = is.read();
+		c = read();
 	    }
 	    if (c < 0)
 		return ttype = TT_EOF;
@@ -283,42 +366,71 @@ class StreamTokenizer {
 	if ((ctype & CT_DIGIT) != 0) {
 	    boolean neg = false;
 	    if (c == '-') {
-		c = is.read();
+		c = read();
 		if (c != '.' && (c < '0' || c > '9')) {
 		    peekc = c;
 		    return ttype = '-';
 		}
 		neg = true;
 	    }
+	    /* collect the digits in a long while they fit */
+	    long lv = 0;
 	    double v = 0;
+	    boolean big = false;
 	    int decexp = 0;
 	    int seendot = 0;
 	    while (true) {
 		if (c == '.' && seendot == 0)
 		    seendot = 1;
 		else if ('0' <= c && c <= '9') {
-		    v = v * 10 + (c - '0');
+		    if (big) {
+			v = v * 10 + (c - '0');
+		    } else if (lv < 922337203685477579L) {
+			lv = lv * 10 + (c - '0');
+		    } else {
+			big = true;
+			v = (double)lv * 10 + (c - '0');
+		    }
 		    decexp += seendot;
 		} else
 		    break;
-		c = is.read();
+		c = read();
 	    }
 	    peekc = c;
+	    if (!big) {
+		v = (double)lv;
+	    }
 	    if (decexp != 0) {
-		double denom = 10;
-		decexp--;
-		while (decexp > 0) {
-		    denom *= 10;
-		    decexp--;
-		}
 		/* do one division of a likely-to-be-more-accurate number */
-		v = v / denom;
+		v = v / ((decexp < pow10.length) ? pow10[decexp] : Math.pow(10, decexp));
 	    }
 	    nval = neg ? -v : v;
 	    return ttype = TT_NUMBER;
 	}
 	if ((ctype & CT_ALPHA) != 0) {
 	    int i = 0;
+	    if ((pos > 0) && (pos <= limit) && ((bytes[pos - 1] & 0xFF) == c)) {
+		/* c came from the block: scan the rest of the word there */
+		byte b[] = bytes;
+		int p = pos;
+		int lim = limit;
+		while ((p < lim) && ((ct[b[p] & 0xFF] & (CT_ALPHA | CT_DIGIT)) != 0)) {
+		    p++;
+		}
+		if (p < lim) {
+		    int len = p - pos + 1;
+		    if (len > buf.length) {
+			buf = new char[Math.max(len, buf.length * 2)];
+		    }
+		    char cb[] = buf;
+		    for (int j = pos - 1 ; j < p ; j++) {
+			cb[i++] = (char)(b[j] & 0xFF);
+		    }
+		    peekc = b[p] & 0xFF;
+		    pos = p + 1;
+		    return word(i);
+		}
+	    }
 	    do {
 		if (i >= buf.length) {
 		    char nb[] = new char[buf.length * 2];
@@ -326,26 +438,23 @@ class StreamTokenizer {
 		    buf = nb;
 		}
 		buf[i++] = (char) c;
-		c = is.read();
+		c = read();
 		ctype = c < 0 ? CT_WHITESPACE : c < 256 ? ct[c] : CT_ALPHA;
 	    } while ((ctype & (CT_ALPHA | CT_DIGIT)) != 0);
 	    peekc = c;
-	    sval = String.copyValueOf(buf, 0, i);
-	    if (forceLower)
-		sval = sval.toLowerCase();
-	    return ttype = TT_WORD;
+	    return word(i);
 	}
 	if ((ctype & CT_COMMENT) != 0) {
-	    while ((c = is.read()) != '\n' && c != '\r' && c >= 0);
+	    while ((c = read()) != '\n' && c != '\r' && c >= 0);
 	    peekc = c;
 	    return nextToken();
 	}
 	if ((ctype & CT_QUOTE) != 0) {
 	    ttype = c;
 	    int i = 0;
-	    while ((c = is.read()) >= 0 && c != ttype && c != '\n' && c != '\r') {
+	    while ((c = read()) >= 0 && c != ttype && c != '\n' && c != '\r') {
 		if (c == '\\')
-		    switch (c = is.read()) {
+		    switch (c = read()) {
 		      case 'a':
 			c = 0x7;
 			break;
@@ -376,10 +485,10 @@ class StreamTokenizer {
 		      case '6':
 		      case '7':
 			c = c - '0';
-			int c2 = is.read();
+			int c2 = read();
 			if ('0' <= c2 && c2 <= '7') {
 			    c = (c << 3) + (c2 - '0');
-			    c2 = is.read();
+			    c2 = read();
 			    if ('0' <= c2 && c2 <= '7')
 				c = (c << 3) + (c2 - '0');
 			    else
@@ -400,10 +509,10 @@ class StreamTokenizer {
 	    return ttype;
 	}
 	if (c == '/' && (slashSlashCommentsP || slashStarCommentsP)) {
-	    c = is.read();
+	    c = read();
 	    if (c == '*' && slashStarCommentsP) {
 		int prevc = 0;
-		while ((c = is.read()) != '/' || prevc != '*') {
+		while ((c = read()) != '/' || prevc != '*') {
 		    if (c == '\n')
 			LINENO++;
 		    if (c < 0)
@@ -413,7 +522,7 @@ class StreamTokenizer {
 		peekc = ' ';
 		return nextToken();
 	    } else if (c == '/' && slashSlashCommentsP) {
-		while ((c = is.read()) != '\n' && c != '\r' && c >= 0);
+		while ((c = read()) != '\n' && c != '\r' && c >= 0);
 		peekc = c;
 		return nextToken();
 	    } else {
@@ -425,6 +534,20 @@ class StreamTokenizer {
 	return ttype = c;
     }
 
+    /**
+     * Sets sval to the word held in the first len characters of buf.
+     */
+    private int word(int len) {
+	if (forceLower) {
+	    char cb[] = buf;
+	    for (int i = 0 ; i < len ; i++) {
+		cb[i] = Character.toLowerCase(cb[i]);
+	    }
+	}
+	sval = symbol(buf, len);
+	return ttype = TT_WORD;
+    }
+
     /**
      * Pushes back a stream token.
      */
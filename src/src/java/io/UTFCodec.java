@@ -0,0 +1,340 @@
+/*
+ * @(#)UTFCodec.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+package java.io;
+
+/**
+ * Converts between Strings and the UTF format used by readUTF and
+ * writeUTF in DataInput and DataOutput: a two byte length followed by
+ * the characters, one byte for each character from 0x0001 to 0x007F,
+ * two bytes for 0x0000 and characters up to 0x07FF, and
+ * three bytes for the rest.<p>
+ *
+ * The static encode and decode methods work on arrays supplied by the
+ * caller and allocate nothing. A UTFCodec object also keeps a pair of
+ * scratch buffers, so that reading or writing a UTF string through it
+ * takes one bulk read or write and, apart from the resulting String,
+ * no allocation. Runs of ASCII characters are converted with a
+ * separate tight loop.<p>
+ *
+ * A UTFCodec object is not synchronized; each stream keeps its own.
+ *
+ * @see DataInput#readUTF
+ * @see DataOutput#writeUTF
+ * @version 	1.1, 01/22/96
+ */
+public final
+class UTFCodec {
+    /**
+     * The largest number of bytes in an encoded string, not counting
+     * the two byte length.
+     */
+    public static final int MAX_LENGTH = 65535;
+
+    /**
+     * Scratch buffers, grown as needed.
+     */
+    private byte bytes[];
+    private char chars[];
+
+    /**
+     * Creates a UTFCodec. The scratch buffers are allocated on first use.
+     */
+    public UTFCodec() {
+    }
+
+    /**
+     * Returns the number of bytes needed to encode a sub array of
+     * characters, not counting the two byte length.
+     */
+    public static int utfLength(char str[], int off, int len) {
+	int utflen = len;
+	for (int end = off + len ; off < end ; off++) {
+	    int c = str[off];
+	    if ((c >= 0x0001) && (c <= 0x007F)) {
+		continue;
+	    }
+	    utflen += (c > 0x07FF) ? 2 : 1;
+	}
+	return utflen;
+    }
+
+    /**
+     * Returns the number of bytes needed to encode a String, not
+     * counting the two byte length.
+     */
+    public static int utfLength(String str) {
+	int strlen = str.length();
+	int utflen = strlen;
+	for (int i = 0 ; i < strlen ; i++) {
+	    int c = str.charAt(i);
+	    if ((c >= 0x0001) && (c <= 0x007F)) {
+		continue;
+	    }
+	    utflen += (c > 0x07FF) ? 2 : 1;
+	}
+	return utflen;
+    }
+
+    /**
+     * Encodes a sub array of characters. The two byte length is not
+     * written. The destination must have room for utfLength() bytes.
+     * @param str the characters
+     * @param off the offset of the first character
+     * @param len the number of characters
+     * @param dst the array to encode into
+     * @param dstOff the offset in dst of the first byte
+     * @return the number of bytes written.
+     */
+    public static int encode(char str[], int off, int len, byte dst[], int dstOff) {
+	int end = off + len;
+	int p = dstOff;
+	int c;
+
+	// ASCII run
+	while ((off < end) && ((c = str[off]) >= 0x0001) && (c <= 0x007F)) {
+	    dst[p++] = (byte)c;
+	    off++;
+	}
+	while (off < end) {
+	    c = str[off++];
+	    if ((c >= 0x0001) && (c <= 0x007F)) {
+		dst[p++] = (byte)c;
+	    } else if (c > 0x07FF) {
+		dst[p++] = (byte)(0xE0 | ((c >> 12) & 0x0F));
+		dst[p++] = (byte)(0x80 | ((c >>  6) & 0x3F));
+		dst[p++] = (byte)(0x80 | ((c >>  0) & 0x3F));
+	    } else {
+		dst[p++] = (byte)(0xC0 | ((c >>  6) & 0x1F));
+		dst[p++] = (byte)(0x80 | ((c >>  0) & 0x3F));
+	    }
+	}
+	return p - dstOff;
+    }
+
+    /**
+     * Decodes a sub array of bytes. The bytes must not include the two
+     * byte length. The destination must have room for one character
+     * per byte in the worst case.
+     * @param src the encoded bytes
+     * @param off the offset of the first byte
+     * @param len the number of bytes
+     * @param dst the array to decode into
+     * @param dstOff the offset in dst of the first character
+     * @return the number of characters written.
+     * @exception UTFDataFormatException If the bytes are not valid UTF.
+     */
+    public static int decode(byte src[], int off, int len, char dst[], int dstOff)
+	throws UTFDataFormatException {
+	int end = off + len;
+	int p = dstOff;
+	int c;
+
+	// ASCII run
+	while ((off < end) && ((c = src[off]) >= 0)) {
+	    dst[p++] = (char)c;
+	    off++;
+	}
+	while (off < end) {
+	    c = src[off++] & 0xFF;
+	    int char2, char3;
+	    switch (c >> 4) {
+	      case 0: case 1: case 2: case 3: case 4: case 5: case 6: case 7:
+		// 0xxxxxxx
+		dst[p++] = (char)c;
+		break;
+	      case 12: case 13:
+		// 110x xxxx   10xx xxxx
+		if (off + 1 > end)
+		    throw new UTFDataFormatException();
+		char2 = src[off++];
+		if ((char2 & 0xC0) != 0x80)
+		    throw new UTFDataFormatException();
+		dst[p++] = (char)(((c & 0x1F) << 6) | (char2 & 0x3F));
+		break;
+	      case 14:
+		// 1110 xxxx  10xx xxxx  10xx xxxx
+		if (off + 2 > end)
+		    throw new UTFDataFormatException();
+		char2 = src[off++];
+		char3 = src[off++];
+		if (((char2 & 0xC0) != 0x80) || ((char3 & 0xC0) != 0x80))
+		    throw new UTFDataFormatException();
+		dst[p++] = (char)(((c & 0x0F) << 12) |
+				  ((char2 & 0x3F) << 6) |
+				  ((char3 & 0x3F) << 0));
+		break;
+	      default:
+		// 10xx xxxx,  1111 xxxx
+		throw new UTFDataFormatException();
+	    }
+	}
+	return p - dstOff;
+    }
+
+    /**
+     * Returns a scratch byte buffer of at least the specified size.
+     */
+    private byte[] byteBuffer(int size) {
+	byte b[] = bytes;
+	if ((b == null) || (b.length < size)) {
+	    bytes = b = new byte[Math.max(size, 128)];
+	}
+	return b;
+    }
+
+    /**
+     * Returns a scratch char buffer of at least the specified size.
+     */
+    private char[] charBuffer(int size) {
+	char c[] = chars;
+	if ((c == null) || (c.length < size)) {
+	    chars = c = new char[Math.max(size, 128)];
+	}
+	return c;
+    }
+
+    /**
+     * Reads the length and the encoded bytes of a UTF string into the
+     * scratch byte buffer and decodes them into the scratch char
+     * buffer.
+     * @return the number of characters decoded.
+     */
+    private int read(DataInput in) throws IOException {
+	int utflen = in.readUnsignedShort();
+	byte b[] = byteBuffer(utflen);
+	in.readFully(b, 0, utflen);
+	return decode(b, 0, utflen, charBuffer(utflen), 0);
+    }
+
+    /**
+     * Reads a UTF string.
+     * @param in the input to read from
+     * @return the String.
+     * @exception UTFDataFormatException If the bytes are not valid UTF.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public String readUTF(DataInput in) throws IOException {
+	int n = read(in);
+	return new String(chars, 0, n);
+    }
+
+    /**
+     * Reads a UTF string into a StringBuffer.
+     * @param in the input to read from
+     * @param sb the StringBuffer the characters are appended to
+     * @return the number of characters appended.
+     * @exception UTFDataFormatException If the bytes are not valid UTF.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public int readUTF(DataInput in, StringBuffer sb) throws IOException {
+	int n = read(in);
+	sb.append(chars, 0, n);
+	return n;
+    }
+
+    /**
+     * Reads a UTF string into an array of characters.
+     * @param in the input to read from
+     * @param dst the array to decode into
+     * @param off the offset in dst of the first character
+     * @return the number of characters read.
+     * @exception ArrayIndexOutOfBoundsException If dst is too small to
+     * hold the string; the string has been consumed.
+     * @exception UTFDataFormatException If the bytes are not valid UTF.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public int readUTF(DataInput in, char dst[], int off) throws IOException {
+	int utflen = in.readUnsignedShort();
+	byte b[] = byteBuffer(utflen);
+	in.readFully(b, 0, utflen);
+	return decode(b, 0, utflen, dst, off);
+    }
+
+    /**
+     * Encodes a String with its two byte length into the scratch byte
+     * buffer.
+     * @return the total number of bytes.
+     */
+    private int encode(String str) throws UTFDataFormatException {
+	int strlen = str.length();
+	char c[] = charBuffer(strlen);
+	str.getChars(0, strlen, c, 0);
+	return encode(c, 0, strlen);
+    }
+
+    /**
+     * Encodes a sub array of characters with its two byte length into
+     * the scratch byte buffer.
+     * @return the total number of bytes.
+     */
+    private int encode(char str[], int off, int len) throws UTFDataFormatException {
+	int utflen = utfLength(str, off, len);
+	if (utflen > MAX_LENGTH) {
+	    throw new UTFDataFormatException("encoded string too long: " + utflen);
+	}
+	byte b[] = byteBuffer(utflen + 2);
+	b[0] = (byte)(utflen >>> 8);
+	b[1] = (byte)(utflen >>> 0);
+	encode(str, off, len, b, 2);
+	return utflen + 2;
+    }
+
+    /**
+     * Writes a String in UTF format with a single write.
+     * @param str the String
+     * @param out the output to write to
+     * @exception UTFDataFormatException If the encoded string is longer
+     * than MAX_LENGTH bytes.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public void writeUTF(String str, DataOutput out) throws IOException {
+	int n = encode(str);
+	out.write(bytes, 0, n);
+    }
+
+    /**
+     * Writes a sub array of characters in UTF format with a single write.
+     * @param str the characters
+     * @param off the offset of the first character
+     * @param len the number of characters
+     * @param out the output to write to
+     * @exception UTFDataFormatException If the encoded string is longer
+     * than MAX_LENGTH bytes.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public void writeUTF(char str[], int off, int len, DataOutput out) throws IOException {
+	int n = encode(str, off, len);
+	out.write(bytes, 0, n);
+    }
+
+    /**
+     * Writes a String in UTF format to an output stream with a single
+     * write.
+     * @return the number of bytes written, including the length.
+     * @exception UTFDataFormatException If the encoded string is longer
+     * than MAX_LENGTH bytes.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public int writeUTF(String str, OutputStream out) throws IOException {
+	int n = encode(str);
+	out.write(bytes, 0, n);
+	return n;
+    }
+}
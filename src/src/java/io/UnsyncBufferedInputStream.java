@@ -0,0 +1,131 @@
+/*
+ * @(#)UnsyncBufferedInputStream.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+package java.io;
+
+/**
+ * A buffered input stream for a single owner. It behaves exactly like
+ * BufferedInputStream, but none of its methods are synchronized, so
+ * parsers that pull one byte at a time do not pay for a monitor on
+ * every byte. It must only be used by one thread at a time.
+ *
+ * @see BufferedInputStream
+ * @version 	1.1, 01/22/96
+ */
+public
+class UnsyncBufferedInputStream extends BufferedInputStream {
+    /**
+     * Creates a new buffered stream with a default
+     * buffer size.
+     * @param in 	the input stream
+     */
+    public UnsyncBufferedInputStream(InputStream in) {
+	super(in);
+    }
+
+    /**
+     * Creates a new buffered stream with the specified
+     * buffer size.
+     * @param in 		the input stream
+     * @param size	the buffer size
+     */
+    public UnsyncBufferedInputStream(InputStream in, int size) {
+	super(in, size);
+    }
+
+    /**
+     * Reads a byte of data. This method will block if no input is
+     * available.
+     * @return 	the byte read, or -1 if the end of the
+     *		stream is reached.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public int read() throws IOException {
+	if (pos < count) {
+	    return buf[pos++] & 0xff;
+	}
+	return readByte();
+    }
+
+    /**
+     * Reads into an array of bytes.
+     * Blocks until some input is available.
+     * @param b	the buffer into which the data is read
+     * @param off the start offset of the data
+     * @param len the maximum number of bytes read
+     * @return  the actual number of bytes read, -1 is
+     * 		returned when the end of the stream is reached.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public int read(byte b[], int off, int len) throws IOException {
+	return readBytes(b, off, len);
+    }
+
+    /**
+     * Skips n bytes of input.
+     * @param n the number of bytes to be skipped
+     * @return	the actual number of bytes skipped.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public long skip(long n) throws IOException {
+	return skipBytes(n);
+    }
+
+    /**
+     * Returns the number of bytes that can be read
+     * without blocking.
+     * @return the number of available bytes.
+     */
+    public int available() throws IOException {
+	return (count - pos) + in.available();
+    }
+
+    /**
+     * Marks the current position in the input stream.
+     * @param readlimit the maximum limit of bytes allowed to be read before the
+     * mark position becomes invalid.
+     * @see BufferedInputStream#mark
+     */
+    public void mark(int readlimit) {
+	marklimit = readlimit;
+	markpos = pos;
+    }
+
+    /**
+     * Repositions the stream to the last marked position.
+     * @exception IOException If the stream has not been marked or if the mark has been
+     * invalidated.
+     * @see BufferedInputStream#reset
+     */
+    public void reset() throws IOException {
+	if (markpos < 0)
+	    throw new IOException("Resetting to invalid mark");
+	pos = markpos;
+    }
+
+    /**
+     * Closes the input stream and gives the buffer back to the
+     * buffer pool.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public void close() throws IOException {
+	release();
+	in.close();
+    }
+}
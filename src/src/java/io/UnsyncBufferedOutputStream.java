@@ -0,0 +1,90 @@
+/*
+ * @(#)UnsyncBufferedOutputStream.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+package java.io;
+
+/**
+ * A buffered output stream for a single owner. It behaves exactly like
+ * BufferedOutputStream, but none of its methods are synchronized, so
+ * writers that produce one byte at a time do not pay for a monitor on
+ * every byte. It must only be used by one thread at a time.
+ *
+ * @see BufferedOutputStream
+ * @version 	1.1, 01/22/96
+ */
+public
+class UnsyncBufferedOutputStream extends BufferedOutputStream {
+    /**
+     * Creates a new buffered stream with a default
+     * buffer size.
+     * @param out 	the output stream
+     */
+    public UnsyncBufferedOutputStream(OutputStream out) {
+	super(out);
+    }
+
+    /**
+     * Creates a new buffered stream with the specified
+     * buffer size.
+     * @param out 		the output stream
+     * @param size	the buffer size
+     */
+    public UnsyncBufferedOutputStream(OutputStream out, int size) {
+	super(out, size);
+    }
+
+    /**
+     * Writes a byte.
+     * @param b the byte to be written
+     * @exception IOException If an I/O error has occurred.
+     */
+    public void write(int b) throws IOException {
+	writeByte(b);
+    }
+
+    /**
+     * Writes a subarray of bytes.
+     * @param b	the data to be written
+     * @param off	the start offset in the data
+     * @param len	the number of bytes that are written
+     * @exception IOException If an I/O error has occurred.
+     */
+    public void write(byte b[], int off, int len) throws IOException {
+	writeBytes(b, off, len);
+    }
+
+    /**
+     * Flushes the stream. This will write any buffered
+     * output bytes.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public void flush() throws IOException {
+	flushBuffer();
+	out.flush();
+    }
+
+    /**
+     * Flushes and closes the stream and gives the buffer back to the
+     * buffer pool.
+     * @exception IOException If an I/O error has occurred.
+     */
+    public void close() throws IOException {
+	closeStream();
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * @(#)BufferedRandomAccessFileBenchmark.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+import java.io.BufferedRandomAccessFile;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * Writes a file of small fixed-size records with writeInt and
+ * writeLong, reads it back with readInt and readLong, and then updates
+ * every record in place, first through RandomAccessFile and then
+ * through BufferedRandomAccessFile.
+ * <pre>
+ *	java BufferedRandomAccessFileBenchmark [records]
+ * </pre>
+ */
+class BufferedRandomAccessFileBenchmark {
+    /** Each record is a key followed by a file offset. */
+    static final int RECORD = 12;
+
+    static long run(RandomAccessFile f, int nrecords, long times[]) throws IOException {
+	long start = System.currentTimeMillis();
+	for (int i = 0 ; i < nrecords ; i++) {
+	    f.writeInt(i);
+	    f.writeLong((long)i * 4096);
+	}
+	times[0] = System.currentTimeMillis() - start;
+
+	start = System.currentTimeMillis();
+	long sum = 0;
+	f.seek(0);
+	for (int i = 0 ; i < nrecords ; i++) {
+	    sum += f.readInt();
+	    sum += f.readLong();
+	}
+	times[1] = System.currentTimeMillis() - start;
+
+	start = System.currentTimeMillis();
+	for (int i = 0 ; i < nrecords ; i++) {
+	    f.seek((long)i * RECORD + 4);
+	    f.writeLong(f.readLong() + 1);
+	}
+	f.close();
+	times[2] = System.currentTimeMillis() - start;
+	return sum;
+    }
+
+    public static void main(String args[]) throws IOException {
+	int nrecords = (args.length > 0) ? Integer.parseInt(args[0]) : 100000;
+	File tmp = new File("BufferedRandomAccessFileBenchmark.tmp");
+	long plain[] = new long[3];
+	long buffered[] = new long[3];
+
+	tmp.delete();
+	long s1 = run(new RandomAccessFile(tmp, "rw"), nrecords, plain);
+	tmp.delete();
+	long s2 = run(new BufferedRandomAccessFile(tmp, "rw"), nrecords, buffered);
+	tmp.delete();
+
+	if (s1 != s2) {
+	    throw new InternalError("results differ");
+	}
+	System.out.println(nrecords + " records of " + RECORD + " bytes");
+	System.out.println("                          write   read   update (ms)");
+	System.out.println("RandomAccessFile:         " + plain[0] + "\t  " +
+			   plain[1] + "\t " + plain[2]);
+	System.out.println("BufferedRandomAccessFile: " + buffered[0] + "\t  " +
+			   buffered[1] + "\t " + buffered[2]);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * @(#)DirectoryWalkerBenchmark.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.DirectoryEntry;
+import java.io.DirectoryWalker;
+
+/**
+ * Walks a tree of 100,000 files (100 directories of 10 directories
+ * of 100 files), creating it first if it does not exist. The walk is
+ * done by hand with File.list(), isDirectory(), length() and
+ * lastModified(), then with a DirectoryWalker asking only for types,
+ * and then with a DirectoryWalker asking for lengths and times too.
+ * <pre>
+ *	java DirectoryWalkerBenchmark [directory]
+ * </pre>
+ */
+class DirectoryWalkerBenchmark {
+    static long files;
+    static long bytes;
+
+    static void create(File root) throws IOException {
+	byte data[] = new byte[16];
+	for (int i = 0 ; i < 100 ; i++) {
+	    for (int j = 0 ; j < 10 ; j++) {
+		File dir = new File(root, "d" + i + File.separator + "e" + j);
+		dir.mkdirs();
+		for (int k = 0 ; k < 100 ; k++) {
+		    FileOutputStream out = new FileOutputStream(new File(dir, "f" + k));
+		    out.write(data, 0, k % data.length);
+		    out.close();
+		}
+	    }
+	}
+    }
+
+    static void byHand(File dir) {
+	String names[] = dir.list();
+	for (int i = 0 ; i < names.length ; i++) {
+	    File f = new File(dir, names[i]);
+	    if (f.isDirectory()) {
+		byHand(f);
+	    } else {
+		files++;
+		bytes += f.length();
+		f.lastModified();
+	    }
+	}
+    }
+
+    public static void main(String args[]) throws IOException {
+	File root = new File((args.length > 0) ? args[0] : "walktree");
+	if (!root.exists()) {
+	    System.out.println("creating " + root.getPath());
+	    create(root);
+	}
+	for (int pass = 0 ; pass < 3 ; pass++) {
+	    files = bytes = 0;
+	    long t0 = System.currentTimeMillis();
+	    byHand(root);
+	    long t1 = System.currentTimeMillis();
+	    System.out.println("by hand:                " + files + " files, " + bytes +
+			       " bytes, " + (t1 - t0) + "ms");
+
+	    files = 0;
+	    DirectoryWalker w = new DirectoryWalker(root);
+	    while (w.hasMoreElements()) {
+		if (!w.nextEntry().isDirectory()) {
+		    files++;
+		}
+	    }
+	    long t2 = System.currentTimeMillis();
+	    System.out.println("walker, types only:     " + files + " files, " +
+			       (t2 - t1) + "ms");
+
+	    files = bytes = 0;
+	    w = new DirectoryWalker(root);
+	    while (w.hasMoreElements()) {
+		DirectoryEntry e = w.nextEntry();
+		if (!e.isDirectory()) {
+		    files++;
+		    bytes += e.length();
+		    e.lastModified();
+		}
+	    }
+	    long t3 = System.currentTimeMillis();
+	    System.out.println("walker, length and time: " + files + " files, " + bytes +
+			       " bytes, " + (t3 - t2) + "ms");
+	}
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * @(#)LineReaderBenchmark.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.LineReader;
+
+/**
+ * Reads the same log text with DataInputStream.readLine(),
+ * LineReader.readLine() and LineReader.nextLine(), counting the
+ * lines that start with "GET".
+ * <pre>
+ *	java LineReaderBenchmark [lines]
+ * </pre>
+ */
+class LineReaderBenchmark {
+    public static void main(String args[]) throws Exception {
+	int n = (args.length > 0) ? Integer.parseInt(args[0]) : 200000;
+	StringBuffer sb = new StringBuffer();
+	for (int i = 0 ; i < n ; i++) {
+	    sb.append((i % 3 == 0) ? "POST" : "GET");
+	    sb.append(" /index/page").append(i).append(".html HTTP/1.0 200 ");
+	    sb.append(i * 37).append("\r\n");
+	}
+	String text = sb.toString();
+	byte data[] = new byte[text.length()];
+	text.getBytes(0, data.length, data, 0);
+
+	for (int pass = 0 ; pass < 3 ; pass++) {
+	    int c1 = 0, c2 = 0, c3 = 0;
+	    long t0 = System.currentTimeMillis();
+	    DataInputStream din = new DataInputStream(new ByteArrayInputStream(data));
+	    String s;
+	    while ((s = din.readLine()) != null) {
+		if (s.startsWith("GET")) {
+		    c1++;
+		}
+	    }
+	    long t1 = System.currentTimeMillis();
+	    LineReader lin = new LineReader(new ByteArrayInputStream(data));
+	    while ((s = lin.readLine()) != null) {
+		if (s.startsWith("GET")) {
+		    c2++;
+		}
+	    }
+	    long t2 = System.currentTimeMillis();
+	    lin = new LineReader(new ByteArrayInputStream(data));
+	    while (lin.nextLine()) {
+		if (lin.getLine().startsWith("GET")) {
+		    c3++;
+		}
+	    }
+	    long t3 = System.currentTimeMillis();
+	    if ((c1 != c2) || (c1 != c3)) {
+		System.out.println("line counts differ: " + c1 + " " + c2 + " " + c3);
+	    }
+	    System.out.println(lin.getLineNumber() + " lines: DataInputStream " + (t1 - t0) +
+			       "ms, LineReader.readLine " + (t2 - t1) +
+			       "ms, LineReader.nextLine " + (t3 - t2) + "ms");
+	}
+    }
+}
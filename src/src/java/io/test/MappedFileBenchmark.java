@@ -0,0 +1,129 @@
+/*
+ * @(#)MappedFileBenchmark.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+import java.io.File;
+import java.io.IOException;
+import java.io.MappedFile;
+import java.io.RandomAccessFile;
+import java.util.Random;
+
+/**
+ * Binary searches a sorted file of fixed-size index records, first
+ * through RandomAccessFile (a seek and a readInt per probe) and then
+ * through MappedFile, and reports the time per lookup.
+ * <pre>
+ *	java MappedFileBenchmark [records] [lookups]
+ * </pre>
+ */
+class MappedFileBenchmark {
+    /** Each record is a key followed by a file offset. */
+    static final int RECORD = 12;
+
+    static int searchFile(RandomAccessFile f, int nrecords, int key) throws IOException {
+	int lo = 0;
+	int hi = nrecords - 1;
+	while (lo <= hi) {
+	    int mid = (lo + hi) >>> 1;
+	    f.seek((long)mid * RECORD);
+	    int k = f.readInt();
+	    if (k < key) {
+		lo = mid + 1;
+	    } else if (k > key) {
+		hi = mid - 1;
+	    } else {
+		return mid;
+	    }
+	}
+	return -1;
+    }
+
+    static int searchMapped(MappedFile f, int nrecords, int key) {
+	int lo = 0;
+	int hi = nrecords - 1;
+	while (lo <= hi) {
+	    int mid = (lo + hi) >>> 1;
+	    int k = f.getInt(mid * RECORD);
+	    if (k < key) {
+		lo = mid + 1;
+	    } else if (k > key) {
+		hi = mid - 1;
+	    } else {
+		return mid;
+	    }
+	}
+	return -1;
+    }
+
+    public static void main(String args[]) throws IOException {
+	int nrecords = (args.length > 0) ? Integer.parseInt(args[0]) : 100000;
+	int lookups = (args.length > 1) ? Integer.parseInt(args[1]) : 100000;
+	File tmp = new File("MappedFileBenchmark.tmp");
+
+	MappedFile out;
+	RandomAccessFile raf = new RandomAccessFile(tmp, "rw");
+	raf.write(new byte[nrecords * RECORD]);
+	out = new MappedFile(raf, true, 0, nrecords * RECORD);
+	for (int i = 0 ; i < nrecords ; i++) {
+	    out.writeInt(i * 2);
+	    out.writeLong((long)i * 4096);
+	}
+	out.close();
+	raf.close();
+
+	Random rand = new Random(1);
+	int keys[] = new int[lookups];
+	for (int i = 0 ; i < lookups ; i++) {
+	    keys[i] = (rand.nextInt() & 0x7fffffff) % (nrecords * 2);
+	}
+
+	RandomAccessFile in = new RandomAccessFile(tmp, "r");
+	long start = System.currentTimeMillis();
+	int found = 0;
+	for (int i = 0 ; i < lookups ; i++) {
+	    if (searchFile(in, nrecords, keys[i]) >= 0) {
+		found++;
+	    }
+	}
+	long fileTime = System.currentTimeMillis() - start;
+	in.close();
+
+	start = System.currentTimeMillis();
+	MappedFile map = new MappedFile(tmp, "r");
+	long mapTime = System.currentTimeMillis() - start;
+	start = System.currentTimeMillis();
+	int mfound = 0;
+	for (int i = 0 ; i < lookups ; i++) {
+	    if (searchMapped(map, nrecords, keys[i]) >= 0) {
+		mfound++;
+	    }
+	}
+	long mappedTime = System.currentTimeMillis() - start;
+	map.close();
+	tmp.delete();
+
+	if (found != mfound) {
+	    throw new InternalError("results differ");
+	}
+	System.out.println(lookups + " lookups in " + nrecords + " records, " +
+			   found + " found");
+	System.out.println("RandomAccessFile: " + (fileTime * 1000000 / lookups) +
+			   " ns/lookup");
+	System.out.println("MappedFile:       " + (mappedTime * 1000000 / lookups) +
+			   " ns/lookup (+" + mapTime + " ms to map)");
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * @(#)PipeBenchmark.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+
+/**
+ * Writes chunks of data into a pipe from one thread.
+ */
+class PipeWriter extends Thread {
+    PipedOutputStream out;
+    int total;
+    int chunk;
+
+    PipeWriter(PipedOutputStream out, int total, int chunk) {
+	this.out = out;
+	this.total = total;
+	this.chunk = chunk;
+    }
+
+    public void run() {
+	byte b[] = new byte[chunk];
+	try {
+	    for (int n = 0 ; n < total ; n += chunk) {
+		out.write(b, 0, Math.min(chunk, total - n));
+	    }
+	    out.close();
+	} catch (IOException e) {
+	    e.printStackTrace();
+	}
+    }
+}
+
+/**
+ * Measures the throughput of a pipe between two threads for a range of
+ * pipe buffer sizes and write sizes.
+ * <pre>
+ *	java PipeBenchmark [megabytes]
+ * </pre>
+ */
+class PipeBenchmark {
+    static long run(int total, int pipeSize, int chunk) throws IOException {
+	PipedOutputStream out = new PipedOutputStream();
+	PipedInputStream in = new PipedInputStream(out, pipeSize);
+	PipeWriter writer = new PipeWriter(out, total, chunk);
+	byte b[] = new byte[chunk];
+	long start = System.currentTimeMillis();
+	writer.start();
+	int n, count = 0;
+	while ((n = in.read(b, 0, b.length)) >= 0) {
+	    count += n;
+	}
+	long time = System.currentTimeMillis() - start;
+	if (count != total) {
+	    throw new InternalError("lost data");
+	}
+	return time;
+    }
+
+    public static void main(String args[]) throws IOException {
+	int mb = (args.length > 0) ? Integer.parseInt(args[0]) : 64;
+	int total = mb * 1024 * 1024;
+	int chunks[] = new int[3];
+	chunks[0] = 64;
+	chunks[1] = 1024;
+	chunks[2] = 8192;
+
+	System.out.println(mb + " MB through the pipe, MB/s by write size");
+	System.out.println("pipe size\t64\t1024\t8192");
+	for (int size = 1024 ; size <= 65536 ; size <<= 2) {
+	    String line = size + "\t";
+	    for (int i = 0 ; i < chunks.length ; i++) {
+		long t = run(total, size, chunks[i]);
+		line += "\t" + (mb * 1000L / Math.max(t, 1));
+	    }
+	    System.out.println(line);
+	}
+    }
+}
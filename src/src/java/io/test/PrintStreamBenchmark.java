@@ -0,0 +1,70 @@
+/*
+ * @(#)PrintStreamBenchmark.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * An output stream that counts and drops everything written to it,
+ * so that only the cost of printing is measured.
+ */
+class NullOutputStream extends OutputStream {
+    long count;
+
+    public void write(int b) {
+	count++;
+    }
+
+    public void write(byte b[], int off, int len) {
+	count += len;
+    }
+}
+
+/**
+ * Prints typical log lines to a PrintStream.
+ * <pre>
+ *	java PrintStreamBenchmark [lines]
+ * </pre>
+ */
+class PrintStreamBenchmark {
+    static long run(PrintStream out, int lines) {
+	long start = System.currentTimeMillis();
+	for (int i = 0 ; i < lines ; i++) {
+	    out.print("[");
+	    out.print(start + i);
+	    out.print("] request ");
+	    out.print(i);
+	    out.print(" from host");
+	    out.print(i % 97);
+	    out.print(": GET /index.html ");
+	    out.print(200);
+	    out.print(' ');
+	    out.println(i * 31);
+	}
+	return System.currentTimeMillis() - start;
+    }
+
+    public static void main(String args[]) {
+	int lines = (args.length > 0) ? Integer.parseInt(args[0]) : 200000;
+	for (int pass = 0 ; pass < 3 ; pass++) {
+	    NullOutputStream sink = new NullOutputStream();
+	    long t = run(new PrintStream(sink, true), lines);
+	    System.out.println(lines + " lines, " + sink.count + " bytes in " + t + "ms");
+	}
+    }
+}
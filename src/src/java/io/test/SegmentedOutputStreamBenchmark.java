@@ -0,0 +1,78 @@
+/*
+ * @(#)SegmentedOutputStreamBenchmark.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.SegmentedOutputStream;
+
+/**
+ * An output stream that drops everything written to it.
+ */
+class SinkOutputStream extends OutputStream {
+    long count;
+
+    public void write(int b) {
+	count++;
+    }
+
+    public void write(byte b[], int off, int len) {
+	count += len;
+    }
+}
+
+/**
+ * Builds request bodies of growing size in a ByteArrayOutputStream
+ * and in a reused SegmentedOutputStream, and writes each one out.
+ * <pre>
+ *	java SegmentedOutputStreamBenchmark [bodies]
+ * </pre>
+ */
+class SegmentedOutputStreamBenchmark {
+    public static void main(String args[]) throws Exception {
+	int n = (args.length > 0) ? Integer.parseInt(args[0]) : 2000;
+	byte record[] = new byte[100];
+	for (int i = 0 ; i < record.length ; i++) {
+	    record[i] = (byte)('a' + (i % 26));
+	}
+	SegmentedOutputStream seg = new SegmentedOutputStream();
+
+	for (int pass = 0 ; pass < 3 ; pass++) {
+	    SinkOutputStream sink = new SinkOutputStream();
+	    long t0 = System.currentTimeMillis();
+	    for (int i = 0 ; i < n ; i++) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		for (int j = (i % 100) * 50 ; j-- > 0 ;) {
+		    out.write(record, 0, record.length);
+		}
+		byte body[] = out.toByteArray();
+		sink.write(body, 0, body.length);
+	    }
+	    long t1 = System.currentTimeMillis();
+	    for (int i = 0 ; i < n ; i++) {
+		seg.reset();
+		for (int j = (i % 100) * 50 ; j-- > 0 ;) {
+		    seg.write(record, 0, record.length);
+		}
+		seg.writeTo(sink);
+	    }
+	    long t2 = System.currentTimeMillis();
+	    System.out.println((sink.count / 2) + " bytes per run: ByteArrayOutputStream " +
+			       (t1 - t0) + "ms, SegmentedOutputStream " + (t2 - t1) + "ms");
+	}
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * @(#)StreamTokenizerBenchmark.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.StreamTokenizer;
+import java.util.Random;
+
+/**
+ * Tokenizes a large generated configuration file with StreamTokenizer
+ * reading byte by byte from a BufferedInputStream, and again in
+ * bufferedInput mode, and reports the time and token counts.
+ * <pre>
+ *	java StreamTokenizerBenchmark [megabytes]
+ * </pre>
+ */
+class StreamTokenizerBenchmark {
+    static String keywords[] = {
+	"host", "port", "timeout", "retries", "user", "path", "enable",
+	"disable", "cache", "size", "proxy", "level"
+    };
+
+    static void generate(File file, int size) throws IOException {
+	PrintStream out = new PrintStream(new FileOutputStream(file));
+	Random rand = new Random(1);
+	int n = 0;
+	int line = 0;
+	while (n < size) {
+	    String key = keywords[(rand.nextInt() >>> 1) % keywords.length];
+	    String s;
+	    switch (line++ % 4) {
+	      case 0:
+		s = key + " = " + (rand.nextInt() >>> 8);
+		break;
+	      case 1:
+		s = key + " = " + (rand.nextInt() % 10000) / 100.0;
+		break;
+	      case 2:
+		s = key + " = \"value" + line + "\"";
+		break;
+	      default:
+		s = key + " = name" + (line % 100) + "  / comment";
+		break;
+	    }
+	    out.println(s);
+	    n += s.length() + 1;
+	}
+	out.close();
+    }
+
+    static long run(File file, boolean buffered, int counts[]) throws IOException {
+	InputStream in = new FileInputStream(file);
+	StreamTokenizer st;
+	if (buffered) {
+	    st = new StreamTokenizer(in);
+	    st.bufferedInput(true);
+	} else {
+	    st = new StreamTokenizer(new BufferedInputStream(in));
+	}
+	long start = System.currentTimeMillis();
+	int t;
+	while ((t = st.nextToken()) != StreamTokenizer.TT_EOF) {
+	    if (t == StreamTokenizer.TT_WORD) {
+		counts[0]++;
+	    } else if (t == StreamTokenizer.TT_NUMBER) {
+		counts[1]++;
+	    } else {
+		counts[2]++;
+	    }
+	}
+	long time = System.currentTimeMillis() - start;
+	in.close();
+	return time;
+    }
+
+    public static void main(String args[]) throws IOException {
+	int mb = (args.length > 0) ? Integer.parseInt(args[0]) : 32;
+	File tmp = new File("StreamTokenizerBenchmark.tmp");
+	generate(tmp, mb * 1024 * 1024);
+
+	int c1[] = new int[3];
+	int c2[] = new int[3];
+	long t1 = run(tmp, false, c1);
+	long t2 = run(tmp, true, c2);
+	tmp.delete();
+
+	if ((c1[0] != c2[0]) || (c1[1] != c2[1]) || (c1[2] != c2[2])) {
+	    throw new InternalError("token counts differ");
+	}
+	System.out.println(mb + " MB: " + c1[0] + " words, " + c1[1] +
+			   " numbers, " + c1[2] + " other tokens");
+	System.out.println("BufferedInputStream: " + t1 + " ms");
+	System.out.println("bufferedInput mode:  " + t2 + " ms");
+    }
+}
@@ -204,6 +204,29 @@ class Character extends Object {
 	this.value = value;
     }
 
+    /**
+     * Shared Characters for the ASCII characters.
+     */
+    private static Character cache[];
+    static {
+	cache = new Character[128];
+	for (int i = 0 ; i < cache.length ; i++) {
+	    cache[i] = new Character((char)i);
+	}
+    }
+
+    /**
+     * Returns a Character for the specified value. ASCII characters share
+     * one Character each instead of making a new one every time.
+     * @param c	the character value
+     */
+    public static Character valueOf(char c) {
+	if (c < 128) {
+	    return cache[c];
+	}
+	return new Character(c);
+    }
+
     /**
      * Returns the value of this Character object.
      */
@@ -74,6 +74,103 @@ class Double extends Number {
      */
     public static native Double valueOf(String s) throws NumberFormatException;
 
+    /**
+     * Exact powers of ten, as far as they can be represented.
+     */
+    private static double pow10[] = {
+	1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+	1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20,
+	1e21, 1e22
+    };
+
+    /**
+     * Parses a double from part of a character array. Plain decimal
+     * numbers with at most 15 significant digits and a small exponent,
+     * which is what most data files hold, are converted without making
+     * a String; the result is the same as from valueOf(String), since
+     * both the digits and the power of ten are exact doubles. Anything
+     * else is handed to valueOf(String).
+     * @param buf	the characters
+     * @param off	the offset of the first character
+     * @param len	the number of characters
+     * @exception NumberFormatException If the characters cannot be parsed.
+     */
+    public static double parseDouble(char buf[], int off, int len)
+	throws NumberFormatException {
+	int i = off;
+	int max = off + len;
+	boolean negative = false;
+	if ((i < max) && (buf[i] == '-')) {
+	    negative = true;
+	    i++;
+	}
+
+	long mantissa = 0;
+	int significant = 0;
+	int digits = 0;
+	int exp = 0;
+	char c = 0;
+	for (; i < max ; i++) {
+	    c = buf[i];
+	    if ((c < '0') || (c > '9')) {
+		break;
+	    }
+	    digits++;
+	    if ((mantissa != 0) || (c != '0')) {
+		mantissa = mantissa * 10 + (c - '0');
+		significant++;
+	    }
+	}
+	if ((i < max) && (c == '.')) {
+	    for (i++ ; i < max ; i++) {
+		c = buf[i];
+		if ((c < '0') || (c > '9')) {
+		    break;
+		}
+		digits++;
+		exp--;
+		if ((mantissa != 0) || (c != '0')) {
+		    mantissa = mantissa * 10 + (c - '0');
+		    significant++;
+		}
+	    }
+	}
+	if ((i < max) && ((c == 'e') || (c == 'E')) && (digits > 0)) {
+	    boolean expNegative = false;
+	    int e = 0;
+	    int start = ++i;
+	    if ((i < max) && ((buf[i] == '-') || (buf[i] == '+'))) {
+		expNegative = (buf[i] == '-');
+		start = ++i;
+	    }
+	    for (; (i < max) && (buf[i] >= '0') && (buf[i] <= '9') ; i++) {
+		if (e < 1000) {
+		    e = e * 10 + (buf[i] - '0');
+		}
+	    }
+	    if (i == start) {
+		digits = 0;
+	    }
+	    exp += expNegative ? -e : e;
+	}
+
+	if ((i == max) && (digits > 0) && (significant <= 15)) {
+	    double d = (double)mantissa;
+	    if (mantissa == 0) {
+		return negative ? -d : d;
+	    }
+	    if ((exp >= 0) && (exp <= 22)) {
+		d *= pow10[exp];
+		return negative ? -d : d;
+	    }
+	    if ((exp < 0) && (exp >= -22)) {
+		d /= pow10[-exp];
+		return negative ? -d : d;
+	    }
+	}
+	return valueOf(new String(buf, off, len)).doubleValue();
+    }
+
 
     /**
      * Returns true if the specified number is the special Not-a-Number (NaN) value.
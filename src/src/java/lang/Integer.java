@@ -51,6 +51,10 @@ class Integer extends Number {
      * @see Character#MAX_RADIX
      */
     public static String toString(int i, int radix) {
+	if (radix == 10) {
+	    char buf[] = new char[11];
+	    return new String(buf, 0, getChars(i, buf, 0));
+	}
 	StringBuffer buf;
 	int digitCount = 0;
 	boolean minval = false;
@@ -113,6 +117,143 @@ class Integer extends Number {
 	return toString(i,10);
     }
     
+    /**
+     * Returns the number of characters in the decimal representation
+     * of the specified integer, including the sign.
+     * @param i	the integer
+     */
+    public static int stringSize(int i) {
+	int sign = 0;
+	if (i < 0) {
+	    sign = 1;
+	} else {
+	    i = -i;
+	}
+	int digits = 1;
+	for (int p = -10 ; (digits < 10) && (i <= p) ; p *= 10) {
+	    digits++;
+	}
+	return sign + digits;
+    }
+
+    /**
+     * Writes the decimal representation of the specified integer into a
+     * character array, without making a String. There must be room for
+     * stringSize(i) characters.
+     * @param i		the integer to be converted
+     * @param buf	the array to write into
+     * @param off	the offset of the first character
+     * @return 		the offset after the last character written.
+     */
+    public static int getChars(int i, char buf[], int off) {
+	int end = off + stringSize(i);
+	int pos = end;
+	boolean negative = (i < 0);
+
+	// work with the negative value, which also covers MIN_VALUE
+	if (!negative) {
+	    i = -i;
+	}
+	do {
+	    int q = i / 10;
+	    buf[--pos] = (char)('0' + (q * 10 - i));
+	    i = q;
+	} while (i != 0);
+	if (negative) {
+	    buf[--pos] = '-';
+	}
+	return end;
+    }
+
+    /**
+     * Writes the decimal representation of the specified integer into a
+     * byte array as ASCII characters. There must be room for
+     * stringSize(i) bytes.
+     * @param i		the integer to be converted
+     * @param buf	the array to write into
+     * @param off	the offset of the first byte
+     * @return 		the offset after the last byte written.
+     */
+    public static int getBytes(int i, byte buf[], int off) {
+	int end = off + stringSize(i);
+	int pos = end;
+	boolean negative = (i < 0);
+
+	if (!negative) {
+	    i = -i;
+	}
+	do {
+	    int q = i / 10;
+	    buf[--pos] = (byte)('0' + (q * 10 - i));
+	    i = q;
+	} while (i != 0);
+	if (negative) {
+	    buf[--pos] = (byte)'-';
+	}
+	return end;
+    }
+
+    /**
+     * Parses an integer from part of a character array, without making
+     * a String. Unlike parseInt(String, int), a value that does not fit
+     * in an int is reported as an error.
+     * @param buf	the characters
+     * @param off	the offset of the first character
+     * @param len	the number of characters
+     * @param radix 	the radix to be used
+     * @exception	NumberFormatException If the characters do not form a
+     *			parsable integer.
+     */
+    public static int parseInt(char buf[], int off, int len, int radix)
+	throws NumberFormatException {
+	int i = off;
+	int max = off + len;
+	if ((radix < Character.MIN_RADIX) || (radix > Character.MAX_RADIX)) {
+	    throw new NumberFormatException("radix " + radix);
+	}
+	if (len <= 0) {
+	    throw new NumberFormatException("");
+	}
+	boolean negative = false;
+	int limit = -MAX_VALUE;
+	if (buf[i] == '-') {
+	    negative = true;
+	    limit = MIN_VALUE;
+	    if (++i == max) {
+		throw new NumberFormatException("-");
+	    }
+	}
+
+	// accumulate negatively so that MIN_VALUE can be represented
+	int multmin = limit / radix;
+	int result = 0;
+	while (i < max) {
+	    int digit = Character.digit(buf[i++], radix);
+	    if ((digit < 0) || (result < multmin)) {
+		throw new NumberFormatException(new String(buf, off, len));
+	    }
+	    result *= radix;
+	    if (result < limit + digit) {
+		throw new NumberFormatException(new String(buf, off, len));
+	    }
+	    result -= digit;
+	}
+	return negative ? result : -result;
+    }
+
+    /**
+     * Parses a decimal integer from part of a character array, without
+     * making a String.
+     * @param buf	the characters
+     * @param off	the offset of the first character
+     * @param len	the number of characters
+     * @exception	NumberFormatException If the characters do not form a
+     *			parsable integer.
+     */
+    public static int parseInt(char buf[], int off, int len) throws NumberFormatException {
+	return parseInt(buf, off, len, 10);
+    }
+
     /**
      * Assuming the specified String represents an integer, returns that integer's
      * value. Throws an exception if the String cannot be parsed as an int.
@@ -185,6 +326,30 @@ class Integer extends Number {
 	return new Integer(parseInt(s, 10));
     }
 
+    /**
+     * Shared Integers for the values from -128 to 127.
+     */
+    private static Integer cache[];
+    static {
+	cache = new Integer[256];
+	for (int i = 0 ; i < cache.length ; i++) {
+	    cache[i] = new Integer(i - 128);
+	}
+    }
+
+    /**
+     * Returns an Integer for the specified value. Small values, which are
+     * the ones most often used as Hashtable keys, share one Integer each
+     * instead of making a new one every time.
+     * @param i		the integer value
+     */
+    public static Integer valueOf(int i) {
+	if ((i >= -128) && (i < 128)) {
+	    return cache[i + 128];
+	}
+	return new Integer(i);
+    }
+
     /**
      * The value of the Integer.
      */
@@ -51,6 +51,10 @@ class Long extends Number {
      * @see Character#MAX_RADIX
      */
     public static String toString(long i, int radix) {
+	if (radix == 10) {
+	    char buf[] = new char[20];
+	    return new String(buf, 0, getChars(i, buf, 0));
+	}
 	StringBuffer buf;
 	int digitCount = 0;
 	boolean minval = false;
@@ -115,6 +119,155 @@ class Long extends Number {
     }
 
 
+    /**
+     * Returns the number of characters in the decimal representation
+     * of the specified long, including the sign.
+     * @param i	the long
+     */
+    public static int stringSize(long i) {
+	int sign = 0;
+	if (i < 0) {
+	    sign = 1;
+	} else {
+	    i = -i;
+	}
+	int digits = 1;
+	for (long p = -10 ; (digits < 19) && (i <= p) ; p *= 10) {
+	    digits++;
+	}
+	return sign + digits;
+    }
+
+    /**
+     * Writes the decimal representation of the specified long into a
+     * character array, without making a String. There must be room for
+     * stringSize(i) characters.
+     * @param i		the long to be converted
+     * @param buf	the array to write into
+     * @param off	the offset of the first character
+     * @return 		the offset after the last character written.
+     */
+    public static int getChars(long i, char buf[], int off) {
+	int end = off + stringSize(i);
+	int pos = end;
+	boolean negative = (i < 0);
+
+	// work with the negative value, which also covers MIN_VALUE
+	if (!negative) {
+	    i = -i;
+	}
+	while (i < Integer.MIN_VALUE) {
+	    long q = i / 10;
+	    buf[--pos] = (char)('0' + (int)(q * 10 - i));
+	    i = q;
+	}
+	int j = (int)i;
+	do {
+	    int q = j / 10;
+	    buf[--pos] = (char)('0' + (q * 10 - j));
+	    j = q;
+	} while (j != 0);
+	if (negative) {
+	    buf[--pos] = '-';
+	}
+	return end;
+    }
+
+    /**
+     * Writes the decimal representation of the specified long into a
+     * byte array as ASCII characters. There must be room for
+     * stringSize(i) bytes.
+     * @param i		the long to be converted
+     * @param buf	the array to write into
+     * @param off	the offset of the first byte
+     * @return 		the offset after the last byte written.
+     */
+    public static int getBytes(long i, byte buf[], int off) {
+	int end = off + stringSize(i);
+	int pos = end;
+	boolean negative = (i < 0);
+
+	if (!negative) {
+	    i = -i;
+	}
+	while (i < Integer.MIN_VALUE) {
+	    long q = i / 10;
+	    buf[--pos] = (byte)('0' + (int)(q * 10 - i));
+	    i = q;
+	}
+	int j = (int)i;
+	do {
+	    int q = j / 10;
+	    buf[--pos] = (byte)('0' + (q * 10 - j));
+	    j = q;
+	} while (j != 0);
+	if (negative) {
+	    buf[--pos] = (byte)'-';
+	}
+	return end;
+    }
+
+    /**
+     * Parses a long from part of a character array, without making
+     * a String. Unlike parseLong(String, int), a value that does not fit
+     * in a long is reported as an error.
+     * @param buf	the characters
+     * @param off	the offset of the first character
+     * @param len	the number of characters
+     * @param radix 	the radix to be used
+     * @exception	NumberFormatException If the characters do not form a
+     *			parsable long.
+     */
+    public static long parseLong(char buf[], int off, int len, int radix)
+	throws NumberFormatException {
+	int i = off;
+	int max = off + len;
+	if ((radix < Character.MIN_RADIX) || (radix > Character.MAX_RADIX)) {
+	    throw new NumberFormatException("radix " + radix);
+	}
+	if (len <= 0) {
+	    throw new NumberFormatException("");
+	}
+	boolean negative = false;
+	long limit = -MAX_VALUE;
+	if (buf[i] == '-') {
+	    negative = true;
+	    limit = MIN_VALUE;
+	    if (++i == max) {
+		throw new NumberFormatException("-");
+	    }
+	}
+
+	// accumulate negatively so that MIN_VALUE can be represented
+	long multmin = limit / radix;
+	long result = 0;
+	while (i < max) {
+	    int digit = Character.digit(buf[i++], radix);
+	    if ((digit < 0) || (result < multmin)) {
+		throw new NumberFormatException(new String(buf, off, len));
+	    }
+	    result *= radix;
+	    if (result < limit + digit) {
+		throw new NumberFormatException(new String(buf, off, len));
+	    }
+	    result -= digit;
+	}
+	return negative ? result : -result;
+    }
+
+    /**
+     * Parses a decimal long from part of a character array, without
+     * making a String.
+     * @param buf	the characters
+     * @param off	the offset of the first character
+     * @param len	the number of characters
+     * @exception	NumberFormatException If the characters do not form a
+     *			parsable long.
+     */
+    public static long parseLong(char buf[], int off, int len) throws NumberFormatException {
+	return parseLong(buf, off, len, 10);
+    }
+
     /**
      * Assuming the specified String represents a long, returns that long's
      * value. Throws an exception if the String cannot be parsed as a long.
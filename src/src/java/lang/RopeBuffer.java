@@ -0,0 +1,333 @@
+/*
+ * @(#)RopeBuffer.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+package java.lang;
+
+import java.io.OutputStream;
+import java.io.IOException;
+
+/**
+ * A text buffer for building very large strings, such as generated
+ * HTML pages or reports. Where a StringBuffer grows by copying all of
+ * its characters into an array twice the size, a RopeBuffer appends
+ * into fixed-size chunks and never moves a character once it has been
+ * appended. Its contents can be written to an OutputStream (a
+ * PrintStream, for instance) a chunk at a time, and toString()
+ * flattens it into a String once and keeps that String until the
+ * buffer changes again.<p>
+ *
+ * A RopeBuffer is not synchronized; it is meant to be filled by one
+ * thread.
+ *
+ * @see		StringBuffer
+ * @version 	1.1, 01/22/96
+ */
+public final
+class RopeBuffer {
+    /** The chunks. Only the first nchunks are in use. */
+    private char chunks[][];
+    private int nchunks;
+
+    /** The chunk being appended to and the position in it. */
+    private char cur[];
+    private int pos;
+
+    private int chunkSize;
+    private int count;
+
+    /** The contents as a String, if toString() has made it. */
+    private String flat;
+
+    /** Scratch space for numbers that do not fit in the current chunk. */
+    private char digits[];
+
+    /**
+     * Constructs an empty buffer with the specified chunk size.
+     * @param chunkSize	the number of characters in each chunk
+     * @exception IllegalArgumentException If chunkSize is not positive.
+     */
+    public RopeBuffer(int chunkSize) {
+	if (chunkSize <= 0) {
+	    throw new IllegalArgumentException();
+	}
+	this.chunkSize = chunkSize;
+	chunks = new char[8][];
+    }
+
+    /**
+     * Constructs an empty buffer with chunks of 8192 characters.
+     */
+    public RopeBuffer() {
+	this(8192);
+    }
+
+    /**
+     * Returns the number of characters in the buffer.
+     */
+    public int length() {
+	return count;
+    }
+
+    /**
+     * Empties the buffer. The chunks are kept for reuse.
+     */
+    public void reset() {
+	count = 0;
+	flat = null;
+	if (nchunks > 0) {
+	    nchunks = 1;
+	    cur = chunks[0];
+	    pos = 0;
+	}
+    }
+
+    /**
+     * Starts a new chunk, reusing one left by reset() if there is one.
+     */
+    private void nextChunk() {
+	if (nchunks == chunks.length) {
+	    char newChunks[][] = new char[nchunks * 2][];
+	    System.arraycopy(chunks, 0, newChunks, 0, nchunks);
+	    chunks = newChunks;
+	}
+	if (chunks[nchunks] == null) {
+	    chunks[nchunks] = new char[chunkSize];
+	}
+	cur = chunks[nchunks++];
+	pos = 0;
+    }
+
+    /**
+     * Returns the character at the specified index.
+     * @param index	the index of the desired character
+     * @exception StringIndexOutOfBoundsException If the index is invalid.
+     */
+    public char charAt(int index) {
+	if ((index < 0) || (index >= count)) {
+	    throw new StringIndexOutOfBoundsException(index);
+	}
+	return chunks[index / chunkSize][index % chunkSize];
+    }
+
+    /**
+     * Copies characters of the buffer into an array.
+     * @param srcBegin	the beginning offset in the buffer
+     * @param srcEnd	the ending offset in the buffer
+     * @param dst	the array to copy the characters into
+     * @param dstBegin	the offset into dst
+     * @exception StringIndexOutOfBoundsException If the range is invalid.
+     */
+    public void getChars(int srcBegin, int srcEnd, char dst[], int dstBegin) {
+	if ((srcBegin < 0) || (srcBegin > srcEnd)) {
+	    throw new StringIndexOutOfBoundsException(srcBegin);
+	}
+	if (srcEnd > count) {
+	    throw new StringIndexOutOfBoundsException(srcEnd);
+	}
+	while (srcBegin < srcEnd) {
+	    int off = srcBegin % chunkSize;
+	    int n = Math.min(chunkSize - off, srcEnd - srcBegin);
+	    System.arraycopy(chunks[srcBegin / chunkSize], off, dst, dstBegin, n);
+	    srcBegin += n;
+	    dstBegin += n;
+	}
+    }
+
+    /**
+     * Appends an object.
+     * @param obj	the object to be appended
+     * @return 	the RopeBuffer itself, NOT a new one.
+     */
+    public RopeBuffer append(Object obj) {
+	return append(String.valueOf(obj));
+    }
+
+    /**
+     * Appends a String.
+     * @param str	the String to be appended
+     * @return 	the RopeBuffer itself, NOT a new one.
+     */
+    public RopeBuffer append(String str) {
+	if (str == null) {
+	    str = String.valueOf(str);
+	}
+	int len = str.length();
+	for (int i = 0 ; i < len ;) {
+	    if ((cur == null) || (pos == chunkSize)) {
+		nextChunk();
+	    }
+	    int n = Math.min(chunkSize - pos, len - i);
+	    str.getChars(i, i + n, cur, pos);
+	    pos += n;
+	    i += n;
+	}
+	count += len;
+	flat = null;
+	return this;
+    }
+
+    /**
+     * Appends part of an array of characters.
+     * @param str	the characters to be appended
+     * @param offset	where to start
+     * @param len	the number of characters to add
+     * @return 	the RopeBuffer itself, NOT a new one.
+     */
+    public RopeBuffer append(char str[], int offset, int len) {
+	if ((offset < 0) || (len < 0) || (offset + len > str.length)) {
+	    throw new ArrayIndexOutOfBoundsException(offset + len);
+	}
+	for (int end = offset + len ; offset < end ;) {
+	    if ((cur == null) || (pos == chunkSize)) {
+		nextChunk();
+	    }
+	    int n = Math.min(chunkSize - pos, end - offset);
+	    System.arraycopy(str, offset, cur, pos, n);
+	    pos += n;
+	    offset += n;
+	}
+	count += len;
+	flat = null;
+	return this;
+    }
+
+    /**
+     * Appends an array of characters.
+     * @param str	the characters to be appended
+     * @return 	the RopeBuffer itself, NOT a new one.
+     */
+    public RopeBuffer append(char str[]) {
+	return append(str, 0, str.length);
+    }
+
+    /**
+     * Appends a character.
+     * @param c	the character to be appended
+     * @return 	the RopeBuffer itself, NOT a new one.
+     */
+    public RopeBuffer append(char c) {
+	if ((cur == null) || (pos == chunkSize)) {
+	    nextChunk();
+	}
+	cur[pos++] = c;
+	count++;
+	flat = null;
+	return this;
+    }
+
+    /**
+     * Appends a boolean.
+     * @param b	the boolean to be appended
+     * @return 	the RopeBuffer itself, NOT a new one.
+     */
+    public RopeBuffer append(boolean b) {
+	return append(b ? "true" : "false");
+    }
+
+    /**
+     * Appends an integer.
+     * @param i	the integer to be appended
+     * @return 	the RopeBuffer itself, NOT a new one.
+     */
+    public RopeBuffer append(int i) {
+	if ((cur != null) && (chunkSize - pos >= 11)) {
+	    int end = Integer.getChars(i, cur, pos);
+	    count += end - pos;
+	    pos = end;
+	    flat = null;
+	    return this;
+	}
+	if (digits == null) {
+	    digits = new char[20];
+	}
+	return append(digits, 0, Integer.getChars(i, digits, 0));
+    }
+
+    /**
+     * Appends a long.
+     * @param l	the long to be appended
+     * @return 	the RopeBuffer itself, NOT a new one.
+     */
+    public RopeBuffer append(long l) {
+	if ((cur != null) && (chunkSize - pos >= 20)) {
+	    int end = Long.getChars(l, cur, pos);
+	    count += end - pos;
+	    pos = end;
+	    flat = null;
+	    return this;
+	}
+	if (digits == null) {
+	    digits = new char[20];
+	}
+	return append(digits, 0, Long.getChars(l, digits, 0));
+    }
+
+    /**
+     * Appends a float.
+     * @param f	the float to be appended
+     * @return 	the RopeBuffer itself, NOT a new one.
+     */
+    public RopeBuffer append(float f) {
+	return append(String.valueOf(f));
+    }
+
+    /**
+     * Appends a double.
+     * @param d	the double to be appended
+     * @return 	the RopeBuffer itself, NOT a new one.
+     */
+    public RopeBuffer append(double d) {
+	return append(String.valueOf(d));
+    }
+
+    /**
+     * Writes the contents to an output stream, a chunk at a time,
+     * without flattening them. <em>The top byte of 16 bit characters
+     * is discarded</em>, as in PrintStream.
+     * @param out	the stream to write to
+     * @exception IOException If an I/O error has occurred.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+	byte buf[] = new byte[Math.min(chunkSize, Math.max(count, 1))];
+	for (int i = 0 ; i < count ;) {
+	    char chunk[] = chunks[i / chunkSize];
+	    int off = i % chunkSize;
+	    int n = Math.min(Math.min(chunkSize - off, count - i), buf.length);
+	    for (int j = 0 ; j < n ; j++) {
+		buf[j] = (byte)chunk[off + j];
+	    }
+	    out.write(buf, 0, n);
+	    i += n;
+	}
+    }
+
+    /**
+     * Returns the contents as a String. The characters are copied
+     * once; the String is kept and returned again until the buffer
+     * is changed.
+     */
+    public String toString() {
+	if (flat == null) {
+	    char value[] = new char[count];
+	    getChars(0, count, value, 0);
+	    flat = new String(0, count, value);
+	}
+	return flat;
+    }
+}
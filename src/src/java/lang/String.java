@@ -175,6 +175,33 @@ class String {
 	    this.count = buffer.length();
 	}
     }
+
+    /**
+     * Constructs a String that shares the given character array
+     * instead of copying it. The caller must guarantee that the
+     * characters in the range are never changed.
+     */
+    String(int offset, int count, char value[]) {
+	this.value = value;
+	this.offset = offset;
+	this.count = count;
+    }
+
+    /**
+     * Returns the character storage of this String. The array is
+     * shared and must not be modified.
+     */
+    char[] getValue() {
+	return value;
+    }
+
+    /**
+     * Returns the index of the first character of this String in
+     * its character storage.
+     */
+    int getOffset() {
+	return offset;
+    }
     
 
     /**
@@ -209,8 +236,19 @@ class String {
      * @param srcEnd	end of the characters that are copied
      * @param dst		the destination array
      * @param dstBegin	the start offset in the destination array
+     * @exception StringIndexOutOfBoundsException If srcBegin is negative,
+     * srcBegin is greater than srcEnd, or srcEnd is greater than the length.
      */
     public void getChars(int srcBegin, int srcEnd, char dst[], int dstBegin) {
+	if (srcBegin < 0) {
+	    throw new StringIndexOutOfBoundsException(srcBegin);
+	}
+	if (srcEnd > count) {
+	    throw new StringIndexOutOfBoundsException(srcEnd);
+	}
+	if (srcBegin > srcEnd) {
+	    throw new StringIndexOutOfBoundsException(srcEnd - srcBegin);
+	}
 	System.arraycopy(value, offset + srcBegin, dst, dstBegin, srcEnd - srcBegin);
     }
 
@@ -223,8 +261,19 @@ class String {
      * @param srcEnd	end of the characters that are copied
      * @param dst		the destination array
      * @param dstBegin	the start offset in the destination array
+     * @exception StringIndexOutOfBoundsException If srcBegin is negative,
+     * srcBegin is greater than srcEnd, or srcEnd is greater than the length.
      */
     public void getBytes(int srcBegin, int srcEnd, byte dst[], int dstBegin) {
+	if (srcBegin < 0) {
+	    throw new StringIndexOutOfBoundsException(srcBegin);
+	}
+	if (srcEnd > count) {
+	    throw new StringIndexOutOfBoundsException(srcEnd);
+	}
+	if (srcBegin > srcEnd) {
+	    throw new StringIndexOutOfBoundsException(srcEnd - srcBegin);
+	}
 	int j = dstBegin;
 	int n = offset + srcEnd;
 	int i = offset + srcBegin;
@@ -237,8 +286,11 @@ class String {
      * Compares this String to the specified object.
      * Returns true if the object is equal to this String; that is,
      * has the same length and the same characters in the same sequence.
+     * A StringView with the same characters is also considered equal,
+     * so that a view can be used to look up a String key in a Hashtable.
      * @param anObject	the object to compare this String against
      * @return 	true if the Strings are equal; false otherwise.
+     * @see StringView
      */
     public boolean equals(Object anObject) {
 	if ((anObject != null) && (anObject instanceof String)) {
@@ -256,6 +308,10 @@ class String {
 		}
 		return true;
 	    }
+	    return false;
+	}
+	if ((anObject != null) && (anObject instanceof StringView)) {
+	    return anObject.equals(this);
 	}
 	return false;
     }
@@ -488,6 +544,20 @@ class String {
 	return -1;
     }
 
+    /**
+     * Patterns at least this long are searched with a skip table.
+     */
+    private static final int SEARCH_MIN_PATTERN = 8;
+
+    /**
+     * Texts at least this long are searched with a skip table. Each
+     * such search allocates a 256 entry table, which only pays for
+     * itself on long texts; a program that searches for the same
+     * pattern many times should use a StringSearcher, which builds
+     * its table once.
+     */
+    private static final int SEARCH_MIN_TEXT = 1024;
+
     /**
      * Returns the index within this String of the first occurrence of the specified substring.
      * This method returns -1 if the index is not found.
@@ -507,6 +577,12 @@ class String {
     public int indexOf(String str, int fromIndex) {
 	char v1[] = value;
 	char v2[] = str.value;
+	if ((str.count >= SEARCH_MIN_PATTERN) &&
+	    (count - fromIndex >= SEARCH_MIN_TEXT)) {
+	    return StringSearcher.indexOf(v1, offset, count,
+					  v2, str.offset, str.count, fromIndex,
+					  StringSearcher.forwardSkip(v2, str.offset, str.count));
+	}
 	int max = offset + (count - str.count);
       test:
 	for (int i = offset + ((fromIndex < 0) ? 0 : fromIndex); i <= max ; i++) {
@@ -543,9 +619,17 @@ class String {
     public int lastIndexOf(String str, int fromIndex) {
 	char v1[] = value;
 	char v2[] = str.value;
+	if (fromIndex > count - str.count) {
+	    fromIndex = count - str.count;
+	}
+	if ((str.count >= SEARCH_MIN_PATTERN) && (fromIndex >= SEARCH_MIN_TEXT)) {
+	    return StringSearcher.lastIndexOf(v1, offset, count,
+					      v2, str.offset, str.count, fromIndex,
+					      StringSearcher.backwardSkip(v2, str.offset, str.count));
+	}
 	int min = offset;
       test:
-	for (int i = offset + ((fromIndex >= count) ? count - 1 : fromIndex); i >= min ; i--) {
+	for (int i = offset + fromIndex; i >= min ; i--) {
 	    int n = str.count;
 	    int j = i;
 	    int k = str.offset;
@@ -571,6 +655,8 @@ class String {
     /**
      * Returns the substring of a String. The substring is specified
      * by a beginIndex (inclusive) and an endIndex (exclusive).
+     * The substring shares the character storage of this String,
+     * so no characters are copied.
      * @param beginIndex the beginning index, inclusive
      * @param endIndex the ending index, exclusive
      * @exception StringIndexOutOfBoundsException If the beginIndex or the endIndex is out 
@@ -589,7 +675,7 @@ class String {
 	    throw new StringIndexOutOfBoundsException(endIndex);
 	}
 	return ((beginIndex == 0) && (endIndex == count)) ? this :
-		   new String(value, offset + beginIndex, endIndex - beginIndex);
+		   new String(offset + beginIndex, endIndex - beginIndex, value);
     }
 
     /**
@@ -279,8 +279,11 @@ public final class StringBuffer {
      * @param i	the integer to be appended
      * @return 	the StringBuffer itself, NOT a new one.
      */
-    public StringBuffer append(int i) {
-	return append(String.valueOf(i));
+    public synchronized StringBuffer append(int i) {
+	ensureCapacity(count + 11);
+	copyWhenShared();
+	count = Integer.getChars(i, value, count);
+	return this;
     }
 
     /**
@@ -288,8 +291,11 @@ public final class StringBuffer {
      * @param l	the long to be appended
      * @return 	the StringBuffer itself, NOT a new one.
      */
-    public StringBuffer append(long l) {
-	return append(String.valueOf(l));
+    public synchronized StringBuffer append(long l) {
+	ensureCapacity(count + 20);
+	copyWhenShared();
+	count = Long.getChars(l, value, count);
+	return this;
     }
 
     /**
@@ -0,0 +1,399 @@
+/*
+ * @(#)StringSearcher.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+package java.lang;
+
+/**
+ * A precompiled substring pattern. Constructing a StringSearcher
+ * analyzes the pattern once; it can then be used to search any number
+ * of Strings, character arrays or byte arrays. The search uses the
+ * Boyer-Moore-Horspool algorithm, which looks at the last character
+ * of every window first and can skip up to a whole pattern length at
+ * a time, so it gets faster as the pattern gets longer.<p>
+ *
+ * For example, to count the lines of a log that mention a host:
+ * <pre>
+ *	StringSearcher s = new StringSearcher("host=gobi.eng");
+ *	int hits = s.findAll(buf, 0, len).length;
+ * </pre>
+ * A StringSearcher is not changed by searching, so one instance can
+ * be shared by any number of threads.
+ *
+ * @see		String#indexOf
+ * @version 	1.1, 01/22/96
+ */
+public final
+class StringSearcher {
+    /** The characters of the pattern. */
+    private char pattern[];
+
+    /** The pattern as bytes, or null if it has characters above 0xff. */
+    private byte bytePattern[];
+
+    /**
+     * How far to move the window forward, indexed by the low byte of
+     * the character under the last position of the window.
+     */
+    private int skip[];
+
+    /**
+     * How far to move the window backward, indexed by the low byte of
+     * the character under the first position of the window.
+     */
+    private int backSkip[];
+
+    /**
+     * Creates a searcher for the specified pattern.
+     * @param pattern the substring to search for
+     */
+    public StringSearcher(String pattern) {
+	this(pattern.toCharArray());
+    }
+
+    /**
+     * Creates a searcher for the specified pattern. The array is copied.
+     * @param pattern the characters to search for
+     */
+    public StringSearcher(char pattern[]) {
+	int m = pattern.length;
+	this.pattern = new char[m];
+	System.arraycopy(pattern, 0, this.pattern, 0, m);
+	skip = forwardSkip(pattern, 0, m);
+	backSkip = backwardSkip(pattern, 0, m);
+
+	bytePattern = new byte[m];
+	for (int i = 0 ; i < m ; i++) {
+	    if (pattern[i] > 0xff) {
+		bytePattern = null;
+		break;
+	    }
+	    bytePattern[i] = (byte)pattern[i];
+	}
+    }
+
+    /**
+     * Builds the forward skip table for a pattern.
+     */
+    static int[] forwardSkip(char p[], int pOff, int m) {
+	int table[] = new int[256];
+	for (int i = 256 ; i-- > 0 ;) {
+	    table[i] = m;
+	}
+	for (int i = 0 ; i < m - 1 ; i++) {
+	    table[p[pOff + i] & 0xff] = m - 1 - i;
+	}
+	return table;
+    }
+
+    /**
+     * Builds the backward skip table for a pattern.
+     */
+    static int[] backwardSkip(char p[], int pOff, int m) {
+	int table[] = new int[256];
+	for (int i = 256 ; i-- > 0 ;) {
+	    table[i] = m;
+	}
+	for (int i = m ; --i > 0 ;) {
+	    table[p[pOff + i] & 0xff] = i;
+	}
+	return table;
+    }
+
+    /**
+     * Searches t[tOff..tOff+tLen) for p[pOff..pOff+m), starting at
+     * index from relative to tOff. Used by String.indexOf for long
+     * patterns.
+     */
+    static int indexOf(char t[], int tOff, int tLen, char p[], int pOff, int m,
+		       int from, int skip[]) {
+	if (from < 0) {
+	    from = 0;
+	}
+	if (m == 0) {
+	    return (from <= tLen) ? from : -1;
+	}
+	int last = m - 1;
+	char pl = p[pOff + last];
+	int max = tOff + tLen - m;
+      test:
+	for (int i = tOff + from ; i <= max ; ) {
+	    char c = t[i + last];
+	    if (c == pl) {
+		for (int j = 0 ; j < last ; j++) {
+		    if (t[i + j] != p[pOff + j]) {
+			i += skip[c & 0xff];
+			continue test;
+		    }
+		}
+		return i - tOff;
+	    }
+	    i += skip[c & 0xff];
+	}
+	return -1;
+    }
+
+    /**
+     * Searches t[tOff..tOff+tLen) backward for p[pOff..pOff+m), starting
+     * with a match at index from relative to tOff. Used by
+     * String.lastIndexOf for long patterns.
+     */
+    static int lastIndexOf(char t[], int tOff, int tLen, char p[], int pOff, int m,
+			   int from, int backSkip[]) {
+	if (from > tLen - m) {
+	    from = tLen - m;
+	}
+	if (m == 0) {
+	    return from;
+	}
+	char p0 = p[pOff];
+      test:
+	for (int i = tOff + from ; i >= tOff ; ) {
+	    char c = t[i];
+	    if (c == p0) {
+		for (int j = 1 ; j < m ; j++) {
+		    if (t[i + j] != p[pOff + j]) {
+			i -= backSkip[c & 0xff];
+			continue test;
+		    }
+		}
+		return i - tOff;
+	    }
+	    i -= backSkip[c & 0xff];
+	}
+	return -1;
+    }
+
+    /**
+     * Returns the length of the pattern.
+     */
+    public int length() {
+	return pattern.length;
+    }
+
+    /**
+     * Returns the pattern as a String.
+     */
+    public String toString() {
+	return new String(pattern);
+    }
+
+    /**
+     * Returns the index within a String of the first occurrence of the
+     * pattern, starting the search at fromIndex. Returns -1 if the
+     * pattern does not occur.
+     * @param text	the String to search
+     * @param fromIndex	the index to start the search from
+     */
+    public int indexOf(String text, int fromIndex) {
+	return indexOf(text.getValue(), text.getOffset(), text.length(),
+		       pattern, 0, pattern.length, fromIndex, skip);
+    }
+
+    /**
+     * Returns the index within a String of the first occurrence of the
+     * pattern, or -1.
+     * @param text	the String to search
+     */
+    public int indexOf(String text) {
+	return indexOf(text, 0);
+    }
+
+    /**
+     * Returns the index of the first occurrence of the pattern in the
+     * len characters of text starting at off. The result is relative
+     * to off, or -1 if the pattern does not occur.
+     * @param text	the characters to search
+     * @param off	the index of the first character to search
+     * @param len	the number of characters to search
+     */
+    public int indexOf(char text[], int off, int len) {
+	return indexOf(text, off, len, pattern, 0, pattern.length, 0, skip);
+    }
+
+    /**
+     * Returns the index within a String of the last occurrence of the
+     * pattern, searching backward from fromIndex. Returns -1 if the
+     * pattern does not occur.
+     * @param text	the String to search
+     * @param fromIndex	the index to start the search from
+     */
+    public int lastIndexOf(String text, int fromIndex) {
+	if (fromIndex < 0) {
+	    return -1;
+	}
+	return lastIndexOf(text.getValue(), text.getOffset(), text.length(),
+			   pattern, 0, pattern.length, fromIndex, backSkip);
+    }
+
+    /**
+     * Returns the index within a String of the last occurrence of the
+     * pattern, or -1.
+     * @param text	the String to search
+     */
+    public int lastIndexOf(String text) {
+	return lastIndexOf(text, text.length());
+    }
+
+    /**
+     * Returns the index of the first occurrence of the pattern in the
+     * len bytes of text starting at off, treating each byte as the
+     * character with the same value (ISO Latin-1). The result is
+     * relative to off, or -1 if the pattern does not occur.
+     * @param text	the bytes to search
+     * @param off	the index of the first byte to search
+     * @param len	the number of bytes to search
+     */
+    public int indexOf(byte text[], int off, int len) {
+	byte p[] = bytePattern;
+	if (p == null) {
+	    return -1;
+	}
+	int m = p.length;
+	if (m == 0) {
+	    return 0;
+	}
+	int tab[] = skip;
+	int last = m - 1;
+	byte pl = p[last];
+	int max = off + len - m;
+      test:
+	for (int i = off ; i <= max ; ) {
+	    byte c = text[i + last];
+	    if (c == pl) {
+		for (int j = 0 ; j < last ; j++) {
+		    if (text[i + j] != p[j]) {
+			i += tab[c & 0xff];
+			continue test;
+		    }
+		}
+		return i - off;
+	    }
+	    i += tab[c & 0xff];
+	}
+	return -1;
+    }
+
+    /**
+     * Finds every occurrence of the pattern in a String in a single
+     * pass. Occurrences may overlap.
+     * @param text	the String to search
+     * @return the indexes of all occurrences, in increasing order.
+     */
+    public int[] findAll(String text) {
+	return findAll(text.getValue(), text.getOffset(), text.length());
+    }
+
+    /**
+     * Finds every occurrence of the pattern in the len characters of
+     * text starting at off in a single pass. Occurrences may overlap.
+     * @param text	the characters to search
+     * @param off	the index of the first character to search
+     * @param len	the number of characters to search
+     * @return the indexes of all occurrences relative to off, in
+     *		increasing order.
+     */
+    public int[] findAll(char text[], int off, int len) {
+	int result[] = new int[8];
+	int n = 0;
+	char p[] = pattern;
+	int m = p.length;
+	if (m == 0) {
+	    return new int[0];
+	}
+	int tab[] = skip;
+	int last = m - 1;
+	char pl = p[last];
+	int max = off + len - m;
+      test:
+	for (int i = off ; i <= max ; ) {
+	    char c = text[i + last];
+	    if (c == pl) {
+		for (int j = 0 ; j < last ; j++) {
+		    if (text[i + j] != p[j]) {
+			i += tab[c & 0xff];
+			continue test;
+		    }
+		}
+		if (n == result.length) {
+		    result = grow(result);
+		}
+		result[n++] = i - off;
+	    }
+	    i += tab[c & 0xff];
+	}
+	return trim(result, n);
+    }
+
+    /**
+     * Finds every occurrence of the pattern in the len bytes of text
+     * starting at off in a single pass, treating each byte as the
+     * character with the same value. Occurrences may overlap.
+     * @param text	the bytes to search
+     * @param off	the index of the first byte to search
+     * @param len	the number of bytes to search
+     * @return the indexes of all occurrences relative to off, in
+     *		increasing order.
+     */
+    public int[] findAll(byte text[], int off, int len) {
+	int result[] = new int[8];
+	int n = 0;
+	byte p[] = bytePattern;
+	if ((p == null) || (p.length == 0)) {
+	    return new int[0];
+	}
+	int m = p.length;
+	int tab[] = skip;
+	int last = m - 1;
+	byte pl = p[last];
+	int max = off + len - m;
+      test:
+	for (int i = off ; i <= max ; ) {
+	    byte c = text[i + last];
+	    if (c == pl) {
+		for (int j = 0 ; j < last ; j++) {
+		    if (text[i + j] != p[j]) {
+			i += tab[c & 0xff];
+			continue test;
+		    }
+		}
+		if (n == result.length) {
+		    result = grow(result);
+		}
+		result[n++] = i - off;
+	    }
+	    i += tab[c & 0xff];
+	}
+	return trim(result, n);
+    }
+
+    private static int[] grow(int a[]) {
+	int b[] = new int[a.length * 2];
+	System.arraycopy(a, 0, b, 0, a.length);
+	return b;
+    }
+
+    private static int[] trim(int a[], int n) {
+	if (n == a.length) {
+	    return a;
+	}
+	int b[] = new int[n];
+	System.arraycopy(a, 0, b, 0, n);
+	return b;
+    }
+}
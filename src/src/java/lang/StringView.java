@@ -0,0 +1,425 @@
+/*
+ * @(#)StringView.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+package java.lang;
+
+/**
+ * A read-only view of a range of characters in a character array or
+ * a String. Creating a view, or a view of a view, never copies any
+ * characters, so a parser can slice a large document into many
+ * tokens and only turn the ones it keeps into Strings.<p>
+ *
+ * A view is equal to a String, and has the same hash code as that
+ * String, if it holds the same characters. That makes it possible to
+ * look up a String key in a Hashtable with a view:
+ * <pre>
+ *	StringView name = new StringView(buf, start, end - start);
+ *	Object tag = tags.get(name);	// no String is created
+ * </pre>
+ * A view over a char array sees any changes made to that array after
+ * the view was created. Callers that store a view, for example as a
+ * Hashtable key, must not change the array underneath it; use
+ * toString() to get an independent String instead.
+ *
+ * @see		String
+ * @version 	1.1, 01/22/96
+ */
+public final
+class StringView {
+    /** The character storage, shared with the source of the view. */
+    private char value[];
+
+    /** The offset is the first index of the storage that is used. */
+    private int offset;
+
+    /** The count is the number of characters in the view. */
+    private int count;
+
+    /** True if the storage belongs to a String and can never change. */
+    private boolean immutable;
+
+    /**
+     * Constructs a view of a whole character array.
+     * @param value the characters
+     */
+    public StringView(char value[]) {
+	this(value, 0, value.length);
+    }
+
+    /**
+     * Constructs a view of count characters of an array, starting at
+     * offset. The characters are not copied.
+     * @param value	the characters
+     * @param offset	the index of the first character of the view
+     * @param count 	the length of the view
+     * @exception StringIndexOutOfBoundsException If the offset and count arguments are invalid.
+     */
+    public StringView(char value[], int offset, int count) {
+	if (offset < 0) {
+	    throw new StringIndexOutOfBoundsException(offset);
+	}
+	if (count < 0) {
+	    throw new StringIndexOutOfBoundsException(count);
+	}
+	if (offset + count > value.length) {
+	    throw new StringIndexOutOfBoundsException(offset + count);
+	}
+	this.value = value;
+	this.offset = offset;
+	this.count = count;
+    }
+
+    /**
+     * Constructs a view of a whole String.
+     * @param str the String
+     */
+    public StringView(String str) {
+	this(str, 0, str.length());
+    }
+
+    /**
+     * Constructs a view of the characters of a String from beginIndex
+     * (inclusive) up to endIndex (exclusive). This is the non-copying
+     * equivalent of String.substring().
+     * @param str the String
+     * @param beginIndex the beginning index, inclusive
+     * @param endIndex the ending index, exclusive
+     * @exception StringIndexOutOfBoundsException If the beginIndex or the endIndex is out
+     * of range.
+     */
+    public StringView(String str, int beginIndex, int endIndex) {
+	if (beginIndex < 0) {
+	    throw new StringIndexOutOfBoundsException(beginIndex);
+	}
+	if ((endIndex > str.length()) || (beginIndex > endIndex)) {
+	    throw new StringIndexOutOfBoundsException(endIndex);
+	}
+	this.value = str.getValue();
+	this.offset = str.getOffset() + beginIndex;
+	this.count = endIndex - beginIndex;
+	this.immutable = true;
+    }
+
+    private StringView(char value[], int offset, int count, boolean immutable) {
+	this.value = value;
+	this.offset = offset;
+	this.count = count;
+	this.immutable = immutable;
+    }
+
+    /**
+     * Returns the length of the view.
+     */
+    public int length() {
+	return count;
+    }
+
+    /**
+     * Returns the character at the specified index. An index ranges
+     * from <tt>0</tt> to <tt>length() - 1</tt>.
+     * @param index	the index of the desired character
+     * @exception	StringIndexOutOfBoundsException If the index is not
+     *			in the range <tt>0</tt> to <tt>length()-1</tt>.
+     */
+    public char charAt(int index) {
+	if ((index < 0) || (index >= count)) {
+	    throw new StringIndexOutOfBoundsException(index);
+	}
+	return value[index + offset];
+    }
+
+    /**
+     * Copies characters from this view into the specified character array.
+     * @param srcBegin	index of the first character in the view
+     * @param srcEnd	end of the characters that are copied
+     * @param dst		the destination array
+     * @param dstBegin	the start offset in the destination array
+     * @exception StringIndexOutOfBoundsException If srcBegin is negative,
+     * srcBegin is greater than srcEnd, or srcEnd is greater than the length.
+     */
+    public void getChars(int srcBegin, int srcEnd, char dst[], int dstBegin) {
+	if (srcBegin < 0) {
+	    throw new StringIndexOutOfBoundsException(srcBegin);
+	}
+	if (srcEnd > count) {
+	    throw new StringIndexOutOfBoundsException(srcEnd);
+	}
+	if (srcBegin > srcEnd) {
+	    throw new StringIndexOutOfBoundsException(srcEnd - srcBegin);
+	}
+	System.arraycopy(value, offset + srcBegin, dst, dstBegin, srcEnd - srcBegin);
+    }
+
+    /**
+     * Returns a view of part of this view. No characters are copied.
+     * @param beginIndex the beginning index, inclusive
+     * @param endIndex the ending index, exclusive
+     * @exception StringIndexOutOfBoundsException If the beginIndex or the endIndex is out
+     * of range.
+     */
+    public StringView view(int beginIndex, int endIndex) {
+	if (beginIndex < 0) {
+	    throw new StringIndexOutOfBoundsException(beginIndex);
+	}
+	if ((endIndex > count) || (beginIndex > endIndex)) {
+	    throw new StringIndexOutOfBoundsException(endIndex);
+	}
+	if ((beginIndex == 0) && (endIndex == count)) {
+	    return this;
+	}
+	return new StringView(value, offset + beginIndex, endIndex - beginIndex,
+			      immutable);
+    }
+
+    /**
+     * Returns a view with leading and trailing whitespace removed.
+     * No characters are copied.
+     */
+    public StringView trim() {
+	int len = count;
+	int st = 0;
+	while ((st < len) && (value[offset + st] <= ' ')) {
+	    st++;
+	}
+	while ((st < len) && (value[offset + len - 1] <= ' ')) {
+	    len--;
+	}
+	return ((st > 0) || (len < count)) ? view(st, len) : this;
+    }
+
+    /**
+     * Returns the index within this view of the first occurrence of the
+     * specified character, starting the search at fromIndex.  This method
+     * returns -1 if the index is not found.
+     * @param ch	the character to search for
+     * @param fromIndex	the index to start the search from
+     */
+    public int indexOf(int ch, int fromIndex) {
+	int max = offset + count;
+	char v[] = value;
+
+	for (int i = offset + ((fromIndex < 0) ? 0 : fromIndex) ; i < max ; i++) {
+	    if (v[i] == ch) {
+		return i - offset;
+	    }
+	}
+	return -1;
+    }
+
+    /**
+     * Returns the index within this view of the first occurrence of the
+     * specified character. This method returns -1 if the index is not found.
+     * @param ch	the character to search for
+     */
+    public int indexOf(int ch) {
+	return indexOf(ch, 0);
+    }
+
+    /**
+     * Returns the index within this view of the last occurrence of the
+     * specified character. This method returns -1 if the index is not found.
+     * @param ch	the character to search for
+     */
+    public int lastIndexOf(int ch) {
+	char v[] = value;
+	for (int i = offset + count ; --i >= offset ; ) {
+	    if (v[i] == ch) {
+		return i - offset;
+	    }
+	}
+	return -1;
+    }
+
+    /**
+     * Returns the index within this view of the first occurrence of the
+     * specified substring, starting at fromIndex. This method returns -1
+     * if the index is not found.
+     * @param str 	the substring to search for
+     * @param fromIndex	the index to start the search from
+     */
+    public int indexOf(String str, int fromIndex) {
+	return indexOf(str.getValue(), str.getOffset(), str.length(), fromIndex);
+    }
+
+    /**
+     * Returns the index within this view of the first occurrence of the
+     * specified substring. This method returns -1 if the index is not found.
+     * @param str 	the substring to search for
+     */
+    public int indexOf(String str) {
+	return indexOf(str, 0);
+    }
+
+    /**
+     * Returns the index within this view of the first occurrence of the
+     * characters of another view, starting at fromIndex. This method
+     * returns -1 if the index is not found.
+     * @param str 	the view to search for
+     * @param fromIndex	the index to start the search from
+     */
+    public int indexOf(StringView str, int fromIndex) {
+	return indexOf(str.value, str.offset, str.count, fromIndex);
+    }
+
+    private int indexOf(char v2[], int off2, int len2, int fromIndex) {
+	char v1[] = value;
+	int max = offset + (count - len2);
+      test:
+	for (int i = offset + ((fromIndex < 0) ? 0 : fromIndex); i <= max ; i++) {
+	    int n = len2;
+	    int j = i;
+	    int k = off2;
+	    while (n-- != 0) {
+		if (v1[j++] != v2[k++]) {
+		    continue test;
+		}
+	    }
+	    return i - offset;
+	}
+	return -1;
+    }
+
+    /**
+     * Determines whether a region of this view matches the specified region
+     * of the specified String.
+     * @param toffset	where to start looking in this view
+     * @param other     the other String
+     * @param ooffset	where to start looking in the other String
+     * @param len       the number of characters to compare
+     * @return          true if the region matches with the other; false otherwise.
+     */
+    public boolean regionMatches(int toffset, String other, int ooffset, int len) {
+	return regionMatches(false, toffset, other, ooffset, len);
+    }
+
+    /**
+     * Determines whether a region of this view matches the specified region
+     * of the specified String.  If the boolean ignoreCase is true, upper case
+     * characters are considered equivalent to lower case letters.
+     * @param ignoreCase if true, case is ignored
+     * @param toffset	where to start looking in this view
+     * @param other     the other String
+     * @param ooffset	where to start looking in the other String
+     * @param len       the number of characters to compare
+     * @return          true if the region matches with the other; false otherwise.
+     */
+    public boolean regionMatches(boolean ignoreCase, int toffset,
+				 String other, int ooffset, int len) {
+	if ((ooffset < 0) || (toffset < 0) ||
+	    (toffset + len > count) || (ooffset + len > other.length())) {
+	    return false;
+	}
+	return matches(ignoreCase, offset + toffset, other.getValue(),
+		       other.getOffset() + ooffset, len);
+    }
+
+    private boolean matches(boolean ignoreCase, int to, char pa[], int po, int len) {
+	char ta[] = value;
+	char trt[] = Character.upCase;
+	while (--len >= 0) {
+	    int c1 = ta[to++];
+	    int c2 = pa[po++];
+	    if ((c1 != c2)
+		    && (!ignoreCase ||
+			(c1 > 256) || (c2 > 256) ||
+			(trt[c1] != trt[c2]))) {
+		return false;
+	    }
+	}
+	return true;
+    }
+
+    /**
+     * Determines whether this view starts with some prefix.
+     * @param prefix	the prefix
+     * @return 		true if the view starts with the specified prefix; false otherwise.
+     */
+    public boolean startsWith(String prefix) {
+	return regionMatches(false, 0, prefix, 0, prefix.length());
+    }
+
+    /**
+     * Compares this view to a String, ignoring case.
+     * @param anotherString	the String to compare this view against
+     * @return 	true if the characters are equal, ignoring case; false otherwise.
+     */
+    public boolean equalsIgnoreCase(String anotherString) {
+	return (anotherString != null) && (anotherString.length() == count) &&
+		regionMatches(true, 0, anotherString, 0, count);
+    }
+
+    /**
+     * Compares this view to the specified object. Returns true if the
+     * object is a String or a StringView with the same length and the
+     * same characters in the same sequence.
+     * @param anObject	the object to compare this view against
+     * @return 	true if the characters are equal; false otherwise.
+     */
+    public boolean equals(Object anObject) {
+	if (anObject == null) {
+	    return false;
+	}
+	if (anObject instanceof String) {
+	    String str = (String)anObject;
+	    return (str.length() == count) &&
+		matches(false, offset, str.getValue(), str.getOffset(), count);
+	}
+	if (anObject instanceof StringView) {
+	    StringView v = (StringView)anObject;
+	    return (v.count == count) &&
+		matches(false, offset, v.value, v.offset, count);
+	}
+	return false;
+    }
+
+    /**
+     * Returns a hashcode for this view. It is the same as the hashcode
+     * of a String with the same characters.
+     * @see String#hashCode
+     */
+    public int hashCode() {
+	int h = 0;
+	int off = offset;
+	char val[] = value;
+	int len = count;
+
+	if (len < 16) {
+	    for (int i = len ; i > 0; i--) {
+		h = (h * 37) + val[off++];
+	    }
+	} else {
+	    // only sample some characters
+	    int skip = len / 8;
+	    for (int i = len ; i > 0; i -= skip, off += skip) {
+		h = (h * 39) + val[off];
+	    }
+	}
+	return h;
+    }
+
+    /**
+     * Returns the characters of this view as a String. A view of a
+     * String shares that String's storage; a view of a char array is
+     * copied, so the result does not change if the array does.
+     */
+    public String toString() {
+	return immutable ? new String(offset, count, value) :
+			   new String(value, offset, count);
+    }
+}
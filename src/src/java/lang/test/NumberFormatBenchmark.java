@@ -0,0 +1,78 @@
+/*
+ * @(#)NumberFormatBenchmark.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+/**
+ * Writes and reads back a column of numbers the way a CSV export
+ * does, once through Strings and once through a reused char array.
+ * <pre>
+ *	java NumberFormatBenchmark [count]
+ * </pre>
+ */
+class NumberFormatBenchmark {
+    static long viaStrings(int values[]) {
+	long sum = 0;
+	for (int i = 0 ; i < values.length ; i++) {
+	    String s = Integer.toString(values[i]);
+	    sum += Integer.parseInt(s);
+	}
+	return sum;
+    }
+
+    static long viaChars(int values[]) {
+	long sum = 0;
+	char buf[] = new char[11];
+	for (int i = 0 ; i < values.length ; i++) {
+	    int len = Integer.getChars(values[i], buf, 0);
+	    sum += Integer.parseInt(buf, 0, len);
+	}
+	return sum;
+    }
+
+    static long append(int values[], StringBuffer buf) {
+	long start = System.currentTimeMillis();
+	for (int i = 0 ; i < values.length ; i++) {
+	    buf.setLength(0);
+	    buf.append(values[i]).append(',').append((long)values[i] * 1000);
+	}
+	return System.currentTimeMillis() - start;
+    }
+
+    public static void main(String args[]) {
+	int n = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+	int values[] = new int[n];
+	int r = 12345;
+	for (int i = 0 ; i < n ; i++) {
+	    r = r * 1103515245 + 12345;
+	    values[i] = r >> (i & 31);
+	}
+	for (int pass = 0 ; pass < 3 ; pass++) {
+	    long t0 = System.currentTimeMillis();
+	    long s1 = viaStrings(values);
+	    long t1 = System.currentTimeMillis();
+	    long s2 = viaChars(values);
+	    long t2 = System.currentTimeMillis();
+	    if (s1 != s2) {
+		throw new RuntimeException("sums differ: " + s1 + " " + s2);
+	    }
+	    long ta = append(values, new StringBuffer(32));
+	    System.out.println("Strings " + (t1 - t0) + "ms, char[] " + (t2 - t1) +
+			       "ms, StringBuffer.append " + ta + "ms");
+	}
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * @(#)RopeBufferBenchmark.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+import java.io.OutputStream;
+
+/**
+ * An output stream that drops everything written to it.
+ */
+class DiscardOutputStream extends OutputStream {
+    long count;
+
+    public void write(int b) {
+	count++;
+    }
+
+    public void write(byte b[], int off, int len) {
+	count += len;
+    }
+}
+
+/**
+ * Builds a large HTML table with a StringBuffer and with a RopeBuffer
+ * and writes it out.
+ * <pre>
+ *	java RopeBufferBenchmark [rows]
+ * </pre>
+ */
+class RopeBufferBenchmark {
+    static long stringBuffer(int rows, OutputStream out) throws Exception {
+	long start = System.currentTimeMillis();
+	StringBuffer buf = new StringBuffer();
+	for (int i = 0 ; i < rows ; i++) {
+	    buf.append("<tr><td>").append(i).append("</td><td>row ").append(i * 7);
+	    buf.append("</td><td><a href=\"/item/").append(i).append("\">item</a></td></tr>\n");
+	}
+	String s = buf.toString();
+	byte b[] = new byte[s.length()];
+	s.getBytes(0, b.length, b, 0);
+	out.write(b, 0, b.length);
+	return System.currentTimeMillis() - start;
+    }
+
+    static long ropeBuffer(int rows, OutputStream out) throws Exception {
+	long start = System.currentTimeMillis();
+	RopeBuffer buf = new RopeBuffer();
+	for (int i = 0 ; i < rows ; i++) {
+	    buf.append("<tr><td>").append(i).append("</td><td>row ").append(i * 7);
+	    buf.append("</td><td><a href=\"/item/").append(i).append("\">item</a></td></tr>\n");
+	}
+	buf.writeTo(out);
+	return System.currentTimeMillis() - start;
+    }
+
+    public static void main(String args[]) throws Exception {
+	int rows = (args.length > 0) ? Integer.parseInt(args[0]) : 100000;
+	for (int pass = 0 ; pass < 3 ; pass++) {
+	    DiscardOutputStream out = new DiscardOutputStream();
+	    long t1 = stringBuffer(rows, out);
+	    long t2 = ropeBuffer(rows, out);
+	    System.out.println((out.count / 2) + " chars: StringBuffer " + t1 +
+			       "ms, RopeBuffer " + t2 + "ms");
+	}
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * @(#)StringSearcherBenchmark.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+import java.util.Random;
+
+/**
+ * Compares substring search with the original nested-loop algorithm,
+ * String.indexOf and a precompiled StringSearcher over a large text,
+ * for a range of pattern lengths.
+ * <pre>
+ *	java StringSearcherBenchmark [text-length]
+ * </pre>
+ */
+class StringSearcherBenchmark {
+    static final int ROUNDS = 5;
+
+    /**
+     * The nested loop String.indexOf(String, int) used before it
+     * switched to StringSearcher for long patterns.
+     */
+    static int naiveIndexOf(char v1[], int count, char v2[], int fromIndex) {
+	int max = count - v2.length;
+      test:
+	for (int i = fromIndex ; i <= max ; i++) {
+	    int n = v2.length;
+	    int j = i;
+	    int k = 0;
+	    while (n-- != 0) {
+		if (v1[j++] != v2[k++]) {
+		    continue test;
+		}
+	    }
+	    return i;
+	}
+	return -1;
+    }
+
+    public static void main(String args[]) {
+	int n = (args.length > 0) ? Integer.parseInt(args[0]) : 4 * 1024 * 1024;
+	Random rand = new Random(42);
+	String words[] = {"GET ", "/index.html ", "HTTP/1.0 ", "200 ", "304 ",
+			  "Mozilla ", "HotJava ", "gobi.eng ", "- - ", "\n"};
+	StringBuffer buf = new StringBuffer(n + 64);
+	while (buf.length() < n) {
+	    buf.append(words[Math.abs(rand.nextInt()) % words.length]);
+	}
+	String text = buf.toString();
+	char chars[] = text.toCharArray();
+	String tail = "host=sunsite.unc.edu user-agent=HotJava/1.0alpha3 referer=none; cookie=deleted";
+
+	System.out.println("pattern  naive(ms)  String.indexOf(ms)  StringSearcher(ms)");
+	for (int m = 2 ; m <= 64 ; m <<= 1) {
+	    // A pattern that does not occur, so every search scans the whole text
+	    String pattern = tail.substring(0, m);
+	    char p[] = pattern.toCharArray();
+	    StringSearcher searcher = new StringSearcher(pattern);
+
+	    long start = System.currentTimeMillis();
+	    for (int r = 0 ; r < ROUNDS ; r++) {
+		naiveIndexOf(chars, chars.length, p, 0);
+	    }
+	    long naive = System.currentTimeMillis() - start;
+
+	    start = System.currentTimeMillis();
+	    for (int r = 0 ; r < ROUNDS ; r++) {
+		text.indexOf(pattern, 0);
+	    }
+	    long indexOf = System.currentTimeMillis() - start;
+
+	    start = System.currentTimeMillis();
+	    for (int r = 0 ; r < ROUNDS ; r++) {
+		searcher.indexOf(text, 0);
+	    }
+	    long searched = System.currentTimeMillis() - start;
+
+	    System.out.println(m + "\t " + naive + "\t    " + indexOf +
+			       "\t\t\t" + searched);
+	}
+
+	StringSearcher get = new StringSearcher("GET /index.html HTTP/1.0");
+	long start = System.currentTimeMillis();
+	int hits = get.findAll(chars, 0, chars.length).length;
+	System.out.println("findAll: " + hits + " matches in " +
+			   (System.currentTimeMillis() - start) + " ms");
+    }
+}
@@ -0,0 +1,385 @@
+/*
+ * @(#)HttpDate.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+package java.net;
+
+/**
+ * Parses and formats the date formats used in HTTP headers:
+ * <pre>
+ *	Sun, 06 Nov 1994 08:49:37 GMT	RFC 1123
+ *	Sunday, 06-Nov-94 08:49:37 GMT	RFC 850
+ *	Sun Nov  6 08:49:37 1994	ANSI C asctime()
+ * </pre>
+ * All of them are in GMT. Times are milliseconds since the epoch, as
+ * returned by System.currentTimeMillis() and Date.getTime(). The
+ * calendar arithmetic is done directly, so no Date object is created
+ * and the local time zone is never consulted.<p>
+ *
+ * format() keeps the last string it made, so that the many calls a
+ * server makes within the same second share one string. All the
+ * methods may be called from any number of threads.
+ *
+ * @see java.util.Date#parse
+ * @see URLConnection#getHeaderFieldDate
+ * @version 	1.1, 01/22/96
+ */
+public final
+class HttpDate {
+    /**
+     * The length of a formatted RFC 1123 date.
+     */
+    public static final int LENGTH = 29;
+
+    private static final String days = "SunMonTueWedThuFriSat";
+    private static final String months = "JanFebMarAprMayJunJulAugSepOctNovDec";
+
+    /**
+     * The last date formatted. It is replaced as a whole, so readers
+     * never see a second paired with another second's string; the
+     * entry's fields are final and the field is volatile, so a reader
+     * sees a new entry only after it has been filled in.
+     */
+    private static volatile HttpDateEntry last;
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private HttpDate() {
+    }
+
+    /**
+     * Returns the number of days from 1970-01-01 to the specified date.
+     * @param month the month, 1 to 12
+     */
+    static long daysFromCivil(long year, int month, int day) {
+	if (month <= 2) {
+	    year--;
+	}
+	long era = ((year >= 0) ? year : year - 399) / 400;
+	long yoe = year - era * 400;
+	long doy = (153 * (month + ((month > 2) ? -3 : 9)) + 2) / 5 + day - 1;
+	long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+	return era * 146097 + doe - 719468;
+    }
+
+    /**
+     * Formats a time as an RFC 1123 date into a char array. Exactly
+     * LENGTH characters are written.
+     * @param time the time in milliseconds since the epoch
+     * @param dst the array to format into
+     * @param off the offset in dst of the first character
+     * @return the offset just past the last character written.
+     */
+    public static int format(long time, char dst[], int off) {
+	return encode(time, dst, null, off);
+    }
+
+    /**
+     * Formats a time as an RFC 1123 date into a byte array, for
+     * writing straight into a header. Exactly LENGTH bytes are written.
+     * @param time the time in milliseconds since the epoch
+     * @param dst the array to format into
+     * @param off the offset in dst of the first byte
+     * @return the offset just past the last byte written.
+     */
+    public static int format(long time, byte dst[], int off) {
+	return encode(time, null, dst, off);
+    }
+
+    /**
+     * Stores one character of a date into whichever of c and b is
+     * not null.
+     */
+    private static void put(char c[], byte b[], int i, char ch) {
+	if (c != null) {
+	    c[i] = ch;
+	} else {
+	    b[i] = (byte)ch;
+	}
+    }
+
+    /**
+     * Formats a time as an RFC 1123 date into either a char array
+     * or a byte array.
+     */
+    private static int encode(long time, char c[], byte b[], int off) {
+	long secs = time / 1000;
+	if ((time % 1000) < 0) {
+	    secs--;
+	}
+	long z = secs / 86400;
+	int sod = (int)(secs - z * 86400);
+	if (sod < 0) {
+	    sod += 86400;
+	    z--;
+	}
+	int wday = (int)((z + 4) % 7);
+	if (wday < 0) {
+	    wday += 7;
+	}
+
+	// civil date from days since the epoch
+	z += 719468;
+	long era = ((z >= 0) ? z : z - 146096) / 146097;
+	long doe = z - era * 146097;
+	long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+	long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+	long mp = (5 * doy + 2) / 153;
+	int day = (int)(doy - (153 * mp + 2) / 5 + 1);
+	int month = (int)((mp < 10) ? mp + 3 : mp - 9);
+	int year = (int)(yoe + era * 400 + ((month <= 2) ? 1 : 0));
+
+	put(c, b, off, days.charAt(wday * 3));
+	put(c, b, off + 1, days.charAt(wday * 3 + 1));
+	put(c, b, off + 2, days.charAt(wday * 3 + 2));
+	put(c, b, off + 3, ',');
+	put(c, b, off + 4, ' ');
+	put(c, b, off + 5, (char)('0' + day / 10));
+	put(c, b, off + 6, (char)('0' + day % 10));
+	put(c, b, off + 7, ' ');
+	put(c, b, off + 8, months.charAt(month * 3 - 3));
+	put(c, b, off + 9, months.charAt(month * 3 - 2));
+	put(c, b, off + 10, months.charAt(month * 3 - 1));
+	put(c, b, off + 11, ' ');
+	put(c, b, off + 12, (char)('0' + (year / 1000) % 10));
+	put(c, b, off + 13, (char)('0' + (year / 100) % 10));
+	put(c, b, off + 14, (char)('0' + (year / 10) % 10));
+	put(c, b, off + 15, (char)('0' + year % 10));
+	put(c, b, off + 16, ' ');
+	int hour = sod / 3600;
+	int min = (sod / 60) % 60;
+	int sec = sod % 60;
+	put(c, b, off + 17, (char)('0' + hour / 10));
+	put(c, b, off + 18, (char)('0' + hour % 10));
+	put(c, b, off + 19, ':');
+	put(c, b, off + 20, (char)('0' + min / 10));
+	put(c, b, off + 21, (char)('0' + min % 10));
+	put(c, b, off + 22, ':');
+	put(c, b, off + 23, (char)('0' + sec / 10));
+	put(c, b, off + 24, (char)('0' + sec % 10));
+	put(c, b, off + 25, ' ');
+	put(c, b, off + 26, 'G');
+	put(c, b, off + 27, 'M');
+	put(c, b, off + 28, 'T');
+	return off + LENGTH;
+    }
+
+    /**
+     * Formats a time as an RFC 1123 date, such as
+     * "Sun, 06 Nov 1994 08:49:37 GMT". Calls for times within the
+     * same second as the previous call return the same String.
+     * @param time the time in milliseconds since the epoch
+     */
+    public static String format(long time) {
+	long secs = time / 1000;
+	if ((time % 1000) < 0) {
+	    secs--;
+	}
+	HttpDateEntry e = last;
+	if ((e != null) && (e.second == secs)) {
+	    return e.text;
+	}
+	char buf[] = new char[LENGTH];
+	format(time, buf, 0);
+	last = e = new HttpDateEntry(secs, new String(buf));
+	return e.text;
+    }
+
+    /**
+     * Returns the index of the first character at or after i that is
+     * not a space.
+     */
+    private static int skipSpace(String s, int i, int len) {
+	while ((i < len) && (s.charAt(i) == ' ')) {
+	    i++;
+	}
+	return i;
+    }
+
+    /**
+     * Returns the index of the first character at or after i that is
+     * not a digit.
+     */
+    private static int skipDigits(String s, int i, int len) {
+	while ((i < len) && (s.charAt(i) >= '0') && (s.charAt(i) <= '9')) {
+	    i++;
+	}
+	return i;
+    }
+
+    /**
+     * Returns the index of the first character at or after i that is
+     * not a letter.
+     */
+    private static int skipLetters(String s, int i, int len) {
+	char c;
+	while ((i < len) && ((((c = s.charAt(i)) >= 'a') && (c <= 'z')) ||
+			     ((c >= 'A') && (c <= 'Z')))) {
+	    i++;
+	}
+	return i;
+    }
+
+    /**
+     * Returns the value of the digits in s from start to end.
+     */
+    private static int number(String s, int start, int end) {
+	if ((start == end) || (end - start > 4)) {
+	    throw new IllegalArgumentException(s);
+	}
+	int n = 0;
+	for (int i = start ; i < end ; i++) {
+	    n = n * 10 + s.charAt(i) - '0';
+	}
+	return n;
+    }
+
+    /**
+     * Returns the month, 1 to 12, whose name starts at i.
+     */
+    private static int month(String s, int i, int len) {
+	if ((i + 3 <= len) && (skipLetters(s, i, i + 3) == i + 3)) {
+	    for (int m = 0 ; m < 12 ; m++) {
+		if (s.regionMatches(true, i, months, m * 3, 3)) {
+		    return m + 1;
+		}
+	    }
+	}
+	throw new IllegalArgumentException(s);
+    }
+
+    /**
+     * Parses an RFC 1123, RFC 850 or asctime date.
+     * @param s the date
+     * @return the time in milliseconds since the epoch.
+     * @exception IllegalArgumentException If the date is not in one
+     * of the three formats, or is not in GMT.
+     */
+    public static long parse(String s) {
+	int len = s.length();
+	int day, month, year;
+
+	// weekday, ignored
+	int i = skipSpace(s, 0, len);
+	i = skipLetters(s, i, len);
+	if ((i < len) && (s.charAt(i) == ',')) {
+	    i++;
+	}
+	i = skipSpace(s, i, len);
+	if ((i < len) && (s.charAt(i) >= '0') && (s.charAt(i) <= '9')) {
+	    // RFC 1123 "06 Nov 1994" or RFC 850 "06-Nov-94"
+	    int end = skipDigits(s, i, len);
+	    day = number(s, i, end);
+	    if ((end >= len) || ((s.charAt(end) != ' ') && (s.charAt(end) != '-'))) {
+		throw new IllegalArgumentException(s);
+	    }
+	    i = end + 1;
+	    month = month(s, i, len);
+	    i = skipLetters(s, i, len);
+	    if ((i >= len) || ((s.charAt(i) != ' ') && (s.charAt(i) != '-'))) {
+		throw new IllegalArgumentException(s);
+	    }
+	    end = skipDigits(s, i + 1, len);
+	    year = number(s, i + 1, end);
+	    if (end - i - 1 <= 2) {
+		year += (year < 70) ? 2000 : 1900;
+	    }
+	    i = skipSpace(s, end, len);
+	} else {
+	    // asctime "Nov  6"
+	    month = month(s, i, len);
+	    i = skipSpace(s, skipLetters(s, i, len), len);
+	    int end = skipDigits(s, i, len);
+	    day = number(s, i, end);
+	    i = skipSpace(s, end, len);
+	    year = -1;
+	}
+
+	// hh:mm:ss
+	int end = skipDigits(s, i, len);
+	int hour = number(s, i, end);
+	if ((end >= len) || (s.charAt(end) != ':')) {
+	    throw new IllegalArgumentException(s);
+	}
+	i = end + 1;
+	end = skipDigits(s, i, len);
+	int min = number(s, i, end);
+	if ((end >= len) || (s.charAt(end) != ':')) {
+	    throw new IllegalArgumentException(s);
+	}
+	i = end + 1;
+	end = skipDigits(s, i, len);
+	int sec = number(s, i, end);
+	i = skipSpace(s, end, len);
+
+	if (year < 0) {
+	    // asctime: the year follows the time
+	    end = skipDigits(s, i, len);
+	    year = number(s, i, end);
+	    i = skipSpace(s, end, len);
+	}
+
+	// zone: GMT, UT, UTC or none
+	end = skipLetters(s, i, len);
+	if (end > i) {
+	    int n = end - i;
+	    if (!((n == 3) && s.regionMatches(true, i, "GMT", 0, 3)) &&
+		!((n == 3) && s.regionMatches(true, i, "UTC", 0, 3)) &&
+		!((n == 2) && s.regionMatches(true, i, "UT", 0, 2))) {
+		throw new IllegalArgumentException(s);
+	    }
+	}
+	if (skipSpace(s, end, len) != len) {
+	    throw new IllegalArgumentException(s);
+	}
+
+	if ((day < 1) || (day > 31) || (hour > 23) || (min > 59) || (sec > 60)) {
+	    throw new IllegalArgumentException(s);
+	}
+	long t = daysFromCivil(year, month, day) * 86400 + hour * 3600 + min * 60 + sec;
+	return t * 1000;
+    }
+
+    /**
+     * Parses an HTTP date, returning Default if the date is null or
+     * not in one of the HTTP formats.
+     */
+    public static long parse(String s, long Default) {
+	if (s != null) {
+	    try {
+		return parse(s);
+	    } catch (IllegalArgumentException e) {
+	    }
+	}
+	return Default;
+    }
+}
+
+/**
+ * A formatted date and the second it was formatted for.
+ */
+class HttpDateEntry {
+    final long second;
+    final String text;
+
+    HttpDateEntry(long second, String text) {
+	this.second = second;
+	this.text = text;
+    }
+}
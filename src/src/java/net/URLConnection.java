@@ -147,13 +147,23 @@ abstract public class URLConnection {
      * getHeaderField exists because some connection types
      * (eg. http-ng) have pre-parsed headers. This allows them
      * to override this method and short-circuit the parsing.
+     * The three HTTP date formats are parsed by HttpDate; anything
+     * else is left to Date.parse.
      * @param name the name of the header field
      * @param Default the value to return if the field is missing
      *	or malformed.
+     * @see HttpDate
      */
     public long getHeaderFieldDate(String name, long Default) {
+	String value = getHeaderField(name);
+	if (value == null) {
+	    return Default;
+	}
+	try {
+	    return HttpDate.parse(value);
+	} catch(IllegalArgumentException e) {}
 	try {
-	    return Date.parse(getHeaderField(name));
+	    return Date.parse(value);
 	} catch(Throwable t) {}
 	return Default;
     }
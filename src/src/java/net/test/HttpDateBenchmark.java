@@ -0,0 +1,81 @@
+/*
+ * @(#)HttpDateBenchmark.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+import java.net.HttpDate;
+import java.util.Date;
+
+/**
+ * Compares Date.parse and Date.toGMTString with HttpDate.parse and
+ * HttpDate.format on the dates an HTTP client and server handle.
+ * <pre>
+ *	java HttpDateBenchmark [iterations]
+ * </pre>
+ */
+class HttpDateBenchmark {
+    public static void main(String args[]) {
+	int n = (args.length > 0) ? Integer.parseInt(args[0]) : 200000;
+	String dates[] = new String[1000];
+	long base = 784111777000L;
+	for (int i = 0 ; i < dates.length ; i++) {
+	    dates[i] = HttpDate.format(base + i * 86417000L);
+	}
+
+	long sum = 0;
+	long start = System.currentTimeMillis();
+	for (int i = 0 ; i < n ; i++) {
+	    sum += Date.parse(dates[i % dates.length]);
+	}
+	long dateParse = System.currentTimeMillis() - start;
+
+	start = System.currentTimeMillis();
+	for (int i = 0 ; i < n ; i++) {
+	    sum -= HttpDate.parse(dates[i % dates.length]);
+	}
+	long httpParse = System.currentTimeMillis() - start;
+	if (sum != 0) {
+	    throw new InternalError("parsers disagree");
+	}
+
+	// a server stamping responses: many per second
+	start = System.currentTimeMillis();
+	for (int i = 0 ; i < n ; i++) {
+	    sum += new Date(base + i).toGMTString().length();
+	}
+	long dateFormat = System.currentTimeMillis() - start;
+
+	start = System.currentTimeMillis();
+	for (int i = 0 ; i < n ; i++) {
+	    sum += HttpDate.format(base + i).length();
+	}
+	long httpFormat = System.currentTimeMillis() - start;
+
+	char buf[] = new char[HttpDate.LENGTH];
+	start = System.currentTimeMillis();
+	for (int i = 0 ; i < n ; i++) {
+	    sum += HttpDate.format(base + i * 1000L, buf, 0);
+	}
+	long httpFormatChars = System.currentTimeMillis() - start;
+
+	System.out.println(n + " dates, ns per date");
+	System.out.println("Date.parse:                 " + (dateParse * 1000000 / n));
+	System.out.println("HttpDate.parse:             " + (httpParse * 1000000 / n));
+	System.out.println("Date.toGMTString:           " + (dateFormat * 1000000 / n));
+	System.out.println("HttpDate.format:            " + (httpFormat * 1000000 / n));
+	System.out.println("HttpDate.format (char[]):   " + (httpFormatChars * 1000000 / n));
+    }
+}
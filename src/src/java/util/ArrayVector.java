@@ -0,0 +1,507 @@
+/*
+ * @(#)ArrayVector.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+package java.util;
+
+/**
+ * ArrayVector class (an unsynchronized growable array).<p>
+ *
+ * ArrayVector has the same methods as Vector, but none of them are
+ * synchronized. Use it for lists that are only ever touched by one
+ * thread at a time, such as lists built and consumed inside a single
+ * method or owned by one layout pass; there every Vector call would
+ * pay for a monitor it never needs. Lists that are shared between
+ * threads should use Vector or CopyOnWriteVector instead.<p>
+ *
+ * In addition to the Vector methods, ArrayVector can add and remove
+ * ranges of elements in one step, and can sort itself in place.
+ *
+ * @see java.util.Vector
+ * @see java.util.CopyOnWriteVector
+ * @version 	1.1, 01/22/96
+ */
+public
+class ArrayVector implements Cloneable {
+    /**
+     * The buffer where elements are stored.
+     */
+    protected Object elementData[];
+
+    /**
+     * The number of elements in the buffer.
+     */
+    protected int elementCount;
+
+    /**
+     * The size of the increment. If it is 0 the size of the
+     * the buffer is doubled everytime it needs to grow.
+     */
+    protected int capacityIncrement;
+
+    /**
+     * Constructs an empty vector with the specified storage
+     * capacity and the specified capacityIncrement.
+     * @param initialCapacity the initial storage capacity of the vector
+     * @param capacityIncrement how much to increase the element's
+     * size by.
+     */
+    public ArrayVector(int initialCapacity, int capacityIncrement) {
+	super();
+	this.elementData = new Object[initialCapacity];
+	this.capacityIncrement = capacityIncrement;
+    }
+
+    /**
+     * Constructs an empty vector with the specified storage capacity.
+     * @param initialCapacity the initial storage capacity of the vector
+     */
+    public ArrayVector(int initialCapacity) {
+	this(initialCapacity, 0);
+    }
+
+    /**
+     * Constructs an empty vector.
+     */
+    public ArrayVector() {
+	this(10);
+    }
+
+    /**
+     * Copies the elements of this vector into the specified array.
+     * @param anArray the array where elements get copied into
+     */
+    public final void copyInto(Object anArray[]) {
+	System.arraycopy(elementData, 0, anArray, 0, elementCount);
+    }
+
+    /**
+     * Trims the vector's capacity down to size. Use this operation to
+     * minimize the storage of a vector. Subsequent insertions will
+     * cause reallocation.
+     */
+    public final void trimToSize() {
+	int oldCapacity = elementData.length;
+	if (elementCount < oldCapacity) {
+	    Object oldData[] = elementData;
+	    elementData = new Object[elementCount];
+	    System.arraycopy(oldData, 0, elementData, 0, elementCount);
+	}
+    }
+
+    /**
+     * Ensures that the vector has at least the specified capacity.
+     * @param minCapacity the desired minimum capacity
+     */
+    public final void ensureCapacity(int minCapacity) {
+	int oldCapacity = elementData.length;
+	if (minCapacity > oldCapacity) {
+	    Object oldData[] = elementData;
+	    int newCapacity = (capacityIncrement > 0) ?
+		(oldCapacity + capacityIncrement) : (oldCapacity * 2);
+	    if (newCapacity < minCapacity) {
+		newCapacity = minCapacity;
+	    }
+	    elementData = new Object[newCapacity];
+	    System.arraycopy(oldData, 0, elementData, 0, elementCount);
+	}
+    }
+
+    /**
+     * Sets the size of the vector. If the size shrinks, the extra elements
+     * (at the end of the vector) are lost; if the size increases, the
+     * new elements are set to null.
+     * @param newSize the new size of the vector
+     */
+    public final void setSize(int newSize) {
+	if (newSize > elementCount) {
+	    ensureCapacity(newSize);
+	} else {
+	    for (int i = newSize ; i < elementCount ; i++) {
+		elementData[i] = null;
+	    }
+	}
+	elementCount = newSize;
+    }
+
+    /**
+     * Returns the current capacity of the vector.
+     */
+    public final int capacity() {
+	return elementData.length;
+    }
+
+    /**
+     * Returns the number of elements in the vector.
+     * Note that this is not the same as the vector's capacity.
+     */
+    public final int size() {
+	return elementCount;
+    }
+
+    /**
+     * Returns true if the collection contains no values.
+     */
+    public final boolean isEmpty() {
+	return elementCount == 0;
+    }
+
+    /**
+     * Returns an enumeration of the elements. Use the Enumeration methods on
+     * the returned object to fetch the elements sequentially.
+     */
+    public final Enumeration elements() {
+	return new ArrayVectorEnumerator(this);
+    }
+
+    /**
+     * Returns true if the specified object is a value of the
+     * collection.
+     * @param elem the desired element
+     */
+    public final boolean contains(Object elem) {
+	return indexOf(elem, 0) >= 0;
+    }
+
+    /**
+     * Searches for the specified object, starting from the first position
+     * and returns an index to it.
+     * @param elem the desired element
+     * @return the index of the element, or -1 if it was not found.
+     */
+    public final int indexOf(Object elem) {
+	return indexOf(elem, 0);
+    }
+
+    /**
+     * Searches for the specified object, starting at the specified
+     * position and returns an index to it.
+     * @param elem the desired element
+     * @param index the index where to start searching
+     * @return the index of the element, or -1 if it was not found.
+     */
+    public final int indexOf(Object elem, int index) {
+	Object data[] = elementData;
+	for (int i = index ; i < elementCount ; i++) {
+	    if (elem.equals(data[i])) {
+		return i;
+	    }
+	}
+	return -1;
+    }
+
+    /**
+     * Searches backwards for the specified object, starting from the last
+     * position and returns an index to it.
+     * @param elem the desired element
+     * @return the index of the element, or -1 if it was not found.
+     */
+    public final int lastIndexOf(Object elem) {
+	return lastIndexOf(elem, elementCount);
+    }
+
+    /**
+     * Searches backwards for the specified object, starting from the specified
+     * position and returns an index to it.
+     * @param elem the desired element
+     * @param index the index where to start searching
+     * @return the index of the element, or -1 if it was not found.
+     */
+    public final int lastIndexOf(Object elem, int index) {
+	Object data[] = elementData;
+	for (int i = index ; --i >= 0 ; ) {
+	    if (elem.equals(data[i])) {
+		return i;
+	    }
+	}
+	return -1;
+    }
+
+    /**
+     * Returns the element at the specified index.
+     * @param index the index of the desired element
+     * @exception ArrayIndexOutOfBoundsException If an invalid
+     * index was given.
+     */
+    public final Object elementAt(int index) {
+	if (index >= elementCount) {
+	    throw new ArrayIndexOutOfBoundsException(index + " >= " + elementCount);
+	}
+	return elementData[index];
+    }
+
+    /**
+     * Returns the first element of the sequence.
+     * @exception NoSuchElementException If the sequence is empty.
+     */
+    public final Object firstElement() {
+	if (elementCount == 0) {
+	    throw new NoSuchElementException();
+	}
+	return elementData[0];
+    }
+
+    /**
+     * Returns the last element of the sequence.
+     * @exception NoSuchElementException If the sequence is empty.
+     */
+    public final Object lastElement() {
+	if (elementCount == 0) {
+	    throw new NoSuchElementException();
+	}
+	return elementData[elementCount - 1];
+    }
+
+    /**
+     * Sets the element at the specified index to be the specified object.
+     * The previous element at that position is discarded.
+     * @param obj what the element is to be set to
+     * @param index the specified index
+     * @exception ArrayIndexOutOfBoundsException If the index was
+     * invalid.
+     */
+    public final void setElementAt(Object obj, int index) {
+	if (index >= elementCount) {
+	    throw new ArrayIndexOutOfBoundsException(index + " >= " +
+						     elementCount);
+	}
+	elementData[index] = obj;
+    }
+
+    /**
+     * Deletes the element at the specified index. Elements with an index
+     * greater than the current index are moved down.
+     * @param index the element to remove
+     * @exception ArrayIndexOutOfBoundsException If the index was invalid.
+     */
+    public final void removeElementAt(int index) {
+	if (index >= elementCount) {
+	    throw new ArrayIndexOutOfBoundsException(index + " >= " +
+						     elementCount);
+	}
+	int j = elementCount - index - 1;
+	if (j > 0) {
+	    System.arraycopy(elementData, index + 1, elementData, index, j);
+	}
+	elementCount--;
+	elementData[elementCount] = null; /* to let gc do its work */
+    }
+
+    /**
+     * Deletes the elements from fromIndex (inclusive) up to toIndex
+     * (exclusive). Elements after the range are moved down with a
+     * single copy.
+     * @param fromIndex the index of the first element to remove
+     * @param toIndex the index after the last element to remove
+     * @exception ArrayIndexOutOfBoundsException If the range was invalid.
+     */
+    public final void removeRange(int fromIndex, int toIndex) {
+	if ((fromIndex < 0) || (toIndex > elementCount) || (fromIndex > toIndex)) {
+	    throw new ArrayIndexOutOfBoundsException(fromIndex + ".." + toIndex);
+	}
+	int j = elementCount - toIndex;
+	if (j > 0) {
+	    System.arraycopy(elementData, toIndex, elementData, fromIndex, j);
+	}
+	int newCount = elementCount - (toIndex - fromIndex);
+	for (int i = newCount ; i < elementCount ; i++) {
+	    elementData[i] = null; /* to let gc do its work */
+	}
+	elementCount = newCount;
+    }
+
+    /**
+     * Inserts the specified object as an element at the specified index.
+     * Elements with an index greater or equal to the current index
+     * are shifted up.
+     * @param obj the element to insert
+     * @param index where to insert the new element
+     * @exception ArrayIndexOutOfBoundsException If the index was invalid.
+     */
+    public final void insertElementAt(Object obj, int index) {
+	if (index >= elementCount + 1) {
+	    throw new ArrayIndexOutOfBoundsException(index + " >= " +
+						     (elementCount + 1));
+	}
+	ensureCapacity(elementCount + 1);
+	System.arraycopy(elementData, index, elementData, index + 1, elementCount - index);
+	elementData[index] = obj;
+	elementCount++;
+    }
+
+    /**
+     * Inserts length elements of the specified array at the specified
+     * index. Elements with an index greater or equal to the index are
+     * shifted up once, not once per inserted element.
+     * @param src the array holding the elements to insert
+     * @param offset the position of the first element in src
+     * @param length the number of elements to insert
+     * @param index where to insert the new elements
+     * @exception ArrayIndexOutOfBoundsException If the index was invalid.
+     */
+    public final void insertElementsAt(Object src[], int offset, int length,
+				       int index) {
+	if (index > elementCount) {
+	    throw new ArrayIndexOutOfBoundsException(index + " > " +
+						     elementCount);
+	}
+	ensureCapacity(elementCount + length);
+	System.arraycopy(elementData, index, elementData, index + length,
+			 elementCount - index);
+	System.arraycopy(src, offset, elementData, index, length);
+	elementCount += length;
+    }
+
+    /**
+     * Adds the specified object as the last element of the vector.
+     * @param obj the element to be added
+     */
+    public final void addElement(Object obj) {
+	if (elementCount == elementData.length) {
+	    ensureCapacity(elementCount + 1);
+	}
+	elementData[elementCount++] = obj;
+    }
+
+    /**
+     * Adds length elements of the specified array to the end of the
+     * vector.
+     * @param src the array holding the elements to add
+     * @param offset the position of the first element in src
+     * @param length the number of elements to add
+     */
+    public final void addElements(Object src[], int offset, int length) {
+	ensureCapacity(elementCount + length);
+	System.arraycopy(src, offset, elementData, elementCount, length);
+	elementCount += length;
+    }
+
+    /**
+     * Adds all elements of another ArrayVector to the end of this one.
+     * @param v the vector whose elements are added
+     */
+    public final void addElements(ArrayVector v) {
+	addElements(v.elementData, 0, v.elementCount);
+    }
+
+    /**
+     * Removes the element from the vector. If the object occurs more
+     * than once, only the first is removed. If the object is not an
+     * element, returns false.
+     * @param obj the element to be removed
+     * @return true if the element was actually removed; false otherwise.
+     */
+    public final boolean removeElement(Object obj) {
+	int i = indexOf(obj);
+	if (i >= 0) {
+	    removeElementAt(i);
+	    return true;
+	}
+	return false;
+    }
+
+    /**
+     * Removes all elements of the vector. The vector becomes empty.
+     */
+    public final void removeAllElements() {
+	for (int i = 0; i < elementCount; i++) {
+	    elementData[i] = null;
+	}
+	elementCount = 0;
+    }
+
+    /**
+     * Sorts the elements of the vector in place, in the order imposed
+     * by the comparator. The sort is stable: equal elements keep their
+     * relative order.
+     * @param c the comparator that determines the order
+     */
+    public final void sort(Comparator c) {
+	sort(0, elementCount, c);
+    }
+
+    /**
+     * Sorts the elements from fromIndex (inclusive) up to toIndex
+     * (exclusive) in place. The sort is stable.
+     * @param fromIndex the index of the first element to sort
+     * @param toIndex the index after the last element to sort
+     * @param c the comparator that determines the order
+     * @exception ArrayIndexOutOfBoundsException If the range was invalid.
+     */
+    public final void sort(int fromIndex, int toIndex, Comparator c) {
+	if ((fromIndex < 0) || (toIndex > elementCount) || (fromIndex > toIndex)) {
+	    throw new ArrayIndexOutOfBoundsException(fromIndex + ".." + toIndex);
+	}
+	Arrays.sort(elementData, fromIndex, toIndex, c);
+    }
+
+    /**
+     * Clones this vector. The elements are <strong>not</strong> cloned.
+     */
+    public Object clone() {
+	try {
+	    ArrayVector v = (ArrayVector)super.clone();
+	    v.elementData = new Object[elementCount];
+	    System.arraycopy(elementData, 0, v.elementData, 0, elementCount);
+	    return v;
+	} catch (CloneNotSupportedException e) {
+	    // this shouldn't happen, since we are Cloneable
+	    throw new InternalError();
+	}
+    }
+
+    /**
+     * Converts the vector to a string. Useful for debugging.
+     */
+    public final String toString() {
+	int max = size() - 1;
+	StringBuffer buf = new StringBuffer();
+	buf.append("[");
+
+	for (int i = 0 ; i <= max ; i++) {
+	    buf.append(String.valueOf(elementData[i]));
+	    if (i < max) {
+		buf.append(", ");
+	    }
+	}
+	buf.append("]");
+	return buf.toString();
+    }
+}
+
+final
+class ArrayVectorEnumerator implements Enumeration {
+    ArrayVector vector;
+    int count;
+
+    ArrayVectorEnumerator(ArrayVector v) {
+	vector = v;
+	count = 0;
+    }
+
+    public boolean hasMoreElements() {
+	return count < vector.elementCount;
+    }
+
+    public Object nextElement() {
+	if (count < vector.elementCount) {
+	    return vector.elementData[count++];
+	}
+	throw new NoSuchElementException("ArrayVectorEnumerator");
+    }
+}
@@ -0,0 +1,2110 @@
+/*
+ * @(#)Arrays.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+package java.util;
+
+/**
+ * A thread that sorts one part of an array for Arrays.parallelSort.
+ * Anything the sort throws is kept and rethrown by the thread that
+ * started it.
+ */
+class ArraysSortThread extends Thread {
+    Object a;
+    Object tmp;
+    int fromIndex;
+    int toIndex;
+    int depth;
+    Comparator c;
+    Throwable error;
+
+    ArraysSortThread(Object a, Object tmp, int fromIndex, int toIndex,
+		     int depth, Comparator c) {
+	this.a = a;
+	this.tmp = tmp;
+	this.fromIndex = fromIndex;
+	this.toIndex = toIndex;
+	this.depth = depth;
+	this.c = c;
+    }
+
+    public void run() {
+	try {
+	    Arrays.parallelSort(a, tmp, fromIndex, toIndex, depth, c);
+	} catch (Throwable e) {
+	    error = e;
+	}
+    }
+}
+
+/**
+ * This class contains static methods for sorting, searching and
+ * filling arrays.<p>
+ *
+ * Arrays of primitive types are sorted with a dual-pivot quicksort,
+ * which picks two pivots and splits each range into three parts; it
+ * does fewer swaps than the classic single-pivot quicksort. Floating
+ * point arrays are sorted in the order -Infinity, ..., -0.0, 0.0, ...,
+ * Infinity, NaN. Object arrays are sorted with a merge sort in the
+ * order imposed by a Comparator; that sort is stable, so equal
+ * elements keep their relative order.<p>
+ *
+ * The parallelSort methods sort large arrays with several threads:
+ * the array is split in halves, each half is sorted by a thread of
+ * its own, and the sorted halves are merged.
+ *
+ * @see Comparator
+ * @version 	1.1, 01/22/96
+ */
+public final
+class Arrays {
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private Arrays() {}
+
+    /**
+     * Ranges shorter than this are sorted by insertion sort.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 27;
+
+    /**
+     * Ranges shorter than this are not split any further by
+     * parallelSort.
+     */
+    private static final int PARALLEL_THRESHOLD = 8192;
+
+    /**
+     * Checks that fromIndex and toIndex are a valid range of an
+     * array of the specified length.
+     */
+    private static void rangeCheck(int length, int fromIndex, int toIndex) {
+	if (fromIndex > toIndex) {
+	    throw new IllegalArgumentException("fromIndex(" + fromIndex +
+					       ") > toIndex(" + toIndex + ")");
+	}
+	if (fromIndex < 0) {
+	    throw new ArrayIndexOutOfBoundsException(fromIndex);
+	}
+	if (toIndex > length) {
+	    throw new ArrayIndexOutOfBoundsException(toIndex);
+	}
+    }
+
+    /**
+     * Sorts an array of longs into ascending order.
+     * @param a	the array to be sorted
+     */
+    public static void sort(long a[]) {
+	quicksort(a, 0, a.length - 1);
+    }
+
+    /**
+     * Sorts the elements of an array of longs from fromIndex (inclusive)
+     * up to toIndex (exclusive) into ascending order.
+     * @param a		the array to be sorted
+     * @param fromIndex	the index of the first element to sort
+     * @param toIndex	the index after the last element to sort
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If the range is outside
+     * the array.
+     */
+    public static void sort(long a[], int fromIndex, int toIndex) {
+	rangeCheck(a.length, fromIndex, toIndex);
+	quicksort(a, fromIndex, toIndex - 1);
+    }
+
+    /**
+     * Sorts a[left..right], both inclusive, with a dual-pivot quicksort.
+     */
+    private static void quicksort(long a[], int left, int right) {
+	int length = right - left + 1;
+	long t;
+	if (length < INSERTION_SORT_THRESHOLD) {
+	    for (int i = left + 1 ; i <= right ; i++) {
+		long v = a[i];
+		int j = i - 1;
+		while ((j >= left) && (v < a[j])) {
+		    a[j + 1] = a[j];
+		    j--;
+		}
+		a[j + 1] = v;
+	    }
+	    return;
+	}
+
+	// Take the pivots from one third and two thirds of the way along
+	// and move them to the ends, the smaller one first.
+	int third = length / 3;
+	int m1 = left + third;
+	int m2 = right - third;
+	if (a[m1] <= a[m2]) {
+	    t = a[m1]; a[m1] = a[left]; a[left] = t;
+	    t = a[m2]; a[m2] = a[right]; a[right] = t;
+	} else {
+	    t = a[m1]; a[m1] = a[right]; a[right] = t;
+	    t = a[m2]; a[m2] = a[left]; a[left] = t;
+	}
+	long pivot1 = a[left];
+	long pivot2 = a[right];
+
+	// a[left+1..less-1] < pivot1, pivot1 <= a[less..k-1] <= pivot2,
+	// a[great+1..right-1] > pivot2
+	int less = left + 1;
+	int great = right - 1;
+	for (int k = less ; k <= great ; k++) {
+	    long v = a[k];
+	    if (v < pivot1) {
+		a[k] = a[less];
+		a[less++] = v;
+	    } else if (v > pivot2) {
+		while ((k < great) && (a[great] > pivot2)) {
+		    great--;
+		}
+		a[k] = a[great];
+		a[great--] = v;
+		v = a[k];
+		if (v < pivot1) {
+		    a[k] = a[less];
+		    a[less++] = v;
+		}
+	    }
+	}
+	a[left] = a[less - 1];
+	a[less - 1] = pivot1;
+	a[right] = a[great + 1];
+	a[great + 1] = pivot2;
+
+	quicksort(a, left, less - 2);
+	quicksort(a, great + 2, right);
+
+	// If the middle part is large, many elements are equal to a
+	// pivot; gather them at its ends so they are not sorted again.
+	if ((great - less > length - 13) && (pivot1 != pivot2)) {
+	    for (int k = less ; k <= great ; k++) {
+		long v = a[k];
+		if (v == pivot1) {
+		    a[k] = a[less];
+		    a[less++] = v;
+		} else if (v == pivot2) {
+		    a[k] = a[great];
+		    a[great--] = v;
+		    v = a[k];
+		    if (v == pivot1) {
+			a[k] = a[less];
+			a[less++] = v;
+		    }
+		}
+	    }
+	}
+	if (pivot1 < pivot2) {
+	    quicksort(a, less, great);
+	}
+    }
+
+    /**
+     * Searches a sorted array of longs for the specified value.
+     * @param a		the array, sorted into ascending order
+     * @param key	the value to search for
+     * @return 		the index of the key, if it is in the array;
+     *			otherwise (-(insertion point) - 1), where the
+     *			insertion point is the index at which the key would
+     *			be inserted.
+     */
+    public static int binarySearch(long a[], long key) {
+	return binarySearch0(a, 0, a.length, key);
+    }
+
+    /**
+     * Searches a sorted range of an array of longs for the specified
+     * value.
+     * @param a		the array
+     * @param fromIndex	the index of the first element to search
+     * @param toIndex	the index after the last element to search
+     * @param key	the value to search for
+     * @return 		the index of the key, if it is in the range;
+     *			otherwise (-(insertion point) - 1).
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If the range is outside
+     * the array.
+     */
+    public static int binarySearch(long a[], int fromIndex, int toIndex, long key) {
+	rangeCheck(a.length, fromIndex, toIndex);
+	return binarySearch0(a, fromIndex, toIndex, key);
+    }
+
+    private static int binarySearch0(long a[], int fromIndex, int toIndex, long key) {
+	int low = fromIndex;
+	int high = toIndex - 1;
+	while (low <= high) {
+	    int mid = (low + high) >>> 1;
+	    long midVal = a[mid];
+	    if (midVal < key) {
+		low = mid + 1;
+	    } else if (midVal > key) {
+		high = mid - 1;
+	    } else {
+		return mid;
+	    }
+	}
+	return -(low + 1);
+    }
+
+    /**
+     * Sets every element of an array of longs to the specified value.
+     * @param a		the array to be filled
+     * @param val	the value
+     */
+    public static void fill(long a[], long val) {
+	for (int i = a.length ; --i >= 0 ;) {
+	    a[i] = val;
+	}
+    }
+
+    /**
+     * Sets the elements of an array of longs from fromIndex (inclusive)
+     * up to toIndex (exclusive) to the specified value.
+     * @param a		the array to be filled
+     * @param fromIndex	the index of the first element to set
+     * @param toIndex	the index after the last element to set
+     * @param val	the value
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If the range is outside
+     * the array.
+     */
+    public static void fill(long a[], int fromIndex, int toIndex, long val) {
+	rangeCheck(a.length, fromIndex, toIndex);
+	for (int i = fromIndex ; i < toIndex ; i++) {
+	    a[i] = val;
+	}
+    }
+
+    /**
+     * Returns a new array holding the elements of an array of longs
+     * from fromIndex (inclusive) up to toIndex (exclusive). toIndex may
+     * lie beyond the end of the array; the rest of the copy is then
+     * left zero.
+     * @param a		the array to copy from
+     * @param fromIndex	the index of the first element to copy
+     * @param toIndex	the index after the last element to copy
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If fromIndex is outside
+     * the array.
+     */
+    public static long[] copyOfRange(long a[], int fromIndex, int toIndex) {
+	if (fromIndex > toIndex) {
+	    throw new IllegalArgumentException("fromIndex(" + fromIndex +
+					       ") > toIndex(" + toIndex + ")");
+	}
+	if ((fromIndex < 0) || (fromIndex > a.length)) {
+	    throw new ArrayIndexOutOfBoundsException(fromIndex);
+	}
+	long copy[] = new long[toIndex - fromIndex];
+	System.arraycopy(a, fromIndex, copy, 0, Math.min(a.length, toIndex) - fromIndex);
+	return copy;
+    }
+
+    /**
+     * Sorts an array of ints into ascending order.
+     * @param a	the array to be sorted
+     */
+    public static void sort(int a[]) {
+	quicksort(a, 0, a.length - 1);
+    }
+
+    /**
+     * Sorts the elements of an array of ints from fromIndex (inclusive)
+     * up to toIndex (exclusive) into ascending order.
+     * @param a		the array to be sorted
+     * @param fromIndex	the index of the first element to sort
+     * @param toIndex	the index after the last element to sort
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If the range is outside
+     * the array.
+     */
+    public static void sort(int a[], int fromIndex, int toIndex) {
+	rangeCheck(a.length, fromIndex, toIndex);
+	quicksort(a, fromIndex, toIndex - 1);
+    }
+
+    /**
+     * Sorts a[left..right], both inclusive, with a dual-pivot quicksort.
+     */
+    private static void quicksort(int a[], int left, int right) {
+	int length = right - left + 1;
+	int t;
+	if (length < INSERTION_SORT_THRESHOLD) {
+	    for (int i = left + 1 ; i <= right ; i++) {
+		int v = a[i];
+		int j = i - 1;
+		while ((j >= left) && (v < a[j])) {
+		    a[j + 1] = a[j];
+		    j--;
+		}
+		a[j + 1] = v;
+	    }
+	    return;
+	}
+
+	// Take the pivots from one third and two thirds of the way along
+	// and move them to the ends, the smaller one first.
+	int third = length / 3;
+	int m1 = left + third;
+	int m2 = right - third;
+	if (a[m1] <= a[m2]) {
+	    t = a[m1]; a[m1] = a[left]; a[left] = t;
+	    t = a[m2]; a[m2] = a[right]; a[right] = t;
+	} else {
+	    t = a[m1]; a[m1] = a[right]; a[right] = t;
+	    t = a[m2]; a[m2] = a[left]; a[left] = t;
+	}
+	int pivot1 = a[left];
+	int pivot2 = a[right];
+
+	// a[left+1..less-1] < pivot1, pivot1 <= a[less..k-1] <= pivot2,
+	// a[great+1..right-1] > pivot2
+	int less = left + 1;
+	int great = right - 1;
+	for (int k = less ; k <= great ; k++) {
+	    int v = a[k];
+	    if (v < pivot1) {
+		a[k] = a[less];
+		a[less++] = v;
+	    } else if (v > pivot2) {
+		while ((k < great) && (a[great] > pivot2)) {
+		    great--;
+		}
+		a[k] = a[great];
+		a[great--] = v;
+		v = a[k];
+		if (v < pivot1) {
+		    a[k] = a[less];
+		    a[less++] = v;
+		}
+	    }
+	}
+	a[left] = a[less - 1];
+	a[less - 1] = pivot1;
+	a[right] = a[great + 1];
+	a[great + 1] = pivot2;
+
+	quicksort(a, left, less - 2);
+	quicksort(a, great + 2, right);
+
+	// If the middle part is large, many elements are equal to a
+	// pivot; gather them at its ends so they are not sorted again.
+	if ((great - less > length - 13) && (pivot1 != pivot2)) {
+	    for (int k = less ; k <= great ; k++) {
+		int v = a[k];
+		if (v == pivot1) {
+		    a[k] = a[less];
+		    a[less++] = v;
+		} else if (v == pivot2) {
+		    a[k] = a[great];
+		    a[great--] = v;
+		    v = a[k];
+		    if (v == pivot1) {
+			a[k] = a[less];
+			a[less++] = v;
+		    }
+		}
+	    }
+	}
+	if (pivot1 < pivot2) {
+	    quicksort(a, less, great);
+	}
+    }
+
+    /**
+     * Searches a sorted array of ints for the specified value.
+     * @param a		the array, sorted into ascending order
+     * @param key	the value to search for
+     * @return 		the index of the key, if it is in the array;
+     *			otherwise (-(insertion point) - 1), where the
+     *			insertion point is the index at which the key would
+     *			be inserted.
+     */
+    public static int binarySearch(int a[], int key) {
+	return binarySearch0(a, 0, a.length, key);
+    }
+
+    /**
+     * Searches a sorted range of an array of ints for the specified
+     * value.
+     * @param a		the array
+     * @param fromIndex	the index of the first element to search
+     * @param toIndex	the index after the last element to search
+     * @param key	the value to search for
+     * @return 		the index of the key, if it is in the range;
+     *			otherwise (-(insertion point) - 1).
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If the range is outside
+     * the array.
+     */
+    public static int binarySearch(int a[], int fromIndex, int toIndex, int key) {
+	rangeCheck(a.length, fromIndex, toIndex);
+	return binarySearch0(a, fromIndex, toIndex, key);
+    }
+
+    private static int binarySearch0(int a[], int fromIndex, int toIndex, int key) {
+	int low = fromIndex;
+	int high = toIndex - 1;
+	while (low <= high) {
+	    int mid = (low + high) >>> 1;
+	    int midVal = a[mid];
+	    if (midVal < key) {
+		low = mid + 1;
+	    } else if (midVal > key) {
+		high = mid - 1;
+	    } else {
+		return mid;
+	    }
+	}
+	return -(low + 1);
+    }
+
+    /**
+     * Sets every element of an array of ints to the specified value.
+     * @param a		the array to be filled
+     * @param val	the value
+     */
+    public static void fill(int a[], int val) {
+	for (int i = a.length ; --i >= 0 ;) {
+	    a[i] = val;
+	}
+    }
+
+    /**
+     * Sets the elements of an array of ints from fromIndex (inclusive)
+     * up to toIndex (exclusive) to the specified value.
+     * @param a		the array to be filled
+     * @param fromIndex	the index of the first element to set
+     * @param toIndex	the index after the last element to set
+     * @param val	the value
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If the range is outside
+     * the array.
+     */
+    public static void fill(int a[], int fromIndex, int toIndex, int val) {
+	rangeCheck(a.length, fromIndex, toIndex);
+	for (int i = fromIndex ; i < toIndex ; i++) {
+	    a[i] = val;
+	}
+    }
+
+    /**
+     * Returns a new array holding the elements of an array of ints
+     * from fromIndex (inclusive) up to toIndex (exclusive). toIndex may
+     * lie beyond the end of the array; the rest of the copy is then
+     * left zero.
+     * @param a		the array to copy from
+     * @param fromIndex	the index of the first element to copy
+     * @param toIndex	the index after the last element to copy
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If fromIndex is outside
+     * the array.
+     */
+    public static int[] copyOfRange(int a[], int fromIndex, int toIndex) {
+	if (fromIndex > toIndex) {
+	    throw new IllegalArgumentException("fromIndex(" + fromIndex +
+					       ") > toIndex(" + toIndex + ")");
+	}
+	if ((fromIndex < 0) || (fromIndex > a.length)) {
+	    throw new ArrayIndexOutOfBoundsException(fromIndex);
+	}
+	int copy[] = new int[toIndex - fromIndex];
+	System.arraycopy(a, fromIndex, copy, 0, Math.min(a.length, toIndex) - fromIndex);
+	return copy;
+    }
+
+    /**
+     * Sorts an array of shorts into ascending order.
+     * @param a	the array to be sorted
+     */
+    public static void sort(short a[]) {
+	quicksort(a, 0, a.length - 1);
+    }
+
+    /**
+     * Sorts the elements of an array of shorts from fromIndex (inclusive)
+     * up to toIndex (exclusive) into ascending order.
+     * @param a		the array to be sorted
+     * @param fromIndex	the index of the first element to sort
+     * @param toIndex	the index after the last element to sort
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If the range is outside
+     * the array.
+     */
+    public static void sort(short a[], int fromIndex, int toIndex) {
+	rangeCheck(a.length, fromIndex, toIndex);
+	quicksort(a, fromIndex, toIndex - 1);
+    }
+
+    /**
+     * Sorts a[left..right], both inclusive, with a dual-pivot quicksort.
+     */
+    private static void quicksort(short a[], int left, int right) {
+	int length = right - left + 1;
+	short t;
+	if (length < INSERTION_SORT_THRESHOLD) {
+	    for (int i = left + 1 ; i <= right ; i++) {
+		short v = a[i];
+		int j = i - 1;
+		while ((j >= left) && (v < a[j])) {
+		    a[j + 1] = a[j];
+		    j--;
+		}
+		a[j + 1] = v;
+	    }
+	    return;
+	}
+
+	// Take the pivots from one third and two thirds of the way along
+	// and move them to the ends, the smaller one first.
+	int third = length / 3;
+	int m1 = left + third;
+	int m2 = right - third;
+	if (a[m1] <= a[m2]) {
+	    t = a[m1]; a[m1] = a[left]; a[left] = t;
+	    t = a[m2]; a[m2] = a[right]; a[right] = t;
+	} else {
+	    t = a[m1]; a[m1] = a[right]; a[right] = t;
+	    t = a[m2]; a[m2] = a[left]; a[left] = t;
+	}
+	short pivot1 = a[left];
+	short pivot2 = a[right];
+
+	// a[left+1..less-1] < pivot1, pivot1 <= a[less..k-1] <= pivot2,
+	// a[great+1..right-1] > pivot2
+	int less = left + 1;
+	int great = right - 1;
+	for (int k = less ; k <= great ; k++) {
+	    short v = a[k];
+	    if (v < pivot1) {
+		a[k] = a[less];
+		a[less++] = v;
+	    } else if (v > pivot2) {
+		while ((k < great) && (a[great] > pivot2)) {
+		    great--;
+		}
+		a[k] = a[great];
+		a[great--] = v;
+		v = a[k];
+		if (v < pivot1) {
+		    a[k] = a[less];
+		    a[less++] = v;
+		}
+	    }
+	}
+	a[left] = a[less - 1];
+	a[less - 1] = pivot1;
+	a[right] = a[great + 1];
+	a[great + 1] = pivot2;
+
+	quicksort(a, left, less - 2);
+	quicksort(a, great + 2, right);
+
+	// If the middle part is large, many elements are equal to a
+	// pivot; gather them at its ends so they are not sorted again.
+	if ((great - less > length - 13) && (pivot1 != pivot2)) {
+	    for (int k = less ; k <= great ; k++) {
+		short v = a[k];
+		if (v == pivot1) {
+		    a[k] = a[less];
+		    a[less++] = v;
+		} else if (v == pivot2) {
+		    a[k] = a[great];
+		    a[great--] = v;
+		    v = a[k];
+		    if (v == pivot1) {
+			a[k] = a[less];
+			a[less++] = v;
+		    }
+		}
+	    }
+	}
+	if (pivot1 < pivot2) {
+	    quicksort(a, less, great);
+	}
+    }
+
+    /**
+     * Searches a sorted array of shorts for the specified value.
+     * @param a		the array, sorted into ascending order
+     * @param key	the value to search for
+     * @return 		the index of the key, if it is in the array;
+     *			otherwise (-(insertion point) - 1), where the
+     *			insertion point is the index at which the key would
+     *			be inserted.
+     */
+    public static int binarySearch(short a[], short key) {
+	return binarySearch0(a, 0, a.length, key);
+    }
+
+    /**
+     * Searches a sorted range of an array of shorts for the specified
+     * value.
+     * @param a		the array
+     * @param fromIndex	the index of the first element to search
+     * @param toIndex	the index after the last element to search
+     * @param key	the value to search for
+     * @return 		the index of the key, if it is in the range;
+     *			otherwise (-(insertion point) - 1).
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If the range is outside
+     * the array.
+     */
+    public static int binarySearch(short a[], int fromIndex, int toIndex, short key) {
+	rangeCheck(a.length, fromIndex, toIndex);
+	return binarySearch0(a, fromIndex, toIndex, key);
+    }
+
+    private static int binarySearch0(short a[], int fromIndex, int toIndex, short key) {
+	int low = fromIndex;
+	int high = toIndex - 1;
+	while (low <= high) {
+	    int mid = (low + high) >>> 1;
+	    short midVal = a[mid];
+	    if (midVal < key) {
+		low = mid + 1;
+	    } else if (midVal > key) {
+		high = mid - 1;
+	    } else {
+		return mid;
+	    }
+	}
+	return -(low + 1);
+    }
+
+    /**
+     * Sets every element of an array of shorts to the specified value.
+     * @param a		the array to be filled
+     * @param val	the value
+     */
+    public static void fill(short a[], short val) {
+	for (int i = a.length ; --i >= 0 ;) {
+	    a[i] = val;
+	}
+    }
+
+    /**
+     * Sets the elements of an array of shorts from fromIndex (inclusive)
+     * up to toIndex (exclusive) to the specified value.
+     * @param a		the array to be filled
+     * @param fromIndex	the index of the first element to set
+     * @param toIndex	the index after the last element to set
+     * @param val	the value
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If the range is outside
+     * the array.
+     */
+    public static void fill(short a[], int fromIndex, int toIndex, short val) {
+	rangeCheck(a.length, fromIndex, toIndex);
+	for (int i = fromIndex ; i < toIndex ; i++) {
+	    a[i] = val;
+	}
+    }
+
+    /**
+     * Returns a new array holding the elements of an array of shorts
+     * from fromIndex (inclusive) up to toIndex (exclusive). toIndex may
+     * lie beyond the end of the array; the rest of the copy is then
+     * left zero.
+     * @param a		the array to copy from
+     * @param fromIndex	the index of the first element to copy
+     * @param toIndex	the index after the last element to copy
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If fromIndex is outside
+     * the array.
+     */
+    public static short[] copyOfRange(short a[], int fromIndex, int toIndex) {
+	if (fromIndex > toIndex) {
+	    throw new IllegalArgumentException("fromIndex(" + fromIndex +
+					       ") > toIndex(" + toIndex + ")");
+	}
+	if ((fromIndex < 0) || (fromIndex > a.length)) {
+	    throw new ArrayIndexOutOfBoundsException(fromIndex);
+	}
+	short copy[] = new short[toIndex - fromIndex];
+	System.arraycopy(a, fromIndex, copy, 0, Math.min(a.length, toIndex) - fromIndex);
+	return copy;
+    }
+
+    /**
+     * Sorts an array of chars into ascending order.
+     * @param a	the array to be sorted
+     */
+    public static void sort(char a[]) {
+	quicksort(a, 0, a.length - 1);
+    }
+
+    /**
+     * Sorts the elements of an array of chars from fromIndex (inclusive)
+     * up to toIndex (exclusive) into ascending order.
+     * @param a		the array to be sorted
+     * @param fromIndex	the index of the first element to sort
+     * @param toIndex	the index after the last element to sort
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If the range is outside
+     * the array.
+     */
+    public static void sort(char a[], int fromIndex, int toIndex) {
+	rangeCheck(a.length, fromIndex, toIndex);
+	quicksort(a, fromIndex, toIndex - 1);
+    }
+
+    /**
+     * Sorts a[left..right], both inclusive, with a dual-pivot quicksort.
+     */
+    private static void quicksort(char a[], int left, int right) {
+	int length = right - left + 1;
+	char t;
+	if (length < INSERTION_SORT_THRESHOLD) {
+	    for (int i = left + 1 ; i <= right ; i++) {
+		char v = a[i];
+		int j = i - 1;
+		while ((j >= left) && (v < a[j])) {
+		    a[j + 1] = a[j];
+		    j--;
+		}
+		a[j + 1] = v;
+	    }
+	    return;
+	}
+
+	// Take the pivots from one third and two thirds of the way along
+	// and move them to the ends, the smaller one first.
+	int third = length / 3;
+	int m1 = left + third;
+	int m2 = right - third;
+	if (a[m1] <= a[m2]) {
+	    t = a[m1]; a[m1] = a[left]; a[left] = t;
+	    t = a[m2]; a[m2] = a[right]; a[right] = t;
+	} else {
+	    t = a[m1]; a[m1] = a[right]; a[right] = t;
+	    t = a[m2]; a[m2] = a[left]; a[left] = t;
+	}
+	char pivot1 = a[left];
+	char pivot2 = a[right];
+
+	// a[left+1..less-1] < pivot1, pivot1 <= a[less..k-1] <= pivot2,
+	// a[great+1..right-1] > pivot2
+	int less = left + 1;
+	int great = right - 1;
+	for (int k = less ; k <= great ; k++) {
+	    char v = a[k];
+	    if (v < pivot1) {
+		a[k] = a[less];
+		a[less++] = v;
+	    } else if (v > pivot2) {
+		while ((k < great) && (a[great] > pivot2)) {
+		    great--;
+		}
+		a[k] = a[great];
+		a[great--] = v;
+		v = a[k];
+		if (v < pivot1) {
+		    a[k] = a[less];
+		    a[less++] = v;
+		}
+	    }
+	}
+	a[left] = a[less - 1];
+	a[less - 1] = pivot1;
+	a[right] = a[great + 1];
+	a[great + 1] = pivot2;
+
+	quicksort(a, left, less - 2);
+	quicksort(a, great + 2, right);
+
+	// If the middle part is large, many elements are equal to a
+	// pivot; gather them at its ends so they are not sorted again.
+	if ((great - less > length - 13) && (pivot1 != pivot2)) {
+	    for (int k = less ; k <= great ; k++) {
+		char v = a[k];
+		if (v == pivot1) {
+		    a[k] = a[less];
+		    a[less++] = v;
+		} else if (v == pivot2) {
+		    a[k] = a[great];
+		    a[great--] = v;
+		    v = a[k];
+		    if (v == pivot1) {
+			a[k] = a[less];
+			a[less++] = v;
+		    }
+		}
+	    }
+	}
+	if (pivot1 < pivot2) {
+	    quicksort(a, less, great);
+	}
+    }
+
+    /**
+     * Searches a sorted array of chars for the specified value.
+     * @param a		the array, sorted into ascending order
+     * @param key	the value to search for
+     * @return 		the index of the key, if it is in the array;
+     *			otherwise (-(insertion point) - 1), where the
+     *			insertion point is the index at which the key would
+     *			be inserted.
+     */
+    public static int binarySearch(char a[], char key) {
+	return binarySearch0(a, 0, a.length, key);
+    }
+
+    /**
+     * Searches a sorted range of an array of chars for the specified
+     * value.
+     * @param a		the array
+     * @param fromIndex	the index of the first element to search
+     * @param toIndex	the index after the last element to search
+     * @param key	the value to search for
+     * @return 		the index of the key, if it is in the range;
+     *			otherwise (-(insertion point) - 1).
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If the range is outside
+     * the array.
+     */
+    public static int binarySearch(char a[], int fromIndex, int toIndex, char key) {
+	rangeCheck(a.length, fromIndex, toIndex);
+	return binarySearch0(a, fromIndex, toIndex, key);
+    }
+
+    private static int binarySearch0(char a[], int fromIndex, int toIndex, char key) {
+	int low = fromIndex;
+	int high = toIndex - 1;
+	while (low <= high) {
+	    int mid = (low + high) >>> 1;
+	    char midVal = a[mid];
+	    if (midVal < key) {
+		low = mid + 1;
+	    } else if (midVal > key) {
+		high = mid - 1;
+	    } else {
+		return mid;
+	    }
+	}
+	return -(low + 1);
+    }
+
+    /**
+     * Sets every element of an array of chars to the specified value.
+     * @param a		the array to be filled
+     * @param val	the value
+     */
+    public static void fill(char a[], char val) {
+	for (int i = a.length ; --i >= 0 ;) {
+	    a[i] = val;
+	}
+    }
+
+    /**
+     * Sets the elements of an array of chars from fromIndex (inclusive)
+     * up to toIndex (exclusive) to the specified value.
+     * @param a		the array to be filled
+     * @param fromIndex	the index of the first element to set
+     * @param toIndex	the index after the last element to set
+     * @param val	the value
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If the range is outside
+     * the array.
+     */
+    public static void fill(char a[], int fromIndex, int toIndex, char val) {
+	rangeCheck(a.length, fromIndex, toIndex);
+	for (int i = fromIndex ; i < toIndex ; i++) {
+	    a[i] = val;
+	}
+    }
+
+    /**
+     * Returns a new array holding the elements of an array of chars
+     * from fromIndex (inclusive) up to toIndex (exclusive). toIndex may
+     * lie beyond the end of the array; the rest of the copy is then
+     * left zero.
+     * @param a		the array to copy from
+     * @param fromIndex	the index of the first element to copy
+     * @param toIndex	the index after the last element to copy
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If fromIndex is outside
+     * the array.
+     */
+    public static char[] copyOfRange(char a[], int fromIndex, int toIndex) {
+	if (fromIndex > toIndex) {
+	    throw new IllegalArgumentException("fromIndex(" + fromIndex +
+					       ") > toIndex(" + toIndex + ")");
+	}
+	if ((fromIndex < 0) || (fromIndex > a.length)) {
+	    throw new ArrayIndexOutOfBoundsException(fromIndex);
+	}
+	char copy[] = new char[toIndex - fromIndex];
+	System.arraycopy(a, fromIndex, copy, 0, Math.min(a.length, toIndex) - fromIndex);
+	return copy;
+    }
+
+    /**
+     * Sorts an array of bytes into ascending order.
+     * @param a	the array to be sorted
+     */
+    public static void sort(byte a[]) {
+	quicksort(a, 0, a.length - 1);
+    }
+
+    /**
+     * Sorts the elements of an array of bytes from fromIndex (inclusive)
+     * up to toIndex (exclusive) into ascending order.
+     * @param a		the array to be sorted
+     * @param fromIndex	the index of the first element to sort
+     * @param toIndex	the index after the last element to sort
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If the range is outside
+     * the array.
+     */
+    public static void sort(byte a[], int fromIndex, int toIndex) {
+	rangeCheck(a.length, fromIndex, toIndex);
+	quicksort(a, fromIndex, toIndex - 1);
+    }
+
+    /**
+     * Sorts a[left..right], both inclusive, with a dual-pivot quicksort.
+     */
+    private static void quicksort(byte a[], int left, int right) {
+	int length = right - left + 1;
+	byte t;
+	if (length < INSERTION_SORT_THRESHOLD) {
+	    for (int i = left + 1 ; i <= right ; i++) {
+		byte v = a[i];
+		int j = i - 1;
+		while ((j >= left) && (v < a[j])) {
+		    a[j + 1] = a[j];
+		    j--;
+		}
+		a[j + 1] = v;
+	    }
+	    return;
+	}
+
+	// Take the pivots from one third and two thirds of the way along
+	// and move them to the ends, the smaller one first.
+	int third = length / 3;
+	int m1 = left + third;
+	int m2 = right - third;
+	if (a[m1] <= a[m2]) {
+	    t = a[m1]; a[m1] = a[left]; a[left] = t;
+	    t = a[m2]; a[m2] = a[right]; a[right] = t;
+	} else {
+	    t = a[m1]; a[m1] = a[right]; a[right] = t;
+	    t = a[m2]; a[m2] = a[left]; a[left] = t;
+	}
+	byte pivot1 = a[left];
+	byte pivot2 = a[right];
+
+	// a[left+1..less-1] < pivot1, pivot1 <= a[less..k-1] <= pivot2,
+	// a[great+1..right-1] > pivot2
+	int less = left + 1;
+	int great = right - 1;
+	for (int k = less ; k <= great ; k++) {
+	    byte v = a[k];
+	    if (v < pivot1) {
+		a[k] = a[less];
+		a[less++] = v;
+	    } else if (v > pivot2) {
+		while ((k < great) && (a[great] > pivot2)) {
+		    great--;
+		}
+		a[k] = a[great];
+		a[great--] = v;
+		v = a[k];
+		if (v < pivot1) {
+		    a[k] = a[less];
+		    a[less++] = v;
+		}
+	    }
+	}
+	a[left] = a[less - 1];
+	a[less - 1] = pivot1;
+	a[right] = a[great + 1];
+	a[great + 1] = pivot2;
+
+	quicksort(a, left, less - 2);
+	quicksort(a, great + 2, right);
+
+	// If the middle part is large, many elements are equal to a
+	// pivot; gather them at its ends so they are not sorted again.
+	if ((great - less > length - 13) && (pivot1 != pivot2)) {
+	    for (int k = less ; k <= great ; k++) {
+		byte v = a[k];
+		if (v == pivot1) {
+		    a[k] = a[less];
+		    a[less++] = v;
+		} else if (v == pivot2) {
+		    a[k] = a[great];
+		    a[great--] = v;
+		    v = a[k];
+		    if (v == pivot1) {
+			a[k] = a[less];
+			a[less++] = v;
+		    }
+		}
+	    }
+	}
+	if (pivot1 < pivot2) {
+	    quicksort(a, less, great);
+	}
+    }
+
+    /**
+     * Searches a sorted array of bytes for the specified value.
+     * @param a		the array, sorted into ascending order
+     * @param key	the value to search for
+     * @return 		the index of the key, if it is in the array;
+     *			otherwise (-(insertion point) - 1), where the
+     *			insertion point is the index at which the key would
+     *			be inserted.
+     */
+    public static int binarySearch(byte a[], byte key) {
+	return binarySearch0(a, 0, a.length, key);
+    }
+
+    /**
+     * Searches a sorted range of an array of bytes for the specified
+     * value.
+     * @param a		the array
+     * @param fromIndex	the index of the first element to search
+     * @param toIndex	the index after the last element to search
+     * @param key	the value to search for
+     * @return 		the index of the key, if it is in the range;
+     *			otherwise (-(insertion point) - 1).
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If the range is outside
+     * the array.
+     */
+    public static int binarySearch(byte a[], int fromIndex, int toIndex, byte key) {
+	rangeCheck(a.length, fromIndex, toIndex);
+	return binarySearch0(a, fromIndex, toIndex, key);
+    }
+
+    private static int binarySearch0(byte a[], int fromIndex, int toIndex, byte key) {
+	int low = fromIndex;
+	int high = toIndex - 1;
+	while (low <= high) {
+	    int mid = (low + high) >>> 1;
+	    byte midVal = a[mid];
+	    if (midVal < key) {
+		low = mid + 1;
+	    } else if (midVal > key) {
+		high = mid - 1;
+	    } else {
+		return mid;
+	    }
+	}
+	return -(low + 1);
+    }
+
+    /**
+     * Sets every element of an array of bytes to the specified value.
+     * @param a		the array to be filled
+     * @param val	the value
+     */
+    public static void fill(byte a[], byte val) {
+	for (int i = a.length ; --i >= 0 ;) {
+	    a[i] = val;
+	}
+    }
+
+    /**
+     * Sets the elements of an array of bytes from fromIndex (inclusive)
+     * up to toIndex (exclusive) to the specified value.
+     * @param a		the array to be filled
+     * @param fromIndex	the index of the first element to set
+     * @param toIndex	the index after the last element to set
+     * @param val	the value
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If the range is outside
+     * the array.
+     */
+    public static void fill(byte a[], int fromIndex, int toIndex, byte val) {
+	rangeCheck(a.length, fromIndex, toIndex);
+	for (int i = fromIndex ; i < toIndex ; i++) {
+	    a[i] = val;
+	}
+    }
+
+    /**
+     * Returns a new array holding the elements of an array of bytes
+     * from fromIndex (inclusive) up to toIndex (exclusive). toIndex may
+     * lie beyond the end of the array; the rest of the copy is then
+     * left zero.
+     * @param a		the array to copy from
+     * @param fromIndex	the index of the first element to copy
+     * @param toIndex	the index after the last element to copy
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If fromIndex is outside
+     * the array.
+     */
+    public static byte[] copyOfRange(byte a[], int fromIndex, int toIndex) {
+	if (fromIndex > toIndex) {
+	    throw new IllegalArgumentException("fromIndex(" + fromIndex +
+					       ") > toIndex(" + toIndex + ")");
+	}
+	if ((fromIndex < 0) || (fromIndex > a.length)) {
+	    throw new ArrayIndexOutOfBoundsException(fromIndex);
+	}
+	byte copy[] = new byte[toIndex - fromIndex];
+	System.arraycopy(a, fromIndex, copy, 0, Math.min(a.length, toIndex) - fromIndex);
+	return copy;
+    }
+
+    /**
+     * Sorts an array of doubles into ascending order. NaNs are put at the
+     * end, and -0.0 is put in front of 0.0.
+     * @param a	the array to be sorted
+     */
+    public static void sort(double a[]) {
+	sort1(a, 0, a.length);
+    }
+
+    /**
+     * Sorts the elements of an array of doubles from fromIndex (inclusive)
+     * up to toIndex (exclusive) into ascending order. NaNs are put at
+     * the end, and -0.0 is put in front of 0.0.
+     * @param a		the array to be sorted
+     * @param fromIndex	the index of the first element to sort
+     * @param toIndex	the index after the last element to sort
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If the range is outside
+     * the array.
+     */
+    public static void sort(double a[], int fromIndex, int toIndex) {
+	rangeCheck(a.length, fromIndex, toIndex);
+	sort1(a, fromIndex, toIndex);
+    }
+
+    /**
+     * Sorts a range of doubles. NaNs and -0.0 do not fit the ordering
+     * of the &lt; operator, so NaNs are moved to the end and negative
+     * zeros are turned into positive ones before the quicksort, and
+     * the negative zeros are put back in front of the zeros after it.
+     */
+    private static void sort1(double a[], int fromIndex, int toIndex) {
+	long negZeroBits = Double.doubleToLongBits(-0.0);
+	int negZeros = 0;
+	int end = toIndex;
+	for (int i = fromIndex ; i < end ;) {
+	    double v = a[i];
+	    if (v != v) {
+		a[i] = a[--end];
+		a[end] = v;
+	    } else {
+		if ((v == 0) && (Double.doubleToLongBits(v) == negZeroBits)) {
+		    a[i] = 0.0;
+		    negZeros++;
+		}
+		i++;
+	    }
+	}
+	quicksort(a, fromIndex, end - 1);
+
+	if (negZeros > 0) {
+	    int i = binarySearch0(a, fromIndex, end, 0.0);
+	    while ((i > fromIndex) && (a[i - 1] == 0)) {
+		i--;
+	    }
+	    for (int j = 0 ; j < negZeros ; j++) {
+		a[i + j] = -0.0;
+	    }
+	}
+    }
+
+    /**
+     * Sorts a[left..right], both inclusive, with a dual-pivot quicksort.
+     */
+    private static void quicksort(double a[], int left, int right) {
+	int length = right - left + 1;
+	double t;
+	if (length < INSERTION_SORT_THRESHOLD) {
+	    for (int i = left + 1 ; i <= right ; i++) {
+		double v = a[i];
+		int j = i - 1;
+		while ((j >= left) && (v < a[j])) {
+		    a[j + 1] = a[j];
+		    j--;
+		}
+		a[j + 1] = v;
+	    }
+	    return;
+	}
+
+	// Take the pivots from one third and two thirds of the way along
+	// and move them to the ends, the smaller one first.
+	int third = length / 3;
+	int m1 = left + third;
+	int m2 = right - third;
+	if (a[m1] <= a[m2]) {
+	    t = a[m1]; a[m1] = a[left]; a[left] = t;
+	    t = a[m2]; a[m2] = a[right]; a[right] = t;
+	} else {
+	    t = a[m1]; a[m1] = a[right]; a[right] = t;
+	    t = a[m2]; a[m2] = a[left]; a[left] = t;
+	}
+	double pivot1 = a[left];
+	double pivot2 = a[right];
+
+	// a[left+1..less-1] < pivot1, pivot1 <= a[less..k-1] <= pivot2,
+	// a[great+1..right-1] > pivot2
+	int less = left + 1;
+	int great = right - 1;
+	for (int k = less ; k <= great ; k++) {
+	    double v = a[k];
+	    if (v < pivot1) {
+		a[k] = a[less];
+		a[less++] = v;
+	    } else if (v > pivot2) {
+		while ((k < great) && (a[great] > pivot2)) {
+		    great--;
+		}
+		a[k] = a[great];
+		a[great--] = v;
+		v = a[k];
+		if (v < pivot1) {
+		    a[k] = a[less];
+		    a[less++] = v;
+		}
+	    }
+	}
+	a[left] = a[less - 1];
+	a[less - 1] = pivot1;
+	a[right] = a[great + 1];
+	a[great + 1] = pivot2;
+
+	quicksort(a, left, less - 2);
+	quicksort(a, great + 2, right);
+
+	// If the middle part is large, many elements are equal to a
+	// pivot; gather them at its ends so they are not sorted again.
+	if ((great - less > length - 13) && (pivot1 != pivot2)) {
+	    for (int k = less ; k <= great ; k++) {
+		double v = a[k];
+		if (v == pivot1) {
+		    a[k] = a[less];
+		    a[less++] = v;
+		} else if (v == pivot2) {
+		    a[k] = a[great];
+		    a[great--] = v;
+		    v = a[k];
+		    if (v == pivot1) {
+			a[k] = a[less];
+			a[less++] = v;
+		    }
+		}
+	    }
+	}
+	if (pivot1 < pivot2) {
+	    quicksort(a, less, great);
+	}
+    }
+
+    /**
+     * Searches a sorted array of doubles for the specified value.
+     * @param a		the array, sorted into ascending order
+     * @param key	the value to search for
+     * @return 		the index of the key, if it is in the array;
+     *			otherwise (-(insertion point) - 1), where the
+     *			insertion point is the index at which the key would
+     *			be inserted.
+     */
+    public static int binarySearch(double a[], double key) {
+	return binarySearch0(a, 0, a.length, key);
+    }
+
+    /**
+     * Searches a sorted range of an array of doubles for the specified
+     * value.
+     * @param a		the array
+     * @param fromIndex	the index of the first element to search
+     * @param toIndex	the index after the last element to search
+     * @param key	the value to search for
+     * @return 		the index of the key, if it is in the range;
+     *			otherwise (-(insertion point) - 1).
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If the range is outside
+     * the array.
+     */
+    public static int binarySearch(double a[], int fromIndex, int toIndex, double key) {
+	rangeCheck(a.length, fromIndex, toIndex);
+	return binarySearch0(a, fromIndex, toIndex, key);
+    }
+
+    private static int binarySearch0(double a[], int fromIndex, int toIndex, double key) {
+	int low = fromIndex;
+	int high = toIndex - 1;
+	while (low <= high) {
+	    int mid = (low + high) >>> 1;
+	    double midVal = a[mid];
+	    if (midVal < key) {
+		low = mid + 1;
+	    } else if (midVal > key) {
+		high = mid - 1;
+	    } else {
+		// equal, or NaN; compare the bits to tell -0.0 from 0.0
+		long midBits = Double.doubleToLongBits(midVal);
+		long keyBits = Double.doubleToLongBits(key);
+		if (midBits == keyBits) {
+		    return mid;
+		} else if (midBits < keyBits) {
+		    low = mid + 1;
+		} else {
+		    high = mid - 1;
+		}
+	    }
+	}
+	return -(low + 1);
+    }
+
+    /**
+     * Sets every element of an array of doubles to the specified value.
+     * @param a		the array to be filled
+     * @param val	the value
+     */
+    public static void fill(double a[], double val) {
+	for (int i = a.length ; --i >= 0 ;) {
+	    a[i] = val;
+	}
+    }
+
+    /**
+     * Sets the elements of an array of doubles from fromIndex (inclusive)
+     * up to toIndex (exclusive) to the specified value.
+     * @param a		the array to be filled
+     * @param fromIndex	the index of the first element to set
+     * @param toIndex	the index after the last element to set
+     * @param val	the value
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If the range is outside
+     * the array.
+     */
+    public static void fill(double a[], int fromIndex, int toIndex, double val) {
+	rangeCheck(a.length, fromIndex, toIndex);
+	for (int i = fromIndex ; i < toIndex ; i++) {
+	    a[i] = val;
+	}
+    }
+
+    /**
+     * Returns a new array holding the elements of an array of doubles
+     * from fromIndex (inclusive) up to toIndex (exclusive). toIndex may
+     * lie beyond the end of the array; the rest of the copy is then
+     * left zero.
+     * @param a		the array to copy from
+     * @param fromIndex	the index of the first element to copy
+     * @param toIndex	the index after the last element to copy
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If fromIndex is outside
+     * the array.
+     */
+    public static double[] copyOfRange(double a[], int fromIndex, int toIndex) {
+	if (fromIndex > toIndex) {
+	    throw new IllegalArgumentException("fromIndex(" + fromIndex +
+					       ") > toIndex(" + toIndex + ")");
+	}
+	if ((fromIndex < 0) || (fromIndex > a.length)) {
+	    throw new ArrayIndexOutOfBoundsException(fromIndex);
+	}
+	double copy[] = new double[toIndex - fromIndex];
+	System.arraycopy(a, fromIndex, copy, 0, Math.min(a.length, toIndex) - fromIndex);
+	return copy;
+    }
+
+    /**
+     * Sorts an array of floats into ascending order. NaNs are put at the
+     * end, and -0.0 is put in front of 0.0.
+     * @param a	the array to be sorted
+     */
+    public static void sort(float a[]) {
+	sort1(a, 0, a.length);
+    }
+
+    /**
+     * Sorts the elements of an array of floats from fromIndex (inclusive)
+     * up to toIndex (exclusive) into ascending order. NaNs are put at
+     * the end, and -0.0 is put in front of 0.0.
+     * @param a		the array to be sorted
+     * @param fromIndex	the index of the first element to sort
+     * @param toIndex	the index after the last element to sort
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If the range is outside
+     * the array.
+     */
+    public static void sort(float a[], int fromIndex, int toIndex) {
+	rangeCheck(a.length, fromIndex, toIndex);
+	sort1(a, fromIndex, toIndex);
+    }
+
+    /**
+     * Sorts a range of floats. NaNs and -0.0 do not fit the ordering
+     * of the &lt; operator, so NaNs are moved to the end and negative
+     * zeros are turned into positive ones before the quicksort, and
+     * the negative zeros are put back in front of the zeros after it.
+     */
+    private static void sort1(float a[], int fromIndex, int toIndex) {
+	int negZeroBits = Float.floatToIntBits(-0.0f);
+	int negZeros = 0;
+	int end = toIndex;
+	for (int i = fromIndex ; i < end ;) {
+	    float v = a[i];
+	    if (v != v) {
+		a[i] = a[--end];
+		a[end] = v;
+	    } else {
+		if ((v == 0) && (Float.floatToIntBits(v) == negZeroBits)) {
+		    a[i] = 0.0f;
+		    negZeros++;
+		}
+		i++;
+	    }
+	}
+	quicksort(a, fromIndex, end - 1);
+
+	if (negZeros > 0) {
+	    int i = binarySearch0(a, fromIndex, end, 0.0f);
+	    while ((i > fromIndex) && (a[i - 1] == 0)) {
+		i--;
+	    }
+	    for (int j = 0 ; j < negZeros ; j++) {
+		a[i + j] = -0.0f;
+	    }
+	}
+    }
+
+    /**
+     * Sorts a[left..right], both inclusive, with a dual-pivot quicksort.
+     */
+    private static void quicksort(float a[], int left, int right) {
+	int length = right - left + 1;
+	float t;
+	if (length < INSERTION_SORT_THRESHOLD) {
+	    for (int i = left + 1 ; i <= right ; i++) {
+		float v = a[i];
+		int j = i - 1;
+		while ((j >= left) && (v < a[j])) {
+		    a[j + 1] = a[j];
+		    j--;
+		}
+		a[j + 1] = v;
+	    }
+	    return;
+	}
+
+	// Take the pivots from one third and two thirds of the way along
+	// and move them to the ends, the smaller one first.
+	int third = length / 3;
+	int m1 = left + third;
+	int m2 = right - third;
+	if (a[m1] <= a[m2]) {
+	    t = a[m1]; a[m1] = a[left]; a[left] = t;
+	    t = a[m2]; a[m2] = a[right]; a[right] = t;
+	} else {
+	    t = a[m1]; a[m1] = a[right]; a[right] = t;
+	    t = a[m2]; a[m2] = a[left]; a[left] = t;
+	}
+	float pivot1 = a[left];
+	float pivot2 = a[right];
+
+	// a[left+1..less-1] < pivot1, pivot1 <= a[less..k-1] <= pivot2,
+	// a[great+1..right-1] > pivot2
+	int less = left + 1;
+	int great = right - 1;
+	for (int k = less ; k <= great ; k++) {
+	    float v = a[k];
+	    if (v < pivot1) {
+		a[k] = a[less];
+		a[less++] = v;
+	    } else if (v > pivot2) {
+		while ((k < great) && (a[great] > pivot2)) {
+		    great--;
+		}
+		a[k] = a[great];
+		a[great--] = v;
+		v = a[k];
+		if (v < pivot1) {
+		    a[k] = a[less];
+		    a[less++] = v;
+		}
+	    }
+	}
+	a[left] = a[less - 1];
+	a[less - 1] = pivot1;
+	a[right] = a[great + 1];
+	a[great + 1] = pivot2;
+
+	quicksort(a, left, less - 2);
+	quicksort(a, great + 2, right);
+
+	// If the middle part is large, many elements are equal to a
+	// pivot; gather them at its ends so they are not sorted again.
+	if ((great - less > length - 13) && (pivot1 != pivot2)) {
+	    for (int k = less ; k <= great ; k++) {
+		float v = a[k];
+		if (v == pivot1) {
+		    a[k] = a[less];
+		    a[less++] = v;
+		} else if (v == pivot2) {
+		    a[k] = a[great];
+		    a[great--] = v;
+		    v = a[k];
+		    if (v == pivot1) {
+			a[k] = a[less];
+			a[less++] = v;
+		    }
+		}
+	    }
+	}
+	if (pivot1 < pivot2) {
+	    quicksort(a, less, great);
+	}
+    }
+
+    /**
+     * Searches a sorted array of floats for the specified value.
+     * @param a		the array, sorted into ascending order
+     * @param key	the value to search for
+     * @return 		the index of the key, if it is in the array;
+     *			otherwise (-(insertion point) - 1), where the
+     *			insertion point is the index at which the key would
+     *			be inserted.
+     */
+    public static int binarySearch(float a[], float key) {
+	return binarySearch0(a, 0, a.length, key);
+    }
+
+    /**
+     * Searches a sorted range of an array of floats for the specified
+     * value.
+     * @param a		the array
+     * @param fromIndex	the index of the first element to search
+     * @param toIndex	the index after the last element to search
+     * @param key	the value to search for
+     * @return 		the index of the key, if it is in the range;
+     *			otherwise (-(insertion point) - 1).
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If the range is outside
+     * the array.
+     */
+    public static int binarySearch(float a[], int fromIndex, int toIndex, float key) {
+	rangeCheck(a.length, fromIndex, toIndex);
+	return binarySearch0(a, fromIndex, toIndex, key);
+    }
+
+    private static int binarySearch0(float a[], int fromIndex, int toIndex, float key) {
+	int low = fromIndex;
+	int high = toIndex - 1;
+	while (low <= high) {
+	    int mid = (low + high) >>> 1;
+	    float midVal = a[mid];
+	    if (midVal < key) {
+		low = mid + 1;
+	    } else if (midVal > key) {
+		high = mid - 1;
+	    } else {
+		// equal, or NaN; compare the bits to tell -0.0 from 0.0
+		int midBits = Float.floatToIntBits(midVal);
+		int keyBits = Float.floatToIntBits(key);
+		if (midBits == keyBits) {
+		    return mid;
+		} else if (midBits < keyBits) {
+		    low = mid + 1;
+		} else {
+		    high = mid - 1;
+		}
+	    }
+	}
+	return -(low + 1);
+    }
+
+    /**
+     * Sets every element of an array of floats to the specified value.
+     * @param a		the array to be filled
+     * @param val	the value
+     */
+    public static void fill(float a[], float val) {
+	for (int i = a.length ; --i >= 0 ;) {
+	    a[i] = val;
+	}
+    }
+
+    /**
+     * Sets the elements of an array of floats from fromIndex (inclusive)
+     * up to toIndex (exclusive) to the specified value.
+     * @param a		the array to be filled
+     * @param fromIndex	the index of the first element to set
+     * @param toIndex	the index after the last element to set
+     * @param val	the value
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If the range is outside
+     * the array.
+     */
+    public static void fill(float a[], int fromIndex, int toIndex, float val) {
+	rangeCheck(a.length, fromIndex, toIndex);
+	for (int i = fromIndex ; i < toIndex ; i++) {
+	    a[i] = val;
+	}
+    }
+
+    /**
+     * Returns a new array holding the elements of an array of floats
+     * from fromIndex (inclusive) up to toIndex (exclusive). toIndex may
+     * lie beyond the end of the array; the rest of the copy is then
+     * left zero.
+     * @param a		the array to copy from
+     * @param fromIndex	the index of the first element to copy
+     * @param toIndex	the index after the last element to copy
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If fromIndex is outside
+     * the array.
+     */
+    public static float[] copyOfRange(float a[], int fromIndex, int toIndex) {
+	if (fromIndex > toIndex) {
+	    throw new IllegalArgumentException("fromIndex(" + fromIndex +
+					       ") > toIndex(" + toIndex + ")");
+	}
+	if ((fromIndex < 0) || (fromIndex > a.length)) {
+	    throw new ArrayIndexOutOfBoundsException(fromIndex);
+	}
+	float copy[] = new float[toIndex - fromIndex];
+	System.arraycopy(a, fromIndex, copy, 0, Math.min(a.length, toIndex) - fromIndex);
+	return copy;
+    }
+
+    /**
+     * Sorts an array of objects into the order imposed by a comparator.
+     * The sort is stable: equal elements keep their relative order.
+     * @param a	the array to be sorted
+     * @param c	the comparator that determines the order
+     */
+    public static void sort(Object a[], Comparator c) {
+	sort(a, 0, a.length, c);
+    }
+
+    /**
+     * Sorts the elements of an array of objects from fromIndex
+     * (inclusive) up to toIndex (exclusive) into the order imposed by
+     * a comparator. The sort is stable.
+     * @param a		the array to be sorted
+     * @param fromIndex	the index of the first element to sort
+     * @param toIndex	the index after the last element to sort
+     * @param c		the comparator that determines the order
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If the range is outside
+     * the array.
+     */
+    public static void sort(Object a[], int fromIndex, int toIndex, Comparator c) {
+	rangeCheck(a.length, fromIndex, toIndex);
+	Object tmp[] = new Object[toIndex - fromIndex];
+	System.arraycopy(a, fromIndex, tmp, 0, tmp.length);
+	mergeSort(tmp, a, fromIndex, toIndex, -fromIndex, c);
+    }
+
+    /**
+     * Merge sort of dst[low..high). src holds the same elements at
+     * position i + off. The roles of the two arrays alternate at each
+     * level of recursion, so every element is copied once per level.
+     */
+    private static void mergeSort(Object src[], Object dst[], int low, int high,
+				  int off, Comparator c) {
+	int length = high - low;
+	if (length < 7) {
+	    // Insertion sort on small ranges
+	    for (int i = low ; i < high ; i++) {
+		for (int j = i ; (j > low) && (c.compare(dst[j - 1], dst[j]) > 0) ; j--) {
+		    Object t = dst[j];
+		    dst[j] = dst[j - 1];
+		    dst[j - 1] = t;
+		}
+	    }
+	    return;
+	}
+
+	int mid = (low + high) >>> 1;
+	mergeSort(dst, src, low + off, mid + off, -off, c);
+	mergeSort(dst, src, mid + off, high + off, -off, c);
+
+	int lo = low + off;
+	int md = mid + off;
+	int hi = high + off;
+	if (c.compare(src[md - 1], src[md]) <= 0) {
+	    // Already in order, just copy
+	    System.arraycopy(src, lo, dst, low, length);
+	    return;
+	}
+	for (int i = low, p = lo, q = md ; i < high ; i++) {
+	    if ((q >= hi) || ((p < md) && (c.compare(src[p], src[q]) <= 0))) {
+		dst[i] = src[p++];
+	    } else {
+		dst[i] = src[q++];
+	    }
+	}
+    }
+
+    /**
+     * Searches an array of objects, sorted into the order imposed by a
+     * comparator, for the specified object.
+     * @param a		the array
+     * @param key	the object to search for
+     * @param c		the comparator the array is sorted by
+     * @return 		the index of the key, if it is in the array;
+     *			otherwise (-(insertion point) - 1).
+     */
+    public static int binarySearch(Object a[], Object key, Comparator c) {
+	return binarySearch(a, 0, a.length, key, c);
+    }
+
+    /**
+     * Searches a range of an array of objects, sorted into the order
+     * imposed by a comparator, for the specified object.
+     * @param a		the array
+     * @param fromIndex	the index of the first element to search
+     * @param toIndex	the index after the last element to search
+     * @param key	the object to search for
+     * @param c		the comparator the range is sorted by
+     * @return 		the index of the key, if it is in the range;
+     *			otherwise (-(insertion point) - 1).
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If the range is outside
+     * the array.
+     */
+    public static int binarySearch(Object a[], int fromIndex, int toIndex,
+				   Object key, Comparator c) {
+	rangeCheck(a.length, fromIndex, toIndex);
+	int low = fromIndex;
+	int high = toIndex - 1;
+	while (low <= high) {
+	    int mid = (low + high) >>> 1;
+	    int cmp = c.compare(a[mid], key);
+	    if (cmp < 0) {
+		low = mid + 1;
+	    } else if (cmp > 0) {
+		high = mid - 1;
+	    } else {
+		return mid;
+	    }
+	}
+	return -(low + 1);
+    }
+
+    /**
+     * Sets every element of an array of objects to the specified value.
+     * @param a		the array to be filled
+     * @param val	the value
+     * @exception ArrayStoreException If val cannot be stored in the array.
+     */
+    public static void fill(Object a[], Object val) {
+	for (int i = a.length ; --i >= 0 ;) {
+	    a[i] = val;
+	}
+    }
+
+    /**
+     * Sets the elements of an array of objects from fromIndex (inclusive)
+     * up to toIndex (exclusive) to the specified value.
+     * @param a		the array to be filled
+     * @param fromIndex	the index of the first element to set
+     * @param toIndex	the index after the last element to set
+     * @param val	the value
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If the range is outside
+     * the array.
+     * @exception ArrayStoreException If val cannot be stored in the array.
+     */
+    public static void fill(Object a[], int fromIndex, int toIndex, Object val) {
+	rangeCheck(a.length, fromIndex, toIndex);
+	for (int i = fromIndex ; i < toIndex ; i++) {
+	    a[i] = val;
+	}
+    }
+
+    /**
+     * Returns a new Object array holding the elements of an array
+     * from fromIndex (inclusive) up to toIndex (exclusive). toIndex may
+     * lie beyond the end of the array; the rest of the copy is then
+     * left null.
+     * @param a		the array to copy from
+     * @param fromIndex	the index of the first element to copy
+     * @param toIndex	the index after the last element to copy
+     * @exception IllegalArgumentException If fromIndex &gt; toIndex.
+     * @exception ArrayIndexOutOfBoundsException If fromIndex is outside
+     * the array.
+     */
+    public static Object[] copyOfRange(Object a[], int fromIndex, int toIndex) {
+	if (fromIndex > toIndex) {
+	    throw new IllegalArgumentException("fromIndex(" + fromIndex +
+					       ") > toIndex(" + toIndex + ")");
+	}
+	if ((fromIndex < 0) || (fromIndex > a.length)) {
+	    throw new ArrayIndexOutOfBoundsException(fromIndex);
+	}
+	Object copy[] = new Object[toIndex - fromIndex];
+	System.arraycopy(a, fromIndex, copy, 0, Math.min(a.length, toIndex) - fromIndex);
+	return copy;
+    }
+
+    /**
+     * Sorts an array of ints into ascending order using up to four
+     * threads. Arrays too small to gain from more threads are sorted
+     * by the calling thread.
+     * @param a	the array to be sorted
+     */
+    public static void parallelSort(int a[]) {
+	parallelSort(a, 4);
+    }
+
+    /**
+     * Sorts an array of ints into ascending order using up to the
+     * specified number of threads.
+     * @param a		the array to be sorted
+     * @param threads	the largest number of threads to sort with
+     */
+    public static void parallelSort(int a[], int threads) {
+	if (a.length < PARALLEL_THRESHOLD * 2) {
+	    sort(a);
+	} else {
+	    parallelSort(a, new int[a.length], 0, a.length, depthFor(threads), null);
+	}
+    }
+
+    /**
+     * Sorts an array of longs into ascending order using up to four
+     * threads. Arrays too small to gain from more threads are sorted
+     * by the calling thread.
+     * @param a	the array to be sorted
+     */
+    public static void parallelSort(long a[]) {
+	parallelSort(a, 4);
+    }
+
+    /**
+     * Sorts an array of longs into ascending order using up to the
+     * specified number of threads.
+     * @param a		the array to be sorted
+     * @param threads	the largest number of threads to sort with
+     */
+    public static void parallelSort(long a[], int threads) {
+	if (a.length < PARALLEL_THRESHOLD * 2) {
+	    sort(a);
+	} else {
+	    parallelSort(a, new long[a.length], 0, a.length, depthFor(threads), null);
+	}
+    }
+
+    /**
+     * Sorts an array of doubles into ascending order using up to four
+     * threads. Arrays too small to gain from more threads are sorted
+     * by the calling thread.
+     * @param a	the array to be sorted
+     */
+    public static void parallelSort(double a[]) {
+	parallelSort(a, 4);
+    }
+
+    /**
+     * Sorts an array of doubles into ascending order using up to the
+     * specified number of threads.
+     * @param a		the array to be sorted
+     * @param threads	the largest number of threads to sort with
+     */
+    public static void parallelSort(double a[], int threads) {
+	if (a.length < PARALLEL_THRESHOLD * 2) {
+	    sort(a);
+	} else {
+	    parallelSort(a, new double[a.length], 0, a.length, depthFor(threads), null);
+	}
+    }
+
+    /**
+     * Sorts an array of objects into the order imposed by a comparator
+     * using up to four threads. The sort is stable. The comparator is
+     * called from several threads at once.
+     * @param a	the array to be sorted
+     * @param c	the comparator that determines the order
+     */
+    public static void parallelSort(Object a[], Comparator c) {
+	parallelSort(a, c, 4);
+    }
+
+    /**
+     * Sorts an array of objects into the order imposed by a comparator
+     * using up to the specified number of threads. The sort is stable.
+     * @param a		the array to be sorted
+     * @param c		the comparator that determines the order
+     * @param threads	the largest number of threads to sort with
+     */
+    public static void parallelSort(Object a[], Comparator c, int threads) {
+	if (c == null) {
+	    throw new NullPointerException();
+	}
+	parallelSort(a, new Object[a.length], 0, a.length, depthFor(threads), c);
+    }
+
+    /**
+     * Returns how many times an array must be halved to keep the
+     * specified number of threads busy.
+     */
+    private static int depthFor(int threads) {
+	int depth = 0;
+	while ((1 << depth) < threads) {
+	    depth++;
+	}
+	return depth;
+    }
+
+    /**
+     * Sorts a[fromIndex..toIndex) of an int, long, double or Object
+     * array. Down to the given depth, the range is halved, the first
+     * half is sorted by a new thread while this thread sorts the second,
+     * and the halves are then merged through tmp.
+     */
+    static void parallelSort(Object a, Object tmp, int fromIndex, int toIndex,
+			     int depth, Comparator c) {
+	if ((depth == 0) || (toIndex - fromIndex < PARALLEL_THRESHOLD * 2)) {
+	    if (a instanceof int[]) {
+		quicksort((int[])a, fromIndex, toIndex - 1);
+	    } else if (a instanceof long[]) {
+		quicksort((long[])a, fromIndex, toIndex - 1);
+	    } else if (a instanceof double[]) {
+		sort1((double[])a, fromIndex, toIndex);
+	    } else {
+		System.arraycopy(a, fromIndex, tmp, fromIndex, toIndex - fromIndex);
+		mergeSort((Object[])tmp, (Object[])a, fromIndex, toIndex, 0, c);
+	    }
+	    return;
+	}
+
+	int mid = (fromIndex + toIndex) >>> 1;
+	ArraysSortThread t = new ArraysSortThread(a, tmp, fromIndex, mid, depth - 1, c);
+	t.start();
+	parallelSort(a, tmp, mid, toIndex, depth - 1, c);
+	while (t.isAlive()) {
+	    try {
+		t.join();
+	    } catch (InterruptedException e) {
+	    }
+	}
+	if (t.error instanceof RuntimeException) {
+	    throw (RuntimeException)t.error;
+	} else if (t.error instanceof Error) {
+	    throw (Error)t.error;
+	}
+
+	System.arraycopy(a, fromIndex, tmp, fromIndex, toIndex - fromIndex);
+	if (a instanceof int[]) {
+	    merge((int[])tmp, (int[])a, fromIndex, mid, toIndex);
+	} else if (a instanceof long[]) {
+	    merge((long[])tmp, (long[])a, fromIndex, mid, toIndex);
+	} else if (a instanceof double[]) {
+	    merge((double[])tmp, (double[])a, fromIndex, mid, toIndex);
+	} else {
+	    merge((Object[])tmp, (Object[])a, fromIndex, mid, toIndex, c);
+	}
+    }
+
+    /**
+     * Merges the sorted ranges src[low..mid) and src[mid..high) into
+     * dst[low..high).
+     */
+    private static void merge(int src[], int dst[], int low, int mid, int high) {
+	int p = low;
+	int q = mid;
+	for (int i = low ; i < high ; i++) {
+	    if ((q >= high) || ((p < mid) && (src[p] <= src[q]))) {
+		dst[i] = src[p++];
+	    } else {
+		dst[i] = src[q++];
+	    }
+	}
+    }
+
+    /**
+     * Merges the sorted ranges src[low..mid) and src[mid..high) into
+     * dst[low..high).
+     */
+    private static void merge(long src[], long dst[], int low, int mid, int high) {
+	int p = low;
+	int q = mid;
+	for (int i = low ; i < high ; i++) {
+	    if ((q >= high) || ((p < mid) && (src[p] <= src[q]))) {
+		dst[i] = src[p++];
+	    } else {
+		dst[i] = src[q++];
+	    }
+	}
+    }
+
+    /**
+     * Merges the sorted ranges src[low..mid) and src[mid..high) into
+     * dst[low..high), in the order used by sort(double[]).
+     */
+    private static void merge(double src[], double dst[], int low, int mid, int high) {
+	int p = low;
+	int q = mid;
+	for (int i = low ; i < high ; i++) {
+	    if ((q >= high) || ((p < mid) && !lessThan(src[q], src[p]))) {
+		dst[i] = src[p++];
+	    } else {
+		dst[i] = src[q++];
+	    }
+	}
+    }
+
+    /**
+     * Returns true if x comes before y in the order used by
+     * sort(double[]).
+     */
+    private static boolean lessThan(double x, double y) {
+	if (x < y) {
+	    return true;
+	}
+	if (x > y) {
+	    return false;
+	}
+	if (x != x) {
+	    return false;
+	}
+	if (y != y) {
+	    return true;
+	}
+	// equal, possibly -0.0 and 0.0
+	return Double.doubleToLongBits(x) < Double.doubleToLongBits(y);
+    }
+
+    /**
+     * Merges the sorted ranges src[low..mid) and src[mid..high) into
+     * dst[low..high). Elements of the first range go first when equal.
+     */
+    private static void merge(Object src[], Object dst[], int low, int mid, int high,
+			      Comparator c) {
+	int p = low;
+	int q = mid;
+	for (int i = low ; i < high ; i++) {
+	    if ((q >= high) || ((p < mid) && (c.compare(src[p], src[q]) <= 0))) {
+		dst[i] = src[p++];
+	    } else {
+		dst[i] = src[q++];
+	    }
+	}
+    }
+}
@@ -21,7 +21,12 @@ package java.util;
 
 /**
  * A set of bits. The set automatically grows as more bits are
- * needed. 
+ * needed. Besides single bits, a BitSet can set and clear ranges of
+ * bits, count its bits, and find the next set or clear bit, all a
+ * word of 64 bits at a time. getWord() gives direct access to the
+ * words.
+ *
+ * @see CompressedBitSet
  *
  * @version 	1.12, 12/01/95
  * @author Arthur van Hoff
@@ -63,7 +68,7 @@ public final class BitSet implements Cloneable {
     public void set(int bit) {
 	int n = bit>>BITS;
 	if (n >= bits.length) {
-	    grow(bit);
+	    grow(bit + 1);
 	}
 	bits[n] |= (1L << (bit & MASK));
     }
@@ -75,7 +80,7 @@ public final class BitSet implements Cloneable {
     public void clear(int bit) {
 	int n = bit>>BITS;
 	if (n >= bits.length) {
-	    grow(bit);
+	    grow(bit + 1);
 	}
 	bits[n] &= ~(1L << (bit & MASK));
     }
@@ -89,6 +94,214 @@ public final class BitSet implements Cloneable {
 	return (n < bits.length) ? ((bits[n] & (1L << (bit & MASK))) != 0) : false;
     }
 
+    /**
+     * Sets the bits from fromIndex (inclusive) to toIndex (exclusive).
+     * @param fromIndex the first bit to be set
+     * @param toIndex the bit after the last bit to be set
+     */
+    public void set(int fromIndex, int toIndex) {
+	if (fromIndex >= toIndex) {
+	    return;
+	}
+	if (((toIndex - 1)>>BITS) >= bits.length) {
+	    grow(toIndex);
+	}
+	setRange(bits, fromIndex, toIndex);
+    }
+
+    /**
+     * Clears the bits from fromIndex (inclusive) to toIndex (exclusive).
+     * @param fromIndex the first bit to be cleared
+     * @param toIndex the bit after the last bit to be cleared
+     */
+    public void clear(int fromIndex, int toIndex) {
+	toIndex = Math.min(toIndex, bits.length << BITS);
+	if (fromIndex < toIndex) {
+	    clearRange(bits, fromIndex, toIndex);
+	}
+    }
+
+    /**
+     * Sets the bits from fromIndex to toIndex - 1 in an array of words.
+     */
+    static void setRange(long w[], int fromIndex, int toIndex) {
+	int first = fromIndex>>BITS;
+	int last = (toIndex - 1)>>BITS;
+	long firstMask = -1L << (fromIndex & MASK);
+	long lastMask = -1L >>> (MASK - ((toIndex - 1) & MASK));
+	if (first == last) {
+	    w[first] |= firstMask & lastMask;
+	} else {
+	    w[first] |= firstMask;
+	    for (int i = first + 1 ; i < last ; i++) {
+		w[i] = -1L;
+	    }
+	    w[last] |= lastMask;
+	}
+    }
+
+    /**
+     * Clears the bits from fromIndex to toIndex - 1 in an array of words.
+     */
+    static void clearRange(long w[], int fromIndex, int toIndex) {
+	int first = fromIndex>>BITS;
+	int last = (toIndex - 1)>>BITS;
+	long firstMask = -1L << (fromIndex & MASK);
+	long lastMask = -1L >>> (MASK - ((toIndex - 1) & MASK));
+	if (first == last) {
+	    w[first] &= ~(firstMask & lastMask);
+	} else {
+	    w[first] &= ~firstMask;
+	    for (int i = first + 1 ; i < last ; i++) {
+		w[i] = 0;
+	    }
+	    w[last] &= ~lastMask;
+	}
+    }
+
+    /**
+     * Returns the word holding bits 64 * index to 64 * index + 63,
+     * with the lowest bit in the least significant position. Words
+     * past the end of the set are 0.
+     * @param index the index of the word
+     */
+    public long getWord(int index) {
+	return (index < bits.length) ? bits[index] : 0;
+    }
+
+    /**
+     * Replaces the word holding bits 64 * index to 64 * index + 63.
+     * @param index the index of the word
+     * @param word the new bits
+     * @see #getWord
+     */
+    public void setWord(int index, long word) {
+	if (index >= bits.length) {
+	    grow((index + 1) << BITS);
+	}
+	bits[index] = word;
+    }
+
+    /**
+     * Returns the number of bits that are set.
+     */
+    public int cardinality() {
+	int n = 0;
+	for (int i = bits.length ; i-- > 0 ;) {
+	    n += bitCount(bits[i]);
+	}
+	return n;
+    }
+
+    /**
+     * Returns the index of the highest set bit plus one, or 0 if no
+     * bit is set.
+     */
+    public int length() {
+	for (int i = bits.length ; i-- > 0 ;) {
+	    if (bits[i] != 0) {
+		return (i << BITS) + 64 - leadingZeros(bits[i]);
+	    }
+	}
+	return 0;
+    }
+
+    /**
+     * Returns the index of the first set bit at or after fromIndex,
+     * or -1 if there is none. To visit all the set bits:
+     * <pre>
+     *	for (int i = set.nextSetBit(0) ; i >= 0 ; i = set.nextSetBit(i + 1)) {
+     *	    ...
+     *	}
+     * </pre>
+     * @param fromIndex the bit to start from
+     */
+    public int nextSetBit(int fromIndex) {
+	if (fromIndex < 0) {
+	    fromIndex = 0;
+	}
+	int n = fromIndex>>BITS;
+	if (n >= bits.length) {
+	    return -1;
+	}
+	long word = bits[n] & (-1L << (fromIndex & MASK));
+	while (word == 0) {
+	    if (++n >= bits.length) {
+		return -1;
+	    }
+	    word = bits[n];
+	}
+	return (n << BITS) + trailingZeros(word);
+    }
+
+    /**
+     * Returns the index of the first clear bit at or after fromIndex.
+     * @param fromIndex the bit to start from
+     */
+    public int nextClearBit(int fromIndex) {
+	if (fromIndex < 0) {
+	    fromIndex = 0;
+	}
+	int n = fromIndex>>BITS;
+	if (n >= bits.length) {
+	    return fromIndex;
+	}
+	long word = ~bits[n] & (-1L << (fromIndex & MASK));
+	while (word == 0) {
+	    if (++n >= bits.length) {
+		return n << BITS;
+	    }
+	    word = ~bits[n];
+	}
+	return (n << BITS) + trailingZeros(word);
+    }
+
+    /**
+     * Returns the number of bits set in a word.
+     */
+    static int bitCount(long x) {
+	x = x - ((x >>> 1) & 0x5555555555555555L);
+	x = (x & 0x3333333333333333L) + ((x >>> 2) & 0x3333333333333333L);
+	x = (x + (x >>> 4)) & 0x0f0f0f0f0f0f0f0fL;
+	return (int)((x * 0x0101010101010101L) >>> 56);
+    }
+
+    /**
+     * Returns the number of clear bits below the lowest set bit of a
+     * word, or 64 if the word is 0.
+     */
+    static int trailingZeros(long x) {
+	if (x == 0) {
+	    return 64;
+	}
+	int n = 63;
+	long y;
+	y = x << 32; if (y != 0) { n -= 32; x = y; }
+	y = x << 16; if (y != 0) { n -= 16; x = y; }
+	y = x << 8;  if (y != 0) { n -= 8;  x = y; }
+	y = x << 4;  if (y != 0) { n -= 4;  x = y; }
+	y = x << 2;  if (y != 0) { n -= 2;  x = y; }
+	return n - (int)((x << 1) >>> 63);
+    }
+
+    /**
+     * Returns the number of clear bits above the highest set bit of a
+     * word, or 64 if the word is 0.
+     */
+    static int leadingZeros(long x) {
+	if (x == 0) {
+	    return 64;
+	}
+	int n = 1;
+	int y = (int)(x >>> 32);
+	if (y == 0) { n += 32; y = (int)x; }
+	if ((y >>> 16) == 0) { n += 16; y <<= 16; }
+	if ((y >>> 24) == 0) { n += 8;  y <<= 8; }
+	if ((y >>> 28) == 0) { n += 4;  y <<= 4; }
+	if ((y >>> 30) == 0) { n += 2;  y <<= 2; }
+	return n - (y >>> 31);
+    }
+
     /**
      * Logically ANDs this bit set with the specified set of bits.
      * @param set the bit set to be ANDed with
@@ -108,7 +321,14 @@ public final class BitSet implements Cloneable {
      * @param set the bit set to be ORed with
      */
     public void or(BitSet set) {
-	for (int i = Math.min(bits.length, set.bits.length) ; i-- > 0 ;) {
+	int n = set.bits.length;
+	while ((n > bits.length) && (set.bits[n - 1] == 0)) {
+	    n--;
+	}
+	if (n > bits.length) {
+	    grow(n << BITS);
+	}
+	for (int i = n ; i-- > 0 ;) {
 	    bits[i] |= set.bits[i];
 	}
     }
@@ -118,11 +338,43 @@ public final class BitSet implements Cloneable {
      * @param set the bit set to be XORed with
      */
     public void xor(BitSet set) {
-	for (int i = Math.min(bits.length, set.bits.length) ; i-- > 0 ;) {
+	int n = set.bits.length;
+	while ((n > bits.length) && (set.bits[n - 1] == 0)) {
+	    n--;
+	}
+	if (n > bits.length) {
+	    grow(n << BITS);
+	}
+	for (int i = n ; i-- > 0 ;) {
 	    bits[i] ^= set.bits[i];
 	}
     }
 
+    /**
+     * Clears all the bits in this bit set that are set in the
+     * specified set of bits.
+     * @param set the bit set to be removed
+     */
+    public void andNot(BitSet set) {
+	for (int i = Math.min(bits.length, set.bits.length) ; i-- > 0 ;) {
+	    bits[i] &= ~set.bits[i];
+	}
+    }
+
+    /**
+     * Returns true if this bit set and the specified set of bits have
+     * any set bit in common.
+     * @param set the bit set to compare with
+     */
+    public boolean intersects(BitSet set) {
+	for (int i = Math.min(bits.length, set.bits.length) ; i-- > 0 ;) {
+	    if ((bits[i] & set.bits[i]) != 0) {
+		return true;
+	    }
+	}
+	return false;
+    }
+
     /**
      * Gets the hashcode.
      */
@@ -193,15 +445,14 @@ public final class BitSet implements Cloneable {
      * Converts the BitSet to a String.
      */
     public String toString() {
-	String str = "";
-	for (int i = 0 ; i < (bits.length << BITS) ; i++) {
-	    if (get(i)) {
-		if (str.length() > 0) {
-		    str += ", ";
-		}
-		str = str + i;
+	StringBuffer buf = new StringBuffer();
+	buf.append('{');
+	for (int i = nextSetBit(0) ; i >= 0 ; i = nextSetBit(i + 1)) {
+	    if (buf.length() > 1) {
+		buf.append(", ");
 	    }
+	    buf.append(i);
 	}
-	return "{" + str + "}";
+	return buf.append('}').toString();
     }
 }
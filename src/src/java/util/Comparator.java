@@ -0,0 +1,50 @@
+/*
+ * @(#)Comparator.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+package java.util;
+
+/**
+ * The Comparator interface imposes an ordering on objects that do not
+ * have a natural one, or whose natural ordering is not the one wanted.
+ * It is used by the sorting methods of ArrayVector and Arrays.<p>
+ *
+ * For example, to sort a list of strings:
+ * <pre>
+ *	class StringComparator implements Comparator {
+ *	    public int compare(Object a, Object b) {
+ *		return ((String)a).compareTo((String)b);
+ *	    }
+ *	}
+ *	...
+ *	list.sort(new StringComparator());
+ * </pre>
+ * @see ArrayVector#sort
+ * @see Arrays#sort
+ * @version 	1.1, 01/22/96
+ */
+public interface Comparator {
+    /**
+     * Compares two objects.
+     * @param a the first object
+     * @param b the second object
+     * @return a negative number if a is less than b, zero if they
+     *		are equal, and a positive number if a is greater than b.
+     */
+    int compare(Object a, Object b);
+}
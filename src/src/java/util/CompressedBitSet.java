@@ -0,0 +1,1092 @@
+/*
+ * @(#)CompressedBitSet.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+package java.util;
+
+/**
+ * A compressed set of bits, with the same operations as BitSet. The
+ * bits are split into chunks of 65536. Only chunks that have bits set
+ * are stored. A chunk with few bits set is stored as a sorted array
+ * of 16 bit offsets, a denser chunk as a bitmap of 1024 words, and a
+ * chunk with all its bits set as just its count, so long runs of set
+ * bits cost almost nothing.
+ * A set of a million scattered document numbers thus takes about two
+ * bytes per number. A BitSet holding the same numbers needs one bit
+ * for every possible number below the largest.<p>
+ *
+ * Operations between two sets work a chunk at a time. Sparse chunks
+ * are merged as sorted arrays, dense chunks are combined a word at a
+ * time, and a sparse chunk is checked against a dense one with one
+ * probe per member.<p>
+ *
+ * Like BitSet, a CompressedBitSet is not synchronized.
+ *
+ * @see BitSet
+ * @version 	1.1, 01/22/96
+ */
+public final
+class CompressedBitSet implements Cloneable {
+    /**
+     * The chunk numbers, in increasing order, and their chunks.
+     */
+    private int keys[];
+    private CompressedBitSetChunk chunks[];
+    private int count;
+
+    /**
+     * Creates an empty set.
+     */
+    public CompressedBitSet() {
+	keys = new int[4];
+	chunks = new CompressedBitSetChunk[4];
+    }
+
+    /**
+     * Creates a set holding the same bits as a BitSet.
+     * @param set the bits to copy
+     */
+    public CompressedBitSet(BitSet set) {
+	this();
+	int nwords = set.size() >> BitSet.BITS;
+	for (int key = 0 ; (key << 10) < nwords ; key++) {
+	    CompressedBitSetChunk c = new CompressedBitSetChunk();
+	    for (int i = 0 ; i < 1024 ; i++) {
+		long w = set.getWord((key << 10) + i);
+		if (w != 0) {
+		    c.words()[i] = w;
+		    c.count += BitSet.bitCount(w);
+		}
+	    }
+	    if (c.count > 0) {
+		c.normalize();
+		insert(count, key, c);
+	    }
+	}
+    }
+
+    /**
+     * Returns a BitSet holding the same bits.
+     */
+    public BitSet toBitSet() {
+	BitSet set = new BitSet(length());
+	for (int i = 0 ; i < count ; i++) {
+	    int base = keys[i] << 10;
+	    CompressedBitSetChunk c = chunks[i];
+	    for (int j = 0 ; j < 1024 ; j++) {
+		long w = c.word(j);
+		if (w != 0) {
+		    set.setWord(base + j, w);
+		}
+	    }
+	}
+	return set;
+    }
+
+    /**
+     * Returns the index of the chunk with the specified number, or
+     * -(insertion point) - 1 if there is none.
+     */
+    private int find(int key) {
+	int low = 0;
+	int high = count - 1;
+	while (low <= high) {
+	    int mid = (low + high) >> 1;
+	    int k = keys[mid];
+	    if (k < key) {
+		low = mid + 1;
+	    } else if (k > key) {
+		high = mid - 1;
+	    } else {
+		return mid;
+	    }
+	}
+	return -(low + 1);
+    }
+
+    private void insert(int index, int key, CompressedBitSetChunk c) {
+	if (count == keys.length) {
+	    int nk[] = new int[count * 2];
+	    CompressedBitSetChunk nc[] = new CompressedBitSetChunk[count * 2];
+	    System.arraycopy(keys, 0, nk, 0, count);
+	    System.arraycopy(chunks, 0, nc, 0, count);
+	    keys = nk;
+	    chunks = nc;
+	}
+	System.arraycopy(keys, index, keys, index + 1, count - index);
+	System.arraycopy(chunks, index, chunks, index + 1, count - index);
+	keys[index] = key;
+	chunks[index] = c;
+	count++;
+    }
+
+    private void remove(int index) {
+	count--;
+	System.arraycopy(keys, index + 1, keys, index, count - index);
+	System.arraycopy(chunks, index + 1, chunks, index, count - index);
+	chunks[count] = null;
+    }
+
+    private static void check(int bit) {
+	if (bit < 0) {
+	    throw new ArrayIndexOutOfBoundsException(bit);
+	}
+    }
+
+    /**
+     * Sets a bit.
+     * @param bit the bit to be set
+     */
+    public void set(int bit) {
+	check(bit);
+	int i = find(bit >>> 16);
+	if (i < 0) {
+	    i = -(i + 1);
+	    insert(i, bit >>> 16, new CompressedBitSetChunk());
+	}
+	chunks[i].set(bit & 0xFFFF);
+    }
+
+    /**
+     * Clears a bit.
+     * @param bit the bit to be cleared
+     */
+    public void clear(int bit) {
+	check(bit);
+	int i = find(bit >>> 16);
+	if ((i >= 0) && chunks[i].clear(bit & 0xFFFF) && (chunks[i].count == 0)) {
+	    remove(i);
+	}
+    }
+
+    /**
+     * Gets a bit.
+     * @param bit the bit to be gotten
+     */
+    public boolean get(int bit) {
+	check(bit);
+	int i = find(bit >>> 16);
+	return (i >= 0) && chunks[i].get(bit & 0xFFFF);
+    }
+
+    /**
+     * Sets the bits from fromIndex (inclusive) to toIndex (exclusive).
+     * @param fromIndex the first bit to be set
+     * @param toIndex the bit after the last bit to be set
+     */
+    public void set(int fromIndex, int toIndex) {
+	check(fromIndex);
+	for (int key = fromIndex >>> 16 ; fromIndex < toIndex ; key++) {
+	    int base = key << 16;
+	    int end = (toIndex - base > 0x10000) ? 0x10000 : toIndex - base;
+	    int i = find(key);
+	    if (i < 0) {
+		i = -(i + 1);
+		insert(i, key, new CompressedBitSetChunk());
+	    }
+	    chunks[i].setRange(fromIndex - base, end);
+	    if (end == 0x10000) {
+		if (key == 0x7FFF) {
+		    break;
+		}
+		fromIndex = base + 0x10000;
+	    } else {
+		fromIndex = toIndex;
+	    }
+	}
+    }
+
+    /**
+     * Clears the bits from fromIndex (inclusive) to toIndex (exclusive).
+     * @param fromIndex the first bit to be cleared
+     * @param toIndex the bit after the last bit to be cleared
+     */
+    public void clear(int fromIndex, int toIndex) {
+	check(fromIndex);
+	if (fromIndex >= toIndex) {
+	    return;
+	}
+	int i = find(fromIndex >>> 16);
+	if (i < 0) {
+	    i = -(i + 1);
+	}
+	int lastKey = (toIndex - 1) >>> 16;
+	while ((i < count) && (keys[i] <= lastKey)) {
+	    int base = keys[i] << 16;
+	    int from = (fromIndex > base) ? fromIndex - base : 0;
+	    int end = (toIndex - base > 0x10000) ? 0x10000 : toIndex - base;
+	    CompressedBitSetChunk c = chunks[i];
+	    c.clearRange(from, end);
+	    if (c.count == 0) {
+		remove(i);
+	    } else {
+		i++;
+	    }
+	}
+    }
+
+    /**
+     * Logically ANDs this bit set with the specified set of bits.
+     * @param set the bit set to be ANDed with
+     */
+    public void and(CompressedBitSet set) {
+	int n = 0;
+	for (int i = 0, j = 0 ; (i < count) && (j < set.count) ;) {
+	    if (keys[i] < set.keys[j]) {
+		i++;
+	    } else if (keys[i] > set.keys[j]) {
+		j++;
+	    } else {
+		CompressedBitSetChunk c = CompressedBitSetChunk.and(chunks[i], set.chunks[j]);
+		if (c != null) {
+		    keys[n] = keys[i];
+		    chunks[n++] = c;
+		}
+		i++;
+		j++;
+	    }
+	}
+	for (int i = n ; i < count ; i++) {
+	    chunks[i] = null;
+	}
+	count = n;
+    }
+
+    /**
+     * Combines this bit set with another, chunk by chunk.
+     * @param op 0 for or, 1 for xor, 2 for and not
+     */
+    private void merge(CompressedBitSet set, int op) {
+	int n = 0;
+	int nk[] = new int[count + set.count];
+	CompressedBitSetChunk nc[] = new CompressedBitSetChunk[count + set.count];
+	int i = 0;
+	int j = 0;
+	while ((i < count) || (j < set.count)) {
+	    int a = (i < count) ? keys[i] : Integer.MAX_VALUE;
+	    int b = (j < set.count) ? set.keys[j] : Integer.MAX_VALUE;
+	    CompressedBitSetChunk c;
+	    if (a < b) {
+		nk[n] = a;
+		c = chunks[i++];
+	    } else if (a > b) {
+		nk[n] = b;
+		c = (op == 2) ? null : set.chunks[j].copy();
+		j++;
+	    } else {
+		nk[n] = a;
+		switch (op) {
+		  case 0:
+		    c = CompressedBitSetChunk.or(chunks[i], set.chunks[j]);
+		    break;
+		  case 1:
+		    c = CompressedBitSetChunk.xor(chunks[i], set.chunks[j]);
+		    break;
+		  default:
+		    c = CompressedBitSetChunk.andNot(chunks[i], set.chunks[j]);
+		    break;
+		}
+		i++;
+		j++;
+	    }
+	    if (c != null) {
+		nc[n++] = c;
+	    }
+	}
+	keys = nk;
+	chunks = nc;
+	count = n;
+	if (keys.length == 0) {
+	    keys = new int[4];
+	    chunks = new CompressedBitSetChunk[4];
+	}
+    }
+
+    /**
+     * Logically ORs this bit set with the specified set of bits.
+     * @param set the bit set to be ORed with
+     */
+    public void or(CompressedBitSet set) {
+	merge(set, 0);
+    }
+
+    /**
+     * Logically XORs this bit set with the specified set of bits.
+     * @param set the bit set to be XORed with
+     */
+    public void xor(CompressedBitSet set) {
+	merge(set, 1);
+    }
+
+    /**
+     * Clears all the bits in this bit set that are set in the
+     * specified set of bits.
+     * @param set the bit set to be removed
+     */
+    public void andNot(CompressedBitSet set) {
+	merge(set, 2);
+    }
+
+    /**
+     * Returns true if this bit set and the specified set of bits have
+     * any set bit in common.
+     * @param set the bit set to compare with
+     */
+    public boolean intersects(CompressedBitSet set) {
+	for (int i = 0, j = 0 ; (i < count) && (j < set.count) ;) {
+	    if (keys[i] < set.keys[j]) {
+		i++;
+	    } else if (keys[i] > set.keys[j]) {
+		j++;
+	    } else {
+		if (CompressedBitSetChunk.intersects(chunks[i], set.chunks[j])) {
+		    return true;
+		}
+		i++;
+		j++;
+	    }
+	}
+	return false;
+    }
+
+    /**
+     * Returns the number of bits that are set.
+     */
+    public int cardinality() {
+	int n = 0;
+	for (int i = 0 ; i < count ; i++) {
+	    n += chunks[i].count;
+	}
+	return n;
+    }
+
+    /**
+     * Returns the index of the highest set bit plus one, or 0 if no
+     * bit is set.
+     */
+    public int length() {
+	if (count == 0) {
+	    return 0;
+	}
+	return (keys[count - 1] << 16) + chunks[count - 1].last() + 1;
+    }
+
+    /**
+     * Returns the index of the first set bit at or after fromIndex,
+     * or -1 if there is none.
+     * @param fromIndex the bit to start from
+     * @see BitSet#nextSetBit
+     */
+    public int nextSetBit(int fromIndex) {
+	if (fromIndex < 0) {
+	    fromIndex = 0;
+	}
+	int key = fromIndex >>> 16;
+	int i = find(key);
+	if (i >= 0) {
+	    int low = chunks[i].nextSetBit(fromIndex & 0xFFFF);
+	    if (low >= 0) {
+		return (key << 16) + low;
+	    }
+	    i++;
+	} else {
+	    i = -(i + 1);
+	}
+	return (i < count) ? (keys[i] << 16) + chunks[i].nextSetBit(0) : -1;
+    }
+
+    /**
+     * Returns the index of the first clear bit at or after fromIndex.
+     * @param fromIndex the bit to start from
+     */
+    public int nextClearBit(int fromIndex) {
+	if (fromIndex < 0) {
+	    fromIndex = 0;
+	}
+	int key = fromIndex >>> 16;
+	int i = find(key);
+	if (i < 0) {
+	    return fromIndex;
+	}
+	int low = fromIndex & 0xFFFF;
+	while (true) {
+	    low = chunks[i].nextClearBit(low);
+	    if (low < 0x10000) {
+		return (key << 16) + low;
+	    }
+	    // the rest of the chunk is full: try the next one
+	    key++;
+	    i++;
+	    if ((i >= count) || (keys[i] != key)) {
+		return key << 16;
+	    }
+	    low = 0;
+	}
+    }
+
+    /**
+     * Returns the word holding bits 64 * index to 64 * index + 63.
+     * @param index the index of the word
+     * @see BitSet#getWord
+     */
+    public long getWord(int index) {
+	int i = find(index >>> 10);
+	return (i >= 0) ? chunks[i].word(index & 1023) : 0;
+    }
+
+    /**
+     * Returns the approximate number of bytes used to hold the bits.
+     */
+    public int memoryUsage() {
+	int n = keys.length * 8;
+	for (int i = 0 ; i < count ; i++) {
+	    n += chunks[i].memoryUsage();
+	}
+	return n;
+    }
+
+    /**
+     * Gets the hashcode. It is the same as that of a BitSet holding
+     * the same bits.
+     */
+    public int hashCode() {
+	long h = 1234;
+	for (int i = 0 ; i < count ; i++) {
+	    int base = keys[i] << 10;
+	    CompressedBitSetChunk c = chunks[i];
+	    for (int j = 0 ; j < 1024 ; j++) {
+		h ^= c.word(j) * (base + j);
+	    }
+	}
+	return (int)((h >> 32) ^ h);
+    }
+
+    /**
+     * Compares this object against the specified object.
+     * @param obj the object to compare with
+     * @return true if the objects hold the same bits; false otherwise.
+     */
+    public boolean equals(Object obj) {
+	if ((obj != null) && (obj instanceof CompressedBitSet)) {
+	    CompressedBitSet set = (CompressedBitSet)obj;
+	    if (count != set.count) {
+		return false;
+	    }
+	    for (int i = 0 ; i < count ; i++) {
+		if ((keys[i] != set.keys[i]) || !chunks[i].sameBits(set.chunks[i])) {
+		    return false;
+		}
+	    }
+	    return true;
+	}
+	return false;
+    }
+
+    /**
+     * Clones the CompressedBitSet.
+     */
+    public Object clone() {
+	try { 
+	    CompressedBitSet set = (CompressedBitSet)super.clone();
+	    set.keys = new int[keys.length];
+	    set.chunks = new CompressedBitSetChunk[keys.length];
+	    System.arraycopy(keys, 0, set.keys, 0, count);
+	    for (int i = 0 ; i < count ; i++) {
+		set.chunks[i] = chunks[i].copy();
+	    }
+	    return set;
+	} catch (CloneNotSupportedException e) {
+	    // this shouldn't happen, since we are Cloneable
+	    throw new InternalError();
+	}
+    }
+
+    /**
+     * Converts the CompressedBitSet to a String.
+     */
+    public String toString() {
+	StringBuffer buf = new StringBuffer();
+	buf.append('{');
+	for (int i = nextSetBit(0) ; i >= 0 ; i = nextSetBit(i + 1)) {
+	    if (buf.length() > 1) {
+		buf.append(", ");
+	    }
+	    buf.append(i);
+	}
+	return buf.append('}').toString();
+    }
+}
+
+/**
+ * 65536 bits of a CompressedBitSet. The bits are held either as a
+ * sorted array of the offsets that are set, or as 1024 words. If all
+ * the bits are set, neither is kept.
+ */
+final
+class CompressedBitSetChunk {
+    /**
+     * The largest number of bits held in array form.
+     */
+    static final int ARRAY_MAX = 4096;
+
+    /**
+     * The offsets of the set bits, in increasing order, or null.
+     */
+    char values[];
+
+    /**
+     * The bitmap, or null.
+     */
+    long bits[];
+
+    /**
+     * The number of bits set.
+     */
+    int count;
+
+    CompressedBitSetChunk() {
+	values = new char[4];
+    }
+
+    CompressedBitSetChunk(char values[], int count) {
+	this.values = values;
+	this.count = count;
+    }
+
+    CompressedBitSetChunk(long bits[], int count) {
+	this.bits = bits;
+	this.count = count;
+    }
+
+    /**
+     * Returns true if every bit of the chunk is set.
+     */
+    boolean isFull() {
+	return (values == null) && (bits == null);
+    }
+
+    CompressedBitSetChunk copy() {
+	if (isFull()) {
+	    return new CompressedBitSetChunk((long[])null, count);
+	}
+	if (bits != null) {
+	    long b[] = new long[1024];
+	    System.arraycopy(bits, 0, b, 0, 1024);
+	    return new CompressedBitSetChunk(b, count);
+	}
+	char v[] = new char[Math.max(count, 4)];
+	System.arraycopy(values, 0, v, 0, count);
+	return new CompressedBitSetChunk(v, count);
+    }
+
+    /**
+     * Returns the bitmap, converting the chunk to bitmap form first if
+     * needed.
+     */
+    long[] words() {
+	if (isFull()) {
+	    long b[] = new long[1024];
+	    for (int i = 0 ; i < 1024 ; i++) {
+		b[i] = -1L;
+	    }
+	    bits = b;
+	} else if (bits == null) {
+	    long b[] = new long[1024];
+	    for (int i = 0 ; i < count ; i++) {
+		int v = values[i];
+		b[v >> 6] |= 1L << v;
+	    }
+	    bits = b;
+	    values = null;
+	}
+	return bits;
+    }
+
+    /**
+     * Converts the chunk to array form.
+     */
+    private void toArray() {
+	char v[] = new char[Math.max(count, 4)];
+	int n = 0;
+	long b[] = bits;
+	for (int i = 0 ; i < 1024 ; i++) {
+	    long w = b[i];
+	    while (w != 0) {
+		v[n++] = (char)((i << 6) + BitSet.trailingZeros(w));
+		w &= w - 1;
+	    }
+	}
+	values = v;
+	bits = null;
+    }
+
+    /**
+     * Chooses the smaller form for the current number of bits.
+     */
+    void normalize() {
+	if (count == 0x10000) {
+	    bits = null;
+	    values = null;
+	} else if (bits != null) {
+	    if (count <= ARRAY_MAX) {
+		toArray();
+	    }
+	} else if (count > ARRAY_MAX) {
+	    words();
+	}
+    }
+
+    /**
+     * Recounts the bits of a bitmap chunk.
+     */
+    private void recount() {
+	int n = 0;
+	for (int i = 0 ; i < 1024 ; i++) {
+	    n += BitSet.bitCount(bits[i]);
+	}
+	count = n;
+    }
+
+    /**
+     * Returns the index of v in values, or -(insertion point) - 1.
+     */
+    private int search(int v) {
+	int low = 0;
+	int high = count - 1;
+	char a[] = values;
+	while (low <= high) {
+	    int mid = (low + high) >> 1;
+	    int m = a[mid];
+	    if (m < v) {
+		low = mid + 1;
+	    } else if (m > v) {
+		high = mid - 1;
+	    } else {
+		return mid;
+	    }
+	}
+	return -(low + 1);
+    }
+
+    boolean get(int v) {
+	if (isFull()) {
+	    return true;
+	}
+	if (bits != null) {
+	    return (bits[v >> 6] & (1L << v)) != 0;
+	}
+	return search(v) >= 0;
+    }
+
+    void set(int v) {
+	if (isFull()) {
+	    return;
+	}
+	if (bits != null) {
+	    long m = 1L << v;
+	    if ((bits[v >> 6] & m) == 0) {
+		bits[v >> 6] |= m;
+		count++;
+	    }
+	    return;
+	}
+	int i = search(v);
+	if (i >= 0) {
+	    return;
+	}
+	i = -(i + 1);
+	if (count == ARRAY_MAX) {
+	    words()[v >> 6] |= 1L << v;
+	    count++;
+	    return;
+	}
+	if (count == values.length) {
+	    char a[] = new char[Math.min(count * 2, ARRAY_MAX)];
+	    System.arraycopy(values, 0, a, 0, count);
+	    values = a;
+	}
+	System.arraycopy(values, i, values, i + 1, count - i);
+	values[i] = (char)v;
+	count++;
+    }
+
+    /**
+     * Clears a bit. Returns true if it was set.
+     */
+    boolean clear(int v) {
+	if (isFull()) {
+	    words();
+	}
+	if (bits != null) {
+	    long m = 1L << v;
+	    if ((bits[v >> 6] & m) == 0) {
+		return false;
+	    }
+	    bits[v >> 6] &= ~m;
+	    // convert back only well below the limit, so that setting
+	    // and clearing one bit at the limit does not flip the form
+	    if (--count <= ARRAY_MAX / 2) {
+		toArray();
+	    }
+	    return true;
+	}
+	int i = search(v);
+	if (i < 0) {
+	    return false;
+	}
+	System.arraycopy(values, i + 1, values, i, count - i - 1);
+	count--;
+	return true;
+    }
+
+    void setRange(int from, int to) {
+	if (from < to) {
+	    BitSet.setRange(words(), from, to);
+	    recount();
+	    normalize();
+	}
+    }
+
+    void clearRange(int from, int to) {
+	if ((from < to) && (count > 0)) {
+	    BitSet.clearRange(words(), from, to);
+	    recount();
+	    normalize();
+	}
+    }
+
+    /**
+     * Returns word i of the chunk.
+     */
+    long word(int i) {
+	if (isFull()) {
+	    return -1L;
+	}
+	if (bits != null) {
+	    return bits[i];
+	}
+	long w = 0;
+	int j = search(i << 6);
+	if (j < 0) {
+	    j = -(j + 1);
+	}
+	int end = (i + 1) << 6;
+	for (char a[] = values ; (j < count) && (a[j] < end) ; j++) {
+	    w |= 1L << a[j];
+	}
+	return w;
+    }
+
+    /**
+     * Returns the highest bit set. The chunk must not be empty.
+     */
+    int last() {
+	if (isFull()) {
+	    return 0xFFFF;
+	}
+	if (bits != null) {
+	    for (int i = 1024 ; i-- > 0 ;) {
+		if (bits[i] != 0) {
+		    return (i << 6) + 63 - BitSet.leadingZeros(bits[i]);
+		}
+	    }
+	}
+	return values[count - 1];
+    }
+
+    /**
+     * Returns the first bit set at or after v, or -1.
+     */
+    int nextSetBit(int v) {
+	if (isFull()) {
+	    return v;
+	}
+	if (bits != null) {
+	    int i = v >> 6;
+	    long w = bits[i] & (-1L << v);
+	    while (w == 0) {
+		if (++i >= 1024) {
+		    return -1;
+		}
+		w = bits[i];
+	    }
+	    return (i << 6) + BitSet.trailingZeros(w);
+	}
+	int j = search(v);
+	if (j < 0) {
+	    j = -(j + 1);
+	}
+	return (j < count) ? values[j] : -1;
+    }
+
+    /**
+     * Returns the first bit clear at or after v, or 65536.
+     */
+    int nextClearBit(int v) {
+	if (isFull()) {
+	    return 0x10000;
+	}
+	if (bits != null) {
+	    int i = v >> 6;
+	    long w = ~bits[i] & (-1L << v);
+	    while (w == 0) {
+		if (++i >= 1024) {
+		    return 0x10000;
+		}
+		w = ~bits[i];
+	    }
+	    return (i << 6) + BitSet.trailingZeros(w);
+	}
+	int j = search(v);
+	if (j < 0) {
+	    return v;
+	}
+	while ((j + 1 < count) && (values[j + 1] == values[j] + 1)) {
+	    j++;
+	}
+	return values[j] + 1;
+    }
+
+    int memoryUsage() {
+	if (isFull()) {
+	    return 16;
+	}
+	return 16 + ((bits != null) ? 8192 : values.length * 2);
+    }
+
+    /**
+     * Returns true if c holds the same bits as this chunk.
+     */
+    boolean sameBits(CompressedBitSetChunk c) {
+	if (count != c.count) {
+	    return false;
+	}
+	if ((values != null) && (c.values != null)) {
+	    for (int i = 0 ; i < count ; i++) {
+		if (values[i] != c.values[i]) {
+		    return false;
+		}
+	    }
+	    return true;
+	}
+	for (int i = 0 ; i < 1024 ; i++) {
+	    if (word(i) != c.word(i)) {
+		return false;
+	    }
+	}
+	return true;
+    }
+
+    /**
+     * Returns a new chunk holding the bits of a that are also in b, or
+     * null if there are none.
+     */
+    static CompressedBitSetChunk and(CompressedBitSetChunk a, CompressedBitSetChunk b) {
+	if (a.isFull()) {
+	    return b.copy();
+	}
+	if (b.isFull()) {
+	    return a.copy();
+	}
+	if ((a.bits != null) && (b.bits != null)) {
+	    long w[] = new long[1024];
+	    for (int i = 0 ; i < 1024 ; i++) {
+		w[i] = a.bits[i] & b.bits[i];
+	    }
+	    return result(w);
+	}
+	if (a.bits != null) {
+	    CompressedBitSetChunk t = a;
+	    a = b;
+	    b = t;
+	}
+	// a is an array: keep its values that are in b
+	char v[] = new char[Math.max(a.count, 4)];
+	int n = 0;
+	if (b.bits != null) {
+	    for (int i = 0 ; i < a.count ; i++) {
+		int x = a.values[i];
+		if ((b.bits[x >> 6] & (1L << x)) != 0) {
+		    v[n++] = (char)x;
+		}
+	    }
+	} else {
+	    for (int i = 0, j = 0 ; (i < a.count) && (j < b.count) ;) {
+		int x = a.values[i];
+		int y = b.values[j];
+		if (x < y) {
+		    i++;
+		} else if (x > y) {
+		    j++;
+		} else {
+		    v[n++] = (char)x;
+		    i++;
+		    j++;
+		}
+	    }
+	}
+	return (n > 0) ? new CompressedBitSetChunk(v, n) : null;
+    }
+
+    /**
+     * Returns a new chunk holding the bits of a or b.
+     */
+    static CompressedBitSetChunk or(CompressedBitSetChunk a, CompressedBitSetChunk b) {
+	if (a.isFull() || b.isFull()) {
+	    return new CompressedBitSetChunk((long[])null, 0x10000);
+	}
+	if ((a.bits == null) && (b.bits == null)) {
+	    char v[] = new char[a.count + b.count];
+	    int n = 0;
+	    int i = 0;
+	    int j = 0;
+	    while ((i < a.count) && (j < b.count)) {
+		int x = a.values[i];
+		int y = b.values[j];
+		if (x <= y) {
+		    i++;
+		}
+		if (y <= x) {
+		    j++;
+		}
+		v[n++] = (char)((x < y) ? x : y);
+	    }
+	    while (i < a.count) {
+		v[n++] = a.values[i++];
+	    }
+	    while (j < b.count) {
+		v[n++] = b.values[j++];
+	    }
+	    CompressedBitSetChunk c = new CompressedBitSetChunk(v, n);
+	    c.normalize();
+	    return c;
+	}
+	long w[] = new long[1024];
+	for (int i = 0 ; i < 1024 ; i++) {
+	    w[i] = a.word(i) | b.word(i);
+	}
+	return result(w);
+    }
+
+    /**
+     * Returns a new chunk holding the bits in one of a and b but not
+     * both, or null if there are none.
+     */
+    static CompressedBitSetChunk xor(CompressedBitSetChunk a, CompressedBitSetChunk b) {
+	if ((a.values != null) && (b.values != null)) {
+	    char v[] = new char[a.count + b.count];
+	    int n = 0;
+	    int i = 0;
+	    int j = 0;
+	    while ((i < a.count) && (j < b.count)) {
+		int x = a.values[i];
+		int y = b.values[j];
+		if (x < y) {
+		    v[n++] = (char)x;
+		    i++;
+		} else if (x > y) {
+		    v[n++] = (char)y;
+		    j++;
+		} else {
+		    i++;
+		    j++;
+		}
+	    }
+	    while (i < a.count) {
+		v[n++] = a.values[i++];
+	    }
+	    while (j < b.count) {
+		v[n++] = b.values[j++];
+	    }
+	    if (n == 0) {
+		return null;
+	    }
+	    CompressedBitSetChunk c = new CompressedBitSetChunk(v, n);
+	    c.normalize();
+	    return c;
+	}
+	long w[] = new long[1024];
+	for (int i = 0 ; i < 1024 ; i++) {
+	    w[i] = a.word(i) ^ b.word(i);
+	}
+	return result(w);
+    }
+
+    /**
+     * Returns a new chunk holding the bits of a that are not in b, or
+     * null if there are none.
+     */
+    static CompressedBitSetChunk andNot(CompressedBitSetChunk a, CompressedBitSetChunk b) {
+	if (b.isFull()) {
+	    return null;
+	}
+	if (a.values != null) {
+	    char v[] = new char[Math.max(a.count, 4)];
+	    int n = 0;
+	    for (int i = 0 ; i < a.count ; i++) {
+		if (!b.get(a.values[i])) {
+		    v[n++] = a.values[i];
+		}
+	    }
+	    return (n > 0) ? new CompressedBitSetChunk(v, n) : null;
+	}
+	long w[] = new long[1024];
+	for (int i = 0 ; i < 1024 ; i++) {
+	    w[i] = a.word(i) & ~b.word(i);
+	}
+	return result(w);
+    }
+
+    static boolean intersects(CompressedBitSetChunk a, CompressedBitSetChunk b) {
+	if (a.isFull() || b.isFull()) {
+	    return true;
+	}
+	if ((a.bits != null) && (b.bits != null)) {
+	    for (int i = 0 ; i < 1024 ; i++) {
+		if ((a.bits[i] & b.bits[i]) != 0) {
+		    return true;
+		}
+	    }
+	    return false;
+	}
+	if (a.bits != null) {
+	    CompressedBitSetChunk t = a;
+	    a = b;
+	    b = t;
+	}
+	for (int i = 0 ; i < a.count ; i++) {
+	    if (b.get(a.values[i])) {
+		return true;
+	    }
+	}
+	return false;
+    }
+
+    /**
+     * Makes a chunk from a bitmap, or returns null if it is empty.
+     */
+    private static CompressedBitSetChunk result(long w[]) {
+	CompressedBitSetChunk c = new CompressedBitSetChunk(w, 0);
+	c.recount();
+	if (c.count == 0) {
+	    return null;
+	}
+	c.normalize();
+	return c;
+    }
+}
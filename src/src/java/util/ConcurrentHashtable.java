@@ -0,0 +1,597 @@
+/*
+ * @(#)ConcurrentHashtable.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+package java.util;
+
+/**
+ * ConcurrentHashtable collision list. The hash, key and next fields
+ * are never changed once the entry has been published, so readers can
+ * walk a chain without holding a lock. Removing an entry copies the
+ * part of the chain in front of it instead of unlinking it in place.
+ */
+class ConcurrentHashtableEntry {
+    int hash;
+    Object key;
+    volatile Object value;
+    ConcurrentHashtableEntry next;
+
+    ConcurrentHashtableEntry(int hash, Object key, Object value,
+			     ConcurrentHashtableEntry next) {
+	this.hash = hash;
+	this.key = key;
+	this.value = value;
+	this.next = next;
+    }
+}
+
+/**
+ * One lock stripe of a ConcurrentHashtable. Each segment is a small
+ * hashtable of its own; all updates synchronize on the segment, reads
+ * do not synchronize at all.
+ */
+final
+class ConcurrentHashtableSegment {
+    /**
+     * The number of entries in this segment. Written last by every
+     * update so that a reader that sees the new count also sees the
+     * table and entries written before it.
+     */
+    volatile int count;
+
+    /**
+     * The hash table data. The length is always a power of two.
+     */
+    volatile ConcurrentHashtableEntry table[];
+
+    /**
+     * Rehashes the segment when count exceeds this threshold.
+     */
+    int threshold;
+
+    /**
+     * The load factor for the segment.
+     */
+    float loadFactor;
+
+    ConcurrentHashtableSegment(int initialCapacity, float loadFactor) {
+	this.loadFactor = loadFactor;
+	table = new ConcurrentHashtableEntry[initialCapacity];
+	threshold = (int)(initialCapacity * loadFactor);
+    }
+
+    /**
+     * Returns the value for a key, or null. Does not lock unless it
+     * observes an entry whose value has not been published yet.
+     */
+    Object get(Object key, int hash) {
+	if (count != 0) {
+	    ConcurrentHashtableEntry tab[] = table;
+	    for (ConcurrentHashtableEntry e = tab[hash & (tab.length - 1)] ;
+		 e != null ; e = e.next) {
+		if ((e.hash == hash) && key.equals(e.key)) {
+		    Object v = e.value;
+		    return (v != null) ? v : readValueUnderLock(e);
+		}
+	    }
+	}
+	return null;
+    }
+
+    boolean containsKey(Object key, int hash) {
+	if (count != 0) {
+	    ConcurrentHashtableEntry tab[] = table;
+	    for (ConcurrentHashtableEntry e = tab[hash & (tab.length - 1)] ;
+		 e != null ; e = e.next) {
+		if ((e.hash == hash) && key.equals(e.key)) {
+		    return true;
+		}
+	    }
+	}
+	return false;
+    }
+
+    boolean contains(Object value) {
+	if (count != 0) {
+	    ConcurrentHashtableEntry tab[] = table;
+	    for (int i = tab.length ; i-- > 0 ;) {
+		for (ConcurrentHashtableEntry e = tab[i] ; e != null ; e = e.next) {
+		    Object v = e.value;
+		    if (v == null) {
+			v = readValueUnderLock(e);
+		    }
+		    if (value.equals(v)) {
+			return true;
+		    }
+		}
+	    }
+	}
+	return false;
+    }
+
+    /**
+     * Reads an entry's value while holding the segment lock. This is
+     * only needed if a reader races with the put that created the entry.
+     */
+    synchronized Object readValueUnderLock(ConcurrentHashtableEntry e) {
+	return e.value;
+    }
+
+    synchronized Object put(Object key, int hash, Object value,
+			    boolean onlyIfAbsent) {
+	int c = count;
+	if (c++ >= threshold) {
+	    rehash();
+	}
+	ConcurrentHashtableEntry tab[] = table;
+	int index = hash & (tab.length - 1);
+	ConcurrentHashtableEntry first = tab[index];
+	for (ConcurrentHashtableEntry e = first ; e != null ; e = e.next) {
+	    if ((e.hash == hash) && key.equals(e.key)) {
+		Object old = e.value;
+		if (!onlyIfAbsent) {
+		    e.value = value;
+		}
+		return old;
+	    }
+	}
+	tab[index] = new ConcurrentHashtableEntry(hash, key, value, first);
+	count = c;
+	return null;
+    }
+
+    /**
+     * Doubles the size of the segment's table. The old table is left
+     * untouched so that concurrent readers still see a consistent
+     * snapshot; chains in the new table are built from fresh entries.
+     */
+    void rehash() {
+	ConcurrentHashtableEntry oldTable[] = table;
+	int oldCapacity = oldTable.length;
+	int newCapacity = oldCapacity << 1;
+	if (newCapacity <= 0) {
+	    return;
+	}
+	ConcurrentHashtableEntry newTable[] = new ConcurrentHashtableEntry[newCapacity];
+	int mask = newCapacity - 1;
+
+	for (int i = oldCapacity ; i-- > 0 ;) {
+	    for (ConcurrentHashtableEntry e = oldTable[i] ; e != null ; e = e.next) {
+		int index = e.hash & mask;
+		newTable[index] = new ConcurrentHashtableEntry(e.hash, e.key,
+							       e.value,
+							       newTable[index]);
+	    }
+	}
+	threshold = (int)(newCapacity * loadFactor);
+	table = newTable;
+    }
+
+    synchronized Object remove(Object key, int hash) {
+	ConcurrentHashtableEntry tab[] = table;
+	int index = hash & (tab.length - 1);
+	ConcurrentHashtableEntry first = tab[index];
+	ConcurrentHashtableEntry e = first;
+	while ((e != null) && ((e.hash != hash) || !key.equals(e.key))) {
+	    e = e.next;
+	}
+	if (e == null) {
+	    return null;
+	}
+	Object old = e.value;
+
+	// Entries after the removed one are shared; the ones in front
+	// of it are copied so that readers never see a broken chain.
+	ConcurrentHashtableEntry newFirst = e.next;
+	for (ConcurrentHashtableEntry p = first ; p != e ; p = p.next) {
+	    newFirst = new ConcurrentHashtableEntry(p.hash, p.key, p.value,
+						    newFirst);
+	}
+	tab[index] = newFirst;
+	count = count - 1;
+	return old;
+    }
+
+    synchronized void clear() {
+	if (count != 0) {
+	    ConcurrentHashtableEntry tab[] = table;
+	    for (int i = tab.length ; i-- > 0 ;) {
+		tab[i] = null;
+	    }
+	    count = 0;
+	}
+    }
+}
+
+/**
+ * A hashtable that supports full concurrency of lookups and adjustable
+ * concurrency of updates. It has the same behavior as Hashtable, except
+ * that the table is split into a number of independently locked
+ * segments:<p>
+ *
+ * <ul>
+ * <li>get(), containsKey(), contains() and the enumerations never
+ *     lock, so any number of threads can read the table at the same
+ *     time.
+ * <li>put() and remove() lock only the one segment the key hashes to,
+ *     so up to <i>concurrencyLevel</i> threads can update the table
+ *     without waiting for each other.
+ * </ul>
+ *
+ * The enumerations returned by keys() and elements() walk the live
+ * table without copying it. They never throw an exception because of a
+ * concurrent update; they return the elements that were present when
+ * the enumeration was created and may or may not reflect updates made
+ * after that.<p>
+ *
+ * This makes ConcurrentHashtable a good fit for shared lookup tables
+ * that are read far more often than they are written, such as caches
+ * and registries consulted by many threads. As with Hashtable, neither
+ * keys nor elements can be null.
+ *
+ * @see java.util.Hashtable
+ * @version 	1.1, 01/22/96
+ */
+public
+class ConcurrentHashtable extends Dictionary {
+    /**
+     * The segments, each of which is a separately locked hashtable.
+     */
+    private ConcurrentHashtableSegment segments[];
+
+    /**
+     * Number of bits to shift a hash to select a segment.
+     */
+    private int segmentShift;
+
+    /**
+     * Mask applied to the shifted hash to select a segment.
+     */
+    private int segmentMask;
+
+    /**
+     * Constructs a new, empty hashtable with the specified initial
+     * capacity, load factor and concurrency level.
+     * @param initialCapacity the initial number of buckets
+     * @param loadFactor a number between 0.0 and 1.0, it defines
+     *		the threshold for rehashing a segment into a bigger one.
+     * @param concurrencyLevel the estimated number of threads that
+     *		update the table at the same time.
+     * @exception IllegalArgumentException If the initial capacity
+     * or the concurrency level is less than or equal to zero, or if
+     * the load factor is less than or equal to zero.
+     */
+    public ConcurrentHashtable(int initialCapacity, float loadFactor,
+			       int concurrencyLevel) {
+	if ((initialCapacity <= 0) || (loadFactor <= 0.0) ||
+	    (concurrencyLevel <= 0)) {
+	    throw new IllegalArgumentException();
+	}
+	if (concurrencyLevel > (1 << 16)) {
+	    concurrencyLevel = 1 << 16;
+	}
+
+	// Round the number of segments up to a power of two.
+	int shift = 0;
+	int nsegments = 1;
+	while (nsegments < concurrencyLevel) {
+	    shift++;
+	    nsegments <<= 1;
+	}
+	segmentShift = 32 - shift;
+	segmentMask = nsegments - 1;
+	segments = new ConcurrentHashtableSegment[nsegments];
+
+	int perSegment = (initialCapacity + nsegments - 1) / nsegments;
+	int capacity = 1;
+	while (capacity < perSegment) {
+	    capacity <<= 1;
+	}
+	for (int i = 0 ; i < nsegments ; i++) {
+	    segments[i] = new ConcurrentHashtableSegment(capacity, loadFactor);
+	}
+    }
+
+    /**
+     * Constructs a new, empty hashtable with the specified initial
+     * capacity.
+     * @param initialCapacity the initial number of buckets
+     */
+    public ConcurrentHashtable(int initialCapacity) {
+	this(initialCapacity, 0.75f, 16);
+    }
+
+    /**
+     * Constructs a new, empty hashtable. A default capacity, load factor
+     * and concurrency level is used. Note that the hashtable will
+     * automatically grow when it gets full.
+     */
+    public ConcurrentHashtable() {
+	this(128, 0.75f, 16);
+    }
+
+    /**
+     * Spreads the bits of a hashCode() so that both the segment index
+     * (taken from the high bits) and the bucket index (taken from the
+     * low bits) depend on all bits of the original hash code.
+     */
+    private static int hash(Object key) {
+	int h = key.hashCode();
+	h += ~(h << 9);
+	h ^=  (h >>> 14);
+	h +=  (h << 4);
+	h ^=  (h >>> 10);
+	return h;
+    }
+
+    private ConcurrentHashtableSegment segmentFor(int hash) {
+	return segments[(hash >>> segmentShift) & segmentMask];
+    }
+
+    /**
+     * Returns the number of elements contained in the hashtable. If the
+     * table is being updated concurrently the result is an estimate.
+     */
+    public int size() {
+	ConcurrentHashtableSegment segs[] = segments;
+	int n = 0;
+	for (int i = segs.length ; i-- > 0 ;) {
+	    n += segs[i].count;
+	}
+	return n;
+    }
+
+    /**
+     * Returns true if the hashtable contains no elements.
+     */
+    public boolean isEmpty() {
+	ConcurrentHashtableSegment segs[] = segments;
+	for (int i = segs.length ; i-- > 0 ;) {
+	    if (segs[i].count != 0) {
+		return false;
+	    }
+	}
+	return true;
+    }
+
+    /**
+     * Returns an enumeration of the hashtable's keys. The enumeration
+     * does not lock or copy the table.
+     * @see ConcurrentHashtable#elements
+     * @see Enumeration
+     */
+    public Enumeration keys() {
+	return new ConcurrentHashtableEnumerator(segments, true);
+    }
+
+    /**
+     * Returns an enumeration of the elements. The enumeration does not
+     * lock or copy the table.
+     * @see ConcurrentHashtable#keys
+     * @see Enumeration
+     */
+    public Enumeration elements() {
+	return new ConcurrentHashtableEnumerator(segments, false);
+    }
+
+    /**
+     * Returns true if the specified object is an element of the hashtable.
+     * This operation is more expensive than the containsKey() method.
+     * @param value the value that we are looking for
+     * @exception NullPointerException If the value being searched
+     * for is equal to null.
+     * @see ConcurrentHashtable#containsKey
+     */
+    public boolean contains(Object value) {
+	if (value == null) {
+	    throw new NullPointerException();
+	}
+	ConcurrentHashtableSegment segs[] = segments;
+	for (int i = segs.length ; i-- > 0 ;) {
+	    if (segs[i].contains(value)) {
+		return true;
+	    }
+	}
+	return false;
+    }
+
+    /**
+     * Returns true if the collection contains an element for the key.
+     * @param key the key that we are looking for
+     * @see ConcurrentHashtable#contains
+     */
+    public boolean containsKey(Object key) {
+	int hash = hash(key);
+	return segmentFor(hash).containsKey(key, hash);
+    }
+
+    /**
+     * Gets the object associated with the specified key in the
+     * hashtable. This method does not lock.
+     * @param key the specified key
+     * @returns the element for the key or null if the key
+     * 		is not defined in the hash table.
+     * @see ConcurrentHashtable#put
+     */
+    public Object get(Object key) {
+	int hash = hash(key);
+	return segmentFor(hash).get(key, hash);
+    }
+
+    /**
+     * Puts the specified element into the hashtable, using the specified
+     * key. Only the segment the key belongs to is locked.
+     * The key and the element cannot be null.
+     * @param key the specified key in the hashtable
+     * @param value the specified element
+     * @exception NullPointerException If the value of the element
+     * is equal to null.
+     * @see ConcurrentHashtable#get
+     * @return the old value of the key, or null if it did not have one.
+     */
+    public Object put(Object key, Object value) {
+	if (value == null) {
+	    throw new NullPointerException();
+	}
+	int hash = hash(key);
+	return segmentFor(hash).put(key, hash, value, false);
+    }
+
+    /**
+     * Puts the specified element into the hashtable unless the key
+     * already has an element. The test and the update are atomic.
+     * @param key the specified key in the hashtable
+     * @param value the specified element
+     * @exception NullPointerException If the value of the element
+     * is equal to null.
+     * @return the current value of the key, or null if value was added.
+     */
+    public Object putIfAbsent(Object key, Object value) {
+	if (value == null) {
+	    throw new NullPointerException();
+	}
+	int hash = hash(key);
+	return segmentFor(hash).put(key, hash, value, true);
+    }
+
+    /**
+     * Removes the element corresponding to the key. Does nothing if the
+     * key is not present.
+     * @param key the key that needs to be removed
+     * @return the value of key, or null if the key was not found.
+     */
+    public Object remove(Object key) {
+	int hash = hash(key);
+	return segmentFor(hash).remove(key, hash);
+    }
+
+    /**
+     * Clears the hash table so that it has no more elements in it.
+     * Segments are cleared one at a time, so concurrent readers may
+     * observe a partially cleared table.
+     */
+    public void clear() {
+	ConcurrentHashtableSegment segs[] = segments;
+	for (int i = segs.length ; i-- > 0 ;) {
+	    segs[i].clear();
+	}
+    }
+
+    /**
+     * Converts to a rather lengthy String.
+     */
+    public String toString() {
+	StringBuffer buf = new StringBuffer();
+	ConcurrentHashtableEnumerator en =
+	    new ConcurrentHashtableEnumerator(segments, true);
+	buf.append("{");
+
+	boolean first = true;
+	while (en.hasMoreElements()) {
+	    ConcurrentHashtableEntry e = en.nextEntry();
+	    if (!first) {
+		buf.append(", ");
+	    }
+	    buf.append(e.key.toString());
+	    buf.append("=");
+	    buf.append(en.valueOf(e).toString());
+	    first = false;
+	}
+	buf.append("}");
+	return buf.toString();
+    }
+}
+
+/**
+ * A ConcurrentHashtable enumerator class.  This class should remain
+ * opaque to the client. It will use the Enumeration interface.
+ */
+final
+class ConcurrentHashtableEnumerator implements Enumeration {
+    boolean keys;
+    int segmentIndex;
+    int index;
+    ConcurrentHashtableSegment segments[];
+    ConcurrentHashtableSegment segment;
+    ConcurrentHashtableEntry table[];
+    ConcurrentHashtableEntry entry;
+
+    ConcurrentHashtableEnumerator(ConcurrentHashtableSegment segments[],
+				  boolean keys) {
+	this.segments = segments;
+	this.keys = keys;
+	this.segmentIndex = segments.length;
+	this.index = 0;
+    }
+
+    /**
+     * Advances to the next non-empty bucket, moving on to the
+     * next segment when the current table is exhausted.
+     */
+    private boolean advance() {
+	while (true) {
+	    while (index-- > 0) {
+		if ((entry = table[index]) != null) {
+		    return true;
+		}
+	    }
+	    if (segmentIndex-- <= 0) {
+		segmentIndex = 0;
+		index = 0;
+		return false;
+	    }
+	    ConcurrentHashtableSegment seg = segments[segmentIndex];
+	    if (seg.count != 0) {
+		segment = seg;
+		table = seg.table;
+		index = table.length;
+	    }
+	}
+    }
+
+    public boolean hasMoreElements() {
+	return (entry != null) || advance();
+    }
+
+    /**
+     * Returns the next entry. Its value must be read with valueOf()
+     * before the enumeration moves on.
+     */
+    ConcurrentHashtableEntry nextEntry() {
+	if ((entry != null) || advance()) {
+	    ConcurrentHashtableEntry e = entry;
+	    entry = e.next;
+	    return e;
+	}
+	throw new NoSuchElementException("ConcurrentHashtableEnumerator");
+    }
+
+    /**
+     * Returns the value of an entry just returned by nextEntry(),
+     * locking its segment if the value has not been published yet.
+     */
+    Object valueOf(ConcurrentHashtableEntry e) {
+	Object v = e.value;
+	return (v != null) ? v : segment.readValueUnderLock(e);
+    }
+
+    public Object nextElement() {
+	ConcurrentHashtableEntry e = nextEntry();
+	return keys ? e.key : valueOf(e);
+    }
+}
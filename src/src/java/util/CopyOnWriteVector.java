@@ -0,0 +1,286 @@
+/*
+ * @(#)CopyOnWriteVector.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+package java.util;
+
+/**
+ * CopyOnWriteVector class (a thread-safe array for lists that are
+ * enumerated far more often than they are changed).<p>
+ *
+ * Every change makes a fresh copy of the underlying array, under the
+ * vector's lock. Readers never lock: they pick up the current array
+ * and work on it, and an array is never changed once it has been
+ * published. An enumeration therefore sees a snapshot of the vector
+ * as it was when the enumeration was created, and can never be
+ * disturbed by changes made while it runs - including changes made
+ * by the code it is calling, such as an observer that removes itself
+ * from the list it is being notified through.<p>
+ *
+ * Changes cost time proportional to the size of the vector, so this
+ * class is meant for small lists that rarely change, such as lists of
+ * observers or listeners.
+ *
+ * @see java.util.Vector
+ * @see java.util.ArrayVector
+ * @version 	1.1, 01/22/96
+ */
+public
+class CopyOnWriteVector implements Cloneable {
+    /**
+     * The current elements. Replaced, never modified, by updates.
+     */
+    private volatile Object elementData[];
+
+    /**
+     * Constructs an empty vector.
+     */
+    public CopyOnWriteVector() {
+	elementData = new Object[0];
+    }
+
+    /**
+     * Returns a snapshot of the elements. The returned array must
+     * not be modified.
+     */
+    protected final Object[] snapshot() {
+	return elementData;
+    }
+
+    /**
+     * Copies the elements of this vector into the specified array.
+     * @param anArray the array where elements get copied into
+     */
+    public final void copyInto(Object anArray[]) {
+	Object data[] = elementData;
+	System.arraycopy(data, 0, anArray, 0, data.length);
+    }
+
+    /**
+     * Returns the number of elements in the vector.
+     */
+    public final int size() {
+	return elementData.length;
+    }
+
+    /**
+     * Returns true if the collection contains no values.
+     */
+    public final boolean isEmpty() {
+	return elementData.length == 0;
+    }
+
+    /**
+     * Returns an enumeration of a snapshot of the elements. The
+     * enumeration does not lock and is not affected by later changes.
+     */
+    public final Enumeration elements() {
+	return new CopyOnWriteVectorEnumerator(elementData);
+    }
+
+    /**
+     * Returns true if the specified object is a value of the
+     * collection.
+     * @param elem the desired element
+     */
+    public final boolean contains(Object elem) {
+	return indexOf(elem, elementData) >= 0;
+    }
+
+    /**
+     * Searches for the specified object and returns an index to it.
+     * @param elem the desired element
+     * @return the index of the element, or -1 if it was not found.
+     */
+    public final int indexOf(Object elem) {
+	return indexOf(elem, elementData);
+    }
+
+    private static int indexOf(Object elem, Object data[]) {
+	for (int i = 0 ; i < data.length ; i++) {
+	    if (elem.equals(data[i])) {
+		return i;
+	    }
+	}
+	return -1;
+    }
+
+    /**
+     * Returns the element at the specified index.
+     * @param index the index of the desired element
+     * @exception ArrayIndexOutOfBoundsException If an invalid
+     * index was given.
+     */
+    public final Object elementAt(int index) {
+	return elementData[index];
+    }
+
+    /**
+     * Sets the element at the specified index to be the specified object.
+     * @param obj what the element is to be set to
+     * @param index the specified index
+     * @exception ArrayIndexOutOfBoundsException If the index was
+     * invalid.
+     */
+    public final synchronized void setElementAt(Object obj, int index) {
+	Object data[] = elementData;
+	Object newData[] = new Object[data.length];
+	System.arraycopy(data, 0, newData, 0, data.length);
+	newData[index] = obj;
+	elementData = newData;
+    }
+
+    /**
+     * Deletes the element at the specified index.
+     * @param index the element to remove
+     * @exception ArrayIndexOutOfBoundsException If the index was invalid.
+     */
+    public final synchronized void removeElementAt(int index) {
+	Object data[] = elementData;
+	if ((index < 0) || (index >= data.length)) {
+	    throw new ArrayIndexOutOfBoundsException(index + " >= " +
+						     data.length);
+	}
+	Object newData[] = new Object[data.length - 1];
+	System.arraycopy(data, 0, newData, 0, index);
+	System.arraycopy(data, index + 1, newData, index, data.length - index - 1);
+	elementData = newData;
+    }
+
+    /**
+     * Inserts the specified object as an element at the specified index.
+     * @param obj the element to insert
+     * @param index where to insert the new element
+     * @exception ArrayIndexOutOfBoundsException If the index was invalid.
+     */
+    public final synchronized void insertElementAt(Object obj, int index) {
+	Object data[] = elementData;
+	if ((index < 0) || (index > data.length)) {
+	    throw new ArrayIndexOutOfBoundsException(index + " > " +
+						     data.length);
+	}
+	Object newData[] = new Object[data.length + 1];
+	System.arraycopy(data, 0, newData, 0, index);
+	System.arraycopy(data, index, newData, index + 1, data.length - index);
+	newData[index] = obj;
+	elementData = newData;
+    }
+
+    /**
+     * Adds the specified object as the last element of the vector.
+     * @param obj the element to be added
+     */
+    public final synchronized void addElement(Object obj) {
+	Object data[] = elementData;
+	Object newData[] = new Object[data.length + 1];
+	System.arraycopy(data, 0, newData, 0, data.length);
+	newData[data.length] = obj;
+	elementData = newData;
+    }
+
+    /**
+     * Adds the specified object as the last element of the vector
+     * unless it is already an element. The test and the update are
+     * atomic.
+     * @param obj the element to be added
+     * @return true if the element was added; false otherwise.
+     */
+    public final synchronized boolean addElementIfAbsent(Object obj) {
+	if (indexOf(obj, elementData) >= 0) {
+	    return false;
+	}
+	addElement(obj);
+	return true;
+    }
+
+    /**
+     * Removes the element from the vector. If the object occurs more
+     * than once, only the first is removed. If the object is not an
+     * element, returns false.
+     * @param obj the element to be removed
+     * @return true if the element was actually removed; false otherwise.
+     */
+    public final synchronized boolean removeElement(Object obj) {
+	int i = indexOf(obj, elementData);
+	if (i >= 0) {
+	    removeElementAt(i);
+	    return true;
+	}
+	return false;
+    }
+
+    /**
+     * Removes all elements of the vector. The vector becomes empty.
+     */
+    public final synchronized void removeAllElements() {
+	elementData = new Object[0];
+    }
+
+    /**
+     * Clones this vector. The elements are <strong>not</strong> cloned.
+     * Since arrays are never modified the clone can share the current
+     * one.
+     */
+    public Object clone() {
+	try {
+	    return super.clone();
+	} catch (CloneNotSupportedException e) {
+	    // this shouldn't happen, since we are Cloneable
+	    throw new InternalError();
+	}
+    }
+
+    /**
+     * Converts the vector to a string. Useful for debugging.
+     */
+    public final String toString() {
+	Object data[] = elementData;
+	StringBuffer buf = new StringBuffer();
+	buf.append("[");
+	for (int i = 0 ; i < data.length ; i++) {
+	    if (i > 0) {
+		buf.append(", ");
+	    }
+	    buf.append(String.valueOf(data[i]));
+	}
+	buf.append("]");
+	return buf.toString();
+    }
+}
+
+final
+class CopyOnWriteVectorEnumerator implements Enumeration {
+    Object data[];
+    int count;
+
+    CopyOnWriteVectorEnumerator(Object data[]) {
+	this.data = data;
+	count = 0;
+    }
+
+    public boolean hasMoreElements() {
+	return count < data.length;
+    }
+
+    public Object nextElement() {
+	if (count < data.length) {
+	    return data[count++];
+	}
+	throw new NoSuchElementException("CopyOnWriteVectorEnumerator");
+    }
+}
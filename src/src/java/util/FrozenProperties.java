@@ -0,0 +1,207 @@
+/*
+ * @(#)FrozenProperties.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+package java.util;
+
+/**
+ * An immutable snapshot of a Properties object and its chain of
+ * defaults. All the properties are flattened into one open hash
+ * table when the snapshot is made, with a property in a list hiding
+ * the same property in its defaults. A lookup is then a single probe
+ * sequence: it takes no lock and does not walk the chain of defaults,
+ * so any number of threads can read a snapshot at the same time.<p>
+ *
+ * The snapshot also records some figures for startup profiling: the
+ * number of properties, the number of property lists in the chain,
+ * how many properties were hidden by others, the time spent loading
+ * the lists and the time taken to make the snapshot.
+ *
+ * @see Properties#freeze
+ * @version 	1.1, 01/22/96
+ */
+public final
+class FrozenProperties {
+    private String keys[];
+    private String values[];
+    private int hashes[];
+    private int count;
+
+    private int levels;
+    private int hidden;
+    private long loadTime;
+    private int loadCount;
+    private long freezeTime;
+
+    /**
+     * Makes a snapshot of the specified property list.
+     */
+    FrozenProperties(Properties props) {
+	long start = System.currentTimeMillis();
+	Hashtable h = new Hashtable();
+	props.enumerate(h);
+	int total = 0;
+	for (Properties p = props ; p != null ; p = p.defaults) {
+	    levels++;
+	    total += p.size();
+	    loadTime += p.loadTime;
+	    loadCount += p.loadCount;
+	}
+	count = h.size();
+	hidden = total - count;
+
+	int capacity = 16;
+	while (capacity < count * 2) {
+	    capacity <<= 1;
+	}
+	keys = new String[capacity];
+	values = new String[capacity];
+	hashes = new int[capacity];
+	int mask = capacity - 1;
+	for (Enumeration e = h.keys() ; e.hasMoreElements() ;) {
+	    String key = (String)e.nextElement();
+	    int hash = key.hashCode();
+	    int index = hash & mask;
+	    while (keys[index] != null) {
+		index = (index + 1) & mask;
+	    }
+	    keys[index] = key;
+	    values[index] = (String)h.get(key);
+	    hashes[index] = hash;
+	}
+	freezeTime = System.currentTimeMillis() - start;
+    }
+
+    /**
+     * Gets a property with the specified key. Returns null if the
+     * property is not found.
+     * @param key the property key
+     */
+    public String getProperty(String key) {
+	String k[] = keys;
+	int mask = k.length - 1;
+	int hash = key.hashCode();
+	for (int index = hash & mask ; k[index] != null ; index = (index + 1) & mask) {
+	    if ((hashes[index] == hash) && k[index].equals(key)) {
+		return values[index];
+	    }
+	}
+	return null;
+    }
+
+    /**
+     * Gets a property with the specified key and default. Returns
+     * defaultValue if the property is not found.
+     */
+    public String getProperty(String key, String defaultValue) {
+	String val = getProperty(key);
+	return (val == null) ? defaultValue : val;
+    }
+
+    /**
+     * Returns true if the specified property is present.
+     */
+    public boolean containsKey(String key) {
+	return getProperty(key) != null;
+    }
+
+    /**
+     * Enumerates all the keys.
+     */
+    public Enumeration propertyNames() {
+	Vector v = new Vector(count);
+	String k[] = keys;
+	for (int i = 0 ; i < k.length ; i++) {
+	    if (k[i] != null) {
+		v.addElement(k[i]);
+	    }
+	}
+	return v.elements();
+    }
+
+    /**
+     * Returns a new Properties object holding all the properties of
+     * the snapshot.
+     */
+    public Properties toProperties() {
+	Properties p = new Properties();
+	String k[] = keys;
+	for (int i = 0 ; i < k.length ; i++) {
+	    if (k[i] != null) {
+		p.put(k[i], values[i]);
+	    }
+	}
+	return p;
+    }
+
+    /**
+     * Returns the number of properties.
+     */
+    public int size() {
+	return count;
+    }
+
+    /**
+     * Returns the number of property lists in the chain of defaults
+     * that was flattened, including the list itself.
+     */
+    public int levels() {
+	return levels;
+    }
+
+    /**
+     * Returns the number of properties that were hidden by a property
+     * with the same key earlier in the chain.
+     */
+    public int hiddenCount() {
+	return hidden;
+    }
+
+    /**
+     * Returns the number of milliseconds spent in Properties.load()
+     * by all the lists in the chain.
+     */
+    public long loadTime() {
+	return loadTime;
+    }
+
+    /**
+     * Returns the number of properties read by Properties.load()
+     * for all the lists in the chain, including any that were later
+     * replaced or hidden.
+     */
+    public int loadCount() {
+	return loadCount;
+    }
+
+    /**
+     * Returns the number of milliseconds taken to make the snapshot.
+     */
+    public long freezeTime() {
+	return freezeTime;
+    }
+
+    /**
+     * Returns a summary of the snapshot's figures.
+     */
+    public String toString() {
+	return getClass().getName() + "[size=" + count + ",levels=" + levels +
+	    ",hidden=" + hidden + ",loaded=" + loadCount +
+	    ",loadTime=" + loadTime + "ms,freezeTime=" + freezeTime + "ms]";
+    }
+}
@@ -0,0 +1,429 @@
+/*
+ * @(#)IntHashtable.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+package java.util;
+
+/**
+ * IntHashtable class. Maps int keys to values without boxing the
+ * keys. Any object can be used as a value.<p>
+ *
+ * The table uses open addressing with linear probing: the keys and
+ * values are stored in two parallel arrays, so no object is allocated
+ * per mapping and a lookup touches at most a few adjacent slots. Values
+ * cannot be null, exactly as in Hashtable.<p>
+ *
+ * This example maps article numbers to article headers:
+ * <pre>
+ *	IntHashtable articles = new IntHashtable();
+ *	articles.put(4711, header);
+ *	...
+ *	Object h = articles.get(4711);
+ * </pre>
+ *
+ * @see java.util.Hashtable
+ * @see java.util.LongHashtable
+ * @version 	1.1, 01/22/96
+ */
+public
+class IntHashtable implements Cloneable {
+    /**
+     * The keys. A slot is in use if the value in the same slot is
+     * not null. The length is always a power of two.
+     */
+    private int keys[];
+
+    /**
+     * The values, parallel to keys.
+     */
+    private Object values[];
+
+    /**
+     * The total number of entries in the hash table.
+     */
+    private int count;
+
+    /**
+     * Rehashes the table when count exceeds this threshold.
+     */
+    private int threshold;
+
+    /**
+     * The load factor for the hashtable.
+     */
+    private float loadFactor;
+
+    /**
+     * Number of bits to shift a mixed key to get a slot index.
+     */
+    private int shift;
+
+    /**
+     * Constructs a new, empty hashtable with the specified initial
+     * capacity and the specified load factor.
+     * @param initialCapacity the initial number of slots
+     * @param loadFactor a number between 0.0 and 1.0, it defines
+     *		the threshold for rehashing the hashtable into
+     *		a bigger one.
+     * @exception IllegalArgumentException If the initial capacity
+     * is less than or equal to zero.
+     * @exception IllegalArgumentException If the load factor is
+     * less than or equal to zero or greater than or equal to one.
+     */
+    public IntHashtable(int initialCapacity, float loadFactor) {
+	if ((initialCapacity <= 0) || (loadFactor <= 0.0) || (loadFactor >= 1.0)) {
+	    throw new IllegalArgumentException();
+	}
+	this.loadFactor = loadFactor;
+	int capacity = 2;
+	int bits = 1;
+	while (capacity * loadFactor < initialCapacity) {
+	    capacity <<= 1;
+	    bits++;
+	}
+	allocate(capacity, bits);
+    }
+
+    /**
+     * Constructs a new, empty hashtable with the specified initial
+     * capacity.
+     * @param initialCapacity the initial number of mappings
+     */
+    public IntHashtable(int initialCapacity) {
+	this(initialCapacity, 0.75f);
+    }
+
+    /**
+     * Constructs a new, empty hashtable. A default capacity and load factor
+     * is used. Note that the hashtable will automatically grow when it gets
+     * full.
+     */
+    public IntHashtable() {
+	this(64, 0.75f);
+    }
+
+    private void allocate(int capacity, int bits) {
+	keys = new int[capacity];
+	values = new Object[capacity];
+	shift = 32 - bits;
+	threshold = (int)(capacity * loadFactor);
+    }
+
+    /**
+     * Returns the home slot of a key. Multiplying by the golden ratio
+     * and taking the high bits spreads sequential keys, which are the
+     * common case, evenly over the table.
+     */
+    private int slot(int key) {
+	return (key * 0x9E3779B9) >>> shift;
+    }
+
+    /**
+     * Returns the number of elements contained in the hashtable.
+     */
+    public int size() {
+	return count;
+    }
+
+    /**
+     * Returns true if the hashtable contains no elements.
+     */
+    public boolean isEmpty() {
+	return count == 0;
+    }
+
+    /**
+     * Returns an enumeration of the hashtable's keys as primitive ints.
+     * The enumeration does not allocate anything per element.
+     * @see IntHashtable#keys
+     * @see IntEnumeration
+     */
+    public synchronized IntEnumeration intKeys() {
+	return new IntHashtableEnumerator(keys, values, true);
+    }
+
+    /**
+     * Returns an enumeration of the hashtable's keys as Integer objects.
+     * Use intKeys() to avoid boxing every key.
+     * @see IntHashtable#intKeys
+     * @see Enumeration
+     */
+    public synchronized Enumeration keys() {
+	return new IntHashtableEnumerator(keys, values, true);
+    }
+
+    /**
+     * Returns an enumeration of the elements. Use the Enumeration methods
+     * on the returned object to fetch the elements sequentially.
+     * @see IntHashtable#intKeys
+     * @see Enumeration
+     */
+    public synchronized Enumeration elements() {
+	return new IntHashtableEnumerator(keys, values, false);
+    }
+
+    /**
+     * Returns true if the specified object is an element of the hashtable.
+     * This operation is more expensive than the containsKey() method.
+     * @param value the value that we are looking for
+     * @exception NullPointerException If the value being searched
+     * for is equal to null.
+     * @see IntHashtable#containsKey
+     */
+    public synchronized boolean contains(Object value) {
+	if (value == null) {
+	    throw new NullPointerException();
+	}
+	Object vals[] = values;
+	for (int i = vals.length ; i-- > 0 ;) {
+	    if ((vals[i] != null) && vals[i].equals(value)) {
+		return true;
+	    }
+	}
+	return false;
+    }
+
+    /**
+     * Returns true if the collection contains an element for the key.
+     * @param key the key that we are looking for
+     * @see IntHashtable#contains
+     */
+    public synchronized boolean containsKey(int key) {
+	return values[find(key)] != null;
+    }
+
+    /**
+     * Gets the object associated with the specified key in the
+     * hashtable.
+     * @param key the specified key
+     * @returns the element for the key or null if the key
+     * 		is not defined in the hash table.
+     * @see IntHashtable#put
+     */
+    public synchronized Object get(int key) {
+	return values[find(key)];
+    }
+
+    /**
+     * Returns the slot holding the key, or the empty slot where
+     * the key would be inserted.
+     */
+    private int find(int key) {
+	int ks[] = keys;
+	Object vals[] = values;
+	int mask = ks.length - 1;
+	int i = slot(key);
+	while ((vals[i] != null) && (ks[i] != key)) {
+	    i = (i + 1) & mask;
+	}
+	return i;
+    }
+
+    /**
+     * Rehashes the content of the table into a bigger table.
+     * This method is called automatically when the hashtable's
+     * size exceeds the threshold.
+     */
+    protected void rehash() {
+	int oldKeys[] = keys;
+	Object oldValues[] = values;
+	allocate(oldKeys.length << 1, 33 - shift);
+
+	int ks[] = keys;
+	Object vals[] = values;
+	int mask = ks.length - 1;
+	for (int j = oldKeys.length ; j-- > 0 ;) {
+	    if (oldValues[j] != null) {
+		int key = oldKeys[j];
+		int i = slot(key);
+		while (vals[i] != null) {
+		    i = (i + 1) & mask;
+		}
+		ks[i] = key;
+		vals[i] = oldValues[j];
+	    }
+	}
+    }
+
+    /**
+     * Puts the specified element into the hashtable, using the specified
+     * key.  The element may be retrieved by doing a get() with the same key.
+     * The element cannot be null.
+     * @param key the specified key in the hashtable
+     * @param value the specified element
+     * @exception NullPointerException If the value of the element
+     * is equal to null.
+     * @see IntHashtable#get
+     * @return the old value of the key, or null if it did not have one.
+     */
+    public synchronized Object put(int key, Object value) {
+	// Make sure the value is not null
+	if (value == null) {
+	    throw new NullPointerException();
+	}
+
+	int i = find(key);
+	Object old = values[i];
+	if (old != null) {
+	    values[i] = value;
+	    return old;
+	}
+	if (count >= threshold) {
+	    // Rehash the table if the threshold is exceeded
+	    rehash();
+	    i = find(key);
+	}
+	keys[i] = key;
+	values[i] = value;
+	count++;
+	return null;
+    }
+
+    /**
+     * Removes the element corresponding to the key. Does nothing if the
+     * key is not present.
+     * @param key the key that needs to be removed
+     * @return the value of key, or null if the key was not found.
+     */
+    public synchronized Object remove(int key) {
+	int i = find(key);
+	Object old = values[i];
+	if (old == null) {
+	    return null;
+	}
+
+	// Shift later members of the probe sequence back into the hole
+	// so that lookups never need tombstones.
+	int ks[] = keys;
+	Object vals[] = values;
+	int mask = ks.length - 1;
+	int j = i;
+	while (true) {
+	    j = (j + 1) & mask;
+	    if (vals[j] == null) {
+		break;
+	    }
+	    int home = slot(ks[j]);
+	    if ((j > i) ? ((home <= i) || (home > j)) : ((home <= i) && (home > j))) {
+		ks[i] = ks[j];
+		vals[i] = vals[j];
+		i = j;
+	    }
+	}
+	vals[i] = null;
+	count--;
+	return old;
+    }
+
+    /**
+     * Clears the hash table so that it has no more elements in it.
+     */
+    public synchronized void clear() {
+	Object vals[] = values;
+	for (int index = vals.length; --index >= 0; )
+	    vals[index] = null;
+	count = 0;
+    }
+
+    /**
+     * Creates a clone of the hashtable. A shallow copy is made,
+     * the elements themselves are NOT cloned.
+     */
+    public synchronized Object clone() {
+	try {
+	    IntHashtable t = (IntHashtable)super.clone();
+	    t.keys = new int[keys.length];
+	    t.values = new Object[values.length];
+	    System.arraycopy(keys, 0, t.keys, 0, keys.length);
+	    System.arraycopy(values, 0, t.values, 0, values.length);
+	    return t;
+	} catch (CloneNotSupportedException e) {
+	    // this shouldn't happen, since we are Cloneable
+	    throw new InternalError();
+	}
+    }
+
+    /**
+     * Converts to a rather lengthy String.
+     */
+    public synchronized String toString() {
+	StringBuffer buf = new StringBuffer();
+	int ks[] = keys;
+	Object vals[] = values;
+	boolean first = true;
+	buf.append("{");
+	for (int i = 0 ; i < vals.length ; i++) {
+	    if (vals[i] != null) {
+		if (!first) {
+		    buf.append(", ");
+		}
+		buf.append(ks[i]);
+		buf.append("=");
+		buf.append(vals[i].toString());
+		first = false;
+	    }
+	}
+	buf.append("}");
+	return buf.toString();
+    }
+}
+
+/**
+ * An IntHashtable enumerator class.  This class should remain opaque
+ * to the client. It will use the Enumeration or IntEnumeration
+ * interface.
+ */
+final
+class IntHashtableEnumerator implements Enumeration, IntEnumeration {
+    boolean keys;
+    int index;
+    int keyTable[];
+    Object valueTable[];
+
+    IntHashtableEnumerator(int keyTable[], Object valueTable[], boolean keys) {
+	this.keyTable = keyTable;
+	this.valueTable = valueTable;
+	this.keys = keys;
+	this.index = valueTable.length;
+    }
+
+    public boolean hasMoreElements() {
+	while (index > 0) {
+	    if (valueTable[index - 1] != null) {
+		return true;
+	    }
+	    index--;
+	}
+	return false;
+    }
+
+    public int nextInt() {
+	if (hasMoreElements()) {
+	    return keyTable[--index];
+	}
+	throw new NoSuchElementException("IntHashtableEnumerator");
+    }
+
+    public Object nextElement() {
+	if (hasMoreElements()) {
+	    index--;
+	    return keys ? new Integer(keyTable[index]) : valueTable[index];
+	}
+	throw new NoSuchElementException("IntHashtableEnumerator");
+    }
+}
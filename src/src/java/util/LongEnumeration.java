@@ -0,0 +1,50 @@
+/*
+ * @(#)LongEnumeration.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+package java.util;
+
+/**
+ * An enumeration of primitive long values. It is used instead of
+ * Enumeration where boxing every value into a Long object would
+ * dominate the cost of the enumeration.<p>
+ *
+ * For example, to print all keys of a LongHashtable h:
+ * <pre>
+ *	for (LongEnumeration e = h.longKeys() ; e.hasMoreElements() ;) {
+ *	    System.out.println(e.nextLong());
+ *	}
+ * </pre>
+ * @see LongHashtable
+ * @see Enumeration
+ * @version 	1.1, 01/22/96
+ */
+public interface LongEnumeration {
+    /**
+     * Returns true if the enumeration contains more elements; false
+     * if its empty.
+     */
+    boolean hasMoreElements();
+
+    /**
+     * Returns the next long of the enumeration. Calls to this
+     * method will enumerate successive values.
+     * @exception NoSuchElementException If no more elements exist.
+     */
+    long nextLong();
+}
@@ -21,23 +21,26 @@ package java.util;
 
 /*
  * This class is used to hold the set of observers of an observable
- * object whenever there is more than one observer.
+ * object whenever there is more than one observer. Since it is a
+ * copy-on-write list, notification walks a snapshot without holding
+ * the list's lock.
  */
-class ObserverList extends Vector {
+class ObserverList extends CopyOnWriteVector {
     /** 
      * Notifies all the observers in the list.  This goes from
-     * back to front, so that it is OK to remove Observers from
-     * the list as a result of this call. 
+     * back to front over a snapshot of the list, so that it is OK
+     * to add or remove Observers as a result of this call. 
      * @param who the list of observers
      * @param arg what is being notified
      */
     public void notifyObservers(Observable who, Object arg) {
-	int i = size();
+	Object list[] = snapshot();
+	int i = list.length;
 
 	while (--i >= 0) {
 	    Observer o;
 
-	    o = (Observer) elementAt(i);
+	    o = (Observer) list[i];
 	    o.update(who, arg);
 	}
     }
@@ -54,92 +54,24 @@ class Properties extends Hashtable {
     }
 
     /**
-     * Loads properties from an InputStream.
+     * Milliseconds spent in load(), and the number of entries it read.
+     */
+    long loadTime;
+    int loadCount;
+
+    /**
+     * Loads properties from an InputStream. The stream is read in
+     * blocks, in a single pass.
      * @param in the input stream
      * @exception IOException Error when reading from input stream.
      */
     public synchronized void load(InputStream in) throws IOException {
+	long start = System.currentTimeMillis();
 	in = Runtime.getRuntime().getLocalizedInputStream(in);
-
-	int ch = in.read();
-	while (true) {
-	    switch (ch) {
-	      case -1:
-		return;
-
-	      case '#':
-	      case '!':
-		do {
-		    ch = in.read();
-		} while ((ch >= 0) && (ch != '\n') && (ch != '\r'));
-		continue;
-
-	      case '\n':
-	      case '\r':
-	      case ' ':
-	      case '\t':
-		ch = in.read();
-		continue;
-	    }
-
-	    // Read the key
-	    StringBuffer key = new StringBuffer();
-	    while ((ch >= 0) && (ch != '=') && (ch != ':') && 
-		   (ch != ' ') && (ch != '\t') && (ch != '\n') && (ch != '\r')) {
-		key.append((char)ch);
-		ch = in.read();
-	    }
-	    while ((ch == ' ') && (ch == '\t')) {
-		ch = in.read();
-	    }
-	    if ((ch == '=') || (ch == ':')) {
-		ch = in.read();
-	    }
-	    while ((ch == ' ') && (ch == '\t')) {
-		ch = in.read();
-	    }
-
-	    // Read the value
-	    StringBuffer val = new StringBuffer();
-	    while ((ch >= 0) && (ch != '\n') && (ch != '\r')) {
-		if (ch == '\\') {
-		    switch (ch = in.read()) {
-		      case '\n': 
-			while (((ch = in.read()) == ' ') || (ch == '\t'));
-			continue;
-		      case 't': ch = '\t'; break;
-		      case 'n': ch = '\n'; break;
-		      case 'r': ch = '\r'; break;
-		      case 'u': {
-			while ((ch = in.read()) == 'u');
-			int d = 0;
-		      loop:
-			for (int i = 0 ; i < 4 ; i++, ch = in.read()) {
-			    switch (ch) {
-			      case '0': case '1': case '2': case '3': case '4':
-			      case '5': case '6': case '7': case '8': case '9':
-				d = (d << 4) + ch - '0';
-				break;
-			      case 'a': case 'b': case 'c': case 'd': case 'e': case 'f':
-				d = (d << 4) + 10 + ch - 'a';
-				break;
-			      case 'A': case 'B': case 'C': case 'D': case 'E': case 'F':
-				d = (d << 4) + 10 + ch - 'A';
-				break;
-			      default:
-				break loop;
-			    }	
-			}
-			ch = d;
-		      }
-		    }
-		}
-		val.append((char)ch);
-		ch = in.read();
-	    }
-
-	    //System.out.println(key + " = '" + val + "'");
-	    put(key.toString(), val.toString());
+	try {
+	    loadCount += new PropertiesLoader(in).load(this);
+	} finally {
+	    loadTime += System.currentTimeMillis() - start;
 	}
     }
 
@@ -220,6 +152,18 @@ class Properties extends Hashtable {
 	return (val == null) ? defaultValue : val;
     }
 
+    /**
+     * Returns an immutable snapshot of this property list and its
+     * defaults, flattened into a single table. Lookups in the
+     * snapshot take no locks and do not walk the chain of defaults,
+     * which makes it suitable for properties that are read often and
+     * no longer change.
+     * @see FrozenProperties
+     */
+    public FrozenProperties freeze() {
+	return new FrozenProperties(this);
+    }
+
     /**
      * Enumerates all the keys.
      */
@@ -251,7 +195,7 @@ class Properties extends Hashtable {
      * Enumerates all key/value pairs in the specified hastable.
      * @param h the hashtable
      */
-    private synchronized void enumerate(Hashtable h) {
+    synchronized void enumerate(Hashtable h) {
 	if (defaults != null) {
 	    defaults.enumerate(h);
 	}
@@ -261,3 +205,135 @@ class Properties extends Hashtable {
 	}
     }
 }
+
+/**
+ * Parses a property file for Properties.load(). The input is read in
+ * blocks, and keys and values are collected in one reused char array.
+ */
+class PropertiesLoader {
+    private InputStream in;
+    private byte buf[] = new byte[4096];
+    private int pos;
+    private int limit;
+    private char chars[] = new char[128];
+    private int count;
+
+    PropertiesLoader(InputStream in) {
+	this.in = in;
+    }
+
+    private int read() throws IOException {
+	if (pos >= limit) {
+	    pos = 0;
+	    limit = in.read(buf, 0, buf.length);
+	    if (limit <= 0) {
+		limit = 0;
+		return -1;
+	    }
+	}
+	return buf[pos++] & 0xFF;
+    }
+
+    private void append(int ch) {
+	if (count >= chars.length) {
+	    char c[] = new char[chars.length * 2];
+	    System.arraycopy(chars, 0, c, 0, count);
+	    chars = c;
+	}
+	chars[count++] = (char)ch;
+    }
+
+    /**
+     * Reads all the properties and puts them in props.
+     * @return the number of properties read.
+     */
+    int load(Properties props) throws IOException {
+	int n = 0;
+	int ch = read();
+	while (true) {
+	    switch (ch) {
+	      case -1:
+		return n;
+
+	      case '#':
+	      case '!':
+		do {
+		    ch = read();
+		} while ((ch >= 0) && (ch != '\n') && (ch != '\r'));
+		continue;
+
+	      case '\n':
+	      case '\r':
+	      case ' ':
+	      case '\t':
+		ch = read();
+		continue;
+	    }
+
+	    // Read the key
+	    count = 0;
+	    while ((ch >= 0) && (ch != '=') && (ch != ':') && 
+		   (ch != ' ') && (ch != '\t') && (ch != '\n') && (ch != '\r')) {
+		append(ch);
+		ch = read();
+	    }
+	    String key = new String(chars, 0, count);
+	    while ((ch == ' ') || (ch == '\t')) {
+		ch = read();
+	    }
+	    if ((ch == '=') || (ch == ':')) {
+		ch = read();
+	    }
+	    while ((ch == ' ') || (ch == '\t')) {
+		ch = read();
+	    }
+
+	    // Read the value
+	    count = 0;
+	    while ((ch >= 0) && (ch != '\n') && (ch != '\r')) {
+		if (ch == '\\') {
+		    switch (ch = read()) {
+		      case -1:
+			continue;
+		      case '\r':
+			if ((ch = read()) == '\n') {
+			    ch = read();
+			}
+			while ((ch == ' ') || (ch == '\t')) {
+			    ch = read();
+			}
+			continue;
+		      case '\n': 
+			while (((ch = read()) == ' ') || (ch == '\t'));
+			continue;
+		      case 't': ch = '\t'; break;
+		      case 'n': ch = '\n'; break;
+		      case 'r': ch = '\r'; break;
+		      case 'u': {
+			while ((ch = read()) == 'u');
+			int d = 0;
+			int i = 0;
+			int v;
+			while ((i < 4) && ((v = Character.digit((char)ch, 16)) >= 0)) {
+			    d = (d << 4) + v;
+			    if (++i < 4) {
+				ch = read();
+			    }
+			}
+			append(d);
+			if (i == 4) {
+			    ch = read();
+			}
+			continue;
+		      }
+		    }
+		}
+		append(ch);
+		ch = read();
+	    }
+
+	    props.put(key, new String(chars, 0, count));
+	    n++;
+	}
+    }
+}
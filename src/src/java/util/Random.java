@@ -50,7 +50,12 @@ package java.util;
  *    nextGaussian()
  * </pre>
  *
+ * A Random is synchronized. Threads that draw many numbers should each
+ * use their own generator, for instance one obtained from
+ * SplittableRandom.split().
+ *
  * @see Math#random
+ * @see SplittableRandom
  * @version 	1.1, 27 Jul 1995
  * @author	Frank Yellin
 
@@ -113,7 +118,7 @@ class Random {
      */
     public long nextLong() {
         // it's okay that the bottom word remains signed.
-        return (next(32) << 32L) + next(32);
+        return ((long)(next(32)) << 32) + next(32);
     }
 
     /**
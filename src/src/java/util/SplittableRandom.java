@@ -0,0 +1,276 @@
+/*
+ * @(#)SplittableRandom.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+package java.util;
+
+/**
+ * A generator of pseudo-random numbers for use by a single thread.
+ * It has the same nextInt, nextLong, nextFloat, nextDouble and
+ * nextGaussian methods as Random. Unlike Random it is not
+ * synchronized, so a thread never waits for a lock to get a number.
+ * It also has methods that fill whole arrays.<p>
+ *
+ * A generator is split, not shared, between threads. split() returns
+ * a new generator whose numbers are statistically independent of
+ * those of the original. A program gives each worker thread its own
+ * split generator:
+ * <pre>
+ *	SplittableRandom master = new SplittableRandom(seed);
+ *	for (int i = 0 ; i < nthreads ; i++) {
+ *	    new Worker(master.split()).start();
+ *	}
+ * </pre>
+ * With a fixed seed the whole set of streams is repeatable.<p>
+ *
+ * The generator adds an odd constant to a 64 bit seed and scrambles
+ * the result with a 64 bit mixing function (Steele, Lea and Flood,
+ * "Fast Splittable Pseudorandom Number Generators"). Each number
+ * takes a few multiplications and no memory besides the seed.
+ *
+ * @see Random
+ * @version 	1.1, 01/22/96
+ */
+public final
+class SplittableRandom {
+    /**
+     * The golden ratio scaled to 64 bits: the increment used by
+     * default and between the seeds of generators made by
+     * new SplittableRandom().
+     */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private static final double DOUBLE_UNIT = 1.0 / (1L << 53);
+    private static final float FLOAT_UNIT = 1.0f / (1 << 24);
+
+    /**
+     * The seed of the next generator made by new SplittableRandom().
+     */
+    private static long defaultSeed = mix64(System.currentTimeMillis());
+
+    private long seed;
+    private long gamma;
+    private double nextNextGaussian;
+    private boolean haveNextNextGaussian;
+
+    private SplittableRandom(long seed, long gamma) {
+	this.seed = seed;
+	this.gamma = gamma;
+    }
+
+    /**
+     * Creates a generator using a single <CODE>long</CODE> seed.
+     * Generators created with the same seed return the same numbers.
+     * @param seed the initial seed
+     */
+    public SplittableRandom(long seed) {
+	this(seed, GOLDEN_GAMMA);
+    }
+
+    /**
+     * Creates a generator whose seed is based on the current time.
+     * Generators created this way return different numbers, even if
+     * they are created at the same time.
+     */
+    public SplittableRandom() {
+	this(nextDefaultSeed(), GOLDEN_GAMMA);
+    }
+
+    private static synchronized long nextDefaultSeed() {
+	long s = defaultSeed;
+	defaultSeed = s + 2 * GOLDEN_GAMMA;
+	return mix64(s);
+    }
+
+    private static long mix64(long z) {
+	z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+	z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+	return z ^ (z >>> 31);
+    }
+
+    private static int mix32(long z) {
+	z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+	return (int)(((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    /**
+     * Turns a seed into an increment for a split generator: odd, and
+     * with enough bit transitions to spread the seeds well.
+     */
+    private static long mixGamma(long z) {
+	z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+	z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+	z = (z ^ (z >>> 33)) | 1L;
+	int n = BitSet.bitCount(z ^ (z >>> 1));
+	return (n < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+
+    /**
+     * Returns a new generator whose numbers are independent of this
+     * one's. This generator moves on by two numbers.
+     */
+    public SplittableRandom split() {
+	long s = nextLong();
+	return new SplittableRandom(s, mixGamma(seed += gamma));
+    }
+
+    /**
+     * Generates a pseudorandom uniformly distributed
+     * <CODE>int</CODE> value.
+     * @return an integer value.
+     */
+    public int nextInt() {
+	return mix32(seed += gamma);
+    }
+
+    /**
+     * Generates a pseudorandom uniformly distributed
+     * <CODE>int</CODE> value between 0 (inclusive) and bound
+     * (exclusive).
+     * @param bound the upper bound, which must be positive
+     * @exception IllegalArgumentException If bound is not positive.
+     */
+    public int nextInt(int bound) {
+	if (bound <= 0) {
+	    throw new IllegalArgumentException("bound must be positive");
+	}
+	int r = mix32(seed += gamma);
+	int m = bound - 1;
+	if ((bound & m) == 0) {
+	    // power of two: the mixed bits are all equally good
+	    return r & m;
+	}
+	// reject the values that would favour the low results
+	for (int u = r >>> 1 ; u + m - (r = u % bound) < 0 ; u = mix32(seed += gamma) >>> 1) {
+	}
+	return r;
+    }
+
+    /**
+     * Generates a pseudorandom uniformly distributed
+     * <CODE>long</CODE> value.
+     * @return a long integer value.
+     */
+    public long nextLong() {
+	return mix64(seed += gamma);
+    }
+
+    /**
+     * Generates a pseudorandom uniformly distributed
+     * <CODE>float</CODE> value between 0.0 (inclusive) and 1.0
+     * (exclusive).
+     */
+    public float nextFloat() {
+	return (mix32(seed += gamma) >>> 8) * FLOAT_UNIT;
+    }
+
+    /**
+     * Generates a pseudorandom uniformly distributed
+     * <CODE>double</CODE> value between 0.0 (inclusive) and 1.0
+     * (exclusive).
+     */
+    public double nextDouble() {
+	return (mix64(seed += gamma) >>> 11) * DOUBLE_UNIT;
+    }
+
+    /**
+     * Generates a pseudorandom Gaussian distributed
+     * <CODE>double</CODE> value with mean 0.0 and standard
+     * deviation 1.0.
+     * @return a Gaussian distributed <CODE>double</CODE>.
+     */
+    public double nextGaussian() {
+	// See Knuth, ACP, Section 3.4.1 Algorithm C.
+	if (haveNextNextGaussian) {
+	    haveNextNextGaussian = false;
+	    return nextNextGaussian;
+	}
+	double v1, v2, s;
+	do {
+	    v1 = 2 * nextDouble() - 1; // between -1 and 1
+	    v2 = 2 * nextDouble() - 1; // between -1 and 1
+	    s = v1 * v1 + v2 * v2;
+	} while ((s >= 1) || (s == 0));
+	double multiplier = Math.sqrt(-2 * Math.log(s)/s);
+	nextNextGaussian = v2 * multiplier;
+	haveNextNextGaussian = true;
+	return v1 * multiplier;
+    }
+
+    /**
+     * Fills part of an array with pseudorandom <CODE>int</CODE> values,
+     * the same values as len calls of nextInt() would return.
+     * @param dst the array to fill
+     * @param off the index of the first element to fill
+     * @param len the number of elements to fill
+     */
+    public void nextInts(int dst[], int off, int len) {
+	long s = seed;
+	long g = gamma;
+	for (int end = off + len ; off < end ; off++) {
+	    dst[off] = mix32(s += g);
+	}
+	seed = s;
+    }
+
+    /**
+     * Fills part of an array with pseudorandom <CODE>int</CODE> values
+     * between 0 (inclusive) and bound (exclusive).
+     * @param dst the array to fill
+     * @param off the index of the first element to fill
+     * @param len the number of elements to fill
+     * @param bound the upper bound, which must be positive
+     * @exception IllegalArgumentException If bound is not positive.
+     */
+    public void nextInts(int dst[], int off, int len, int bound) {
+	for (int end = off + len ; off < end ; off++) {
+	    dst[off] = nextInt(bound);
+	}
+    }
+
+    /**
+     * Fills part of an array with pseudorandom <CODE>double</CODE>
+     * values between 0.0 (inclusive) and 1.0 (exclusive), the same
+     * values as len calls of nextDouble() would return.
+     * @param dst the array to fill
+     * @param off the index of the first element to fill
+     * @param len the number of elements to fill
+     */
+    public void nextDoubles(double dst[], int off, int len) {
+	long s = seed;
+	long g = gamma;
+	for (int end = off + len ; off < end ; off++) {
+	    dst[off] = (mix64(s += g) >>> 11) * DOUBLE_UNIT;
+	}
+	seed = s;
+    }
+
+    /**
+     * Fills part of an array with pseudorandom Gaussian distributed
+     * <CODE>double</CODE> values with mean 0.0 and standard deviation
+     * 1.0.
+     * @param dst the array to fill
+     * @param off the index of the first element to fill
+     * @param len the number of elements to fill
+     */
+    public void nextGaussians(double dst[], int off, int len) {
+	for (int end = off + len ; off < end ; off++) {
+	    dst[off] = nextGaussian();
+	}
+    }
+}
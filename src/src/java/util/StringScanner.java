@@ -0,0 +1,345 @@
+/*
+ * @(#)StringScanner.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+package java.util;
+
+/**
+ * A reusable tokenizer that reports where tokens are instead of
+ * returning them as Strings. A StringScanner is reset onto a String
+ * or a range of a char array, and each call to next() moves to the
+ * next token, whose bounds are then given by start() and end().
+ * Nothing is allocated while scanning; token() makes a String only
+ * for the tokens that need one. The delimiters work as in
+ * StringTokenizer, and ASCII delimiters are looked up in a bitmap.<p>
+ *
+ * Example usage, splitting "name=value" pairs:
+ * <pre>
+ *	StringScanner pairs = new StringScanner("&");
+ *	StringScanner parts = new StringScanner("=");
+ *	pairs.reset(query);
+ *	while (pairs.next()) {
+ *	    parts.reset(query, pairs.start(), pairs.end());
+ *	    if (parts.next() && parts.tokenEquals("name") && parts.next()) {
+ *		name = parts.token();
+ *	    }
+ *	}
+ * </pre>
+ * A StringScanner is not synchronized.
+ *
+ * @see StringTokenizer
+ * @version 	1.1, 01/22/96
+ */
+public final
+class StringScanner {
+    private String str;
+
+    /** The characters being scanned. */
+    private char buf[];
+
+    /** The scanner's own buffer that Strings are copied into. */
+    private char copy[];
+    private int pos;
+    private int max;
+    private int tokenStart;
+    private int tokenEnd;
+
+    private String delimiters;
+    private boolean retTokens;
+    private long delimLow;
+    private long delimHigh;
+    private boolean delimOther;
+
+    /**
+     * Constructs a StringScanner with the specified delimiter set.
+     * @param delim        the delimiter String
+     * @param returnTokens returns delimiters as tokens or skip them
+     */
+    public StringScanner(String delim, boolean returnTokens) {
+	retTokens = returnTokens;
+	setDelimiters(delim);
+	buf = copy = new char[0];
+    }
+
+    /**
+     * Constructs a StringScanner with the specified delimiter set.
+     * @param delim the delimiter String
+     */
+    public StringScanner(String delim) {
+	this(delim, false);
+    }
+
+    /**
+     * Constructs a StringScanner with the default delimiter set
+     * (which is " \t\n\r").
+     */
+    public StringScanner() {
+	this(" \t\n\r", false);
+    }
+
+    /**
+     * Changes the delimiter set. It applies from the next call to
+     * next() on.
+     * @param delim the new delimiters
+     */
+    public void setDelimiters(String delim) {
+	delimiters = delim;
+	delimLow = StringTokenizer.delimiterMask(delim, 0);
+	delimHigh = StringTokenizer.delimiterMask(delim, 64);
+	delimOther = false;
+	for (int i = delim.length() ; i-- > 0 ;) {
+	    if (delim.charAt(i) >= 128) {
+		delimOther = true;
+	    }
+	}
+    }
+
+    /**
+     * Starts scanning a String. The characters are copied once into
+     * a buffer that is kept from one String to the next.
+     * @param str the String to scan
+     */
+    public void reset(String str) {
+	reset(str, 0, str.length());
+    }
+
+    /**
+     * Starts scanning part of a String. Offsets returned by start()
+     * and end() are offsets in the String.
+     * @param str the String to scan
+     * @param begin the offset of the first character to scan
+     * @param end the offset after the last character to scan
+     * @exception StringIndexOutOfBoundsException If the range is
+     * outside the String.
+     */
+    public void reset(String str, int begin, int end) {
+	if ((begin < 0) || (end > str.length()) || (begin > end)) {
+	    throw new StringIndexOutOfBoundsException(begin);
+	}
+	if (copy.length < end) {
+	    copy = new char[Math.max(end, copy.length * 2)];
+	}
+	str.getChars(begin, end, copy, begin);
+	buf = copy;
+	this.str = str;
+	pos = tokenStart = tokenEnd = begin;
+	max = end;
+    }
+
+    /**
+     * Starts scanning part of a char array. The array is used directly
+     * and must not change while it is scanned. Offsets returned by
+     * start() and end() are offsets in the array.
+     * @param chars the characters to scan
+     * @param off the offset of the first character to scan
+     * @param len the number of characters to scan
+     */
+    public void reset(char chars[], int off, int len) {
+	if ((off < 0) || (len < 0) || (off + len > chars.length)) {
+	    throw new ArrayIndexOutOfBoundsException(off + len);
+	}
+	buf = chars;
+	str = null;
+	pos = tokenStart = tokenEnd = off;
+	max = off + len;
+    }
+
+    /**
+     * Returns true if c is a delimiter.
+     */
+    private boolean isDelimiter(char c) {
+	if (c < 64) {
+	    return (delimLow & (1L << c)) != 0;
+	} else if (c < 128) {
+	    return (delimHigh & (1L << c)) != 0;
+	}
+	return delimOther && (delimiters.indexOf(c) >= 0);
+    }
+
+    /**
+     * Returns the end of the token starting at p.
+     */
+    private int scanToken(int p) {
+	char b[] = buf;
+	int start = p;
+	while ((p < max) && !isDelimiter(b[p])) {
+	    p++;
+	}
+	if (retTokens && (p == start)) {
+	    // a delimiter returned as a token
+	    p++;
+	}
+	return p;
+    }
+
+    /**
+     * Returns the first position at or after p that is not a
+     * skipped delimiter.
+     */
+    private int skipDelimiters(int p) {
+	if (!retTokens) {
+	    char b[] = buf;
+	    while ((p < max) && isDelimiter(b[p])) {
+		p++;
+	    }
+	}
+	return p;
+    }
+
+    /**
+     * Moves to the next token.
+     * @return true if there was a token, false at the end.
+     */
+    public boolean next() {
+	int p = skipDelimiters(pos);
+	if (p >= max) {
+	    pos = max;
+	    return false;
+	}
+	tokenStart = p;
+	pos = tokenEnd = scanToken(p);
+	return true;
+    }
+
+    /**
+     * Returns true if more tokens exist.
+     */
+    public boolean hasMoreTokens() {
+	return skipDelimiters(pos) < max;
+    }
+
+    /**
+     * Returns the number of tokens left, without moving.
+     */
+    public int countTokens() {
+	int count = 0;
+	for (int p = skipDelimiters(pos) ; p < max ; p = skipDelimiters(scanToken(p))) {
+	    count++;
+	}
+	return count;
+    }
+
+    /**
+     * Returns the offset of the first character of the current token.
+     */
+    public int start() {
+	return tokenStart;
+    }
+
+    /**
+     * Returns the offset after the last character of the current token.
+     */
+    public int end() {
+	return tokenEnd;
+    }
+
+    /**
+     * Returns the length of the current token.
+     */
+    public int length() {
+	return tokenEnd - tokenStart;
+    }
+
+    /**
+     * Returns the character at an offset in the current token.
+     * @param index the offset, from 0 to length() - 1
+     */
+    public char charAt(int index) {
+	if ((index < 0) || (index >= tokenEnd - tokenStart)) {
+	    throw new StringIndexOutOfBoundsException(index);
+	}
+	return buf[tokenStart + index];
+    }
+
+    /**
+     * Returns the current token as a String. If a String is being
+     * scanned, the token shares its characters.
+     */
+    public String token() {
+	if (str != null) {
+	    return str.substring(tokenStart, tokenEnd);
+	}
+	return new String(buf, tokenStart, tokenEnd - tokenStart);
+    }
+
+    /**
+     * Returns true if the current token is equal to s.
+     */
+    public boolean tokenEquals(String s) {
+	int len = tokenEnd - tokenStart;
+	if (s.length() != len) {
+	    return false;
+	}
+	char b[] = buf;
+	for (int i = 0, j = tokenStart ; i < len ; i++, j++) {
+	    if (b[j] != s.charAt(i)) {
+		return false;
+	    }
+	}
+	return true;
+    }
+
+    /**
+     * Returns true if the current token is equal to s, ignoring case.
+     */
+    public boolean tokenEqualsIgnoreCase(String s) {
+	int len = tokenEnd - tokenStart;
+	if (s.length() != len) {
+	    return false;
+	}
+	char b[] = buf;
+	for (int i = 0, j = tokenStart ; i < len ; i++, j++) {
+	    char c1 = b[j];
+	    char c2 = s.charAt(i);
+	    if ((c1 != c2) &&
+		(Character.toUpperCase(c1) != Character.toUpperCase(c2)) &&
+		(Character.toLowerCase(c1) != Character.toLowerCase(c2))) {
+		return false;
+	    }
+	}
+	return true;
+    }
+
+    /**
+     * Parses the current token as a decimal integer, without making
+     * a String.
+     * @exception NumberFormatException If the token is not a number.
+     */
+    public int tokenToInt() {
+	int i = tokenStart;
+	int end = tokenEnd;
+	boolean negative = false;
+	if ((i < end) && (buf[i] == '-')) {
+	    negative = true;
+	    i++;
+	}
+	if (i >= end) {
+	    throw new NumberFormatException(token());
+	}
+	int result = 0;
+	int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+	for (; i < end ; i++) {
+	    int digit = Character.digit(buf[i], 10);
+	    if ((digit < 0) || (result < (limit + digit) / 10)) {
+		throw new NumberFormatException(token());
+	    }
+	    result = result * 10 - digit;
+	}
+	return negative ? result : -result;
+    }
+}
@@ -42,6 +42,12 @@ import java.lang.*;
  *	a
  *	test
  * </pre>
+ * ASCII delimiters are looked up in a bitmap, so the length of the
+ * delimiter set does not slow down tokenizing.
+ * StringScanner can be used instead to get the bounds of the tokens
+ * without creating a String for each.
+ *
+ * @see StringScanner
  * @version 	1.13, 08/10/95
  */
 public
@@ -52,6 +58,14 @@ class StringTokenizer implements Enumeration {
     private String delimiters;
     private boolean retTokens;
 
+    /*
+     * The ASCII delimiters as a bitmap, and whether there are any
+     * others.
+     */
+    private long delimLow;
+    private long delimHigh;
+    private boolean delimOther;
+
     /**
      * Constructs a StringTokenizer on the specified String, using the
      * specified delimiter set.
@@ -63,8 +77,8 @@ class StringTokenizer implements Enumeration {
 	currentPosition = 0;
 	this.str = str;
 	maxPosition = str.length();
-	delimiters = delim;
 	retTokens = returnTokens;
+	setDelimiters(delim);
     }
 
     /**
@@ -86,13 +100,55 @@ class StringTokenizer implements Enumeration {
 	this(str, " \t\n\r", false);
     }
 
+    /**
+     * Sets the delimiter set and its bitmap.
+     */
+    private void setDelimiters(String delim) {
+	delimiters = delim;
+	delimLow = delimiterMask(delim, 0);
+	delimHigh = delimiterMask(delim, 64);
+	delimOther = false;
+	for (int i = delim.length() ; i-- > 0 ;) {
+	    if (delim.charAt(i) >= 128) {
+		delimOther = true;
+	    }
+	}
+    }
+
+    /**
+     * Returns a bitmap of the characters from base to base + 63 in
+     * a delimiter set.
+     */
+    static long delimiterMask(String delim, int base) {
+	long mask = 0;
+	for (int i = delim.length() ; i-- > 0 ;) {
+	    int c = delim.charAt(i) - base;
+	    if ((c >= 0) && (c < 64)) {
+		mask |= 1L << c;
+	    }
+	}
+	return mask;
+    }
+
+    /**
+     * Returns true if c is a delimiter.
+     */
+    private boolean isDelimiter(char c) {
+	if (c < 64) {
+	    return (delimLow & (1L << c)) != 0;
+	} else if (c < 128) {
+	    return (delimHigh & (1L << c)) != 0;
+	}
+	return delimOther && (delimiters.indexOf(c) >= 0);
+    }
+
     /**
      * Skips delimiters.
      */
     private void skipDelimiters() {
 	while (!retTokens &&
 	       (currentPosition < maxPosition) &&
-	       (delimiters.indexOf(str.charAt(currentPosition)) >= 0)) {
+	       isDelimiter(str.charAt(currentPosition))) {
 	    currentPosition++;
 	}
     }
@@ -119,11 +175,11 @@ class StringTokenizer implements Enumeration {
 
 	int start = currentPosition;
 	while ((currentPosition < maxPosition) && 
-	       (delimiters.indexOf(str.charAt(currentPosition)) < 0)) {
+	       !isDelimiter(str.charAt(currentPosition))) {
 	    currentPosition++;
 	}
 	if (retTokens && (start == currentPosition) &&
-	    (delimiters.indexOf(str.charAt(currentPosition)) >= 0)) {
+	    isDelimiter(str.charAt(currentPosition))) {
 	    currentPosition++;
 	}
 	return str.substring(start, currentPosition);
@@ -135,7 +191,7 @@ class StringTokenizer implements Enumeration {
      * @param delim the new delimiters
      */
     public String nextToken(String delim) {
-	delimiters = delim;
+	setDelimiters(delim);
 	return nextToken();
     }
 
@@ -174,7 +230,7 @@ class StringTokenizer implements Enumeration {
 	     */
 	    while (!retTokens &&
 		   (currpos < maxPosition) &&
-		   (delimiters.indexOf(str.charAt(currpos)) >= 0)) {
+		   isDelimiter(str.charAt(currpos))) {
 		currpos++;
 	    }
 
@@ -184,11 +240,11 @@ class StringTokenizer implements Enumeration {
 
 	    int start = currpos;
 	    while ((currpos < maxPosition) && 
-		   (delimiters.indexOf(str.charAt(currpos)) < 0)) {
+		   !isDelimiter(str.charAt(currpos))) {
 		currpos++;
 	    }
 	    if (retTokens && (start == currpos) &&
-		(delimiters.indexOf(str.charAt(currpos)) >= 0)) {
+		isDelimiter(str.charAt(currpos))) {
 		currpos++;
 	    }
 	    count++;
@@ -0,0 +1,454 @@
+/*
+ * @(#)SymbolTable.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+package java.util;
+
+/**
+ * SymbolTable collision list entry. The used flag is the second
+ * chance bit of the clock that picks entries to evict.
+ */
+class SymbolTableEntry {
+    int hash;
+    String symbol;
+    SymbolTableEntry next;
+    boolean used;
+
+    SymbolTableEntry(int hash, String symbol, SymbolTableEntry next) {
+	this.hash = hash;
+	this.symbol = symbol;
+	this.next = next;
+    }
+}
+
+/**
+ * One lock stripe of a SymbolTable. It holds at most ring.length
+ * symbols; when it is full a new symbol replaces one that has not
+ * been looked up since the clock hand last passed it.
+ */
+final
+class SymbolTableStripe {
+    /**
+     * The hash chains. The length is a power of two.
+     */
+    SymbolTableEntry table[];
+
+    /**
+     * The entries, in the order the clock visits them.
+     */
+    SymbolTableEntry ring[];
+    int count;
+    int hand;
+
+    long hits;
+    long misses;
+    long evictions;
+
+    SymbolTableStripe(int capacity) {
+	int n = 1;
+	while (n < capacity * 2) {
+	    n <<= 1;
+	}
+	table = new SymbolTableEntry[n];
+	ring = new SymbolTableEntry[capacity];
+    }
+
+    synchronized String get(char buf[], int off, int len, int hash, boolean add) {
+	for (SymbolTableEntry e = table[hash & (table.length - 1)] ; e != null ; e = e.next) {
+	    if (e.hash == hash) {
+		String s = e.symbol;
+		if (s.length() == len) {
+		    int i = 0;
+		    while ((i < len) && (s.charAt(i) == buf[off + i])) {
+			i++;
+		    }
+		    if (i == len) {
+			e.used = true;
+			hits++;
+			return s;
+		    }
+		}
+	    }
+	}
+	if (!add) {
+	    return null;
+	}
+	return add(hash, new String(buf, off, len));
+    }
+
+    synchronized String get(byte buf[], int off, int len, int hash, boolean add) {
+	for (SymbolTableEntry e = table[hash & (table.length - 1)] ; e != null ; e = e.next) {
+	    if (e.hash == hash) {
+		String s = e.symbol;
+		if (s.length() == len) {
+		    int i = 0;
+		    while ((i < len) && (s.charAt(i) == (buf[off + i] & 0xff))) {
+			i++;
+		    }
+		    if (i == len) {
+			e.used = true;
+			hits++;
+			return s;
+		    }
+		}
+	    }
+	}
+	if (!add) {
+	    return null;
+	}
+	return add(hash, new String(buf, 0, off, len));
+    }
+
+    synchronized String get(String str, int hash, boolean add) {
+	for (SymbolTableEntry e = table[hash & (table.length - 1)] ; e != null ; e = e.next) {
+	    if ((e.hash == hash) && e.symbol.equals(str)) {
+		e.used = true;
+		hits++;
+		return e.symbol;
+	    }
+	}
+	if (!add) {
+	    return null;
+	}
+	// str may be a substring sharing a much larger array
+	return add(hash, new String(str));
+    }
+
+    /**
+     * Adds a symbol that is known not to be in the stripe, evicting
+     * another one if the stripe is full.
+     */
+    private String add(int hash, String symbol) {
+	misses++;
+	int index = hash & (table.length - 1);
+	SymbolTableEntry e = new SymbolTableEntry(hash, symbol, table[index]);
+	table[index] = e;
+	if (count < ring.length) {
+	    ring[count++] = e;
+	    return symbol;
+	}
+	SymbolTableEntry victim;
+	while ((victim = ring[hand]).used) {
+	    victim.used = false;
+	    hand = (hand + 1) % ring.length;
+	}
+	unlink(victim);
+	evictions++;
+	ring[hand] = e;
+	hand = (hand + 1) % ring.length;
+	return symbol;
+    }
+
+    private void unlink(SymbolTableEntry victim) {
+	int index = victim.hash & (table.length - 1);
+	SymbolTableEntry prev = null;
+	for (SymbolTableEntry e = table[index] ; e != null ; prev = e, e = e.next) {
+	    if (e == victim) {
+		if (prev == null) {
+		    table[index] = e.next;
+		} else {
+		    prev.next = e.next;
+		}
+		return;
+	    }
+	}
+    }
+
+    synchronized void clear() {
+	for (int i = table.length ; i-- > 0 ;) {
+	    table[i] = null;
+	}
+	for (int i = ring.length ; i-- > 0 ;) {
+	    ring[i] = null;
+	}
+	count = 0;
+	hand = 0;
+    }
+}
+
+/**
+ * A table of canonical Strings for the names a parser produces over
+ * and over again, such as tag names, attribute names and header keys.
+ * Unlike String.intern(), a SymbolTable can look a symbol up directly
+ * in the characters or bytes of an input buffer, so that a String is
+ * only made the first time a name is seen:
+ * <pre>
+ *	SymbolTable names = new SymbolTable(1024);
+ *	...
+ *	String tag = names.intern(buf, start, pos - start);
+ * </pre>
+ * The same characters, whether given as chars, as bytes (ISO Latin-1,
+ * as with the String(byte[], 0, ...) constructor) or as a String,
+ * always map to the same String while it is in the table.<p>
+ *
+ * The table holds at most maxSize symbols, so a stream of names that
+ * never repeat cannot make it grow without bound. When it is full,
+ * symbols that have not been used recently are dropped; a dropped
+ * symbol is made again when it is next seen, and is then no longer
+ * identical (==) to the String handed out before. Callers that compare
+ * symbols by identity must size the table for all the names they use.<p>
+ *
+ * The table is split into independently locked stripes, so threads
+ * interning different names seldom wait for each other. The hit and
+ * miss counts show how well the table is working.
+ *
+ * @see java.lang.String#intern
+ * @version 	1.1, 01/22/96
+ */
+public
+class SymbolTable {
+    private SymbolTableStripe stripes[];
+    private int stripeShift;
+    private int maxSize;
+
+    /**
+     * Constructs a symbol table.
+     * @param maxSize the largest number of symbols kept
+     * @param concurrencyLevel the estimated number of threads that
+     *		use the table at the same time
+     * @exception IllegalArgumentException If either argument is less
+     * than or equal to zero.
+     */
+    public SymbolTable(int maxSize, int concurrencyLevel) {
+	if ((maxSize <= 0) || (concurrencyLevel <= 0)) {
+	    throw new IllegalArgumentException();
+	}
+	int shift = 0;
+	int nstripes = 1;
+	while ((nstripes < concurrencyLevel) && (nstripes * 2 <= maxSize) && (shift < 16)) {
+	    shift++;
+	    nstripes <<= 1;
+	}
+	stripeShift = 32 - shift;
+	stripes = new SymbolTableStripe[nstripes];
+	int perStripe = (maxSize + nstripes - 1) / nstripes;
+	for (int i = 0 ; i < nstripes ; i++) {
+	    stripes[i] = new SymbolTableStripe(perStripe);
+	}
+	this.maxSize = perStripe * nstripes;
+    }
+
+    /**
+     * Constructs a symbol table with the default concurrency level.
+     * @param maxSize the largest number of symbols kept
+     */
+    public SymbolTable(int maxSize) {
+	this(maxSize, 16);
+    }
+
+    /**
+     * Constructs a symbol table for 4096 symbols.
+     */
+    public SymbolTable() {
+	this(4096, 16);
+    }
+
+    /**
+     * Spreads the bits of a hash so that both the stripe index (taken
+     * from the high bits) and the bucket index (taken from the low bits)
+     * depend on all of them. Hashes of short names are small numbers,
+     * so the multiply is needed to reach the high bits at all.
+     */
+    private static int spread(int h) {
+	h *= 0x9e3779b9;
+	return h ^ (h >>> 16);
+    }
+
+    private SymbolTableStripe stripeFor(int hash) {
+	return (stripeShift == 32) ? stripes[0] : stripes[hash >>> stripeShift];
+    }
+
+    private static int hash(char buf[], int off, int len) {
+	int h = 0;
+	for (int end = off + len ; off < end ; off++) {
+	    h = 31 * h + buf[off];
+	}
+	return spread(h);
+    }
+
+    private static int hash(byte buf[], int off, int len) {
+	int h = 0;
+	for (int end = off + len ; off < end ; off++) {
+	    h = 31 * h + (buf[off] & 0xff);
+	}
+	return spread(h);
+    }
+
+    private static int hash(String str) {
+	int h = 0;
+	int len = str.length();
+	for (int i = 0 ; i < len ; i++) {
+	    h = 31 * h + str.charAt(i);
+	}
+	return spread(h);
+    }
+
+    /**
+     * Returns the canonical String for a range of characters, adding
+     * it to the table if it is not there.
+     * @param buf the characters
+     * @param off the offset of the first character
+     * @param len the number of characters
+     */
+    public String intern(char buf[], int off, int len) {
+	int hash = hash(buf, off, len);
+	return stripeFor(hash).get(buf, off, len, hash, true);
+    }
+
+    /**
+     * Returns the canonical String for a range of bytes, each byte
+     * being one ISO Latin-1 character, adding it to the table if it
+     * is not there.
+     * @param buf the bytes
+     * @param off the offset of the first byte
+     * @param len the number of bytes
+     */
+    public String intern(byte buf[], int off, int len) {
+	int hash = hash(buf, off, len);
+	return stripeFor(hash).get(buf, off, len, hash, true);
+    }
+
+    /**
+     * Returns the canonical String equal to str, adding a compact copy
+     * of str to the table if there is none.
+     * @param str the String
+     */
+    public String intern(String str) {
+	int hash = hash(str);
+	return stripeFor(hash).get(str, hash, true);
+    }
+
+    /**
+     * Returns the canonical String for a range of characters, or null
+     * if it is not in the table. The table is not changed.
+     * @param buf the characters
+     * @param off the offset of the first character
+     * @param len the number of characters
+     */
+    public String lookup(char buf[], int off, int len) {
+	int hash = hash(buf, off, len);
+	return stripeFor(hash).get(buf, off, len, hash, false);
+    }
+
+    /**
+     * Returns the canonical String for a range of bytes, or null if
+     * it is not in the table. The table is not changed.
+     * @param buf the bytes
+     * @param off the offset of the first byte
+     * @param len the number of bytes
+     */
+    public String lookup(byte buf[], int off, int len) {
+	int hash = hash(buf, off, len);
+	return stripeFor(hash).get(buf, off, len, hash, false);
+    }
+
+    /**
+     * Returns the canonical String equal to str, or null if it is not
+     * in the table. The table is not changed.
+     * @param str the String
+     */
+    public String lookup(String str) {
+	int hash = hash(str);
+	return stripeFor(hash).get(str, hash, false);
+    }
+
+    /**
+     * Returns the largest number of symbols the table keeps.
+     */
+    public int getMaxSize() {
+	return maxSize;
+    }
+
+    /**
+     * Returns the number of symbols in the table.
+     */
+    public int size() {
+	int n = 0;
+	for (int i = stripes.length ; i-- > 0 ;) {
+	    SymbolTableStripe s = stripes[i];
+	    synchronized (s) {
+		n += s.count;
+	    }
+	}
+	return n;
+    }
+
+    /**
+     * Returns the number of lookups that found their symbol.
+     */
+    public long getHitCount() {
+	long n = 0;
+	for (int i = stripes.length ; i-- > 0 ;) {
+	    SymbolTableStripe s = stripes[i];
+	    synchronized (s) {
+		n += s.hits;
+	    }
+	}
+	return n;
+    }
+
+    /**
+     * Returns the number of symbols that had to be added.
+     */
+    public long getMissCount() {
+	long n = 0;
+	for (int i = stripes.length ; i-- > 0 ;) {
+	    SymbolTableStripe s = stripes[i];
+	    synchronized (s) {
+		n += s.misses;
+	    }
+	}
+	return n;
+    }
+
+    /**
+     * Returns the number of symbols dropped to make room for others.
+     */
+    public long getEvictionCount() {
+	long n = 0;
+	for (int i = stripes.length ; i-- > 0 ;) {
+	    SymbolTableStripe s = stripes[i];
+	    synchronized (s) {
+		n += s.evictions;
+	    }
+	}
+	return n;
+    }
+
+    /**
+     * Removes all symbols. The counts are kept.
+     */
+    public void clear() {
+	for (int i = stripes.length ; i-- > 0 ;) {
+	    stripes[i].clear();
+	}
+    }
+
+    /**
+     * Returns a String representation of the table's size and counts.
+     */
+    public String toString() {
+	long hits = getHitCount();
+	long misses = getMissCount();
+	long total = hits + misses;
+	return getClass().getName() + "[size=" + size() + ",maxSize=" + maxSize +
+	    ",hits=" + hits + ",misses=" + misses +
+	    ",evictions=" + getEvictionCount() +
+	    ",hitRate=" + ((total == 0) ? 0 : (hits * 100 / total)) + "%]";
+    }
+}
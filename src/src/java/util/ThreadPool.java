@@ -0,0 +1,357 @@
+/*
+ * @(#)ThreadPool.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+package java.util;
+
+/**
+ * A worker thread of a ThreadPool.
+ */
+class ThreadPoolWorker extends Thread {
+    ThreadPool pool;
+
+    ThreadPoolWorker(ThreadPool pool, ThreadGroup group, String name) {
+	super(group, name);
+	this.pool = pool;
+    }
+
+    public void run() {
+	pool.work();
+    }
+}
+
+/**
+ * A pool of worker threads that run Runnable tasks from a bounded
+ * queue, so that a thread is not created and thrown away for every
+ * unit of work.<p>
+ *
+ * The pool keeps up to coreSize threads alive while it is idle.
+ * When tasks arrive faster than the idle workers can take them, more
+ * threads are started, up to maxSize; the threads above coreSize exit
+ * again once they have been idle for keepAlive milliseconds. When all
+ * maxSize threads are busy and the queue is full, execute() waits for
+ * room. The workers belong to a ThreadGroup of their own, named after
+ * the pool.<p>
+ *
+ * Every task gets a ThreadPoolTask handle to wait on. An exception
+ * thrown by a task does not kill its worker; it is kept in the handle.
+ * Example:
+ * <pre>
+ *	ThreadPool pool = new ThreadPool("fetcher", 2, 8, 100, 30000);
+ *	ThreadPoolTask t = pool.execute(fetcher);
+ *	...
+ *	t.waitFor();
+ *	pool.shutdown();
+ * </pre>
+ *
+ * @see ThreadPoolTask
+ * @version 	1.1, 01/22/96
+ */
+public
+class ThreadPool {
+    private String name;
+    private ThreadGroup group;
+    private int coreSize;
+    private int maxSize;
+    private long keepAlive;
+    private boolean daemon;
+
+    /**
+     * The queued tasks, in a circular buffer.
+     */
+    private ThreadPoolTask queue[];
+    private int head;
+    private int count;
+
+    private int poolSize;
+    private int idleCount;
+    private int blockedCount;
+    private int threadNumber;
+    private long completedCount;
+    private boolean shutdown;
+
+    /**
+     * Creates a thread pool.
+     * @param name	the name of the pool, its ThreadGroup and (with a
+     *			number added) its threads
+     * @param coreSize	the number of threads kept when idle
+     * @param maxSize	the largest number of threads
+     * @param queueSize	the largest number of tasks waiting to run
+     * @param keepAlive	how long, in milliseconds, threads above
+     *			coreSize may be idle before they exit
+     * @exception IllegalArgumentException If the sizes are not valid.
+     */
+    public ThreadPool(String name, int coreSize, int maxSize, int queueSize, long keepAlive) {
+	if ((coreSize < 0) || (maxSize <= 0) || (maxSize < coreSize) ||
+	    (queueSize <= 0) || (keepAlive < 0)) {
+	    throw new IllegalArgumentException();
+	}
+	this.name = name;
+	this.coreSize = coreSize;
+	this.maxSize = maxSize;
+	this.keepAlive = keepAlive;
+	queue = new ThreadPoolTask[queueSize];
+	group = new ThreadGroup(name);
+    }
+
+    /**
+     * Creates a thread pool with a fixed number of threads.
+     * @param name	the name of the pool
+     * @param size	the number of threads
+     */
+    public ThreadPool(String name, int size) {
+	this(name, size, size, Math.max(size * 4, 16), 0);
+    }
+
+    /**
+     * Returns the name of the pool.
+     */
+    public String getName() {
+	return name;
+    }
+
+    /**
+     * Returns the ThreadGroup the workers belong to.
+     */
+    public ThreadGroup getThreadGroup() {
+	return group;
+    }
+
+    /**
+     * Sets whether threads started from now on are daemon threads.
+     * @param on	true for daemon threads
+     */
+    public synchronized void setDaemon(boolean on) {
+	daemon = on;
+    }
+
+    /**
+     * Queues a task to run on one of the workers, starting a new worker
+     * if none is free. If all workers are busy and the queue is full,
+     * waits until there is room.
+     * @param task	the task
+     * @return 		a handle on the task.
+     * @exception InterruptedException If another thread has interrupted
+     * this thread while it was waiting for room.
+     * @exception IllegalThreadStateException If the pool has been shut down.
+     */
+    public synchronized ThreadPoolTask execute(Runnable task) throws InterruptedException {
+	if (task == null) {
+	    throw new NullPointerException();
+	}
+	while (!shutdown && (count == queue.length)) {
+	    blockedCount++;
+	    try {
+		wait();
+	    } finally {
+		blockedCount--;
+	    }
+	}
+	if (shutdown) {
+	    throw new IllegalThreadStateException("thread pool " + name + " is shut down");
+	}
+	ThreadPoolTask t = new ThreadPoolTask(task);
+	queue[(head + count) % queue.length] = t;
+	count++;
+
+	if ((poolSize < coreSize) || ((count > idleCount) && (poolSize < maxSize))) {
+	    startWorker();
+	} else if ((blockedCount > 0) || (idleCount > 0)) {
+	    // Idle workers share this monitor with blocked submitters and
+	    // with threads in awaitTermination(), so a single notify()
+	    // could wake one of those instead of a worker.
+	    notifyAll();
+	}
+	return t;
+    }
+
+    /**
+     * Starts one more worker.
+     */
+    private void startWorker() {
+	Thread w = new ThreadPoolWorker(this, group, name + "-" + (++threadNumber));
+	w.setDaemon(daemon);
+	poolSize++;
+	w.start();
+    }
+
+    /**
+     * Takes the next task for a worker, waiting for one if the queue
+     * is empty. Returns null, and counts the worker out, if the worker
+     * should exit.
+     */
+    private synchronized ThreadPoolTask take() {
+	long idleSince = System.currentTimeMillis();
+	while (count == 0) {
+	    if (shutdown) {
+		poolSize--;
+		notifyAll();
+		return null;
+	    }
+	    long delay = 0;
+	    if (poolSize > coreSize) {
+		delay = keepAlive - (System.currentTimeMillis() - idleSince);
+		if (delay <= 0) {
+		    poolSize--;
+		    return null;
+		}
+	    }
+	    idleCount++;
+	    try {
+		wait(delay);
+	    } catch (InterruptedException e) {
+	    } finally {
+		idleCount--;
+	    }
+	}
+	ThreadPoolTask t = queue[head];
+	queue[head] = null;
+	head = (head + 1) % queue.length;
+	count--;
+	if (blockedCount > 0) {
+	    notifyAll();
+	}
+	return t;
+    }
+
+    /**
+     * The main loop of a worker.
+     */
+    void work() {
+	ThreadPoolTask t = null;
+	try {
+	    while ((t = take()) != null) {
+		if (t.begin()) {
+		    Throwable exception = null;
+		    try {
+			t.task.run();
+		    } catch (ThreadDeath e) {
+			t.finish(e);
+			throw e;
+		    } catch (Throwable e) {
+			exception = e;
+		    }
+		    t.finish(exception);
+		    synchronized (this) {
+			completedCount++;
+		    }
+		}
+		t = null;
+	    }
+	} finally {
+	    if (t != null) {
+		// the worker is dying in the middle of a task
+		synchronized (this) {
+		    poolSize--;
+		    notifyAll();
+		}
+	    }
+	}
+    }
+
+    /**
+     * Stops accepting tasks. The tasks already queued still run, and
+     * the workers exit once the queue is empty.
+     */
+    public synchronized void shutdown() {
+	shutdown = true;
+	notifyAll();
+    }
+
+    /**
+     * Stops accepting tasks and cancels the ones that have not started.
+     * Tasks that are running are left to finish.
+     * @return 	the number of tasks cancelled.
+     */
+    public synchronized int shutdownNow() {
+	int n = 0;
+	for (; count > 0 ; count--) {
+	    if (queue[head].cancel()) {
+		n++;
+	    }
+	    queue[head] = null;
+	    head = (head + 1) % queue.length;
+	}
+	shutdown();
+	return n;
+    }
+
+    /**
+     * Returns true if the pool has been shut down.
+     */
+    public synchronized boolean isShutdown() {
+	return shutdown;
+    }
+
+    /**
+     * Waits at most millis milliseconds for all the workers to exit
+     * after the pool has been shut down.
+     * @param millis	the time to wait, in milliseconds
+     * @return 		true if all the workers have exited.
+     * @exception InterruptedException If another thread has interrupted
+     * this thread.
+     */
+    public synchronized boolean awaitTermination(long millis) throws InterruptedException {
+	long deadline = System.currentTimeMillis() + millis;
+	while (!shutdown || (poolSize > 0)) {
+	    long delay = deadline - System.currentTimeMillis();
+	    if (delay <= 0) {
+		return false;
+	    }
+	    wait(delay);
+	}
+	return true;
+    }
+
+    /**
+     * Returns the number of live worker threads.
+     */
+    public synchronized int getPoolSize() {
+	return poolSize;
+    }
+
+    /**
+     * Returns the number of workers running a task.
+     */
+    public synchronized int getActiveCount() {
+	return poolSize - idleCount;
+    }
+
+    /**
+     * Returns the number of tasks waiting to run.
+     */
+    public synchronized int getQueueSize() {
+	return count;
+    }
+
+    /**
+     * Returns the number of tasks that have run to completion.
+     */
+    public synchronized long getCompletedCount() {
+	return completedCount;
+    }
+
+    /**
+     * Returns a String representation of the pool.
+     */
+    public synchronized String toString() {
+	return getClass().getName() + "[name=" + name + ",threads=" + poolSize +
+	    ",active=" + (poolSize - idleCount) + ",queued=" + count +
+	    ",completed=" + completedCount + (shutdown ? ",shutdown]" : "]");
+    }
+}
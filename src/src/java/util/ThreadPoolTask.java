@@ -0,0 +1,145 @@
+/*
+ * @(#)ThreadPoolTask.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+
+package java.util;
+
+/**
+ * A handle on a task given to a ThreadPool. It can be used to wait
+ * for the task to finish, to find out whether it threw an exception,
+ * or to cancel it before a worker has picked it up.
+ *
+ * @see ThreadPool
+ * @version 	1.1, 01/22/96
+ */
+public
+class ThreadPoolTask {
+    Runnable task;
+    private boolean running;
+    private boolean done;
+    private boolean cancelled;
+    private Throwable exception;
+
+    ThreadPoolTask(Runnable task) {
+	this.task = task;
+    }
+
+    /**
+     * Returns the Runnable this handle was made for.
+     */
+    public Runnable getTask() {
+	return task;
+    }
+
+    /**
+     * Returns true if the task has finished or was cancelled.
+     */
+    public synchronized boolean isDone() {
+	return done;
+    }
+
+    /**
+     * Returns true if the task was cancelled before it started.
+     */
+    public synchronized boolean isCancelled() {
+	return cancelled;
+    }
+
+    /**
+     * Returns the exception or error the task ended with, or null
+     * if it returned normally or has not finished yet.
+     */
+    public synchronized Throwable getException() {
+	return exception;
+    }
+
+    /**
+     * Waits for the task to finish.
+     * @exception InterruptedException If another thread has interrupted
+     * this thread.
+     */
+    public synchronized void waitFor() throws InterruptedException {
+	while (!done) {
+	    wait();
+	}
+    }
+
+    /**
+     * Waits at most millis milliseconds for the task to finish.
+     * @param millis	the time to wait, in milliseconds
+     * @return 		true if the task is done.
+     * @exception InterruptedException If another thread has interrupted
+     * this thread.
+     */
+    public synchronized boolean waitFor(long millis) throws InterruptedException {
+	long deadline = System.currentTimeMillis() + millis;
+	while (!done) {
+	    long delay = deadline - System.currentTimeMillis();
+	    if (delay <= 0) {
+		return false;
+	    }
+	    wait(delay);
+	}
+	return true;
+    }
+
+    /**
+     * Cancels the task if no worker has started it yet.
+     * @return 	true if the task was cancelled, false if it has
+     *		already started or finished.
+     */
+    public synchronized boolean cancel() {
+	if (running || done) {
+	    return false;
+	}
+	cancelled = true;
+	done = true;
+	notifyAll();
+	return true;
+    }
+
+    /**
+     * Marks the task as started. Returns false if it was cancelled.
+     */
+    synchronized boolean begin() {
+	if (done) {
+	    return false;
+	}
+	running = true;
+	return true;
+    }
+
+    /**
+     * Marks the task as finished and wakes up the threads waiting
+     * for it.
+     */
+    synchronized void finish(Throwable e) {
+	exception = e;
+	running = false;
+	done = true;
+	notifyAll();
+    }
+
+    /**
+     * Returns a String representation of the task's state.
+     */
+    public synchronized String toString() {
+	String state = cancelled ? "cancelled" : done ? "done" : running ? "running" : "queued";
+	return getClass().getName() + "[" + task + "," + state + "]";
+    }
+}
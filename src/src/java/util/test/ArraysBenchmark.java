@@ -0,0 +1,142 @@
+/*
+ * @(#)ArraysBenchmark.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Vector;
+
+/**
+ * Orders Integers by value.
+ */
+class IntegerComparator implements Comparator {
+    public int compare(Object a, Object b) {
+	int x = ((Integer)a).intValue();
+	int y = ((Integer)b).intValue();
+	return (x < y) ? -1 : (x == y) ? 0 : 1;
+    }
+}
+
+/**
+ * Compares the Arrays sorts with the kinds of sort written by hand
+ * elsewhere: a quicksort that works on a Vector through elementAt and
+ * setElementAt, and a bubble sort.
+ * <pre>
+ *	java ArraysBenchmark [size]
+ * </pre>
+ */
+class ArraysBenchmark {
+    static void vectorQuicksort(Vector v, int lo, int hi, Comparator c) {
+	if (lo >= hi) {
+	    return;
+	}
+	Object pivot = v.elementAt((lo + hi) >>> 1);
+	int i = lo;
+	int j = hi;
+	while (i <= j) {
+	    while (c.compare(v.elementAt(i), pivot) < 0) {
+		i++;
+	    }
+	    while (c.compare(v.elementAt(j), pivot) > 0) {
+		j--;
+	    }
+	    if (i <= j) {
+		Object t = v.elementAt(i);
+		v.setElementAt(v.elementAt(j), i);
+		v.setElementAt(t, j);
+		i++;
+		j--;
+	    }
+	}
+	vectorQuicksort(v, lo, j, c);
+	vectorQuicksort(v, i, hi, c);
+    }
+
+    static void bubbleSort(int a[]) {
+	for (int i = a.length ; --i >= 0 ;) {
+	    for (int j = 0 ; j < i ; j++) {
+		if (a[j] > a[j + 1]) {
+		    int t = a[j];
+		    a[j] = a[j + 1];
+		    a[j + 1] = t;
+		}
+	    }
+	}
+    }
+
+    static void check(int a[]) {
+	for (int i = 1 ; i < a.length ; i++) {
+	    if (a[i - 1] > a[i]) {
+		throw new RuntimeException("not sorted at " + i);
+	    }
+	}
+    }
+
+    public static void main(String args[]) {
+	int n = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+	int data[] = new int[n];
+	int r = 1;
+	for (int i = 0 ; i < n ; i++) {
+	    r = r * 1103515245 + 12345;
+	    data[i] = r;
+	}
+	Comparator c = new IntegerComparator();
+
+	for (int pass = 0 ; pass < 3 ; pass++) {
+	    int small[] = Arrays.copyOfRange(data, 0, Math.min(n, 10000));
+	    long t0 = System.currentTimeMillis();
+	    bubbleSort(small);
+	    long t1 = System.currentTimeMillis();
+	    check(small);
+	    small = Arrays.copyOfRange(data, 0, small.length);
+	    Arrays.sort(small);
+	    long t2 = System.currentTimeMillis();
+	    System.out.println(small.length + " ints: bubble sort " + (t1 - t0) +
+			       "ms, Arrays.sort " + (t2 - t1) + "ms");
+
+	    Vector v = new Vector(n);
+	    Integer boxed[] = new Integer[n];
+	    for (int i = 0 ; i < n ; i++) {
+		boxed[i] = Integer.valueOf(data[i]);
+		v.addElement(boxed[i]);
+	    }
+	    Object copy[] = Arrays.copyOfRange(boxed, 0, n);
+	    t0 = System.currentTimeMillis();
+	    vectorQuicksort(v, 0, n - 1, c);
+	    t1 = System.currentTimeMillis();
+	    Arrays.sort(boxed, c);
+	    t2 = System.currentTimeMillis();
+	    Arrays.parallelSort(copy, c);
+	    long t3 = System.currentTimeMillis();
+	    System.out.println(n + " Integers: Vector quicksort " + (t1 - t0) +
+			       "ms, Arrays.sort " + (t2 - t1) + "ms, parallelSort " +
+			       (t3 - t2) + "ms");
+
+	    int a[] = Arrays.copyOfRange(data, 0, n);
+	    int b[] = Arrays.copyOfRange(data, 0, n);
+	    t0 = System.currentTimeMillis();
+	    Arrays.sort(a);
+	    t1 = System.currentTimeMillis();
+	    Arrays.parallelSort(b);
+	    t2 = System.currentTimeMillis();
+	    check(a);
+	    check(b);
+	    System.out.println(n + " ints: Arrays.sort " + (t1 - t0) +
+			       "ms, parallelSort " + (t2 - t1) + "ms");
+	}
+    }
+}
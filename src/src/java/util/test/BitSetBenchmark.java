@@ -0,0 +1,72 @@
+/*
+ * @(#)BitSetBenchmark.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+import java.util.BitSet;
+import java.util.CompressedBitSet;
+import java.util.Random;
+
+/**
+ * Builds two sets of document numbers scattered over a large range,
+ * as BitSets and as CompressedBitSets, and compares their size and
+ * the time to intersect and count them.
+ * <pre>
+ *	java BitSetBenchmark [members] [range]
+ * </pre>
+ */
+class BitSetBenchmark {
+    public static void main(String args[]) {
+	int members = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+	int range = (args.length > 1) ? Integer.parseInt(args[1]) : 100000000;
+	Random rand = new Random(1);
+
+	BitSet b1 = new BitSet();
+	BitSet b2 = new BitSet();
+	CompressedBitSet c1 = new CompressedBitSet();
+	CompressedBitSet c2 = new CompressedBitSet();
+	for (int i = 0 ; i < members ; i++) {
+	    int x = (rand.nextInt() >>> 1) % range;
+	    int y = (rand.nextInt() >>> 1) % range;
+	    b1.set(x);
+	    c1.set(x);
+	    b2.set(y);
+	    c2.set(y);
+	}
+
+	long start = System.currentTimeMillis();
+	BitSet b = (BitSet)b1.clone();
+	b.and(b2);
+	int nb = b.cardinality();
+	long bitSetTime = System.currentTimeMillis() - start;
+
+	start = System.currentTimeMillis();
+	CompressedBitSet c = (CompressedBitSet)c1.clone();
+	c.and(c2);
+	int nc = c.cardinality();
+	long compressedTime = System.currentTimeMillis() - start;
+
+	if (nb != nc) {
+	    throw new InternalError("results differ");
+	}
+	System.out.println(members + " members in 0.." + range + ", " +
+			   nb + " in common");
+	System.out.println("BitSet:           " + (b1.size() / 8 / 1024) + " KB, " +
+			   "intersect " + bitSetTime + " ms");
+	System.out.println("CompressedBitSet: " + (c1.memoryUsage() / 1024) + " KB, " +
+			   "intersect " + compressedTime + " ms");
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * @(#)ConcurrentHashtableBenchmark.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.ConcurrentHashtable;
+
+/**
+ * Read-heavy worker: nine lookups for every update.
+ */
+class DictionaryWorker extends Thread {
+    Dictionary dict;
+    String keys[];
+    int ops;
+    int seed;
+
+    DictionaryWorker(Dictionary dict, String keys[], int ops, int seed) {
+	this.dict = dict;
+	this.keys = keys;
+	this.ops = ops;
+	this.seed = seed;
+    }
+
+    public void run() {
+	String k[] = keys;
+	int n = k.length;
+	int r = seed;
+	for (int i = 0 ; i < ops ; i++) {
+	    r = r * 1103515245 + 12345;
+	    String key = k[(r >>> 8) % n];
+	    if ((i % 10) == 0) {
+		dict.put(key, key);
+	    } else {
+		dict.get(key);
+	    }
+	}
+    }
+}
+
+/**
+ * Compares the throughput of Hashtable and ConcurrentHashtable
+ * as the number of threads sharing one table grows.
+ * <pre>
+ *	java ConcurrentHashtableBenchmark [ops-per-thread]
+ * </pre>
+ */
+class ConcurrentHashtableBenchmark {
+    static final int NKEYS = 10000;
+
+    static long run(Dictionary dict, String keys[], int nthreads, int ops) {
+	DictionaryWorker workers[] = new DictionaryWorker[nthreads];
+	for (int i = 0 ; i < nthreads ; i++) {
+	    workers[i] = new DictionaryWorker(dict, keys, ops, i * 7919 + 1);
+	}
+	long start = System.currentTimeMillis();
+	for (int i = 0 ; i < nthreads ; i++) {
+	    workers[i].start();
+	}
+	for (int i = 0 ; i < nthreads ; i++) {
+	    try {
+		workers[i].join();
+	    } catch (InterruptedException e) {
+	    }
+	}
+	return System.currentTimeMillis() - start;
+    }
+
+    static void fill(Dictionary dict, String keys[]) {
+	for (int i = 0 ; i < keys.length ; i++) {
+	    dict.put(keys[i], keys[i]);
+	}
+    }
+
+    public static void main(String args[]) {
+	int ops = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+	String keys[] = new String[NKEYS];
+	for (int i = 0 ; i < NKEYS ; i++) {
+	    keys[i] = "key" + i;
+	}
+
+	System.out.println("threads  Hashtable(ops/ms)  ConcurrentHashtable(ops/ms)");
+	for (int nthreads = 1 ; nthreads <= 16 ; nthreads <<= 1) {
+	    Hashtable h = new Hashtable();
+	    ConcurrentHashtable c = new ConcurrentHashtable();
+	    fill(h, keys);
+	    fill(c, keys);
+
+	    // warm up both tables once before timing them
+	    run(h, keys, nthreads, ops / 10);
+	    run(c, keys, nthreads, ops / 10);
+
+	    long th = run(h, keys, nthreads, ops);
+	    long tc = run(c, keys, nthreads, ops);
+	    long total = (long)ops * nthreads;
+	    System.out.println(nthreads + "\t " + (total / Math.max(th, 1)) +
+			       "\t\t    " + (total / Math.max(tc, 1)));
+	}
+    }
+}
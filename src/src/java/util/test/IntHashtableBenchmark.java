@@ -0,0 +1,119 @@
+/*
+ * @(#)IntHashtableBenchmark.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+import java.util.Hashtable;
+import java.util.IntHashtable;
+import java.util.LongHashtable;
+import java.util.IntEnumeration;
+
+/**
+ * Compares memory use and put/get throughput of Hashtable with boxed
+ * keys against IntHashtable and LongHashtable.
+ * <pre>
+ *	java IntHashtableBenchmark [entries]
+ * </pre>
+ */
+class IntHashtableBenchmark {
+    static Object value = "value";
+
+    static long used() {
+	Runtime rt = Runtime.getRuntime();
+	for (int i = 0 ; i < 3 ; i++) {
+	    rt.gc();
+	}
+	return rt.totalMemory() - rt.freeMemory();
+    }
+
+    static void report(String name, long bytes, long putTime, long getTime, int n) {
+	System.out.println(name + ": " + (bytes / n) + " bytes/entry, put " +
+			   putTime + " ms, get " + getTime + " ms");
+    }
+
+    static void hashtable(int n) {
+	long before = used();
+	long start = System.currentTimeMillis();
+	Hashtable h = new Hashtable();
+	for (int i = 0 ; i < n ; i++) {
+	    h.put(new Integer(i), value);
+	}
+	long putTime = System.currentTimeMillis() - start;
+	long bytes = used() - before;
+
+	start = System.currentTimeMillis();
+	for (int i = 0 ; i < n ; i++) {
+	    if (h.get(new Integer(i)) == null) {
+		throw new InternalError("missing " + i);
+	    }
+	}
+	report("Hashtable", bytes, putTime, System.currentTimeMillis() - start, n);
+    }
+
+    static void intHashtable(int n) {
+	long before = used();
+	long start = System.currentTimeMillis();
+	IntHashtable h = new IntHashtable();
+	for (int i = 0 ; i < n ; i++) {
+	    h.put(i, value);
+	}
+	long putTime = System.currentTimeMillis() - start;
+	long bytes = used() - before;
+
+	start = System.currentTimeMillis();
+	for (int i = 0 ; i < n ; i++) {
+	    if (h.get(i) == null) {
+		throw new InternalError("missing " + i);
+	    }
+	}
+	long getTime = System.currentTimeMillis() - start;
+	report("IntHashtable", bytes, putTime, getTime, n);
+
+	long sum = 0;
+	start = System.currentTimeMillis();
+	for (IntEnumeration e = h.intKeys() ; e.hasMoreElements() ;) {
+	    sum += e.nextInt();
+	}
+	System.out.println("IntHashtable: enumerated " + n + " keys in " +
+			   (System.currentTimeMillis() - start) + " ms (" + sum + ")");
+    }
+
+    static void longHashtable(int n) {
+	long before = used();
+	long start = System.currentTimeMillis();
+	LongHashtable h = new LongHashtable();
+	for (int i = 0 ; i < n ; i++) {
+	    h.put((long)i << 20, value);
+	}
+	long putTime = System.currentTimeMillis() - start;
+	long bytes = used() - before;
+
+	start = System.currentTimeMillis();
+	for (int i = 0 ; i < n ; i++) {
+	    if (h.get((long)i << 20) == null) {
+		throw new InternalError("missing " + i);
+	    }
+	}
+	report("LongHashtable", bytes, putTime, System.currentTimeMillis() - start, n);
+    }
+
+    public static void main(String args[]) {
+	int n = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+	hashtable(n);
+	intHashtable(n);
+	longHashtable(n);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * @(#)RandomBenchmark.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Draws numbers from a Random shared by all workers, or from the
+ * worker's own SplittableRandom.
+ */
+class RandomWorker extends Thread {
+    Random shared;
+    SplittableRandom own;
+    int ops;
+    boolean bulk;
+    double sum;
+
+    RandomWorker(Random shared, SplittableRandom own, int ops, boolean bulk) {
+	this.shared = shared;
+	this.own = own;
+	this.ops = ops;
+	this.bulk = bulk;
+    }
+
+    public void run() {
+	double s = 0;
+	if (shared != null) {
+	    for (int i = 0 ; i < ops ; i++) {
+		s += shared.nextDouble();
+	    }
+	} else if (!bulk) {
+	    for (int i = 0 ; i < ops ; i++) {
+		s += own.nextDouble();
+	    }
+	} else {
+	    double buf[] = new double[1024];
+	    for (int i = 0 ; i < ops ; i += buf.length) {
+		own.nextDoubles(buf, 0, buf.length);
+		for (int j = 0 ; j < buf.length ; j++) {
+		    s += buf[j];
+		}
+	    }
+	}
+	sum = s;
+    }
+}
+
+/**
+ * Compares the throughput of a shared Random with per-thread
+ * SplittableRandoms as the number of threads grows.
+ * <pre>
+ *	java RandomBenchmark [numbers-per-thread]
+ * </pre>
+ */
+class RandomBenchmark {
+    static long run(int nthreads, int ops, int mode) {
+	Random shared = new Random(1);
+	SplittableRandom master = new SplittableRandom(1);
+	RandomWorker workers[] = new RandomWorker[nthreads];
+	for (int i = 0 ; i < nthreads ; i++) {
+	    workers[i] = (mode == 0) ? new RandomWorker(shared, null, ops, false)
+		: new RandomWorker(null, master.split(), ops, mode == 2);
+	}
+	long start = System.currentTimeMillis();
+	for (int i = 0 ; i < nthreads ; i++) {
+	    workers[i].start();
+	}
+	for (int i = 0 ; i < nthreads ; i++) {
+	    try {
+		workers[i].join();
+	    } catch (InterruptedException e) {
+	    }
+	}
+	return System.currentTimeMillis() - start;
+    }
+
+    public static void main(String args[]) {
+	int ops = (args.length > 0) ? Integer.parseInt(args[0]) : 5000000;
+
+	System.out.println("doubles per ms");
+	System.out.println("threads  Random  SplittableRandom  nextDoubles");
+	for (int nthreads = 1 ; nthreads <= 16 ; nthreads <<= 1) {
+	    long total = (long)ops * nthreads;
+	    String line = nthreads + "\t ";
+	    for (int mode = 0 ; mode < 3 ; mode++) {
+		run(nthreads, ops / 10, mode);	// warm up
+		line += (total / Math.max(run(nthreads, ops, mode), 1)) + "\t ";
+	    }
+	    System.out.println(line);
+	}
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * @(#)StringTokenizerBenchmark.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+import java.util.StringTokenizer;
+import java.util.StringScanner;
+
+/**
+ * Compares splitting lines with StringTokenizer, which makes a String
+ * for every token, and with a reused StringScanner, which does not.
+ * <pre>
+ *	java StringTokenizerBenchmark [lines]
+ * </pre>
+ */
+class StringTokenizerBenchmark {
+    static long tokenizer(String lines[]) {
+	long sum = 0;
+	for (int i = 0 ; i < lines.length ; i++) {
+	    StringTokenizer st = new StringTokenizer(lines[i], " ,;\t");
+	    while (st.hasMoreTokens()) {
+		sum += st.nextToken().length();
+	    }
+	}
+	return sum;
+    }
+
+    static long scanner(String lines[]) {
+	long sum = 0;
+	StringScanner sc = new StringScanner(" ,;\t");
+	for (int i = 0 ; i < lines.length ; i++) {
+	    sc.reset(lines[i]);
+	    while (sc.next()) {
+		sum += sc.length();
+	    }
+	}
+	return sum;
+    }
+
+    public static void main(String args[]) {
+	int n = (args.length > 0) ? Integer.parseInt(args[0]) : 200000;
+	String lines[] = new String[n];
+	for (int i = 0 ; i < n ; i++) {
+	    lines[i] = "GET /index" + i + ".html, HTTP/1.0;\tHost: host" + (i % 97) +
+		" Accept: text/html, text/plain";
+	}
+	for (int pass = 0 ; pass < 3 ; pass++) {
+	    long t0 = System.currentTimeMillis();
+	    long s1 = tokenizer(lines);
+	    long t1 = System.currentTimeMillis();
+	    long s2 = scanner(lines);
+	    long t2 = System.currentTimeMillis();
+	    if (s1 != s2) {
+		throw new RuntimeException("token lengths differ: " + s1 + " " + s2);
+	    }
+	    System.out.println("StringTokenizer " + (t1 - t0) + "ms, StringScanner " +
+			       (t2 - t1) + "ms");
+	}
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * @(#)SymbolTableBenchmark.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+import java.util.Hashtable;
+import java.util.SymbolTable;
+
+/**
+ * Canonicalizes the tag and attribute names of a generated document,
+ * once by making a String for every name and looking it up in a
+ * Hashtable, and once with a SymbolTable straight from the buffer.
+ * <pre>
+ *	java SymbolTableBenchmark [names]
+ * </pre>
+ */
+class SymbolTableBenchmark {
+    static final String NAMES[] = {
+	"html", "head", "title", "body", "a", "href", "img", "src", "alt",
+	"p", "table", "tr", "td", "width", "height", "align", "Content-Type",
+	"Content-Length", "Last-Modified", "Date", "Server", "Accept"
+    };
+
+    public static void main(String args[]) {
+	int n = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+	StringBuffer doc = new StringBuffer();
+	int r = 1;
+	for (int i = 0 ; i < 10000 ; i++) {
+	    r = r * 1103515245 + 12345;
+	    doc.append(NAMES[(r >>> 8) % NAMES.length]).append(' ');
+	}
+	char buf[] = new char[doc.length()];
+	doc.getChars(0, buf.length, buf, 0);
+
+	for (int pass = 0 ; pass < 3 ; pass++) {
+	    Hashtable names = new Hashtable();
+	    long t0 = System.currentTimeMillis();
+	    int count = 0;
+	    for (int pos = 0 ; count < n ; pos = 0) {
+		while ((pos < buf.length) && (count < n)) {
+		    int start = pos;
+		    while (buf[pos] != ' ') {
+			pos++;
+		    }
+		    String s = new String(buf, start, pos - start);
+		    if (names.get(s) == null) {
+			names.put(s, s);
+		    }
+		    pos++;
+		    count++;
+		}
+	    }
+	    long t1 = System.currentTimeMillis();
+
+	    SymbolTable symbols = new SymbolTable(256);
+	    count = 0;
+	    for (int pos = 0 ; count < n ; pos = 0) {
+		while ((pos < buf.length) && (count < n)) {
+		    int start = pos;
+		    while (buf[pos] != ' ') {
+			pos++;
+		    }
+		    symbols.intern(buf, start, pos - start);
+		    pos++;
+		    count++;
+		}
+	    }
+	    long t2 = System.currentTimeMillis();
+	    System.out.println("Hashtable " + (t1 - t0) + "ms, SymbolTable " + (t2 - t1) +
+			       "ms " + symbols);
+	}
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * @(#)ThreadPoolBenchmark.java	1.1 96/01/22
+ *
+ * Copyright (c) 1994 Sun Microsystems, Inc. All Rights Reserved.
+ *
+ * Permission to use, copy, modify, and distribute this software
+ * and its documentation for NON-COMMERCIAL purposes and without
+ * fee is hereby granted provided that this copyright notice
+ * appears in all copies. Please refer to the file "copyright.html"
+ * for further important copyright and licensing information.
+ *
+ * SUN MAKES NO REPRESENTATIONS OR WARRANTIES ABOUT THE SUITABILITY OF
+ * THE SOFTWARE, EITHER EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE IMPLIED WARRANTIES OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE, OR NON-INFRINGEMENT. SUN SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES.
+ */
+import java.util.ThreadPool;
+
+/**
+ * A small unit of work, about the size of handling one request.
+ */
+class SmallTask implements Runnable {
+    static int sink;
+
+    public void run() {
+	int h = 0;
+	for (int i = 0 ; i < 2000 ; i++) {
+	    h = h * 31 + i;
+	}
+	sink += h;
+    }
+}
+
+/**
+ * Compares starting a Thread for every task with handing the tasks
+ * to a ThreadPool.
+ * <pre>
+ *	java ThreadPoolBenchmark [tasks]
+ * </pre>
+ */
+class ThreadPoolBenchmark {
+    static long threadPerTask(int n) throws InterruptedException {
+	long start = System.currentTimeMillis();
+	Thread threads[] = new Thread[64];
+	for (int i = 0 ; i < n ; i++) {
+	    int slot = i % threads.length;
+	    if (threads[slot] != null) {
+		threads[slot].join();
+	    }
+	    threads[slot] = new Thread(new SmallTask());
+	    threads[slot].start();
+	}
+	for (int i = 0 ; i < threads.length ; i++) {
+	    if (threads[i] != null) {
+		threads[i].join();
+	    }
+	}
+	return System.currentTimeMillis() - start;
+    }
+
+    static long pooled(int n) throws InterruptedException {
+	long start = System.currentTimeMillis();
+	ThreadPool pool = new ThreadPool("bench", 4, 16, 256, 1000);
+	for (int i = 0 ; i < n ; i++) {
+	    pool.execute(new SmallTask());
+	}
+	pool.shutdown();
+	pool.awaitTermination(60000);
+	long t = System.currentTimeMillis() - start;
+	System.out.println("    " + pool);
+	return t;
+    }
+
+    public static void main(String args[]) throws InterruptedException {
+	int n = (args.length > 0) ? Integer.parseInt(args[0]) : 20000;
+	for (int pass = 0 ; pass < 3 ; pass++) {
+	    long t1 = threadPerTask(n);
+	    long t2 = pooled(n);
+	    System.out.println(n + " tasks: thread per task " + t1 + "ms, pool " + t2 + "ms");
+	}
+    }
+}